@@ -0,0 +1,279 @@
+package edu.union.adt.graph.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.GraphFile;
+import edu.union.adt.graph.MappedGraph;
+import edu.union.adt.graph.OffHeapGraph;
+import edu.union.adt.graph.PartitionedGraph;
+import edu.union.adt.graph.VertexCodec;
+
+/**
+ * Benchmarks every operation of the Graph interface against one or
+ * more Graph implementations, on uniform and power-law random graphs.
+ * Subclasses say which implementations and graph sizes to run, as
+ * JMH parameters.  Run with
+ * <PRE>
+ * ./gradlew jmh
+ * </PRE>
+ * The gc profiler is on by default, so every result also reports the
+ * allocation rate (gc.alloc.rate.norm is bytes allocated per operation).
+ * To run a subset, run the benchmark jar directly, for example
+ * <PRE>
+ * ./gradlew jmhJar
+ * java -jar build/libs/*-jmh.jar GraphBenchmark.hasEdge -p edges=1000000 -prof gc
+ * </PRE>
+ * <p>
+ * Per-query benchmarks (hasEdge, degree, adjacentTo) do one query per
+ * invocation, walking through a fixed list of random vertices, so their
+ * scores are the cost of one query.  Half the hasEdge probes miss; the
+ * other per-vertex queries only ask about vertices in the graph.  The build, toString and equals
+ * benchmarks work on the whole graph.  The immutable implementations
+ * can't add vertices, so for them buildGraph includes freezing (or
+ * saving and opening) the graph, and addVertex measures the
+ * GraphAdjacencyList they are built from.  The off-heap graphs that
+ * buildGraph and addVertex make are closed before they return, so
+ * their scores include freeing the memory.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public abstract class AbstractGraphBenchmark
+{
+    private static final int AVERAGE_DEGREE = 8;
+    private static final int PROBES = 1 << 16;
+    private static final int SHARDS = Runtime.getRuntime().availableProcessors();
+
+    private EdgeList edgeList;
+    private Integer[] boxedFrom;
+    private Integer[] boxedTo;
+    private Integer[] probeFrom;
+    private Integer[] probeTo;
+    private Integer[] probeVertex;
+    private Graph<Integer> graph;
+    private Graph<Integer> copy;
+    private Path file;
+    private int next;
+
+    /**
+     * @return the name of the implementation being measured
+     */
+    protected abstract String implementation();
+
+    /**
+     * @return "uniform" or "powerLaw", the shape of the random graph
+     */
+    protected abstract String shape();
+
+    /**
+     * @return the number of random edges to build the graph from
+     */
+    protected abstract int edges();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException
+    {
+        int edges = edges();
+        edgeList = new EdgeList(shape(), edges, AVERAGE_DEGREE, 42);
+        boxedFrom = new Integer[edges];
+        boxedTo = new Integer[edges];
+        for (int i = 0; i < edges; i++) {
+            boxedFrom[i] = edgeList.from[i];
+            boxedTo[i] = edgeList.to[i];
+        }
+        probeFrom = new Integer[PROBES];
+        probeTo = new Integer[PROBES];
+        probeVertex = new Integer[PROBES];
+        Random random = new Random(7);
+        for (int i = 0; i < PROBES; i++) {
+            // half the probes are real edges, half are random pairs
+            if (i % 2 == 0) {
+                int edge = random.nextInt(edges);
+                probeFrom[i] = boxedFrom[edge];
+                probeTo[i] = boxedTo[edge];
+            } else {
+                probeFrom[i] = random.nextInt(edgeList.vertices);
+                probeTo[i] = random.nextInt(edgeList.vertices);
+            }
+            // power-law graphs leave many ids unused, so the vertex
+            // probes are always endpoints of real edges
+            int edge = random.nextInt(edges);
+            probeVertex[i] = i % 2 == 0 ? boxedFrom[edge] : boxedTo[edge];
+        }
+        graph = build();
+        copy = build();
+        next = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException
+    {
+        close(graph);
+        close(copy);
+        graph = null;
+        copy = null;
+        if (file != null) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * builds the benchmark graph with the implementation being measured
+     */
+    private Graph<Integer> build() throws IOException
+    {
+        switch (implementation()) {
+            case "compressedSparseRow":
+                return GraphFactory.freeze(addEdges(GraphFactory.<Integer>createGraph()));
+            case "mapped":
+                if (file == null) {
+                    file = Files.createTempFile("graph-benchmark", ".bin");
+                    GraphFile.write(addEdges(GraphFactory.<Integer>createGraph()), file, VertexCodec.INTEGERS);
+                }
+                return GraphFile.open(file, VertexCodec.INTEGERS);
+            default:
+                return flush(addEdges(empty()));
+        }
+    }
+
+    /**
+     * @return an empty graph of the implementation being measured, or
+     * for the immutable implementations, of the GraphAdjacencyList
+     * they are built from
+     */
+    private Graph<Integer> empty()
+    {
+        switch (implementation()) {
+            case "adjacencyList":
+            case "compressedSparseRow":
+            case "mapped":
+                return GraphFactory.createGraph();
+            case "concurrent":
+                return GraphFactory.createConcurrentGraph();
+            case "interned":
+                return GraphFactory.createInternedGraph();
+            case "partitioned":
+                return GraphFactory.createPartitionedGraph(SHARDS);
+            case "persistent":
+                return GraphFactory.createPersistentGraph();
+            case "offHeap":
+                return GraphFactory.createOffHeapGraph();
+            case "weighted":
+                return GraphFactory.createWeightedGraph();
+            case "dense":
+                return GraphFactory.createDenseGraph();
+            default:
+                throw new IllegalArgumentException("Unknown implementation: " + implementation());
+        }
+    }
+
+    /**
+     * sends a partitioned graph's waiting changes to its shards, so
+     * they are part of the measurement
+     */
+    private static Graph<Integer> flush(Graph<Integer> target)
+    {
+        if (target instanceof PartitionedGraph) {
+            ((PartitionedGraph<Integer>) target).flush();
+        }
+        return target;
+    }
+
+    /**
+     * frees the memory of a graph that keeps it off the heap, or
+     * unmaps the file of a mapped graph
+     */
+    private static void close(Graph<Integer> target)
+    {
+        if (target instanceof OffHeapGraph) {
+            ((OffHeapGraph<Integer>) target).close();
+        } else if (target instanceof MappedGraph) {
+            ((MappedGraph<Integer>) target).close();
+        }
+    }
+
+    private Graph<Integer> addEdges(Graph<Integer> target)
+    {
+        for (int i = 0; i < boxedFrom.length; i++) {
+            target.addEdge(boxedFrom[i], boxedTo[i]);
+        }
+        return target;
+    }
+
+    @Benchmark
+    public Graph<Integer> buildGraph() throws IOException
+    {
+        Graph<Integer> built = build();
+        close(built);
+        return built;
+    }
+
+    @Benchmark
+    public Graph<Integer> addVertex()
+    {
+        Graph<Integer> target = empty();
+        for (int i = 0; i < boxedFrom.length; i++) {
+            target.addVertex(boxedFrom[i]);
+        }
+        flush(target);
+        close(target);
+        return target;
+    }
+
+    @Benchmark
+    public boolean hasEdge()
+    {
+        int i = next++ & (PROBES - 1);
+        return graph.hasEdge(probeFrom[i], probeTo[i]);
+    }
+
+    @Benchmark
+    public int degree()
+    {
+        int i = next++ & (PROBES - 1);
+        return graph.degree(probeVertex[i]);
+    }
+
+    @Benchmark
+    public void adjacentTo(Blackhole blackhole)
+    {
+        int i = next++ & (PROBES - 1);
+        for (Integer to : graph.adjacentTo(probeVertex[i])) {
+            blackhole.consume(to);
+        }
+    }
+
+    @Benchmark
+    public void forEachNeighbor(Blackhole blackhole)
+    {
+        int i = next++ & (PROBES - 1);
+        graph.forEachNeighbor(probeVertex[i], blackhole::consume);
+    }
+
+    @Benchmark
+    public String toStringGraph()
+    {
+        return graph.toString();
+    }
+
+    @Benchmark
+    public boolean equalsCopy()
+    {
+        return graph.equals(copy);
+    }
+}
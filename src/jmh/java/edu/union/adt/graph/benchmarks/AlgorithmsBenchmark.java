@@ -0,0 +1,95 @@
+package edu.union.adt.graph.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.IndexedGraph;
+import edu.union.adt.graph.WeightedGraph;
+import edu.union.adt.graph.algorithms.PageRank;
+import edu.union.adt.graph.algorithms.ShortestPaths;
+import edu.union.adt.graph.algorithms.StronglyConnectedComponents;
+import edu.union.adt.graph.algorithms.TopologicalSort;
+
+/**
+ * Measures the throughput of the graph algorithms on frozen random
+ * graphs.  Topological sort needs a graph with no cycles, so it runs
+ * on a copy that only keeps edges from lower to higher ids.  The
+ * shortest path benchmarks run on a weighted copy with random weights
+ * between 0 and 1, starting from vertex 0.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class AlgorithmsBenchmark
+{
+    @Param({"uniform", "powerLaw"})
+    public String shape;
+
+    @Param({"100000", "1000000", "10000000"})
+    public int edges;
+
+    private IndexedGraph<Integer> graph;
+    private IndexedGraph<Integer> acyclic;
+    private WeightedGraph<Integer> weighted;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        EdgeList edgeList = new EdgeList(shape, edges, 8, 42);
+        Graph<Integer> cyclic = GraphFactory.createGraph(edgeList.vertices);
+        Graph<Integer> dag = GraphFactory.createGraph(edgeList.vertices);
+        weighted = GraphFactory.createWeightedGraph(edgeList.vertices);
+        Random weights = new Random(42);
+        for (int i = 0; i < edgeList.size(); i++) {
+            int from = edgeList.from[i];
+            int to = edgeList.to[i];
+            cyclic.addEdge(from, to);
+            weighted.addEdge(from, to, weights.nextDouble());
+            if (from < to) {
+                dag.addEdge(from, to);
+            }
+        }
+        graph = IndexedGraph.of(cyclic);
+        acyclic = IndexedGraph.of(dag);
+    }
+
+    @Benchmark
+    public int[] stronglyConnectedComponents()
+    {
+        return StronglyConnectedComponents.componentIds(graph);
+    }
+
+    @Benchmark
+    public int[] topologicalSort()
+    {
+        return TopologicalSort.orderIds(acyclic);
+    }
+
+    @Benchmark
+    public double[] pageRank()
+    {
+        return PageRank.ranksById(graph, PageRank.DEFAULT_DAMPING, 20, 0);
+    }
+
+    @Benchmark
+    public double[] dijkstra()
+    {
+        return ShortestPaths.dijkstraById(weighted, weighted.idOf(0));
+    }
+
+    @Benchmark
+    public double[] deltaStepping()
+    {
+        return ShortestPaths.deltaSteppingById(weighted, weighted.idOf(0), 0.125);
+    }
+}
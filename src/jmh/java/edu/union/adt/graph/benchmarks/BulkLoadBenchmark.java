@@ -0,0 +1,62 @@
+package edu.union.adt.graph.benchmarks;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+
+/**
+ * Compares loading an edge list one addEdge at a time with
+ * GraphFactory.fromEdges.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class BulkLoadBenchmark
+{
+    @Param({"uniform", "powerLaw"})
+    public String shape;
+
+    @Param({"1000000", "10000000"})
+    public int edges;
+
+    private List<Map.Entry<Integer, Integer>> edgeEntries;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        EdgeList edgeList = new EdgeList(shape, edges, 8, 42);
+        edgeEntries = new ArrayList<>(edges);
+        for (int i = 0; i < edges; i++) {
+            edgeEntries.add(new AbstractMap.SimpleImmutableEntry<>(edgeList.from[i], edgeList.to[i]));
+        }
+    }
+
+    @Benchmark
+    public Graph<Integer> addEdgeLoop()
+    {
+        Graph<Integer> graph = GraphFactory.createGraph();
+        for (Map.Entry<Integer, Integer> edge : edgeEntries) {
+            graph.addEdge(edge.getKey(), edge.getValue());
+        }
+        return graph;
+    }
+
+    @Benchmark
+    public Graph<Integer> fromEdges()
+    {
+        return GraphFactory.fromEdges(edgeEntries.parallelStream());
+    }
+}
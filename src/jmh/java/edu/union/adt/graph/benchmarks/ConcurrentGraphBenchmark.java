@@ -0,0 +1,64 @@
+package edu.union.adt.graph.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+
+/**
+ * Measures ConcurrentGraph.addEdge throughput as writer threads are
+ * added.  Every thread adds edges from the same random edge list to
+ * one shared graph, starting at a different point in the list.  Run
+ * it with each thread count to see the scaling, for example
+ * <PRE>
+ * ./gradlew jmhJar
+ * java -jar build/libs/*-jmh.jar ConcurrentGraphBenchmark -t 32
+ * </PRE>
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class ConcurrentGraphBenchmark
+{
+    @Param({"uniform", "powerLaw"})
+    public String shape;
+
+    @Param({"false", "true"})
+    public boolean incomingIndexed;
+
+    private EdgeList edgeList;
+    private Graph<Integer> graph;
+
+    @State(Scope.Thread)
+    public static class Cursor
+    {
+        private int next = (int) (Thread.currentThread().getId() * 7919);
+    }
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        edgeList = new EdgeList(shape, 1 << 22, 8, 42);
+    }
+
+    @Setup(Level.Iteration)
+    public void newGraph()
+    {
+        graph = GraphFactory.createConcurrentGraph(edgeList.vertices, incomingIndexed);
+    }
+
+    @Benchmark
+    public void addEdge(Cursor cursor)
+    {
+        int i = (cursor.next++ & Integer.MAX_VALUE) % edgeList.size();
+        graph.addEdge(edgeList.from[i], edgeList.to[i]);
+    }
+}
@@ -0,0 +1,91 @@
+package edu.union.adt.graph.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import edu.union.adt.graph.DenseGraph;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+
+/**
+ * Compares finding the common neighbors of two vertices by ANDing
+ * DenseGraph bitsets against looping over one vertex's adjacentTo and
+ * calling hasEdge on a GraphAdjacencyList, on a random graph of 20000
+ * vertices where each edge is present with chance 'density'.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class DenseGraphBenchmark
+{
+    private static final int VERTICES = 20000;
+    private static final int PROBES = 1 << 10;
+
+    @Param({"0.01", "0.05"})
+    public double density;
+
+    private DenseGraph<Integer> dense;
+    private Graph<Integer> adjacencyList;
+    private int[] probeA;
+    private int[] probeB;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        dense = GraphFactory.createDenseGraph(VERTICES);
+        adjacencyList = GraphFactory.createGraph(VERTICES);
+        Random random = new Random(42);
+        for (int from = 0; from < VERTICES; from++) {
+            for (int to = 0; to < VERTICES; to++) {
+                if (random.nextDouble() < density) {
+                    dense.addEdge(from, to);
+                    adjacencyList.addEdge(from, to);
+                }
+            }
+        }
+        probeA = new int[PROBES];
+        probeB = new int[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probeA[i] = random.nextInt(VERTICES);
+            probeB[i] = random.nextInt(VERTICES);
+        }
+    }
+
+    @Benchmark
+    public List<Integer> denseCommonNeighbors()
+    {
+        int i = next++ & (PROBES - 1);
+        return dense.commonNeighbors(probeA[i], probeB[i]);
+    }
+
+    @Benchmark
+    public int denseCountCommonNeighbors()
+    {
+        int i = next++ & (PROBES - 1);
+        return dense.countCommonNeighbors(probeA[i], probeB[i]);
+    }
+
+    @Benchmark
+    public List<Integer> adjacencyListCommonNeighbors()
+    {
+        int i = next++ & (PROBES - 1);
+        List<Integer> common = new ArrayList<>();
+        for (Integer x : adjacencyList.adjacentTo(probeA[i])) {
+            if (adjacencyList.hasEdge(probeB[i], x)) {
+                common.add(x);
+            }
+        }
+        return common;
+    }
+}
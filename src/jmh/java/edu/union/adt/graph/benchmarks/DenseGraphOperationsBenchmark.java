@@ -0,0 +1,36 @@
+package edu.union.adt.graph.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Runs the AbstractGraphBenchmark operations against DenseGraph.  A
+ * DenseGraph takes a bit for every pair of vertices and holds at most
+ * GraphFactory.MAX_DENSE_VERTICES of them, so the graphs here stop at
+ * 10^5 edges, which is 12500 vertices.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+public class DenseGraphOperationsBenchmark extends AbstractGraphBenchmark
+{
+    @Param({"uniform", "powerLaw"})
+    public String shape;
+
+    @Param({"1000", "10000", "100000"})
+    public int edges;
+
+    protected String implementation()
+    {
+        return "dense";
+    }
+
+    protected String shape()
+    {
+        return shape;
+    }
+
+    protected int edges()
+    {
+        return edges;
+    }
+}
@@ -0,0 +1,68 @@
+package edu.union.adt.graph.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.*;
+
+import edu.union.adt.graph.DurableGraph;
+import edu.union.adt.graph.VertexCodec;
+
+/**
+ * Measures how many edges a second a DurableGraph can take under each
+ * Sync policy.  Each iteration starts from an empty directory, and
+ * periodic checkpoints are off so that only the log is measured.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class DurableGraphBenchmark
+{
+    @Param({"EVERY_CHANGE", "EVERY_GROUP", "NEVER"})
+    public DurableGraph.Sync sync;
+
+    private EdgeList edgeList;
+    private Path directory;
+    private DurableGraph<Integer> graph;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUpEdges()
+    {
+        edgeList = new EdgeList("powerLaw", 1 << 22, 8, 42);
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException
+    {
+        directory = Files.createTempDirectory("durable");
+        graph = DurableGraph.open(directory, VertexCodec.INTEGERS, sync, 0);
+        next = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException
+    {
+        graph.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void addEdge()
+    {
+        int i = (next++ & Integer.MAX_VALUE) % edgeList.size();
+        graph.addEdge(edgeList.from[i], edgeList.to[i]);
+    }
+}
@@ -0,0 +1,65 @@
+package edu.union.adt.graph.benchmarks;
+
+import java.util.Random;
+
+/**
+ * A synthetic list of directed edges between int vertices, for
+ * building benchmark graphs.  Duplicate edges may appear, just as they
+ * would in a real edge dump.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+public class EdgeList
+{
+    public final int vertices;
+    public final int[] from;
+    public final int[] to;
+
+    /**
+     * Make a random edge list
+     * @param shape "uniform", where every vertex is equally likely to be
+     * an endpoint, or "powerLaw", where the k-th vertex is picked with
+     * probability proportional to 1/k, so a few hubs have most edges
+     * @param edges the number of edges to make
+     * @param averageDegree the number of edges per vertex
+     * @param seed the random seed, so runs are repeatable
+     */
+    public EdgeList(String shape, int edges, int averageDegree, long seed)
+    {
+        vertices = Math.max(1, edges / averageDegree);
+        from = new int[edges];
+        to = new int[edges];
+        Random random = new Random(seed);
+        boolean powerLaw;
+        if ("uniform".equals(shape)) {
+            powerLaw = false;
+        } else if ("powerLaw".equals(shape)) {
+            powerLaw = true;
+        } else {
+            throw new IllegalArgumentException("Unknown graph shape: " + shape);
+        }
+        for (int i = 0; i < edges; i++) {
+            from[i] = powerLaw ? zipf(random) : random.nextInt(vertices);
+            to[i] = powerLaw ? zipf(random) : random.nextInt(vertices);
+        }
+    }
+
+    /**
+     * @return the number of edges in the list
+     */
+    public int size()
+    {
+        return from.length;
+    }
+
+    /**
+     * @return a vertex id in [0, vertices), picking id k with
+     * probability roughly proportional to 1/(k+1)
+     */
+    private int zipf(Random random)
+    {
+        int id = (int) Math.pow(vertices + 1.0, random.nextDouble()) - 1;
+        return Math.min(id, vertices - 1);
+    }
+}
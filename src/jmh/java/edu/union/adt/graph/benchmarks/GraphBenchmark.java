@@ -0,0 +1,41 @@
+package edu.union.adt.graph.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Runs the AbstractGraphBenchmark operations against every Graph
+ * implementation that can hold any number of vertices, on graphs of
+ * 10^3 to 10^7 edges.  DenseGraph takes a bit for every pair of
+ * vertices, so it runs in DenseGraphOperationsBenchmark instead, on
+ * graphs it can hold.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+public class GraphBenchmark extends AbstractGraphBenchmark
+{
+    @Param({"adjacencyList", "concurrent", "interned", "partitioned", "persistent", "offHeap",
+            "weighted", "compressedSparseRow", "mapped"})
+    public String implementation;
+
+    @Param({"uniform", "powerLaw"})
+    public String shape;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int edges;
+
+    protected String implementation()
+    {
+        return implementation;
+    }
+
+    protected String shape()
+    {
+        return shape;
+    }
+
+    protected int edges()
+    {
+        return edges;
+    }
+}
@@ -0,0 +1,57 @@
+package edu.union.adt.graph.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.InstrumentedGraph;
+
+/**
+ * Measures what InstrumentedGraph adds to a hasEdge call, with
+ * instrumentation on and off, against the bare GraphAdjacencyList.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class InstrumentationBenchmark
+{
+    @Param({"plain", "disabled", "enabled"})
+    public String mode;
+
+    private EdgeList edgeList;
+    private Graph<Integer> graph;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        edgeList = new EdgeList("powerLaw", 1 << 20, 8, 42);
+        Graph<Integer> plain = GraphFactory.createGraph(edgeList.vertices);
+        for (int i = 0; i < edgeList.size(); i++) {
+            plain.addEdge(edgeList.from[i], edgeList.to[i]);
+        }
+        if (mode.equals("plain")) {
+            graph = plain;
+        }
+        else {
+            InstrumentedGraph<Integer> instrumented = GraphFactory.instrument(plain);
+            instrumented.setEnabled(mode.equals("enabled"));
+            graph = instrumented;
+        }
+    }
+
+    @Benchmark
+    public boolean hasEdge()
+    {
+        int i = (next++ & Integer.MAX_VALUE) % edgeList.size();
+        return graph.hasEdge(edgeList.from[i], edgeList.to[(i * 31) % edgeList.size()]);
+    }
+}
@@ -0,0 +1,146 @@
+package edu.union.adt.graph.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.IntGraph;
+
+/**
+ * Compares an IntGraph with a Graph&lt;Integer&gt; holding the same
+ * edges.  The gc profiler's gc.alloc.rate.norm shows the boxing the
+ * IntGraph avoids.  The heap each graph needs, measured once at
+ * setup, is reported by the hasEdge benchmarks as the
+ * graphOfIntegerBytes and intGraphBytes counters.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class IntGraphBenchmark
+{
+    private static final int AVERAGE_DEGREE = 8;
+    private static final int PROBES = 1 << 16;
+
+    @Param({"uniform", "powerLaw"})
+    public String shape;
+
+    @Param({"100000", "1000000", "10000000"})
+    public int edges;
+
+    private EdgeList edgeList;
+    private Graph<Integer> boxed;
+    private IntGraph primitive;
+    private long boxedBytes;
+    private long primitiveBytes;
+    private int next;
+
+    /**
+     * Reports the heap the two graphs took when they were built.  JMH
+     * prints each public field as a secondary result next to the
+     * benchmarks that take this state.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HeapCounters
+    {
+        public long graphOfIntegerBytes;
+        public long intGraphBytes;
+
+        @Setup(Level.Iteration)
+        public void setUp(IntGraphBenchmark benchmark)
+        {
+            graphOfIntegerBytes = benchmark.boxedBytes;
+            intGraphBytes = benchmark.primitiveBytes;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        edgeList = new EdgeList(shape, edges, AVERAGE_DEGREE, 42);
+        long before = usedMemory();
+        boxed = buildBoxed();
+        long afterBoxed = usedMemory();
+        primitive = buildPrimitive();
+        long afterPrimitive = usedMemory();
+        boxedBytes = afterBoxed - before;
+        primitiveBytes = afterPrimitive - afterBoxed;
+    }
+
+    private Graph<Integer> buildBoxed()
+    {
+        Graph<Integer> graph = GraphFactory.createGraph(edgeList.vertices);
+        for (int i = 0; i < edgeList.size(); i++) {
+            graph.addEdge(edgeList.from[i], edgeList.to[i]);
+        }
+        return graph;
+    }
+
+    private IntGraph buildPrimitive()
+    {
+        IntGraph graph = GraphFactory.createIntGraph(edgeList.vertices);
+        for (int i = 0; i < edgeList.size(); i++) {
+            graph.addEdge(edgeList.from[i], edgeList.to[i]);
+        }
+        return graph;
+    }
+
+    private static long usedMemory()
+    {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @Benchmark
+    public Graph<Integer> buildGraphOfInteger()
+    {
+        return buildBoxed();
+    }
+
+    @Benchmark
+    public IntGraph buildIntGraph()
+    {
+        return buildPrimitive();
+    }
+
+    @Benchmark
+    public boolean hasEdgeGraphOfInteger(HeapCounters heap)
+    {
+        int i = next++ % edgeList.size();
+        return boxed.hasEdge(edgeList.to[i], edgeList.from[i]);
+    }
+
+    @Benchmark
+    public boolean hasEdgeIntGraph(HeapCounters heap)
+    {
+        int i = next++ % edgeList.size();
+        return primitive.hasEdge(edgeList.to[i], edgeList.from[i]);
+    }
+
+    @Benchmark
+    public void scanGraphOfInteger(Blackhole blackhole)
+    {
+        int vertex = next++ % edgeList.vertices;
+        boxed.forEachNeighbor(vertex, blackhole::consume);
+    }
+
+    @Benchmark
+    public void scanIntGraph(Blackhole blackhole)
+    {
+        int vertex = next++ % edgeList.vertices;
+        primitive.forEachNeighbor(vertex, (IntConsumer) blackhole::consume);
+    }
+}
@@ -0,0 +1,77 @@
+package edu.union.adt.graph.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.PersistentGraph;
+
+/**
+ * Measures what PersistentGraph's path copying costs a writer,
+ * compared with GraphAdjacencyList, and what taking a snapshot and
+ * reading from it costs a reader while the writer runs.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class SnapshotBenchmark
+{
+    @Param({"uniform", "powerLaw"})
+    public String shape;
+
+    private EdgeList edgeList;
+    private Graph<Integer> adjacencyList;
+    private PersistentGraph<Integer> persistent;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        edgeList = new EdgeList(shape, 1 << 20, 8, 42);
+    }
+
+    @Setup(Level.Iteration)
+    public void newGraphs()
+    {
+        adjacencyList = GraphFactory.createGraph(edgeList.vertices);
+        persistent = GraphFactory.createPersistentGraph();
+    }
+
+    @Benchmark
+    @Group("adjacencyList")
+    public void adjacencyListAddEdge()
+    {
+        int i = (next++ & Integer.MAX_VALUE) % edgeList.size();
+        adjacencyList.addEdge(edgeList.from[i], edgeList.to[i]);
+    }
+
+    @Benchmark
+    @Group("persistent")
+    public void persistentAddEdge()
+    {
+        int i = (next++ & Integer.MAX_VALUE) % edgeList.size();
+        persistent.addEdge(edgeList.from[i], edgeList.to[i]);
+    }
+
+    @Benchmark
+    @Group("persistent")
+    public void snapshotAndRead(Blackhole blackhole)
+    {
+        Graph<Integer> snapshot = persistent.snapshot();
+        int vertex = edgeList.from[(next & Integer.MAX_VALUE) % edgeList.size()];
+        if (snapshot.contains(vertex)) {
+            for (Integer to : snapshot.adjacentTo(vertex)) {
+                blackhole.consume(to);
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package edu.union.adt.graph.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.IndexedGraph;
+import edu.union.adt.graph.traversal.ParallelBreadthFirstSearch;
+import edu.union.adt.graph.traversal.Traversal;
+
+/**
+ * Measures how breadth-first search scales with the number of cores.
+ * Each parallel search runs on its own ForkJoinPool of the given
+ * parallelism, on both the GraphAdjacencyList (generic top-down
+ * search) and its frozen Compressed Sparse Row copy (direction-
+ * optimizing search over int ids).  The single-threaded
+ * Traversal.breadthFirst is the baseline.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class TraversalBenchmark
+{
+    @Param({"uniform", "powerLaw"})
+    public String shape;
+
+    @Param({"1000000", "10000000"})
+    public int edges;
+
+    @Param({"1", "2", "4", "8", "16", "32"})
+    public int parallelism;
+
+    private Graph<Integer> graph;
+    private IndexedGraph<Integer> frozen;
+    private int sourceId;
+    private ForkJoinPool pool;
+    private ParallelBreadthFirstSearch<Integer> genericSearch;
+    private ParallelBreadthFirstSearch<Integer> indexedSearch;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        EdgeList edgeList = new EdgeList(shape, edges, 8, 42);
+        graph = GraphFactory.createGraph(edgeList.vertices);
+        for (int i = 0; i < edgeList.size(); i++) {
+            graph.addEdge(edgeList.from[i], edgeList.to[i]);
+        }
+        frozen = (IndexedGraph<Integer>) GraphFactory.freeze(graph);
+        sourceId = frozen.idOf(0);
+        pool = new ForkJoinPool(parallelism);
+        genericSearch = new ParallelBreadthFirstSearch<>(graph, pool);
+        indexedSearch = new ParallelBreadthFirstSearch<>(frozen, pool);
+        // build the reverse edges outside the measurement
+        indexedSearch.distancesFrom(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int sequential()
+    {
+        return Traversal.breadthFirst(graph, 0).size();
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> parallelGeneric()
+    {
+        return genericSearch.distancesFrom(0);
+    }
+
+    @Benchmark
+    public int[] parallelCompressedSparseRow()
+    {
+        return indexedSearch.distancesFromId(sourceId);
+    }
+}
@@ -0,0 +1,280 @@
+package edu.union.adt.graph;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * The part of an immutable Compressed Sparse Row graph that doesn't
+ * care where its offsets and targets are kept: the map from vertices
+ * to ids, the queries, which read the edges through offset and
+ * target, and the hash code, computed the first time it is asked for.
+ * GraphCompressedSparseRow keeps the offsets and targets in arrays on
+ * the heap, and MappedGraph keeps them in a memory-mapped file.
+ * <p>
+ * The edges from vertex i are target(offset(i)) through
+ * target(offset(i+1)-1), sorted by id so that hasEdge can use binary
+ * search.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+abstract class AbstractCompressedSparseRow<V> extends AbstractGraph<V> implements IndexedGraph<V> {
+
+    private HashMap<V, Integer> ids;
+    private ArrayList<V> vertexList;
+    private List<V> vertexView;
+    private int hash;
+
+    /**
+     * Create a graph with room for a given number of vertices, which
+     * the subclass gives ids to with addId.
+     *
+     * @param vertices the number of vertices the graph will hold
+     */
+    AbstractCompressedSparseRow(int vertices) {
+        ids = new HashMap<>((int) Math.ceil(vertices / 0.75), 0.75f);
+        vertexList = new ArrayList<>(vertices);
+        vertexView = Collections.unmodifiableList(vertexList);
+    }
+
+    /**
+     * gives a vertex the next id
+     *
+     * @param vertex the vertex to add
+     * @return false if the vertex already had an id, which is left alone
+     */
+    boolean addId(V vertex) {
+        if (ids.containsKey(vertex)) {
+            return false;
+        }
+        ids.put(vertex, vertexList.size());
+        vertexList.add(vertex);
+        return true;
+    }
+
+    /**
+     * @return the number of vertices in the graph.
+     */
+    public int numVertices() {
+        return vertexList.size();
+    }
+
+    /**
+     * @return the number of edges in the graph.
+     */
+    public int numEdges() {
+        return offset(vertexList.size());
+    }
+
+    /**
+     * Gets the number of vertices connected by edges from a given
+     * vertex.  If the given vertex is not in the graph, throws a
+     * RuntimeException.
+     *
+     * @param vertex the vertex whose degree we want.
+     * @return the degree of vertex 'vertex'
+     */
+    public int degree(V vertex) throws RuntimeException {
+        int id = idOf(vertex);
+        if (id < 0) {
+            throw new RuntimeException("Vertex " + vertex + " is not in the graph");
+        }
+        return offset(id+1) - offset(id);
+    }
+
+    /**
+     * Always throws UnsupportedOperationException, because this graph
+     * cannot be changed.
+     *
+     * @param from the source vertex for the added edge
+     * @param to the destination vertex for the added edge
+     */
+    public void addEdge(V from, V to) {
+        throw immutable();
+    }
+
+    /**
+     * Always throws UnsupportedOperationException, because this graph
+     * cannot be changed.
+     *
+     * @param vertex the vertex to add
+     */
+    public void addVertex(V vertex) {
+        throw immutable();
+    }
+
+    /**
+     * Always throws UnsupportedOperationException, because this graph
+     * cannot be changed.
+     *
+     * @param from the source vertex of the edge to remove
+     * @param to the destination vertex of the edge to remove
+     */
+    public void removeEdge(V from, V to) {
+        throw immutable();
+    }
+
+    /**
+     * Always throws UnsupportedOperationException, because this graph
+     * cannot be changed.
+     *
+     * @param vertex the vertex to remove
+     */
+    public void removeVertex(V vertex) {
+        throw immutable();
+    }
+
+    private UnsupportedOperationException immutable() {
+        return new UnsupportedOperationException(getClass().getSimpleName() + " is immutable");
+    }
+
+    /**
+     * @return an iterable collection for the set of vertices of
+     * the graph, in id order.
+     */
+    public Iterable<V> getVertices() {
+        return vertexView;
+    }
+
+    /**
+     * Gets the vertices adjacent to a given vertex, in id order.
+     *
+     * @param from the source vertex
+     * @return an iterable collection for the set of vertices that are
+     * the destinations of edges for which 'from' is the source
+     * vertex.  If 'from' is not a vertex in the graph, returns an
+     * empty iterator.
+     */
+    public Iterable<V> adjacentTo(V from) {
+        int id = idOf(from);
+        if (id < 0) {
+            return Collections.emptySet();
+        }
+        final int start = offset(id);
+        final int end = offset(id+1);
+        return new Iterable<V>() {
+            public Iterator<V> iterator() {
+                return new Iterator<V>() {
+                    private int next = start;
+
+                    public boolean hasNext() {
+                        return next < end;
+                    }
+
+                    public V next() {
+                        if (next >= end) {
+                            throw new NoSuchElementException();
+                        }
+                        return vertexList.get(target(next++));
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Calls an action once for each vertex adjacent to a given vertex,
+     * in id order.  If 'from' is not a vertex in the graph, does nothing.
+     *
+     * @param from the source vertex
+     * @param action the callback to run for each adjacent vertex
+     */
+    public void forEachNeighbor(V from, Consumer<? super V> action) {
+        int id = idOf(from);
+        if (id >= 0) {
+            int end = offset(id+1);
+            for (int i = offset(id); i < end; i++) {
+                action.accept(vertexList.get(target(i)));
+            }
+        }
+    }
+
+    /**
+     * Tells whether a vertex is in the graph.
+     *
+     * @param vertex a vertex
+     * @return true iff 'vertex' is a vertex in the graph.
+     */
+    public boolean contains(V vertex) {
+        return ids.containsKey(vertex);
+    }
+
+    /**
+     * Tells whether an edge exists in the graph, using a binary search
+     * of the source vertex's sorted neighbors.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     *
+     * @return true iff there is an edge from the source vertex to the
+     * destination vertex in the graph.  If either of the given
+     * vertices are not vertices in the graph, then there is no edge
+     * between them.
+     */
+    public boolean hasEdge(V from, V to) {
+        int fromId = idOf(from);
+        int toId = idOf(to);
+        if (fromId < 0 || toId < 0) {
+            return false;
+        }
+        int low = offset(fromId);
+        int high = offset(fromId+1) - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int target = target(middle);
+            if (target < toId) {
+                low = middle + 1;
+            }
+            else if (target > toId) {
+                high = middle - 1;
+            }
+            else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gives the hash code described by AbstractGraph.hashCode.  The
+     * graph can't change, so it is only computed the first time.
+     *
+     * @return the hash code of the graph
+     */
+    public int hashCode() {
+        int result = hash;
+        if (result == 0) {
+            result = super.hashCode();
+            hash = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return true once hashCode has been computed
+     */
+    protected boolean hasConstantTimeHashCode() {
+        return hash != 0;
+    }
+
+    /**
+     * @param id a vertex id, from 0 to numVertices()-1
+     * @return the vertex with that id
+     */
+    public V vertexAt(int id) {
+        return vertexList.get(id);
+    }
+
+    /**
+     * gets the id this graph gave a vertex
+     *
+     * @param vertex the vertex to look up
+     * @return the id of the vertex, -1 if it is not in the graph
+     */
+    public int idOf(V vertex) {
+        Integer id = ids.get(vertex);
+        if (id == null) {
+            return -1;
+        }
+        return id;
+    }
+}
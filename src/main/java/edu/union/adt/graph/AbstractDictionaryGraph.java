@@ -0,0 +1,312 @@
+package edu.union.adt.graph;
+import java.util.*;
+
+/**
+ * The part of a graph that interns its vertices into int ids through
+ * a VertexDictionary and doesn't care how the edges from each id are
+ * kept: the dictionary, each vertex's degree, the edge count and the
+ * hash code, which is kept up to date as the graph changes, and the
+ * queries that only need those.  InternedGraph, OffHeapGraph,
+ * WeightedGraphAdjacencyArray and DenseGraph keep the edges.
+ * <p>
+ * A subclass keeps its own arrays indexed by id.  They are grown by
+ * growTo when the ids outgrow them, and a new id is given its empty
+ * row by vertexAdded.  No incoming edges are indexed, so removeVertex
+ * looks at every vertex, through removeEdgeFrom.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+abstract class AbstractDictionaryGraph<V> extends AbstractGraph<V> {
+
+    final VertexDictionary<V> dictionary;
+    int[] degrees;
+    int edges;
+    int fingerprint;
+
+    /**
+     * Create an empty graph with room for a given number of vertices
+     * before it has to grow.
+     *
+     * @param expectedVertices the number of vertices the graph is
+     * expected to hold
+     * @param defaultCapacity the fewest vertices to make room for
+     */
+    AbstractDictionaryGraph(int expectedVertices, int defaultCapacity) {
+        if (expectedVertices < 0) {
+            throw new IllegalArgumentException("expected size must not be negative");
+        }
+        int capacity = Math.max(expectedVertices, defaultCapacity);
+        dictionary = new VertexDictionary<>(capacity);
+        degrees = new int[capacity];
+        edges = 0;
+        fingerprint = 0;
+    }
+
+    /**
+     * @return the number of ids the graph had room for when it was made
+     */
+    int initialCapacity() {
+        return degrees.length;
+    }
+
+    /**
+     * grows the subclass's arrays indexed by id to a new length
+     *
+     * @param capacity the new length, more than the old one
+     */
+    abstract void growTo(int capacity);
+
+    /**
+     * gives a new vertex an empty row
+     *
+     * @param id the id of the vertex, below the length of the arrays
+     */
+    abstract void vertexAdded(int id);
+
+    /**
+     * tells whether a vertex that is in the graph has an edge to another
+     *
+     * @param from the id of a vertex in the graph
+     * @param to the id of the destination vertex
+     * @return true if there is an edge from 'from' to 'to'
+     */
+    abstract boolean hasEdgeFrom(int from, int to);
+
+    /**
+     * removes the edge between two vertices in the graph, taking it
+     * out of the degree of 'from' and the edge count, but not the hash
+     * code
+     *
+     * @param from the id of a vertex in the graph
+     * @param to the id of a vertex in the graph
+     * @return true if there was an edge to remove
+     */
+    abstract boolean removeEdgeFrom(int from, int to);
+
+    /**
+     * drops the edges from a vertex that is being removed.  They have
+     * already been taken out of the edge count and the hash code.
+     *
+     * @param id the id of the vertex
+     */
+    abstract void clearVertex(int id);
+
+    /**
+     * throws IllegalStateException if the graph can't be used any
+     * more.  A graph is always usable unless a subclass says otherwise.
+     */
+    void checkOpen() {
+    }
+
+    /**
+     * @param id the id of a vertex in the graph
+     * @return false only if no other vertex has an edge to it; true
+     * unless a subclass counts incoming edges
+     */
+    boolean mayHaveEdgesTo(int id) {
+        return true;
+    }
+
+    /**
+     * @return the number of vertices in the graph.
+     */
+    public int numVertices() {
+        checkOpen();
+        return dictionary.size();
+    }
+
+    /**
+     * @return the number of edges in the graph.
+     */
+    public int numEdges() {
+        checkOpen();
+        return edges;
+    }
+
+    /**
+     * Gets the number of vertices connected by edges from a given
+     * vertex.  If the given vertex is not in the graph, throws a
+     * RuntimeException.
+     *
+     * @param vertex the vertex whose degree we want.
+     * @return the degree of vertex 'vertex'
+     */
+    public int degree(V vertex) throws RuntimeException {
+        checkOpen();
+        return degrees[idOrThrow(vertex)];
+    }
+
+    /**
+     * Adds a vertex to the graph.  If the vertex already exists in
+     * the graph, does nothing.  If the vertex does not exist, it is
+     * added to the graph, with no edges connected to it.
+     *
+     * @param vertex the vertex to add
+     */
+    public void addVertex(V vertex) {
+        checkOpen();
+        intern(vertex);
+    }
+
+    /**
+     * Removes the directed edge between two vertices.  If there is no
+     * such edge, does nothing.
+     *
+     * @param from the source vertex of the edge to remove
+     * @param to the destination vertex of the edge to remove
+     */
+    public void removeEdge(V from, V to) {
+        checkOpen();
+        int fromId = dictionary.idOf(from);
+        int toId = dictionary.idOf(to);
+        if (fromId >= 0 && toId >= 0 && removeEdgeFrom(fromId, toId)) {
+            fingerprint -= edgeHash(from, to);
+        }
+    }
+
+    /**
+     * Removes a vertex and every edge to or from it.  If the vertex is
+     * not in the graph, does nothing.  Finding the edges into the
+     * vertex looks at every other vertex.  The vertex's id is given to
+     * the next vertex added.
+     *
+     * @param vertex the vertex to remove
+     */
+    public void removeVertex(V vertex) {
+        checkOpen();
+        int id = dictionary.idOf(vertex);
+        if (id < 0) {
+            return;
+        }
+        for (int from = 0; from < dictionary.limit() && mayHaveEdgesTo(id); from++) {
+            if (from != id && dictionary.isUsed(from) && removeEdgeFrom(from, id)) {
+                fingerprint -= edgeHash(dictionary.vertexAt(from), vertex);
+            }
+        }
+        forEachNeighbor(vertex, to -> fingerprint -= edgeHash(vertex, to));
+        edges -= degrees[id];
+        clearVertex(id);
+        degrees[id] = 0;
+        dictionary.remove(vertex);
+        fingerprint -= vertexHash(vertex);
+    }
+
+    /**
+     * @return an iterable collection for the set of vertices of
+     * the graph, in the order of their ids.  The graph must not be
+     * changed while iterating.
+     */
+    public Iterable<V> getVertices() {
+        checkOpen();
+        return () -> new Iterator<V>() {
+            private int next = advance(0);
+
+            public boolean hasNext() {
+                return next < dictionary.limit();
+            }
+
+            public V next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                V current = dictionary.vertexAt(next);
+                next = advance(next + 1);
+                return current;
+            }
+
+            private int advance(int from) {
+                while (from < dictionary.limit() && !dictionary.isUsed(from)) {
+                    from++;
+                }
+                return from;
+            }
+        };
+    }
+
+    /**
+     * Tells whether a vertex is in the graph.
+     *
+     * @param vertex a vertex
+     * @return true iff 'vertex' is a vertex in the graph.
+     */
+    public boolean contains(V vertex) {
+        checkOpen();
+        return dictionary.idOf(vertex) >= 0;
+    }
+
+    /**
+     * Tells whether an edge exists in the graph.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     *
+     * @return true iff there is an edge from the source vertex to the
+     * destination vertex in the graph.  If either of the given
+     * vertices are not vertices in the graph, then there is no edge
+     * between them.
+     */
+    public boolean hasEdge(V from, V to) {
+        checkOpen();
+        int fromId = dictionary.idOf(from);
+        if (fromId < 0 || degrees[fromId] == 0) {
+            return false;
+        }
+        int toId = dictionary.idOf(to);
+        return toId >= 0 && hasEdgeFrom(fromId, toId);
+    }
+
+    /**
+     * Gives the hash code described by AbstractGraph.hashCode in
+     * constant time.  The graph keeps the sum up to date as vertices
+     * and edges are added and removed.
+     *
+     * @return the hash code of the graph
+     */
+    public int hashCode() {
+        checkOpen();
+        return fingerprint;
+    }
+
+    /**
+     * @return true, because hashCode takes constant time
+     */
+    protected boolean hasConstantTimeHashCode() {
+        return true;
+    }
+
+    /**
+     * @return the id of a vertex in the graph
+     * @throws RuntimeException if the vertex is not in the graph
+     */
+    int idOrThrow(V vertex) {
+        int id = dictionary.idOf(vertex);
+        if (id < 0) {
+            throw new RuntimeException("Vertex " + vertex + " is not in the graph");
+        }
+        return id;
+    }
+
+    /**
+     * gets the id of a vertex, adding the vertex to the graph if it
+     * isn't there yet.  When the ids outgrow the arrays, they double
+     * in length.
+     *
+     * @param vertex a vertex
+     * @return the id of 'vertex'
+     */
+    int intern(V vertex) {
+        int size = dictionary.size();
+        int id = dictionary.intern(vertex);
+        if (dictionary.size() != size) {
+            if (id == degrees.length) {
+                int capacity = (int) Math.min(Integer.MAX_VALUE, 2L * degrees.length);
+                degrees = Arrays.copyOf(degrees, capacity);
+                growTo(capacity);
+            }
+            vertexAdded(id);
+            fingerprint += vertexHash(vertex);
+        }
+        return id;
+    }
+}
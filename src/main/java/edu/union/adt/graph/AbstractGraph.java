@@ -0,0 +1,222 @@
+package edu.union.adt.graph;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.StringBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Behavior shared by the Graph implementations that can be written
+ * using only the Graph interface: the string representation, equality,
+ * hash codes and neighbor callbacks.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+public abstract class AbstractGraph<V> implements Graph<V> {
+
+    /**
+     * Calls an action once for each vertex adjacent to a given vertex.
+     * If 'from' is not a vertex in the graph, does nothing.
+     *
+     * @param from the source vertex
+     * @param action the callback to run for each adjacent vertex
+     */
+    public void forEachNeighbor(V from, Consumer<? super V> action) {
+        for (V to : adjacentTo(from)) {
+            action.accept(to);
+        }
+    }
+
+    /**
+     * Gets the number of edges that end at a given vertex.  If the
+     * given vertex is not in the graph, throws a RuntimeException.
+     * This looks at every edge in the graph; implementations that can
+     * do better override it.
+     *
+     * @param vertex the vertex whose in-degree we want.
+     * @return the number of vertices with an edge to 'vertex'
+     */
+    public int inDegree(V vertex) throws RuntimeException {
+        if (!contains(vertex)) {
+            throw new RuntimeException("Vertex " + vertex + " is not in the graph");
+        }
+        int inDegree = 0;
+        for (V from : predecessors(vertex)) {
+            inDegree++;
+        }
+        return inDegree;
+    }
+
+    /**
+     * Gets the vertices with an edge to a given vertex.  This looks at
+     * every edge in the graph; implementations that can do better
+     * override it.
+     *
+     * @param to the destination vertex
+     * @return the vertices x for which (x, 'to') is an edge.  If 'to'
+     * is not a vertex in the graph, returns an empty iterator.
+     */
+    public Iterable<V> predecessors(V to) {
+        List<V> predecessors = new ArrayList<>();
+        if (contains(to)) {
+            for (V from : getVertices()) {
+                if (hasEdge(from, to)) {
+                    predecessors.add(from);
+                }
+            }
+        }
+        return predecessors;
+    }
+
+    /**
+     * Gives a string representation of the graph in the format
+     * described by GraphAdjacencyList.toString: one line per vertex,
+     * the vertex followed by ": " and then its adjacent vertices
+     * separated by ", ".
+     *
+     * @return the string representation of the graph
+     */
+    public String toString() {
+        StringBuilder toReturn = new StringBuilder();
+        try {
+            writeTo(toReturn);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return toReturn.toString();
+    }
+
+    /**
+     * Writes the string representation described by toString, one
+     * vertex at a time, so that the whole string never has to be in
+     * memory at once.
+     *
+     * @param out where to write the representation
+     * @throws IOException if out throws IOException
+     */
+    public void writeTo(Appendable out) throws IOException {
+        boolean first = true;
+        for (V vertex : getVertices()) {
+            if (!first) {
+                out.append('\n');
+            }
+            out.append(String.valueOf(vertex)).append(':');
+            String separator = " ";
+            for (V to : adjacentTo(vertex)) {
+                out.append(separator).append(String.valueOf(to));
+                separator = ", ";
+            }
+            first = false;
+        }
+    }
+
+    /**
+     * compares this Graph with an Object.  When both graphs keep their
+     * hash codes up to date, graphs with different hash codes are
+     * rejected right away; otherwise every edge is checked, stopping at
+     * the first difference.
+     * @return true if the object is a Graph with the same vertices and
+     * edges, false otherwise
+     */
+    public boolean equals(Object anotherObject) {
+        if (this == anotherObject) {
+            return true;
+        }
+        if (!(anotherObject instanceof Graph)) {
+            return false;
+        }
+        Graph<?> anotherGraph = (Graph<?>) anotherObject;
+        if (this.numVertices() != anotherGraph.numVertices()
+                || this.numEdges() != anotherGraph.numEdges()) {
+            return false;
+        }
+        if (this.hasConstantTimeHashCode()
+                && anotherGraph instanceof AbstractGraph
+                && ((AbstractGraph<?>) anotherGraph).hasConstantTimeHashCode()
+                && this.hashCode() != anotherGraph.hashCode()) {
+            return false;
+        }
+        try {
+            Graph<V> myTypeGraph = (Graph<V>) anotherGraph;
+            for (V vertex : this.getVertices()) {
+                if (!myTypeGraph.contains(vertex)
+                        || myTypeGraph.degree(vertex) != this.degree(vertex)) {
+                    return false;
+                }
+                for (V to : this.adjacentTo(vertex)) {
+                    if (!myTypeGraph.hasEdge(vertex, to)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gives a hash code that depends only on the vertices and edges,
+     * not on the order they were added in: the sum of vertexHash over
+     * the vertices plus the sum of edgeHash over the edges.  Every
+     * Graph implementation uses this sum, so equal graphs of different
+     * classes have equal hash codes.  This looks at every edge in the
+     * graph; implementations that keep the sum up to date as they
+     * change override it.
+     *
+     * @return the hash code of the graph
+     */
+    public int hashCode() {
+        int hash = 0;
+        for (V vertex : getVertices()) {
+            hash += vertexHash(vertex);
+            for (V to : adjacentTo(vertex)) {
+                hash += edgeHash(vertex, to);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Tells whether hashCode takes constant time, so that equals can
+     * compare hash codes before comparing edges.
+     *
+     * @return true iff hashCode does not look at every edge
+     */
+    protected boolean hasConstantTimeHashCode() {
+        return false;
+    }
+
+    /**
+     * @param vertex a vertex
+     * @return what a vertex adds to the hash code of a graph
+     */
+    static int vertexHash(Object vertex) {
+        return mix(Objects.hashCode(vertex));
+    }
+
+    /**
+     * @param from the source vertex of an edge
+     * @param to the destination vertex of an edge
+     * @return what an edge adds to the hash code of a graph
+     */
+    static int edgeHash(Object from, Object to) {
+        return mix(Objects.hashCode(from) * 0x9E3779B9 + Objects.hashCode(to) + 1);
+    }
+
+    /**
+     * spreads the bits of a hash code, so that sums of mixed hash codes
+     * rarely collide
+     */
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+}
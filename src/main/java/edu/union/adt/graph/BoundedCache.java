@@ -0,0 +1,154 @@
+package edu.union.adt.graph;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+
+/**
+ * A map that holds at most a fixed number of entries, evicting one
+ * whenever a new entry would go over.  With LRU eviction the entry
+ * that was used least recently goes; with LFU eviction the entry that
+ * was used the fewest times goes, the oldest of those first.  Every
+ * operation takes constant expected time for LRU and logarithmic time
+ * in the number of distinct use counts for LFU.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+class BoundedCache<K, T> {
+    private final int capacity;
+    private final CachedGraph.Eviction eviction;
+    private final BiConsumer<K, T> onEvict;
+    private final LinkedHashMap<K, T> recent;
+    private final HashMap<K, Use<T>> uses;
+    private final TreeMap<Integer, LinkedHashSet<K>> byCount;
+
+    /**
+     * an LFU entry: its value and how many times it has been used
+     */
+    private static class Use<T> {
+        private final T value;
+        private int count;
+
+        private Use(T value) {
+            this.value = value;
+            this.count = 1;
+        }
+    }
+
+    /**
+     * Create an empty cache
+     * @param capacity the most entries the cache may hold, at least 1
+     * @param eviction which entry to evict when the cache is full
+     * @param onEvict called with each entry that is evicted
+     */
+    BoundedCache(int capacity, CachedGraph.Eviction eviction, BiConsumer<K, T> onEvict) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1: " + capacity);
+        }
+        this.capacity = capacity;
+        this.eviction = eviction;
+        this.onEvict = onEvict;
+        this.recent = new LinkedHashMap<>(16, 0.75f, true);
+        this.uses = new HashMap<>();
+        this.byCount = new TreeMap<>();
+    }
+
+    /**
+     * gets the value for a key, counting it as a use
+     * @param key a key
+     * @return the value for 'key', or null if it isn't cached
+     */
+    T get(K key) {
+        if (eviction == CachedGraph.Eviction.LRU) {
+            return recent.get(key);
+        }
+        Use<T> use = uses.get(key);
+        if (use == null) {
+            return null;
+        }
+        unlink(key, use.count);
+        use.count++;
+        byCount.computeIfAbsent(use.count, count -> new LinkedHashSet<>()).add(key);
+        return use.value;
+    }
+
+    /**
+     * caches a value for a key that isn't cached yet, evicting an
+     * entry first if the cache is full
+     * @param key a key that isn't in the cache
+     * @param value its value
+     */
+    void put(K key, T value) {
+        if (size() >= capacity) {
+            evict();
+        }
+        if (eviction == CachedGraph.Eviction.LRU) {
+            recent.put(key, value);
+        }
+        else {
+            uses.put(key, new Use<>(value));
+            byCount.computeIfAbsent(1, count -> new LinkedHashSet<>()).add(key);
+        }
+    }
+
+    /**
+     * takes a key out of the cache, without calling onEvict
+     * @param key a key
+     * @return the value it had, or null if it wasn't cached
+     */
+    T remove(K key) {
+        if (eviction == CachedGraph.Eviction.LRU) {
+            return recent.remove(key);
+        }
+        Use<T> use = uses.remove(key);
+        if (use == null) {
+            return null;
+        }
+        unlink(key, use.count);
+        return use.value;
+    }
+
+    /**
+     * @return the number of entries in the cache
+     */
+    int size() {
+        return eviction == CachedGraph.Eviction.LRU ? recent.size() : uses.size();
+    }
+
+    /**
+     * takes the entry chosen by the eviction policy out of the cache
+     * and passes it to onEvict
+     */
+    private void evict() {
+        K key;
+        T value;
+        if (eviction == CachedGraph.Eviction.LRU) {
+            Iterator<Map.Entry<K, T>> eldest = recent.entrySet().iterator();
+            Map.Entry<K, T> entry = eldest.next();
+            key = entry.getKey();
+            value = entry.getValue();
+            eldest.remove();
+        }
+        else {
+            key = byCount.firstEntry().getValue().iterator().next();
+            value = remove(key);
+        }
+        onEvict.accept(key, value);
+    }
+
+    /**
+     * takes a key out of the set of keys with its use count
+     */
+    private void unlink(K key, int count) {
+        LinkedHashSet<K> keys = byCount.get(count);
+        keys.remove(key);
+        if (keys.isEmpty()) {
+            byCount.remove(count);
+        }
+    }
+}
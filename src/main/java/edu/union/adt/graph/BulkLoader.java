@@ -0,0 +1,113 @@
+package edu.union.adt.graph;
+import java.util.*;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Builds a GraphAdjacencyList from a whole list of edges at once using
+ * every core.  The edges are split into chunks, and each chunk sorts
+ * its edges into partitions by the hash of the source vertex.  Then
+ * each partition builds the Vertex objects for its source vertices,
+ * dropping duplicate edges as it goes.  Both steps run on the
+ * fork-join common pool, and no two tasks ever touch the same vertex,
+ * so no locking is needed.  Only the final step of putting the
+ * finished vertices into the graph's map is done on one thread.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+class BulkLoader {
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * @param edges the edges of the graph, as (source, destination) pairs
+     * @return a graph holding exactly the given edges and their endpoints
+     */
+    static <V> GraphAdjacencyList<V> load(Stream<? extends Map.Entry<? extends V, ? extends V>> edges) {
+        final Map.Entry<?, ?>[] edgeArray = edges.toArray(Map.Entry<?, ?>[]::new);
+        final int partitions = Runtime.getRuntime().availableProcessors() * CHUNKS_PER_THREAD;
+        final int chunkSize = Math.max(1, (edgeArray.length + partitions - 1) / partitions);
+        final int chunks = (edgeArray.length + chunkSize - 1) / chunkSize;
+
+        // step 1: each chunk splits its edges by partition of the
+        // source vertex, and its destinations by partition of the
+        // destination vertex, so every endpoint ends up a vertex
+        final List<List<List<Map.Entry<V, V>>>> edgesByChunk = new ArrayList<>();
+        final List<List<List<V>>> targetsByChunk = new ArrayList<>();
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            edgesByChunk.add(null);
+            targetsByChunk.add(null);
+        }
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            List<List<Map.Entry<V, V>>> chunkEdges = newBuckets(partitions);
+            List<List<V>> chunkTargets = newBuckets(partitions);
+            int end = Math.min(edgeArray.length, (chunk + 1) * chunkSize);
+            for (int i = chunk * chunkSize; i < end; i++) {
+                @SuppressWarnings("unchecked")
+                Map.Entry<V, V> edge = (Map.Entry<V, V>) edgeArray[i];
+                chunkEdges.get(partitionOf(edge.getKey(), partitions)).add(edge);
+                chunkTargets.get(partitionOf(edge.getValue(), partitions)).add(edge.getValue());
+            }
+            edgesByChunk.set(chunk, chunkEdges);
+            targetsByChunk.set(chunk, chunkTargets);
+        });
+
+        // step 2: each partition builds its vertices, reading the
+        // chunks in order so edges keep the order they were given in
+        final List<Map<V, Vertex<V>>> vertexMaps = new ArrayList<>();
+        for (int partition = 0; partition < partitions; partition++) {
+            vertexMaps.add(null);
+        }
+        IntStream.range(0, partitions).parallel().forEach(partition -> {
+            Map<V, Vertex<V>> vertices = new HashMap<>();
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                for (Map.Entry<V, V> edge : edgesByChunk.get(chunk).get(partition)) {
+                    Vertex<V> from = vertices.get(edge.getKey());
+                    if (from == null) {
+                        from = new Vertex<>(edge.getKey());
+                        vertices.put(edge.getKey(), from);
+                    }
+                    from.addEdge(edge.getValue());
+                }
+                for (V to : targetsByChunk.get(chunk).get(partition)) {
+                    if (!vertices.containsKey(to)) {
+                        vertices.put(to, new Vertex<>(to));
+                    }
+                }
+            }
+            vertexMaps.set(partition, vertices);
+        });
+
+        // step 3: put the finished vertices into one graph
+        int totalVertices = 0;
+        for (Map<V, Vertex<V>> vertices : vertexMaps) {
+            totalVertices += vertices.size();
+        }
+        GraphAdjacencyList<V> graph = new GraphAdjacencyList<>(totalVertices);
+        for (Map<V, Vertex<V>> vertices : vertexMaps) {
+            for (Vertex<V> vertex : vertices.values()) {
+                graph.addBuiltVertex(vertex);
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * @return a list of partitions empty lists
+     */
+    private static <T> List<List<T>> newBuckets(int partitions) {
+        List<List<T>> buckets = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        return buckets;
+    }
+
+    /**
+     * @return the partition that a vertex belongs to
+     */
+    private static int partitionOf(Object vertex, int partitions) {
+        int hash = Objects.hashCode(vertex) * 0x9E3779B9;
+        return Math.floorMod(hash ^ (hash >>> 16), partitions);
+    }
+}
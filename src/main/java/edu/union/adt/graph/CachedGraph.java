@@ -0,0 +1,464 @@
+package edu.union.adt.graph;
+import java.io.IOException;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * A Graph that passes every call on to another graph, and remembers
+ * the answers to k-hop neighborhood and in-degree queries so that
+ * repeated queries about hot vertices don't walk the graph again.  At
+ * most a fixed number of answers are kept, evicting the least
+ * recently used or least frequently used one when the cache is full.
+ * <p>
+ * Each cached neighborhood remembers which vertices' adjacent
+ * vertices it read.  Changing the edges from a vertex only drops the
+ * answers that read that vertex, and changing the edges into a vertex
+ * only drops that vertex's in-degree, so unrelated answers stay cached.
+ * Adding a vertex with no edges drops nothing.  The wrapped graph must
+ * only be changed through this one, or the cache can't see the change.
+ * <p>
+ * Like GraphAdjacencyList, this class is not safe for use by several
+ * threads at once.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+public class CachedGraph<V> extends AbstractGraph<V> {
+
+    /**
+     * Which cached answer to drop when the cache is full.
+     */
+    public enum Eviction {
+        /** the answer used least recently */
+        LRU,
+        /** the answer used the fewest times, the oldest of those first */
+        LFU
+    }
+
+    private static final int IN_DEGREE = 0;
+
+    private Graph<V> graph;
+    private BoundedCache<Query<V>, Answer<V>> cache;
+    private HashMap<V, Set<Query<V>>> dependents;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * a cached question: the vertices within 'hops' hops of 'vertex',
+     * or its in-degree when 'hops' is IN_DEGREE
+     */
+    private static final class Query<V> {
+        private final V vertex;
+        private final int hops;
+
+        private Query(V vertex, int hops) {
+            this.vertex = vertex;
+            this.hops = hops;
+        }
+
+        public boolean equals(Object anotherObject) {
+            if (!(anotherObject instanceof Query)) {
+                return false;
+            }
+            Query<?> anotherQuery = (Query<?>) anotherObject;
+            return hops == anotherQuery.hops && Objects.equals(vertex, anotherQuery.vertex);
+        }
+
+        public int hashCode() {
+            return Objects.hashCode(vertex) * 31 + hops;
+        }
+    }
+
+    /**
+     * a cached answer, and the vertices whose adjacent vertices were
+     * read to find it
+     */
+    private static final class Answer<V> {
+        private final Object value;
+        private final List<V> reads;
+
+        private Answer(Object value, List<V> reads) {
+            this.value = value;
+            this.reads = reads;
+        }
+    }
+
+    /**
+     * Create a caching view of a graph.
+     *
+     * @param graph the graph to pass calls on to
+     * @param capacity the most answers to keep at once, at least 1
+     * @param eviction which answer to drop when the cache is full
+     */
+    public CachedGraph(Graph<V> graph, int capacity, Eviction eviction) {
+        this.graph = graph;
+        this.cache = new BoundedCache<>(capacity, eviction, this::evicted);
+        this.dependents = new HashMap<>();
+    }
+
+    /**
+     * Gets the vertices that can be reached from a vertex by following
+     * between 1 and 'hops' edges, other than the vertex itself.  With
+     * 'hops' 2, these are the "friends of friends" of the vertex.
+     *
+     * @param vertex the vertex to start from
+     * @param hops the most edges to follow, at least 1
+     * @return an unmodifiable set of the vertices, closest first.  If
+     * 'vertex' is not in the graph, returns an empty set, which is not
+     * cached.
+     */
+    public Set<V> neighborhood(V vertex, int hops) {
+        if (hops < 1) {
+            throw new IllegalArgumentException("hops must be at least 1: " + hops);
+        }
+        if (!graph.contains(vertex)) {
+            return Collections.emptySet();
+        }
+        Query<V> query = new Query<>(vertex, hops);
+        Answer<V> answer = cache.get(query);
+        if (answer != null) {
+            hits++;
+            @SuppressWarnings("unchecked")
+            Set<V> value = (Set<V>) answer.value;
+            return value;
+        }
+        misses++;
+
+        Set<V> found = new LinkedHashSet<>();
+        List<V> reads = new ArrayList<>();
+        List<V> frontier = new ArrayList<>();
+        frontier.add(vertex);
+        for (int level = 1; level <= hops && !frontier.isEmpty(); level++) {
+            List<V> next = new ArrayList<>();
+            for (V from : frontier) {
+                reads.add(from);
+                for (V to : graph.adjacentTo(from)) {
+                    if (!Objects.equals(to, vertex) && found.add(to)) {
+                        next.add(to);
+                    }
+                }
+            }
+            frontier = next;
+        }
+        Set<V> result = Collections.unmodifiableSet(found);
+        cache.put(query, new Answer<>(result, reads));
+        for (V read : reads) {
+            dependents.computeIfAbsent(read, key -> new HashSet<>()).add(query);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the number of edges that end at a given vertex, remembering
+     * the answer until an edge into the vertex is added or removed.
+     * If the given vertex is not in the graph, throws a
+     * RuntimeException.
+     *
+     * @param vertex the vertex whose in-degree we want.
+     * @return the number of vertices with an edge to 'vertex'
+     */
+    public int inDegree(V vertex) throws RuntimeException {
+        Query<V> query = new Query<>(vertex, IN_DEGREE);
+        Answer<V> answer = cache.get(query);
+        if (answer != null) {
+            hits++;
+            return (Integer) answer.value;
+        }
+        int inDegree = graph.inDegree(vertex);
+        misses++;
+        cache.put(query, new Answer<>(inDegree, Collections.emptyList()));
+        return inDegree;
+    }
+
+    /**
+     * @return the number of queries answered from the cache
+     */
+    public long hits() {
+        return hits;
+    }
+
+    /**
+     * @return the number of queries that had to read the graph
+     */
+    public long misses() {
+        return misses;
+    }
+
+    /**
+     * @return the fraction of queries answered from the cache, 0 if
+     * there have been none
+     */
+    public double hitRate() {
+        long queries = hits + misses;
+        return queries == 0 ? 0 : (double) hits / queries;
+    }
+
+    /**
+     * @return the number of answers dropped to make room for others
+     */
+    public long evictions() {
+        return evictions;
+    }
+
+    /**
+     * @return the number of answers dropped because the graph changed
+     */
+    public long invalidations() {
+        return invalidations;
+    }
+
+    /**
+     * @return the number of answers cached now
+     */
+    public int cachedAnswers() {
+        return cache.size();
+    }
+
+    /**
+     * @return the number of vertices in the graph.
+     */
+    public int numVertices() {
+        return graph.numVertices();
+    }
+
+    /**
+     * @return the number of edges in the graph.
+     */
+    public int numEdges() {
+        return graph.numEdges();
+    }
+
+    /**
+     * Gets the number of vertices connected by edges from a given
+     * vertex.  If the given vertex is not in the graph, throws a
+     * RuntimeException.
+     *
+     * @param vertex the vertex whose degree we want.
+     * @return the degree of vertex 'vertex'
+     */
+    public int degree(V vertex) throws RuntimeException {
+        return graph.degree(vertex);
+    }
+
+    /**
+     * Adds a directed edge between two vertices, dropping the cached
+     * answers that read the edges from 'from' and the in-degree of
+     * 'to'.  If there is already an edge between the given vertices,
+     * does nothing.  If either (or both) of the given vertices does
+     * not exist, it is added to the graph before the edge is created
+     * between them.
+     *
+     * @param from the source vertex for the added edge
+     * @param to the destination vertex for the added edge
+     */
+    public void addEdge(V from, V to) {
+        if (!graph.hasEdge(from, to)) {
+            graph.addEdge(from, to);
+            edgesChanged(from, to);
+        }
+    }
+
+    /**
+     * Adds a vertex to the graph.  If the vertex already exists in
+     * the graph, does nothing.  If the vertex does not exist, it is
+     * added to the graph, with no edges connected to it, which changes
+     * no cached answer.
+     *
+     * @param vertex the vertex to add
+     */
+    public void addVertex(V vertex) {
+        graph.addVertex(vertex);
+    }
+
+    /**
+     * Removes the directed edge between two vertices, dropping the
+     * cached answers that read the edges from 'from' and the in-degree
+     * of 'to'.  If there is no such edge, does nothing.
+     *
+     * @param from the source vertex of the edge to remove
+     * @param to the destination vertex of the edge to remove
+     */
+    public void removeEdge(V from, V to) {
+        if (graph.hasEdge(from, to)) {
+            graph.removeEdge(from, to);
+            edgesChanged(from, to);
+        }
+    }
+
+    /**
+     * Removes a vertex and every edge to or from it, dropping the
+     * cached answers that read the edges from it or from any vertex
+     * with an edge to it, and the in-degrees of the vertices it had
+     * edges to.  If the vertex is not in the graph, does nothing.
+     *
+     * @param vertex the vertex to remove
+     */
+    public void removeVertex(V vertex) {
+        if (!graph.contains(vertex)) {
+            return;
+        }
+        for (V from : toList(graph.predecessors(vertex))) {
+            edgesChanged(from, vertex);
+        }
+        for (V to : toList(graph.adjacentTo(vertex))) {
+            edgesChanged(vertex, to);
+        }
+        invalidate(new Query<>(vertex, IN_DEGREE));
+        graph.removeVertex(vertex);
+    }
+
+    /**
+     * @return an iterable collection for the set of vertices of
+     * the graph.
+     */
+    public Iterable<V> getVertices() {
+        return graph.getVertices();
+    }
+
+    /**
+     * Gets the vertices adjacent to a given vertex.
+     *
+     * @param from the source vertex
+     * @return an iterable collection for the set of vertices that are
+     * the destinations of edges for which 'from' is the source
+     * vertex.  If 'from' is not a vertex in the graph, returns an
+     * empty iterator.
+     */
+    public Iterable<V> adjacentTo(V from) {
+        return graph.adjacentTo(from);
+    }
+
+    /**
+     * Calls an action once for each vertex adjacent to a given vertex.
+     * If 'from' is not a vertex in the graph, does nothing.
+     *
+     * @param from the source vertex
+     * @param action the callback to run for each adjacent vertex
+     */
+    public void forEachNeighbor(V from, Consumer<? super V> action) {
+        graph.forEachNeighbor(from, action);
+    }
+
+    /**
+     * Gets the vertices with an edge to a given vertex.
+     *
+     * @param to the destination vertex
+     * @return the vertices x for which (x, 'to') is an edge.  If 'to'
+     * is not a vertex in the graph, returns an empty iterator.
+     */
+    public Iterable<V> predecessors(V to) {
+        return graph.predecessors(to);
+    }
+
+    /**
+     * Tells whether a vertex is in the graph.
+     *
+     * @param vertex a vertex
+     * @return true iff 'vertex' is a vertex in the graph.
+     */
+    public boolean contains(V vertex) {
+        return graph.contains(vertex);
+    }
+
+    /**
+     * Tells whether an edge exists in the graph.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     *
+     * @return true iff there is an edge from the source vertex to the
+     * destination vertex in the graph.  If either of the given
+     * vertices are not vertices in the graph, then there is no edge
+     * between them.
+     */
+    public boolean hasEdge(V from, V to) {
+        return graph.hasEdge(from, to);
+    }
+
+    /**
+     * Writes the string representation of the wrapped graph.
+     *
+     * @param out where to write the representation
+     * @throws IOException if out throws IOException
+     */
+    public void writeTo(Appendable out) throws IOException {
+        graph.writeTo(out);
+    }
+
+    /**
+     * @return the hash code of the wrapped graph
+     */
+    public int hashCode() {
+        return graph.hashCode();
+    }
+
+    /**
+     * @return true iff the wrapped graph's hashCode takes constant time
+     */
+    protected boolean hasConstantTimeHashCode() {
+        return graph instanceof AbstractGraph
+                && ((AbstractGraph<V>) graph).hasConstantTimeHashCode();
+    }
+
+    /**
+     * drops the answers made stale by adding or removing the edge
+     * from 'from' to 'to'
+     */
+    private void edgesChanged(V from, V to) {
+        Set<Query<V>> stale = dependents.remove(from);
+        if (stale != null) {
+            for (Query<V> query : stale) {
+                invalidate(query);
+            }
+        }
+        invalidate(new Query<>(to, IN_DEGREE));
+    }
+
+    /**
+     * drops one cached answer, if it is cached
+     */
+    private void invalidate(Query<V> query) {
+        Answer<V> answer = cache.remove(query);
+        if (answer != null) {
+            forget(query, answer);
+            invalidations++;
+        }
+    }
+
+    /**
+     * called by the cache when it evicts an answer
+     */
+    private void evicted(Query<V> query, Answer<V> answer) {
+        forget(query, answer);
+        evictions++;
+    }
+
+    /**
+     * stops tracking the vertices a dropped answer read
+     */
+    private void forget(Query<V> query, Answer<V> answer) {
+        for (V read : answer.reads) {
+            Set<Query<V>> queries = dependents.get(read);
+            if (queries != null) {
+                queries.remove(query);
+                if (queries.isEmpty()) {
+                    dependents.remove(read);
+                }
+            }
+        }
+    }
+
+    /**
+     * copies an iterable, so the graph can be changed while the copy
+     * is used
+     */
+    private static <V> List<V> toList(Iterable<V> vertices) {
+        List<V> list = new ArrayList<>();
+        for (V vertex : vertices) {
+            list.add(vertex);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,188 @@
+package edu.union.adt.graph;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * A bounded log of the changes made to a graph, kept in a ring
+ * buffer, so that caches, indexes and replicas can catch up on what
+ * changed instead of reading the whole graph again.  Each change gets
+ * the next sequence number, and goes in slot sequence mod capacity,
+ * replacing the change capacity places before it.
+ * <p>
+ * The log takes no locks.  A writer claims a sequence number with one
+ * atomic increment and then publishes the change into its slot with a
+ * compare-and-set that only replaces an older change, so any number
+ * of threads may append at once, and a writer that was lapped while
+ * it stalled never hides the newer change in its slot.  Readers each hold a
+ * Cursor and drain the changes after it in batches.  A change knows
+ * its own sequence number, so a reader can tell a slot that has not
+ * been published yet (an older change) from one that has been
+ * overwritten (a newer change); in the second case the reader fell
+ * more than capacity changes behind, and has to start over from a
+ * full copy of the graph.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+public class ChangeLog<V> {
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final AtomicReferenceArray<GraphChange<V>> slots;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+
+    /**
+     * Create an empty log.
+     *
+     * @param capacity the number of changes to keep, rounded up to a
+     * power of two
+     */
+    public ChangeLog(int capacity) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("capacity must be between 1 and " + MAX_CAPACITY
+                                               + ": " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        slots = new AtomicReferenceArray<>(size);
+        mask = size - 1;
+    }
+
+    /**
+     * @return the number of changes the log keeps
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * @return the sequence number the next change will get, which is
+     * the number of changes appended so far
+     */
+    public long head() {
+        return claimed.get();
+    }
+
+    /**
+     * @return the sequence number of the oldest change still in the log
+     */
+    public long oldest() {
+        return Math.max(0, claimed.get() - capacity());
+    }
+
+    /**
+     * Records a change.
+     *
+     * @param type the kind of change
+     * @param from the vertex added or removed, or the source of the edge
+     * @param to the destination of the edge, or null for a vertex change
+     * @return the sequence number of the change
+     */
+    public long append(GraphChange.Type type, V from, V to) {
+        long sequence = claimed.getAndIncrement();
+        GraphChange<V> change = new GraphChange<>(sequence, type, from, to);
+        int slot = (int) sequence & mask;
+        // a writer that stalls here can be lapped; if a newer change
+        // is already in the slot, this one has been overwritten and is
+        // dropped rather than replacing it
+        GraphChange<V> current = slots.get(slot);
+        while ((current == null || current.sequence() < sequence)
+               && !slots.compareAndSet(slot, current, change)) {
+            current = slots.get(slot);
+        }
+        return sequence;
+    }
+
+    /**
+     * @return a cursor that sees the changes appended from now on
+     */
+    public Cursor cursor() {
+        return new Cursor(claimed.get());
+    }
+
+    /**
+     * @param sequence the sequence number of the first change to see,
+     * at least oldest() and at most head()
+     * @return a cursor that sees the changes from 'sequence' on
+     */
+    public Cursor cursorFrom(long sequence) {
+        if (sequence < oldest() || sequence > head()) {
+            throw new IllegalArgumentException("sequence " + sequence + " is not between "
+                                               + oldest() + " and " + head());
+        }
+        return new Cursor(sequence);
+    }
+
+    /**
+     * A reader's position in a ChangeLog.  A cursor is meant to be
+     * used by one thread; give each reader its own.
+     */
+    public final class Cursor {
+        private long position;
+
+        private Cursor(long position) {
+            this.position = position;
+        }
+
+        /**
+         * @return the sequence number of the next change this cursor
+         * will see
+         */
+        public long position() {
+            return position;
+        }
+
+        /**
+         * @return true if changes this cursor has not seen were
+         * overwritten, so it can't catch up from the log
+         */
+        public boolean isBehind() {
+            GraphChange<V> change = slots.get((int) position & mask);
+            return change != null && change.sequence() > position;
+        }
+
+        /**
+         * Passes the published changes after this cursor to an action,
+         * oldest first, and moves past them.
+         *
+         * @param action the callback to run for each change
+         * @return the number of changes passed to 'action'
+         * @throws IllegalStateException if the cursor is behind
+         */
+        public int drain(Consumer<? super GraphChange<V>> action) {
+            return drain(action, Integer.MAX_VALUE);
+        }
+
+        /**
+         * Passes up to 'max' of the published changes after this
+         * cursor to an action, oldest first, and moves past them.
+         * Stops early at a change that has been claimed but not yet
+         * published, so changes are never seen out of order.
+         *
+         * @param action the callback to run for each change
+         * @param max the most changes to pass
+         * @return the number of changes passed to 'action'
+         * @throws IllegalStateException if the cursor is behind
+         */
+        public int drain(Consumer<? super GraphChange<V>> action, int max) {
+            int count = 0;
+            while (count < max) {
+                GraphChange<V> change = slots.get((int) position & mask);
+                if (change == null || change.sequence() < position) {
+                    break;
+                }
+                if (change.sequence() > position) {
+                    throw new IllegalStateException("change " + position + " was overwritten; "
+                                                    + "the log only keeps " + capacity());
+                }
+                action.accept(change);
+                position++;
+                count++;
+            }
+            return count;
+        }
+    }
+}
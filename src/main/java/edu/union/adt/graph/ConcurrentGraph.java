@@ -0,0 +1,420 @@
+package edu.union.adt.graph;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * A thread-safe implementation of the Graph interface.  Vertices are
+ * kept in a ConcurrentHashMap and each vertex's adjacent vertices in a
+ * concurrent hash set, so any number of threads can add vertices and
+ * edges at once, and reads never block.  The vertex and edge counts
+ * are LongAdders, so writers don't all contend on one counter.
+ * <p>
+ * Each addVertex and addEdge call is atomic: if several threads add
+ * the same edge, exactly one of them counts it.  Iterating over the
+ * vertices or adjacent vertices while other threads write is safe,
+ * but may or may not see the new vertices and edges.
+ * <p>
+ * Adding and removing edges takes no locks; only vertex removals run
+ * one at a time.  A vertex being removed is marked dead before its
+ * edges are taken out, and stays in the map until they are, so an
+ * addEdge that finds a dead end takes back its edge and tries again
+ * once the removal is done, adding the vertex back.
+ * <p>
+ * A graph made with the incoming-edge index also keeps, for every
+ * vertex, the vertices with edges to it, so removeVertex only touches
+ * the vertex's own edges, at the cost of about as much memory again
+ * as the edges themselves.  Without it, removeVertex looks at every
+ * vertex once.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+public class ConcurrentGraph<V> extends AbstractGraph<V> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private ConcurrentHashMap<V, Adjacency<V>> vertexList;
+    private final boolean incomingIndexed;
+    private final Object removal;
+    private LongAdder vertices;
+    private LongAdder edges;
+    private LongAdder fingerprint;
+
+    /**
+     * Create an empty graph.
+     */
+    public ConcurrentGraph() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create an empty graph with room for a given number of vertices
+     * before it has to grow.
+     *
+     * @param expectedVertices the number of vertices the graph is
+     * expected to hold
+     */
+    public ConcurrentGraph(int expectedVertices) {
+        this(expectedVertices, false);
+    }
+
+    /**
+     * Create an empty graph with room for a given number of vertices
+     * before it has to grow.
+     *
+     * @param expectedVertices the number of vertices the graph is
+     * expected to hold
+     * @param incomingIndexed true to keep every vertex's incoming
+     * edges, so that removeVertex doesn't look at every vertex
+     */
+    public ConcurrentGraph(int expectedVertices, boolean incomingIndexed) {
+        if (expectedVertices < 0) {
+            throw new IllegalArgumentException("expected size must not be negative");
+        }
+        vertexList = new ConcurrentHashMap<>(Math.max(expectedVertices, DEFAULT_CAPACITY));
+        this.incomingIndexed = incomingIndexed;
+        vertices = new LongAdder();
+        edges = new LongAdder();
+        fingerprint = new LongAdder();
+        removal = new Object();
+    }
+
+    /**
+     * the edges out of and, if they are kept, into one vertex
+     */
+    private static final class Adjacency<V> {
+        final Set<V> out = ConcurrentHashMap.newKeySet();
+        final Set<V> in;
+        volatile boolean dead;
+
+        Adjacency(boolean incomingIndexed) {
+            in = incomingIndexed ? ConcurrentHashMap.<V>newKeySet() : null;
+        }
+    }
+
+    /**
+     * @return true if every vertex keeps the vertices with edges to it
+     */
+    public boolean isIncomingIndexed() {
+        return incomingIndexed;
+    }
+
+    /**
+     * @return the number of vertices in the graph.  Exact when no
+     * other thread is adding vertices.
+     */
+    public int numVertices() {
+        return vertices.intValue();
+    }
+
+    /**
+     * @return the number of edges in the graph.  Exact when no other
+     * thread is adding edges.
+     */
+    public int numEdges() {
+        return edges.intValue();
+    }
+
+    /**
+     * Gets the number of vertices connected by edges from a given
+     * vertex.  If the given vertex is not in the graph, throws a
+     * RuntimeException.
+     *
+     * @param vertex the vertex whose degree we want.
+     * @return the degree of vertex 'vertex'
+     */
+    public int degree(V vertex) throws RuntimeException {
+        return getAdjacency(vertex).out.size();
+    }
+
+    /**
+     * Gets the number of edges that end at a given vertex.  If the
+     * given vertex is not in the graph, throws a RuntimeException.
+     * Takes time proportional to the answer with the incoming-edge
+     * index, and looks at every edge otherwise.
+     *
+     * @param vertex the vertex whose in-degree we want.
+     * @return the number of vertices with an edge to 'vertex'
+     */
+    public int inDegree(V vertex) throws RuntimeException {
+        if (!incomingIndexed) {
+            return super.inDegree(vertex);
+        }
+        int count = 0;
+        for (V from : predecessors(getAdjacency(vertex), vertex)) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Gets the vertices with an edge to a given vertex.
+     *
+     * @param to the destination vertex
+     * @return a read-only, weakly consistent view of the vertices x
+     * for which (x, 'to') is an edge.  If 'to' is not a vertex in the
+     * graph, returns an empty iterator.
+     */
+    public Iterable<V> predecessors(V to) {
+        if (!incomingIndexed) {
+            return super.predecessors(to);
+        }
+        Adjacency<V> adjacency = vertexList.get(to);
+        if (adjacency == null) {
+            return Collections.emptySet();
+        }
+        return predecessors(adjacency, to);
+    }
+
+    /**
+     * A writer racing a removeEdge of the same edge can leave a vertex
+     * in the incoming set after its edge is gone, so the set is only
+     * trusted for the vertices that still have the edge.
+     *
+     * @return the vertices in 'adjacency.in' that have an edge to 'to'
+     */
+    private Iterable<V> predecessors(Adjacency<V> adjacency, V to) {
+        return () -> adjacency.in.stream().filter(from -> hasEdge(from, to)).iterator();
+    }
+
+    /**
+     * Adds a directed edge between two vertices.  If there is already an edge
+     * between the given vertices, does nothing.  If either (or both)
+     * of the given vertices does not exist, it is added to the
+     * graph before the edge is created between them.  Takes no locks,
+     * unless an end is being removed, when it waits for the removal
+     * and then adds the vertex back.
+     *
+     * @param from the source vertex for the added edge
+     * @param to the destination vertex for the added edge
+     */
+    public void addEdge(V from, V to) {
+        while (true) {
+            Adjacency<V> source = getOrAddVertex(from);
+            Adjacency<V> target = getOrAddVertex(to);
+            boolean added = source.out.add(to);
+            if (added) {
+                if (target.in != null) {
+                    target.in.add(from);
+                }
+                edges.increment();
+                fingerprint.add(edgeHash(from, to));
+            }
+            // a removal marks its vertex dead before it takes the
+            // edges out, so if neither end is dead here, the removal
+            // will see this edge and take it out itself
+            if (!source.dead && !target.dead) {
+                return;
+            }
+            if (added) {
+                unlink(source, target, from, to);
+            }
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Adds a vertex to the graph.  If the vertex already exists in
+     * the graph, does nothing.  If the vertex does not exist, it is
+     * added to the graph, with no edges connected to it.
+     *
+     * @param vertex the vertex to add
+     */
+    public void addVertex(V vertex) {
+        while (getOrAddVertex(vertex).dead) {
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Removes the directed edge between two vertices, without taking
+     * any locks.  If there is no such edge, does nothing.  If several
+     * threads remove the same edge, exactly one of them counts the
+     * removal.
+     *
+     * @param from the source vertex of the edge to remove
+     * @param to the destination vertex of the edge to remove
+     */
+    public void removeEdge(V from, V to) {
+        Adjacency<V> source = vertexList.get(from);
+        if (source != null) {
+            unlink(source, vertexList.get(to), from, to);
+        }
+    }
+
+    /**
+     * takes an edge out of the sets, counting it only if it was there
+     */
+    private void unlink(Adjacency<V> source, Adjacency<V> target, V from, V to) {
+        if (source.out.remove(to)) {
+            edges.decrement();
+            fingerprint.add(-edgeHash(from, to));
+        }
+        if (target != null && target.in != null) {
+            target.in.remove(from);
+            if (source.out.contains(to)) {
+                // the edge was added again meanwhile
+                target.in.add(from);
+            }
+        }
+    }
+
+    /**
+     * Removes a vertex and every edge to or from it.  If the vertex is
+     * not in the graph, does nothing.  With the incoming-edge index
+     * this takes time proportional to the number of those edges, and
+     * otherwise looks at every vertex once.  Vertex removals run one
+     * at a time, but other threads may add and remove edges
+     * meanwhile; an edge to or from the vertex that is added while it
+     * is being removed waits for the removal, and then adds the vertex
+     * back.
+     *
+     * @param vertex the vertex to remove
+     */
+    public void removeVertex(V vertex) {
+        synchronized (removal) {
+            Adjacency<V> adjacency = vertexList.get(vertex);
+            if (adjacency == null) {
+                return;
+            }
+            adjacency.dead = true;
+            for (V to : adjacency.out) {
+                unlink(adjacency, vertexList.get(to), vertex, to);
+            }
+            Iterable<V> sources = adjacency.in;
+            if (sources == null) {
+                sources = vertexList.keySet();
+            }
+            for (V from : sources) {
+                Adjacency<V> source = vertexList.get(from);
+                if (source != null && source.out.remove(vertex)) {
+                    edges.decrement();
+                    fingerprint.add(-edgeHash(from, vertex));
+                }
+            }
+            // only now can an addEdge make the vertex again
+            vertexList.remove(vertex);
+            vertices.decrement();
+            fingerprint.add(-vertexHash(vertex));
+        }
+    }
+
+    /**
+     * @return a read-only, weakly consistent view of the set of
+     * vertices of the graph.
+     */
+    public Iterable<V> getVertices() {
+        return Collections.unmodifiableSet(vertexList.keySet());
+    }
+
+    /**
+     * Gets the vertices adjacent to a given vertex.
+     *
+     * @param from the source vertex
+     * @return a read-only, weakly consistent view of the set of
+     * vertices that are the destinations of edges for which 'from' is
+     * the source vertex.  If 'from' is not a vertex in the graph,
+     * returns an empty iterator.
+     */
+    public Iterable<V> adjacentTo(V from) {
+        Adjacency<V> adjacency = vertexList.get(from);
+        if (adjacency == null) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(adjacency.out);
+    }
+
+    /**
+     * Calls an action once for each vertex adjacent to a given vertex.
+     * If 'from' is not a vertex in the graph, does nothing.
+     *
+     * @param from the source vertex
+     * @param action the callback to run for each adjacent vertex
+     */
+    public void forEachNeighbor(V from, Consumer<? super V> action) {
+        Adjacency<V> adjacency = vertexList.get(from);
+        if (adjacency != null) {
+            adjacency.out.forEach(action);
+        }
+    }
+
+    /**
+     * Tells whether a vertex is in the graph.
+     *
+     * @param vertex a vertex
+     * @return true iff 'vertex' is a vertex in the graph.
+     */
+    public boolean contains(V vertex) {
+        return vertexList.containsKey(vertex);
+    }
+
+    /**
+     * Tells whether an edge exists in the graph.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     *
+     * @return true iff there is an edge from the source vertex to the
+     * destination vertex in the graph.  If either of the given
+     * vertices are not vertices in the graph, then there is no edge
+     * between them.
+     */
+    public boolean hasEdge(V from, V to) {
+        Adjacency<V> adjacency = vertexList.get(from);
+        return adjacency != null && adjacency.out.contains(to);
+    }
+
+    /**
+     * Gives the hash code described by AbstractGraph.hashCode in
+     * constant time.  Exact when no other thread is changing the graph.
+     *
+     * @return the hash code of the graph
+     */
+    public int hashCode() {
+        return fingerprint.intValue();
+    }
+
+    /**
+     * @return true, because hashCode takes constant time
+     */
+    protected boolean hasConstantTimeHashCode() {
+        return true;
+    }
+
+    /**
+     * gets the edges of a vertex, adding the vertex to the graph first
+     * if it isn't there.  Only the thread that actually adds the
+     * vertex counts it.
+     *
+     * @param vertex the vertex to find or add
+     * @return the edges out of and into vertex, which may be dead if
+     * the vertex is being removed
+     */
+    private Adjacency<V> getOrAddVertex(V vertex) {
+        Adjacency<V> adjacency = vertexList.get(vertex);
+        if (adjacency == null) {
+            Adjacency<V> newAdjacency = new Adjacency<>(incomingIndexed);
+            adjacency = vertexList.putIfAbsent(vertex, newAdjacency);
+            if (adjacency == null) {
+                adjacency = newAdjacency;
+                vertices.increment();
+                fingerprint.add(vertexHash(vertex));
+            }
+        }
+        return adjacency;
+    }
+
+    /**
+     * gets the edges of a vertex, or throws a RuntimeException if it
+     * isn't in the graph
+     */
+    private Adjacency<V> getAdjacency(V vertex) {
+        Adjacency<V> adjacency = vertexList.get(vertex);
+        if (adjacency == null) {
+            throw new RuntimeException("Vertex " + vertex + " is not in the graph");
+        }
+        return adjacency;
+    }
+}
@@ -0,0 +1,373 @@
+package edu.union.adt.graph;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * An implementation of the Graph interface for dense graphs, where a
+ * good fraction of all possible edges are present.  Every vertex is
+ * interned into a dense int id through a VertexDictionary, and the
+ * edges from each vertex are kept as a bitset over the ids: bit t of
+ * row f is set iff there is an edge from the vertex with id f to the
+ * vertex with id t.  A row takes one bit per vertex in the graph,
+ * whatever its degree, so the graph takes numVertices()^2 / 8 bytes;
+ * that is far less than a hash set entry per edge once the graph is
+ * dense, and far more when it is not.  hasEdge, addEdge and
+ * removeEdge test or flip one bit, and inDegree is kept as a count.
+ * <p>
+ * Since the rows are bitsets, whole sets of neighbors can be combined
+ * a 64-bit word at a time: commonNeighbors ANDs two rows, neighborUnion
+ * ORs them, and countCommonNeighbors and countTriangles only count the
+ * bits of the ANDed words with Long.bitCount.
+ * <p>
+ * Adjacent vertices are listed in the order of their ids, not the
+ * order their edges were added.  Vertices are compared with equals.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+public class DenseGraph<V> extends AbstractDictionaryGraph<V> {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private long[][] rows;
+    private int[] inDegrees;
+    private int words;
+
+    /**
+     * Create an empty graph.
+     */
+    public DenseGraph() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create an empty graph with room for a given number of vertices
+     * before its rows have to grow.
+     *
+     * @param expectedVertices the number of vertices the graph is
+     * expected to hold
+     */
+    public DenseGraph(int expectedVertices) {
+        super(expectedVertices, DEFAULT_CAPACITY);
+        rows = new long[initialCapacity()][];
+        inDegrees = new int[initialCapacity()];
+        words = wordsFor(initialCapacity());
+    }
+
+    /**
+     * @return the number of longs in a bitset of 'bits' bits
+     */
+    private static int wordsFor(int bits) {
+        return (int) ((bits + 63L) >>> 6);
+    }
+
+    /**
+     * @return true if bit 'id' of 'row' is set
+     */
+    private static boolean isSet(long[] row, int id) {
+        return (row[id >>> 6] & (1L << id)) != 0;
+    }
+
+    /**
+     * Gets the number of edges that end at a given vertex, in constant
+     * time.  If the given vertex is not in the graph, throws a
+     * RuntimeException.
+     *
+     * @param vertex the vertex whose in-degree we want.
+     * @return the number of vertices with an edge to 'vertex'
+     */
+    public int inDegree(V vertex) throws RuntimeException {
+        return inDegrees[idOrThrow(vertex)];
+    }
+
+    /**
+     * Gets the vertices with an edge to a given vertex, by testing one
+     * bit in every row.
+     *
+     * @param to the destination vertex
+     * @return the vertices x for which (x, 'to') is an edge, in the
+     * order of their ids.  If 'to' is not a vertex in the graph,
+     * returns an empty list.
+     */
+    public Iterable<V> predecessors(V to) {
+        int toId = dictionary.idOf(to);
+        List<V> predecessors = new ArrayList<>();
+        if (toId < 0) {
+            return predecessors;
+        }
+        for (int from = 0; from < dictionary.limit() && predecessors.size() < inDegrees[toId]; from++) {
+            if (dictionary.isUsed(from) && isSet(rows[from], toId)) {
+                predecessors.add(dictionary.vertexAt(from));
+            }
+        }
+        return predecessors;
+    }
+
+    /**
+     * Adds a directed edge between two vertices.  If there is already an edge
+     * between the given vertices, does nothing.  If either (or both)
+     * of the given vertices does not exist, it is added to the
+     * graph before the edge is created between them.
+     *
+     * @param from the source vertex for the added edge
+     * @param to the destination vertex for the added edge
+     */
+    public void addEdge(V from, V to) {
+        int fromId = intern(from);
+        int toId = intern(to);
+        long[] row = rows[fromId];
+        if (!isSet(row, toId)) {
+            row[toId >>> 6] |= 1L << toId;
+            degrees[fromId]++;
+            inDegrees[toId]++;
+            edges++;
+            fingerprint += edgeHash(from, to);
+        }
+    }
+
+    /**
+     * Gets the vertices adjacent to a given vertex, in the order of
+     * their ids.
+     *
+     * @param from the source vertex
+     * @return an iterable collection for the set of vertices that are
+     * the destinations of edges for which 'from' is the source
+     * vertex.  If 'from' is not a vertex in the graph, returns an
+     * empty iterator.  The collection is a read-only view of the
+     * graph, not a copy, so the graph must not be changed while
+     * iterating over it.
+     */
+    public Iterable<V> adjacentTo(V from) {
+        final int fromId = dictionary.idOf(from);
+        if (fromId < 0) {
+            return Collections.emptySet();
+        }
+        return () -> new Iterator<V>() {
+            private final long[] row = rows[fromId];
+            private int w = -1;
+            private long word = 0;
+
+            public boolean hasNext() {
+                while (word == 0 && w + 1 < words) {
+                    word = row[++w];
+                }
+                return word != 0;
+            }
+
+            public V next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int to = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                return dictionary.vertexAt(to);
+            }
+        };
+    }
+
+    /**
+     * Calls an action once for each vertex adjacent to a given vertex,
+     * in the order of their ids.  If 'from' is not a vertex in the
+     * graph, does nothing.
+     *
+     * @param from the source vertex
+     * @param action the callback to run for each adjacent vertex
+     */
+    public void forEachNeighbor(V from, Consumer<? super V> action) {
+        int fromId = dictionary.idOf(from);
+        if (fromId >= 0) {
+            long[] row = rows[fromId];
+            for (int w = 0; w < words; w++) {
+                for (long word = row[w]; word != 0; word &= word - 1) {
+                    action.accept(dictionary.vertexAt((w << 6) + Long.numberOfTrailingZeros(word)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the vertices adjacent to both of two vertices, by ANDing
+     * their rows a word at a time.
+     *
+     * @param a a vertex
+     * @param b another vertex
+     * @return the vertices x for which (a, x) and (b, x) are both
+     * edges, in the order of their ids.  If either vertex is not in
+     * the graph, returns an empty list.
+     */
+    public List<V> commonNeighbors(V a, V b) {
+        List<V> common = new ArrayList<>();
+        int aId = dictionary.idOf(a);
+        int bId = dictionary.idOf(b);
+        if (aId < 0 || bId < 0) {
+            return common;
+        }
+        long[] aRow = rows[aId];
+        long[] bRow = rows[bId];
+        for (int w = 0; w < words; w++) {
+            for (long word = aRow[w] & bRow[w]; word != 0; word &= word - 1) {
+                common.add(dictionary.vertexAt((w << 6) + Long.numberOfTrailingZeros(word)));
+            }
+        }
+        return common;
+    }
+
+    /**
+     * Counts the vertices adjacent to both of two vertices, without
+     * listing them.
+     *
+     * @param a a vertex
+     * @param b another vertex
+     * @return the number of vertices x for which (a, x) and (b, x)
+     * are both edges, or 0 if either vertex is not in the graph
+     */
+    public int countCommonNeighbors(V a, V b) {
+        int aId = dictionary.idOf(a);
+        int bId = dictionary.idOf(b);
+        if (aId < 0 || bId < 0) {
+            return 0;
+        }
+        return countAnd(rows[aId], rows[bId]);
+    }
+
+    /**
+     * Gets the vertices adjacent to either of two vertices, by ORing
+     * their rows a word at a time.
+     *
+     * @param a a vertex
+     * @param b another vertex
+     * @return the vertices x for which (a, x) or (b, x) is an edge,
+     * once each, in the order of their ids.  A vertex that is not in
+     * the graph adds no vertices.
+     */
+    public List<V> neighborUnion(V a, V b) {
+        List<V> union = new ArrayList<>();
+        int aId = dictionary.idOf(a);
+        int bId = dictionary.idOf(b);
+        long[] aRow = aId < 0 ? null : rows[aId];
+        long[] bRow = bId < 0 ? null : rows[bId];
+        for (int w = 0; w < words; w++) {
+            long word = (aRow == null ? 0 : aRow[w]) | (bRow == null ? 0 : bRow[w]);
+            for (; word != 0; word &= word - 1) {
+                union.add(dictionary.vertexAt((w << 6) + Long.numberOfTrailingZeros(word)));
+            }
+        }
+        return union;
+    }
+
+    /**
+     * Counts the triangles in the graph: the sets of three distinct
+     * vertices u, v and w with edges (u, v), (v, w) and (u, w).  For
+     * each edge (u, v) that is the number of vertices adjacent to both
+     * u and v, found by ANDing their rows, so the vertices are counted
+     * in parallel.  In a graph that has every edge in both directions,
+     * each undirected triangle is counted 6 times.
+     *
+     * @return the number of triangles
+     */
+    public long countTriangles() {
+        return IntStream.range(0, dictionary.limit()).parallel()
+                .filter(dictionary::isUsed)
+                .mapToLong(u -> {
+                    long[] uRow = rows[u];
+                    long triangles = 0;
+                    for (int w = 0; w < words; w++) {
+                        for (long word = uRow[w]; word != 0; word &= word - 1) {
+                            int v = (w << 6) + Long.numberOfTrailingZeros(word);
+                            if (v == u) {
+                                continue;
+                            }
+                            long[] vRow = rows[v];
+                            triangles += countAnd(uRow, vRow);
+                            // leave out w == u and w == v, from self-loops
+                            if (isSet(uRow, u) && isSet(vRow, u)) {
+                                triangles--;
+                            }
+                            if (isSet(vRow, v)) {
+                                triangles--;
+                            }
+                        }
+                    }
+                    return triangles;
+                })
+                .sum();
+    }
+
+    /**
+     * @return the number of bits set in both rows
+     */
+    private int countAnd(long[] a, long[] b) {
+        int count = 0;
+        for (int w = 0; w < words; w++) {
+            count += Long.bitCount(a[w] & b[w]);
+        }
+        return count;
+    }
+
+    /**
+     * grows the rows to a new number of ids.  Every row doubles in
+     * length along with them.
+     */
+    void growTo(int capacity) {
+        rows = Arrays.copyOf(rows, capacity);
+        inDegrees = Arrays.copyOf(inDegrees, capacity);
+        words = wordsFor(capacity);
+        for (int i = 0; i < capacity; i++) {
+            if (rows[i] != null) {
+                rows[i] = Arrays.copyOf(rows[i], words);
+            }
+        }
+    }
+
+    /**
+     * gives a new vertex a row with no bits set
+     */
+    void vertexAdded(int id) {
+        rows[id] = new long[words];
+    }
+
+    /**
+     * takes the edges from a vertex being removed out of the in-degrees
+     * of their destinations, and drops its row
+     */
+    void clearVertex(int id) {
+        long[] row = rows[id];
+        for (int w = 0; w < words; w++) {
+            for (long word = row[w]; word != 0; word &= word - 1) {
+                inDegrees[(w << 6) + Long.numberOfTrailingZeros(word)]--;
+            }
+        }
+        rows[id] = null;
+        inDegrees[id] = 0;
+    }
+
+    /**
+     * tests one bit of a vertex's row
+     */
+    boolean hasEdgeFrom(int from, int to) {
+        return isSet(rows[from], to);
+    }
+
+    /**
+     * clears one bit of a vertex's row, if it is set
+     */
+    boolean removeEdgeFrom(int from, int to) {
+        if (!isSet(rows[from], to)) {
+            return false;
+        }
+        rows[from][to >>> 6] &= ~(1L << to);
+        degrees[from]--;
+        inDegrees[to]--;
+        edges--;
+        return true;
+    }
+
+    /**
+     * @return false once every edge into a vertex has been found, so
+     * removeVertex stops testing rows
+     */
+    boolean mayHaveEdgesTo(int id) {
+        return inDegrees[id] > 0;
+    }
+}
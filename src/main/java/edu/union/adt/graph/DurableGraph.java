@@ -0,0 +1,778 @@
+package edu.union.adt.graph;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * A GraphAdjacencyList that survives crashes.  Every change is first
+ * written to a write-ahead log in a directory, and now and then the
+ * whole graph is saved as a checkpoint, so that opening the directory
+ * again loads the last checkpoint and replays the log written after
+ * it.
+ * <p>
+ * Changes are written in groups: each is appended to a buffer, and
+ * the buffer is written to the log through a FileChannel as a single
+ * frame, holding its length and CRC-32, once it reaches GROUP_BYTES,
+ * once a change arrives more than GROUP_MILLIS after the first change
+ * in it, or when sync is called.  Until then the group is only in
+ * memory, and any crash, even of just the process, loses it.  The
+ * age of a group is only checked when the graph changes, so a graph
+ * that stops changing should be synced or closed.  The Sync policy
+ * decides whether frames are also forced to the disk, trading how
+ * many changes a crash can lose against how many changes a second
+ * the graph can take.  A crash can leave the last frame
+ * half-written; recovery checks every frame and cuts the log off at
+ * the first bad one.  A write that fails while the graph is running
+ * is cut off right away and its group kept, so later frames never
+ * follow a torn one.
+ * <p>
+ * Only one DurableGraph at a time can have a directory open: opening
+ * takes a lock on a lock file in it, which close releases.
+ * <p>
+ * The log is split into generations, log-N.bin.  A checkpoint starts
+ * a new generation, saves the graph with the number of the generation
+ * to replay from, forces the directory so that the new log and
+ * checkpoint survive a power loss, and only then deletes the older
+ * ones, so a crash in the middle of a checkpoint loses nothing.  The checkpoint is written
+ * to a temporary file and renamed into place.  It holds:
+ *
+ * <PRE>
+ * int    CHECKPOINT_MAGIC
+ * int    VERSION
+ * long   the first log generation to replay
+ * int    number of vertices n
+ * int    number of edges m
+ * ...    the n vertices in id order, written by a VertexCodec
+ * ...    for each vertex, its degree and then the ids of its
+ *        adjacent vertices, in the order their edges were added
+ * </PRE>
+ *
+ * The graph should be closed, which syncs the log, when it is no
+ * longer needed.  After close, changing the graph throws
+ * IllegalStateException; reading it still works.  Errors writing the
+ * log are thrown as UncheckedIOException, and the changes that failed
+ * to be written stay in the group to be written with the next one.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+public class DurableGraph<V> extends AbstractGraph<V> implements AutoCloseable {
+
+    /**
+     * when the log is written and forced to the disk
+     */
+    public enum Sync {
+        /** write and force every change before returning; loses nothing */
+        EVERY_CHANGE,
+        /** write and force each group; a crash loses the group not
+         * yet written */
+        EVERY_GROUP,
+        /** write each group but leave forcing it to the operating
+         * system; the process dying loses the group not yet written,
+         * and the machine dying also loses what the operating system
+         * had not yet put on the disk */
+        NEVER
+    }
+
+    static final int CHECKPOINT_MAGIC = 0x47434b50;
+    static final int VERSION = 1;
+    static final int GROUP_BYTES = 1 << 16;
+    static final long GROUP_MILLIS = 10;
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 1 << 20;
+    private static final int MAX_FRAME_BYTES = 1 << 30;
+    private static final String CHECKPOINT = "checkpoint.bin";
+    private static final String LOCK = "lock";
+    private static final String LOG_PREFIX = "log-";
+    private static final String LOG_SUFFIX = ".bin";
+    private static final GraphChange.Type[] TYPES = GraphChange.Type.values();
+
+    private final Path directory;
+    private final VertexCodec<V> codec;
+    private final Sync sync;
+    private final int checkpointInterval;
+    private final ByteArrayOutputStream record = new ByteArrayOutputStream();
+    private final DataOutputStream recordOut = new DataOutputStream(record);
+    private final ByteArrayOutputStream group = new ByteArrayOutputStream(GROUP_BYTES);
+    private GraphAdjacencyList<V> graph;
+    private FileChannel lockFile;
+    private FileLock lock;
+    private FileChannel log;
+    private long groupStarted;
+    private long generation;
+    private long changesSinceCheckpoint;
+    private boolean closed;
+    private boolean broken;
+
+    /**
+     * Opens the durable graph in a directory, making the directory if
+     * it doesn't exist, with the EVERY_GROUP policy and a checkpoint
+     * every DEFAULT_CHECKPOINT_INTERVAL changes.
+     *
+     * @param directory where the log and checkpoint are kept
+     * @param codec how to write and read each vertex
+     * @return the graph as it was when last changed
+     * @throws IOException if the directory can't be read or written
+     */
+    public static <V> DurableGraph<V> open(Path directory, VertexCodec<V> codec) throws IOException {
+        return open(directory, codec, Sync.EVERY_GROUP, DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    /**
+     * Opens the durable graph in a directory, making the directory if
+     * it doesn't exist.
+     *
+     * @param directory where the log and checkpoint are kept
+     * @param codec how to write and read each vertex; must match the
+     * one the directory was written with
+     * @param sync when the log is forced to the disk
+     * @param checkpointInterval the number of changes between
+     * checkpoints, or 0 to only checkpoint when asked
+     * @return the graph as it was when last changed
+     * @throws IOException if the directory can't be read or written,
+     * holds a damaged checkpoint or log, or is already open
+     */
+    public static <V> DurableGraph<V> open(Path directory, VertexCodec<V> codec, Sync sync,
+                                           int checkpointInterval) throws IOException {
+        if (checkpointInterval < 0) {
+            throw new IllegalArgumentException("checkpoint interval must not be negative");
+        }
+        DurableGraph<V> durable = new DurableGraph<>(directory, codec, sync, checkpointInterval);
+        try {
+            durable.recover();
+        }
+        catch (IOException | RuntimeException e) {
+            durable.release();
+            throw e;
+        }
+        return durable;
+    }
+
+    private DurableGraph(Path directory, VertexCodec<V> codec, Sync sync, int checkpointInterval) {
+        this.directory = directory;
+        this.codec = codec;
+        this.sync = sync;
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    /**
+     * locks the directory, loads the checkpoint, replays the logs
+     * after it, and opens the newest log for appending
+     */
+    private void recover() throws IOException {
+        Files.createDirectories(directory);
+        lockFile = FileChannel.open(directory.resolve(LOCK),
+                                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            lock = lockFile.tryLock();
+        }
+        catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            throw new IOException(directory + " is already open");
+        }
+        Path checkpoint = directory.resolve(CHECKPOINT);
+        long first = 0;
+        if (Files.exists(checkpoint)) {
+            first = readCheckpoint(checkpoint);
+        }
+        else {
+            graph = new GraphAdjacencyList<>();
+        }
+
+        List<Long> generations = logGenerations();
+        generation = first;
+        for (int i = 0; i < generations.size(); i++) {
+            long logGeneration = generations.get(i);
+            if (logGeneration < first) {
+                Files.delete(logFile(logGeneration));
+            }
+            else {
+                replay(logGeneration, i == generations.size() - 1);
+                generation = logGeneration;
+            }
+        }
+        log = openLog(generation);
+        syncDirectory();
+    }
+
+    /**
+     * @return the generations of the log files in the directory, oldest first
+     */
+    private List<Long> logGenerations() throws IOException {
+        List<Long> generations = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                                                                    LOG_PREFIX + "*" + LOG_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    generations.add(Long.parseLong(name.substring(LOG_PREFIX.length(),
+                                                                  name.length() - LOG_SUFFIX.length())));
+                }
+                catch (NumberFormatException e) {
+                    // not one of ours
+                }
+            }
+        }
+        Collections.sort(generations);
+        return generations;
+    }
+
+    private Path logFile(long logGeneration) {
+        return directory.resolve(LOG_PREFIX + logGeneration + LOG_SUFFIX);
+    }
+
+    private FileChannel openLog(long logGeneration) throws IOException {
+        FileChannel channel = FileChannel.open(logFile(logGeneration),
+                                               StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        return channel;
+    }
+
+    /**
+     * applies the changes in one log file to the graph.  A bad frame
+     * at the end of the newest log is a write cut short by a crash, so
+     * the log is cut off before it; anywhere else it is damage.
+     */
+    private void replay(long logGeneration, boolean newest) throws IOException {
+        Path file = logFile(logGeneration);
+        long good = 0;
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file), GROUP_BYTES))) {
+            CRC32 crc = new CRC32();
+            while (true) {
+                byte[] frame;
+                try {
+                    int length = in.readInt();
+                    int checksum = in.readInt();
+                    if (length < 0 || length > MAX_FRAME_BYTES) {
+                        break;
+                    }
+                    frame = new byte[length];
+                    in.readFully(frame);
+                    crc.reset();
+                    crc.update(frame, 0, length);
+                    if ((int) crc.getValue() != checksum) {
+                        break;
+                    }
+                }
+                catch (EOFException e) {
+                    break;
+                }
+                applyFrame(frame);
+                good += 8 + frame.length;
+            }
+        }
+        if (good < Files.size(file)) {
+            if (!newest) {
+                throw new IOException(file + " is damaged at byte " + good);
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(good);
+                channel.force(true);
+            }
+        }
+    }
+
+    /**
+     * applies the changes in one frame of the log to the graph
+     */
+    private void applyFrame(byte[] frame) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(frame));
+        while (in.available() > 0) {
+            GraphChange.Type type = TYPES[in.readUnsignedByte()];
+            V from = codec.read(in);
+            V to = null;
+            if (type == GraphChange.Type.EDGE_ADDED || type == GraphChange.Type.EDGE_REMOVED) {
+                to = codec.read(in);
+            }
+            new GraphChange<>(0, type, from, to).applyTo(graph);
+            changesSinceCheckpoint++;
+        }
+    }
+
+    /**
+     * loads the graph from a checkpoint
+     *
+     * @return the first log generation to replay after it
+     */
+    private long readCheckpoint(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file), GROUP_BYTES))) {
+            if (in.readInt() != CHECKPOINT_MAGIC || in.readInt() != VERSION) {
+                throw new IOException(file + " is not a graph checkpoint");
+            }
+            long first = in.readLong();
+            int n = in.readInt();
+            int m = in.readInt();
+            graph = new GraphAdjacencyList<>(n, m);
+            List<V> vertices = new ArrayList<>(n);
+            for (int id = 0; id < n; id++) {
+                V vertex = codec.read(in);
+                vertices.add(vertex);
+                graph.addVertex(vertex);
+            }
+            for (V from : vertices) {
+                int degree = in.readInt();
+                for (int i = 0; i < degree; i++) {
+                    graph.addEdge(from, vertices.get(in.readInt()));
+                }
+            }
+            return first;
+        }
+    }
+
+    /**
+     * Saves the whole graph as a checkpoint and deletes the log before
+     * it, so that opening the directory again has less to replay.
+     * Also happens every checkpointInterval changes.
+     *
+     * @throws UncheckedIOException if the checkpoint can't be written
+     */
+    public void checkpoint() {
+        checkOpen();
+        try {
+            writeGroup(true);
+            log.close();
+            generation++;
+            log = openLog(generation);
+            syncDirectory();
+            writeCheckpoint();
+            syncDirectory();
+            for (long logGeneration : logGenerations()) {
+                if (logGeneration < generation) {
+                    Files.delete(logFile(logGeneration));
+                }
+            }
+            changesSinceCheckpoint = 0;
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeCheckpoint() throws IOException {
+        Path temporary = directory.resolve(CHECKPOINT + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                                                    StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), GROUP_BYTES));
+            out.writeInt(CHECKPOINT_MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(generation);
+            out.writeInt(graph.numVertices());
+            out.writeInt(graph.numEdges());
+            Map<V, Integer> ids = new HashMap<>();
+            for (V vertex : graph.getVertices()) {
+                ids.put(vertex, ids.size());
+                codec.write(out, vertex);
+            }
+            for (V vertex : graph.getVertices()) {
+                out.writeInt(graph.degree(vertex));
+                for (V to : graph.adjacentTo(vertex)) {
+                    out.writeInt(ids.get(to));
+                }
+            }
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, directory.resolve(CHECKPOINT),
+                   StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Writes the changes not yet in the log and forces the log to the
+     * disk, whatever the Sync policy.
+     *
+     * @throws UncheckedIOException if the log can't be written
+     */
+    public void sync() {
+        checkOpen();
+        try {
+            writeGroup(true);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Syncs the log, closes it, and unlocks the directory.  Closing a
+     * closed graph does nothing.
+     *
+     * @throws UncheckedIOException if the log can't be written
+     */
+    public void close() {
+        if (closed) {
+            return;
+        }
+        try {
+            if (!broken) {
+                writeGroup(true);
+            }
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        finally {
+            closed = true;
+            release();
+        }
+    }
+
+    /**
+     * closes the log and the lock file, which releases the lock,
+     * throwing the first error, if any
+     */
+    private void release() {
+        IOException error = null;
+        for (Closeable channel : new Closeable[] {log, lockFile}) {
+            if (channel != null) {
+                try {
+                    channel.close();
+                }
+                catch (IOException e) {
+                    if (error == null) {
+                        error = e;
+                    }
+                }
+            }
+        }
+        log = null;
+        lockFile = null;
+        lock = null;
+        if (error != null) {
+            throw new UncheckedIOException(error);
+        }
+    }
+
+    /**
+     * @return the Sync policy of the graph
+     */
+    public Sync getSync() {
+        return sync;
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("The graph has been closed");
+        }
+        if (broken) {
+            throw new IllegalStateException("The log could not be repaired after a failed write");
+        }
+    }
+
+    /**
+     * encodes a change into the record buffer, before the graph is
+     * changed, so that a vertex the codec can't write leaves both the
+     * graph and the log alone
+     */
+    private void encode(GraphChange.Type type, V from, V to) {
+        record.reset();
+        try {
+            recordOut.writeByte(type.ordinal());
+            codec.write(recordOut, from);
+            if (type == GraphChange.Type.EDGE_ADDED || type == GraphChange.Type.EDGE_REMOVED) {
+                codec.write(recordOut, to);
+            }
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * adds the encoded change to the group, writes the group if the
+     * Sync policy says to, and checkpoints if it is time
+     */
+    private void commit() {
+        try {
+            long now = System.nanoTime();
+            if (group.size() == 0) {
+                groupStarted = now;
+            }
+            record.writeTo(group);
+            if (sync == Sync.EVERY_CHANGE) {
+                writeGroup(true);
+            }
+            else if (group.size() >= GROUP_BYTES
+                     || now - groupStarted >= TimeUnit.MILLISECONDS.toNanos(GROUP_MILLIS)) {
+                writeGroup(sync == Sync.EVERY_GROUP);
+            }
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        changesSinceCheckpoint++;
+        if (checkpointInterval > 0 && changesSinceCheckpoint >= checkpointInterval) {
+            checkpoint();
+        }
+    }
+
+    /**
+     * writes the group to the log as one frame, if it isn't empty, and
+     * then forces the log to the disk if asked to.  The group is only
+     * emptied once its frame is written.  If the write fails, the log
+     * is cut back to where the frame started, so that no torn frame is
+     * left for later frames to be written after, and the group is kept
+     * to be written again; if even that fails, the graph is broken and
+     * takes no more changes.
+     */
+    private void writeGroup(boolean force) throws IOException {
+        if (group.size() > 0) {
+            byte[] bytes = group.toByteArray();
+            CRC32 crc = new CRC32();
+            crc.update(bytes, 0, bytes.length);
+            ByteBuffer frame = ByteBuffer.allocate(8 + bytes.length);
+            frame.putInt(bytes.length).putInt((int) crc.getValue()).put(bytes);
+            frame.flip();
+            long start = log.position();
+            try {
+                while (frame.hasRemaining()) {
+                    log.write(frame);
+                }
+            }
+            catch (IOException e) {
+                try {
+                    log.truncate(start);
+                    log.position(start);
+                }
+                catch (IOException | RuntimeException truncateError) {
+                    broken = true;
+                    e.addSuppressed(truncateError);
+                }
+                throw e;
+            }
+            group.reset();
+        }
+        if (force) {
+            log.force(false);
+        }
+    }
+
+    /**
+     * forces the directory itself to the disk, so that files made,
+     * renamed or deleted in it stay that way after a power loss.  Some
+     * systems, like Windows, can't open a directory, and there this
+     * does nothing.
+     */
+    private void syncDirectory() throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(directory, StandardOpenOption.READ);
+        }
+        catch (IOException e) {
+            return;
+        }
+        try {
+            channel.force(true);
+        }
+        finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * @return the number of vertices in the graph.
+     */
+    public int numVertices() {
+        return graph.numVertices();
+    }
+
+    /**
+     * @return the number of edges in the graph.
+     */
+    public int numEdges() {
+        return graph.numEdges();
+    }
+
+    /**
+     * Gets the number of vertices connected by edges from a given
+     * vertex.  If the given vertex is not in the graph, throws a
+     * RuntimeException.
+     *
+     * @param vertex the vertex whose degree we want.
+     * @return the degree of vertex 'vertex'
+     */
+    public int degree(V vertex) throws RuntimeException {
+        return graph.degree(vertex);
+    }
+
+    /**
+     * Gets the number of edges that end at a given vertex.  If the
+     * given vertex is not in the graph, throws a RuntimeException.
+     *
+     * @param vertex the vertex whose in-degree we want.
+     * @return the number of vertices with an edge to 'vertex'
+     */
+    public int inDegree(V vertex) throws RuntimeException {
+        return graph.inDegree(vertex);
+    }
+
+    /**
+     * Adds a directed edge between two vertices, logging it.  If there
+     * is already an edge between the given vertices, does nothing.
+     * If either (or both) of the given vertices does not exist, it is
+     * added to the graph before the edge is created between them.
+     *
+     * @param from the source vertex for the added edge
+     * @param to the destination vertex for the added edge
+     */
+    public void addEdge(V from, V to) {
+        checkOpen();
+        if (!graph.hasEdge(from, to)) {
+            encode(GraphChange.Type.EDGE_ADDED, from, to);
+            graph.addEdge(from, to);
+            commit();
+        }
+    }
+
+    /**
+     * Adds a vertex to the graph, logging it.  If the vertex already
+     * exists in the graph, does nothing.
+     *
+     * @param vertex the vertex to add
+     */
+    public void addVertex(V vertex) {
+        checkOpen();
+        if (!graph.contains(vertex)) {
+            encode(GraphChange.Type.VERTEX_ADDED, vertex, null);
+            graph.addVertex(vertex);
+            commit();
+        }
+    }
+
+    /**
+     * Removes the directed edge between two vertices, logging it.  If
+     * there is no such edge, does nothing.
+     *
+     * @param from the source vertex of the edge to remove
+     * @param to the destination vertex of the edge to remove
+     */
+    public void removeEdge(V from, V to) {
+        checkOpen();
+        if (graph.hasEdge(from, to)) {
+            encode(GraphChange.Type.EDGE_REMOVED, from, to);
+            graph.removeEdge(from, to);
+            commit();
+        }
+    }
+
+    /**
+     * Removes a vertex and every edge to or from it, logging just the
+     * vertex.  If the vertex is not in the graph, does nothing.
+     *
+     * @param vertex the vertex to remove
+     */
+    public void removeVertex(V vertex) {
+        checkOpen();
+        if (graph.contains(vertex)) {
+            encode(GraphChange.Type.VERTEX_REMOVED, vertex, null);
+            graph.removeVertex(vertex);
+            commit();
+        }
+    }
+
+    /**
+     * @return an iterable collection for the set of vertices of
+     * the graph.
+     */
+    public Iterable<V> getVertices() {
+        return graph.getVertices();
+    }
+
+    /**
+     * Gets the vertices adjacent to a given vertex.
+     *
+     * @param from the source vertex
+     * @return an iterable collection for the set of vertices that are
+     * the destinations of edges for which 'from' is the source
+     * vertex.  If 'from' is not a vertex in the graph, returns an
+     * empty iterator.
+     */
+    public Iterable<V> adjacentTo(V from) {
+        return graph.adjacentTo(from);
+    }
+
+    /**
+     * Calls an action once for each vertex adjacent to a given vertex.
+     * If 'from' is not a vertex in the graph, does nothing.
+     *
+     * @param from the source vertex
+     * @param action the callback to run for each adjacent vertex
+     */
+    public void forEachNeighbor(V from, Consumer<? super V> action) {
+        graph.forEachNeighbor(from, action);
+    }
+
+    /**
+     * Gets the vertices with an edge to a given vertex.
+     *
+     * @param to the destination vertex
+     * @return the vertices x for which (x, 'to') is an edge.  If 'to'
+     * is not a vertex in the graph, returns an empty iterator.
+     */
+    public Iterable<V> predecessors(V to) {
+        return graph.predecessors(to);
+    }
+
+    /**
+     * Tells whether a vertex is in the graph.
+     *
+     * @param vertex a vertex
+     * @return true iff 'vertex' is a vertex in the graph.
+     */
+    public boolean contains(V vertex) {
+        return graph.contains(vertex);
+    }
+
+    /**
+     * Tells whether an edge exists in the graph.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     *
+     * @return true iff there is an edge from the source vertex to the
+     * destination vertex in the graph.  If either of the given
+     * vertices are not vertices in the graph, then there is no edge
+     * between them.
+     */
+    public boolean hasEdge(V from, V to) {
+        return graph.hasEdge(from, to);
+    }
+
+    /**
+     * Writes the string representation of the graph described by
+     * toString.
+     *
+     * @param out where to write the representation
+     * @throws IOException if out throws IOException
+     */
+    public void writeTo(Appendable out) throws IOException {
+        graph.writeTo(out);
+    }
+
+    /**
+     * @return the hash code described by AbstractGraph.hashCode, in
+     * constant time
+     */
+    public int hashCode() {
+        return graph.hashCode();
+    }
+
+    /**
+     * @return true, since the graph's hashCode takes constant time
+     */
+    protected boolean hasConstantTimeHashCode() {
+        return graph.hasConstantTimeHashCode();
+    }
+}
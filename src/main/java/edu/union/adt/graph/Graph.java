@@ -1,5 +1,8 @@
 package edu.union.adt.graph;
 
+import java.io.IOException;
+import java.util.function.Consumer;
+
 /**
  * A graph that establishes connections (edges) between objects of
  * (parameterized) type V (vertices).  The edges are directed.  An
@@ -20,12 +23,19 @@ public interface Graph<V> {
     public int numVertices();
     public int numEdges();
     public int degree(V vertex);
+    public int inDegree(V vertex);
     public void addEdge(V from, V to);
     public void addVertex(V vertex);
+    public void removeEdge(V from, V to);
+    public void removeVertex(V vertex);
     public Iterable<V> getVertices();
     public Iterable<V> adjacentTo(V from);
+    public void forEachNeighbor(V from, Consumer<? super V> action);
+    public Iterable<V> predecessors(V to);
     public boolean contains(V vertex);
     public boolean hasEdge(V from, V to);
     public String toString();
+    public void writeTo(Appendable out) throws IOException;
     public boolean equals(Object anotherObject);
+    public int hashCode();
 }
@@ -1,7 +1,8 @@
 package edu.union.adt.graph;
+import java.io.IOException;
 import java.util.*;
+import java.util.function.Consumer;
 import java.lang.RuntimeException;
-import java.lang.StringBuilder;
 
 /**
  * An implementation of the Graph interface using an AdjacencyList
@@ -9,20 +10,58 @@ import java.lang.StringBuilder;
  * @author Grant Bouvin
  * @version 4/11/2024
  */
-public class GraphAdjacencyList<V> implements Graph<V> {
+public class GraphAdjacencyList<V> extends AbstractGraph<V> {
+
+    private static final int DEFAULT_CAPACITY = 10;
+    private static final float LOAD_FACTOR = 0.75f;
 
     private HashMap<V, Vertex<V>> vertexList;
     private int capacity;
+    private int expectedDegree;
+    private boolean incomingIndexed;
+    private boolean removesVertices;
     private int vertices;
     private int edges;
+    private int fingerprint;
+    private ChangeLog<V> changeLog;
 
     /**
      * Create an empty graph.
      */
     public GraphAdjacencyList() {
-        final int DEFAULT_CAPACITY = 10;
-        vertexList = new HashMap<>(DEFAULT_CAPACITY);
-        capacity = 10;
+        this(DEFAULT_CAPACITY, 0);
+    }
+
+    /**
+     * Create an empty graph with room for a given number of vertices
+     * before it has to grow.
+     *
+     * @param expectedVertices the number of vertices the graph is
+     * expected to hold
+     */
+    public GraphAdjacencyList(int expectedVertices) {
+        this(expectedVertices, 0);
+    }
+
+    /**
+     * Create an empty graph with room for a given number of vertices
+     * before it has to grow.  The expected number of edges is used to
+     * size each vertex's edge set for the average degree.
+     *
+     * @param expectedVertices the number of vertices the graph is
+     * expected to hold
+     * @param expectedEdges the number of edges the graph is expected
+     * to hold
+     */
+    public GraphAdjacencyList(int expectedVertices, int expectedEdges) {
+        if (expectedVertices < 0 || expectedEdges < 0) {
+            throw new IllegalArgumentException("expected sizes must not be negative");
+        }
+        capacity = Math.max(expectedVertices, DEFAULT_CAPACITY);
+        vertexList = new HashMap<>(mapSizeFor(capacity), LOAD_FACTOR);
+        if (expectedVertices > 0) {
+            expectedDegree = expectedEdges / expectedVertices;
+        }
         vertices = 0;
         edges = 0;
     }
@@ -53,6 +92,127 @@ public class GraphAdjacencyList<V> implements Graph<V> {
         return getVertex(vertex).getDegree();
     }
 
+    /**
+     * Gets the number of edges that end at a given vertex.  If the
+     * given vertex is not in the graph, throws a RuntimeException.
+     * Takes constant time when the incoming edges are kept, and looks
+     * at every edge otherwise.
+     *
+     * @param vertex the vertex whose in-degree we want.
+     * @return the number of vertices with an edge to 'vertex'
+     */
+    public int inDegree(V vertex) throws RuntimeException {
+        if (tracksIncoming()) {
+            Vertex<V> myVertex = getVertex(vertex);
+            if (myVertex == null) {
+                throw new RuntimeException("Vertex " + vertex + " is not in the graph");
+            }
+            return myVertex.getIncoming().size();
+        }
+        return super.inDegree(vertex);
+    }
+
+    /**
+     * Gets the vertices with an edge to a given vertex.  When the
+     * incoming edges are kept, this is a read-only live view, in the
+     * order the edges were added; otherwise it looks at every edge in
+     * the graph.
+     *
+     * @param to the destination vertex
+     * @return the vertices x for which (x, 'to') is an edge.  If 'to'
+     * is not a vertex in the graph, returns an empty iterator.
+     */
+    public Iterable<V> predecessors(V to) {
+        if (tracksIncoming()) {
+            Vertex<V> myVertex = getVertex(to);
+            if (myVertex == null) {
+                return Collections.emptySet();
+            }
+            return myVertex.getIncoming();
+        }
+        return super.predecessors(to);
+    }
+
+    /**
+     * Turns the incoming-edge index on or off.  While it is on, every
+     * vertex also remembers which vertices have edges to it, so
+     * inDegree and predecessors are fast, at the cost of about as much
+     * memory again as the edges themselves.  Turning it on indexes the
+     * edges already in the graph; turning it off frees the index,
+     * unless a vertex has been removed from the graph, since
+     * removeVertex keeps the incoming edges from then on anyway.
+     *
+     * @param enabled true to keep the index, false to drop it
+     */
+    public void setIncomingIndexed(boolean enabled) {
+        if (enabled == incomingIndexed) {
+            return;
+        }
+        boolean tracked = tracksIncoming();
+        incomingIndexed = enabled;
+        if (tracksIncoming() != tracked) {
+            trackIncoming(enabled);
+        }
+    }
+
+    /**
+     * @return true if the index was turned on with setIncomingIndexed
+     */
+    public boolean isIncomingIndexed() {
+        return incomingIndexed;
+    }
+
+    /**
+     * @return true if every vertex keeps the vertices with edges to it
+     */
+    private boolean tracksIncoming() {
+        return incomingIndexed || removesVertices;
+    }
+
+    /**
+     * starts keeping every vertex's incoming edges, indexing the edges
+     * already in the graph, or stops and frees them
+     */
+    private void trackIncoming(boolean enabled) {
+        for (Vertex<V> vertex : vertexList.values()) {
+            if (enabled) {
+                vertex.trackIncoming();
+            }
+            else {
+                vertex.untrackIncoming();
+            }
+        }
+        if (enabled) {
+            for (Vertex<V> vertex : vertexList.values()) {
+                for (V to : vertex.getEdges()) {
+                    getVertex(to).addIncoming(vertex.getSource());
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets the log that the graph's changes are appended to, or turns
+     * logging off.  Only changes that do something are logged: adding
+     * an edge that is already there logs nothing, and adding an edge
+     * between new vertices logs the vertices first.  Removing a vertex
+     * logs just the vertex, not the edges that go with it, since
+     * removing the vertex from a copy removes them too.
+     *
+     * @param log the log to append to, or null to stop logging
+     */
+    public void setChangeLog(ChangeLog<V> log) {
+        changeLog = log;
+    }
+
+    /**
+     * @return the log the graph's changes are appended to, or null if
+     * they are not logged
+     */
+    public ChangeLog<V> getChangeLog() {
+        return changeLog;
+    }
+
     /**
      * Adds a directed edge between two vertices.  If there is already an edge
      * between the given vertices, does nothing.  If either (or both)
@@ -63,18 +223,22 @@ public class GraphAdjacencyList<V> implements Graph<V> {
      * @param to the destination vertex for the added edge
      */
     public void addEdge(V from, V to) {
-        if (!this.contains(from)) {
+        Vertex<V> myVertexFrom = getVertex(from);
+        if (myVertexFrom == null) {
             addVertex(from);
-            vertices++;
-        }
-        if (!this.contains(to)) {
-            addVertex(to);
-            vertices++;
+            myVertexFrom = getVertex(from);
         }
-        Vertex<V> myVertexFrom = getVertex(from);
+        addVertex(to);
         if (!myVertexFrom.hasEdge(to)) {
             myVertexFrom.addEdge(to);
             edges++;
+            fingerprint += edgeHash(from, to);
+            if (tracksIncoming()) {
+                getVertex(to).addIncoming(from);
+            }
+            if (changeLog != null) {
+                changeLog.append(GraphChange.Type.EDGE_ADDED, from, to);
+            }
         }
     }
 
@@ -88,8 +252,88 @@ public class GraphAdjacencyList<V> implements Graph<V> {
     public void addVertex(V vertex) {
         if (!this.contains(vertex)) {
             ensureCapacity(numVertices()+1);
-            vertexList.put(vertex, new Vertex<>(vertex));
+            Vertex<V> newVertex = new Vertex<>(vertex, expectedDegree);
+            if (tracksIncoming()) {
+                newVertex.trackIncoming();
+            }
+            vertexList.put(vertex, newVertex);
             vertices++;
+            fingerprint += vertexHash(vertex);
+            if (changeLog != null) {
+                changeLog.append(GraphChange.Type.VERTEX_ADDED, vertex, null);
+            }
+        }
+    }
+
+    /**
+     * Removes the directed edge between two vertices, in constant
+     * expected time.  If there is no such edge, does nothing.  The
+     * vertices themselves stay in the graph.
+     *
+     * @param from the source vertex of the edge to remove
+     * @param to the destination vertex of the edge to remove
+     */
+    public void removeEdge(V from, V to) {
+        if (unlink(from, to) && changeLog != null) {
+            changeLog.append(GraphChange.Type.EDGE_REMOVED, from, to);
+        }
+    }
+
+    /**
+     * removes an edge without logging it
+     *
+     * @return true if the edge was in the graph
+     */
+    private boolean unlink(V from, V to) {
+        Vertex<V> myVertexFrom = getVertex(from);
+        if (myVertexFrom != null && myVertexFrom.hasEdge(to)) {
+            myVertexFrom.removeEdge(to);
+            edges--;
+            fingerprint -= edgeHash(from, to);
+            if (tracksIncoming()) {
+                getVertex(to).removeIncoming(from);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes a vertex and every edge to or from it, in time
+     * proportional to the number of edges touching it.  If the vertex
+     * is not in the graph, does nothing.  The first removal from a
+     * graph that doesn't keep its incoming edges indexes them, which
+     * looks at every edge once; from then on every vertex keeps the
+     * vertices with edges to it, whether or not the incoming-edge
+     * index was turned on with setIncomingIndexed.
+     *
+     * @param vertex the vertex to remove
+     */
+    public void removeVertex(V vertex) {
+        Vertex<V> myVertex = getVertex(vertex);
+        if (myVertex == null) {
+            return;
+        }
+        if (!removesVertices) {
+            boolean tracked = tracksIncoming();
+            removesVertices = true;
+            if (!tracked) {
+                trackIncoming(true);
+            }
+        }
+        for (V from : new ArrayList<>(myVertex.getIncoming())) {
+            unlink(from, vertex);
+        }
+        for (V to : myVertex.getEdges()) {
+            getVertex(to).removeIncoming(vertex);
+            fingerprint -= edgeHash(vertex, to);
+        }
+        edges -= myVertex.getDegree();
+        vertexList.remove(vertex);
+        vertices--;
+        fingerprint -= vertexHash(vertex);
+        if (changeLog != null) {
+            changeLog.append(GraphChange.Type.VERTEX_REMOVED, vertex, null);
         }
     }
 
@@ -112,14 +356,32 @@ public class GraphAdjacencyList<V> implements Graph<V> {
      * @return an iterable collection for the set of vertices that are
      * the destinations of edges for which 'from' is the source
      * vertex.  If 'from' is not a vertex in the graph, returns an
-     * empty iterator.
+     * empty iterator.  The collection is a read-only view of the
+     * graph, not a copy, so the graph must not be changed while
+     * iterating over it.
      */
     public Iterable<V> adjacentTo(V from) {
-        if(contains(from)) {
-            return getVertex(from).getEdges();
+        Vertex<V> myVertexFrom = getVertex(from);
+        if (myVertexFrom != null) {
+            return myVertexFrom.getEdges();
         }
         else {
-            return (Iterable<V>) Collections.emptyIterator();
+            return Collections.emptySet();
+        }
+    }
+
+    /**
+     * Calls an action once for each vertex adjacent to a given vertex,
+     * without creating a collection of the adjacent vertices.  If
+     * 'from' is not a vertex in the graph, does nothing.
+     *
+     * @param from the source vertex
+     * @param action the callback to run for each adjacent vertex
+     */
+    public void forEachNeighbor(V from, Consumer<? super V> action) {
+        Vertex<V> myVertexFrom = getVertex(from);
+        if (myVertexFrom != null) {
+            myVertexFrom.forEachEdge(action);
         }
     }
 
@@ -148,12 +410,11 @@ public class GraphAdjacencyList<V> implements Graph<V> {
      * between them.
      */
     public boolean hasEdge(V from, V to) {
-        if (!isEmpty()) {
-            if (this.contains(from) && this.contains(to)) {
-                return getVertex(from).hasEdge(to);
-            }
+        Vertex<V> myVertexFrom = getVertex(from);
+        if (myVertexFrom == null) {
+            return false;
         }
-        return false;
+        return myVertexFrom.hasEdge(to);
     }
 
     /**
@@ -187,73 +448,90 @@ public class GraphAdjacencyList<V> implements Graph<V> {
      * @return the string representation of the graph
      */
     public String toString() {
-        if (isEmpty()) {
-            return "";
-        }
-        else {
-            StringBuilder toReturn = new StringBuilder();
-            for(Vertex<V> vertex : vertexList.values()) {
-                toReturn.append(vertex.toString());
-                toReturn.append("\n");
+        return super.toString();
+    }
+
+    /**
+     * Writes the string representation of the graph described by
+     * toString, one vertex at a time, so that the whole string never
+     * has to be in memory at once.
+     *
+     * @param out where to write the representation
+     * @throws IOException if out throws IOException
+     */
+    public void writeTo(Appendable out) throws IOException {
+        boolean first = true;
+        for(Vertex<V> vertex : vertexList.values()) {
+            if (!first) {
+                out.append('\n');
             }
-            toReturn.deleteCharAt(toReturn.length()-1);
-            return toReturn.toString();
+            vertex.appendTo(out);
+            first = false;
         }
+    }
 
+    /**
+     * Gives the hash code described by AbstractGraph.hashCode in
+     * constant time.  The graph keeps the sum up to date as vertices
+     * and edges are added and removed.
+     *
+     * @return the hash code of the graph
+     */
+    public int hashCode() {
+        return fingerprint;
     }
 
     /**
-     * compares this Graph with an Object
-     * @return true if the graph has the same edges and vertices, false otherwise
+     * @return true, because hashCode takes constant time
      */
-    public boolean equals(Object anotherObject){
-        if (!(anotherObject instanceof Graph)) {
-            return false;
-        }
-        else {
-            Graph<?> anotherGraph = (Graph<?>) anotherObject;
-            if (this.numVertices() != anotherGraph.numVertices()) {
-                return false;
-            }
-            else if (this.numEdges() != anotherGraph.numEdges()) {
-                return false;
-            }
-            else {
-                try {
-                    Graph<V> myTypeGraph = (Graph<V>) anotherGraph;
-                    for(V vertex : this.getVertices()) {
-                        if (!myTypeGraph.contains(vertex)) {
-                            return false;
-                        }
-                    }
-                    return true;
-                } catch (Exception e) {
-                    return false;
-                }
-            }
-        }
+    protected boolean hasConstantTimeHashCode() {
+        return true;
     }
 
     /**
-     * makes sure the graph has enough space for a newCapacity number of items
+     * makes sure the graph has enough space for a newCapacity number of items.
+     * The capacity at least doubles each time it grows, so adding n
+     * vertices one at a time takes O(n) time overall.
      * @param newCapacity the graph will have at least newCapacity capacity
      */
     public void ensureCapacity(int newCapacity) {
         if (newCapacity>capacity) {
             int capacityModifier = 2;
-            HashMap<V, Vertex<V>> biggerMap = new HashMap<>(capacity*capacityModifier);
+            long grown = (long) capacity * capacityModifier;
+            capacity = (int) Math.min(Integer.MAX_VALUE, Math.max(grown, newCapacity));
+            HashMap<V, Vertex<V>> biggerMap = new HashMap<>(mapSizeFor(capacity), LOAD_FACTOR);
             biggerMap.putAll(this.vertexList);
             vertexList = biggerMap;
         }
     }
 
     /**
-     * @return the capacity of this graph
+     * @return the number of vertices this graph can hold before it
+     * has to grow
      */
     public int getCapacity() {
         return capacity;
     }
 
+    /**
+     * adds a Vertex object that was built outside the graph, along
+     * with all of its edges.  The caller must make sure the vertex is
+     * not already in the graph and that every destination of its
+     * edges is (or will be) added as well.
+     *
+     * @param vertex the Vertex object to add
+     */
+    void addBuiltVertex(Vertex<V> vertex) {
+        ensureCapacity(numVertices()+1);
+        vertexList.put(vertex.getSource(), vertex);
+        vertices++;
+        edges += vertex.getDegree();
+        fingerprint += vertexHash(vertex.getSource());
+        for (V to : vertex.getEdges()) {
+            fingerprint += edgeHash(vertex.getSource(), to);
+        }
+    }
+
     /**
      * gets the Vertex object that this graph contains of source vert
      *
@@ -265,6 +543,16 @@ public class GraphAdjacencyList<V> implements Graph<V> {
         return vertexList.get(vert);
     }
 
+    /**
+     * gets the HashMap size that holds a number of entries without rehashing
+     *
+     * @param entries the number of entries the map has to hold
+     * @return the initial capacity to give the HashMap
+     */
+    private static int mapSizeFor(int entries) {
+        return (int) Math.min(Integer.MAX_VALUE, (long) Math.ceil(entries / (double) LOAD_FACTOR));
+    }
+
     /**
      * @return true if this graph has no vertices, false otherwise
      */
@@ -0,0 +1,102 @@
+package edu.union.adt.graph;
+
+/**
+ * One change to a graph, as recorded in a ChangeLog.  Vertex changes
+ * have no destination, so to() is null for them.  Changes are
+ * immutable, and carry the sequence number the log gave them.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+public final class GraphChange<V> {
+
+    /**
+     * the kinds of change
+     */
+    public enum Type {
+        VERTEX_ADDED, VERTEX_REMOVED, EDGE_ADDED, EDGE_REMOVED
+    }
+
+    private final long sequence;
+    private final Type type;
+    private final V from;
+    private final V to;
+
+    /**
+     * Create a change.
+     *
+     * @param sequence the position of the change in its log, or 0 if
+     * it isn't in one
+     * @param type the kind of change
+     * @param from the vertex added or removed, or the source of the edge
+     * @param to the destination of the edge, or null for a vertex change
+     */
+    public GraphChange(long sequence, Type type, V from, V to) {
+        this.sequence = sequence;
+        this.type = type;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * @return the position of the change in its log, counting from 0
+     */
+    public long sequence() {
+        return sequence;
+    }
+
+    /**
+     * @return the kind of change
+     */
+    public Type type() {
+        return type;
+    }
+
+    /**
+     * @return the vertex added or removed, or the source of the edge
+     */
+    public V from() {
+        return from;
+    }
+
+    /**
+     * @return the destination of the edge, or null for a vertex change
+     */
+    public V to() {
+        return to;
+    }
+
+    /**
+     * Makes the same change to another graph, so that a copy that has
+     * applied every change in order stays equal to the original.
+     *
+     * @param graph the graph to change
+     */
+    public void applyTo(Graph<V> graph) {
+        switch (type) {
+        case VERTEX_ADDED:
+            graph.addVertex(from);
+            break;
+        case VERTEX_REMOVED:
+            graph.removeVertex(from);
+            break;
+        case EDGE_ADDED:
+            graph.addEdge(from, to);
+            break;
+        default:
+            graph.removeEdge(from, to);
+            break;
+        }
+    }
+
+    /**
+     * @return the sequence number, type and vertices, for example
+     * "3 EDGE_ADDED A -> B"
+     */
+    public String toString() {
+        if (type == Type.VERTEX_ADDED || type == Type.VERTEX_REMOVED) {
+            return sequence + " " + type + " " + from;
+        }
+        return sequence + " " + type + " " + from + " -> " + to;
+    }
+}
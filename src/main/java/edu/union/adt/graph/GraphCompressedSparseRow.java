@@ -0,0 +1,87 @@
+package edu.union.adt.graph;
+import java.util.*;
+
+/**
+ * An immutable implementation of the Graph interface using the
+ * Compressed Sparse Row layout.  Every vertex gets an int id, and the
+ * edges are stored in two arrays: the destinations of the edges from
+ * vertex i are targets[offsets[i]] through targets[offsets[i+1]-1],
+ * sorted by id so that hasEdge can use binary search.  This costs about
+ * 4 bytes per edge instead of a hash set entry per edge.
+ * <p>
+ * The graph is built by freezing another graph, and cannot be changed
+ * afterwards: addVertex and addEdge throw UnsupportedOperationException.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+public class GraphCompressedSparseRow<V> extends AbstractCompressedSparseRow<V> {
+
+    private int[] offsets;
+    private int[] targets;
+
+    /**
+     * Create a graph with the same vertices and edges as another graph.
+     *
+     * @param source the graph to copy
+     */
+    public GraphCompressedSparseRow(Graph<V> source) {
+        super(source.numVertices());
+        for (V vertex : source.getVertices()) {
+            addId(vertex);
+        }
+        int vertices = numVertices();
+
+        offsets = new int[vertices + 1];
+        for (int i = 0; i < vertices; i++) {
+            offsets[i+1] = offsets[i] + source.degree(vertexAt(i));
+        }
+
+        targets = new int[offsets[vertices]];
+        for (int i = 0; i < vertices; i++) {
+            int next = offsets[i];
+            for (V to : source.adjacentTo(vertexAt(i))) {
+                targets[next++] = idOf(to);
+            }
+            Arrays.sort(targets, offsets[i], offsets[i+1]);
+        }
+    }
+
+    /**
+     * @return the number of edges in the graph.
+     */
+    public int numEdges() {
+        return targets.length;
+    }
+
+    /**
+     * @param id a vertex id, from 0 to numVertices()
+     * @return the index of the first edge from vertex 'id'; the edges
+     * from it end just before offset(id+1)
+     */
+    public int offset(int id) {
+        return offsets[id];
+    }
+
+    /**
+     * @param edge an edge index, from 0 to numEdges()-1
+     * @return the id of the destination of that edge
+     */
+    public int target(int edge) {
+        return targets[edge];
+    }
+
+    /**
+     * @return the offsets array; the caller must not change it
+     */
+    int[] offsets() {
+        return offsets;
+    }
+
+    /**
+     * @return the targets array; the caller must not change it
+     */
+    int[] targets() {
+        return targets;
+    }
+}
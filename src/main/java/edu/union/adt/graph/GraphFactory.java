@@ -1,5 +1,12 @@
 package edu.union.adt.graph;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
 /**
  * A class to create
  *
@@ -7,7 +14,273 @@ package edu.union.adt.graph;
  * @version 4/11/2024
  */
 public class GraphFactory {
+    /**
+     * the fraction of all possible edges at which createGraph picks a
+     * DenseGraph; a DenseGraph's bitsets take less memory than hash
+     * set entries well below this
+     */
+    public static final double DENSE_THRESHOLD = 1.0 / 64;
+
+    /**
+     * the most vertices createGraph will make a DenseGraph for, since
+     * its bitsets take numVertices()^2 / 8 bytes
+     */
+    public static final int MAX_DENSE_VERTICES = 1 << 15;
+
     public static <V> Graph<V> createGraph() {
         return new GraphAdjacencyList<>();
     }
+
+    /**
+     * @param expectedVertices the number of vertices the graph is expected to hold
+     * @return an empty graph sized for expectedVertices vertices
+     */
+    public static <V> Graph<V> createGraph(int expectedVertices) {
+        return new GraphAdjacencyList<>(expectedVertices);
+    }
+
+    /**
+     * @param expectedVertices the number of vertices the graph is expected to hold
+     * @param expectedEdges the number of edges the graph is expected to hold
+     * @return an empty graph sized for expectedVertices vertices and
+     * expectedEdges edges: a DenseGraph if the edges would be at least
+     * DENSE_THRESHOLD of all possible edges and there are at most
+     * MAX_DENSE_VERTICES vertices, and a GraphAdjacencyList otherwise
+     */
+    public static <V> Graph<V> createGraph(int expectedVertices, int expectedEdges) {
+        if (expectedVertices > 0 && expectedVertices <= MAX_DENSE_VERTICES && expectedEdges > 0
+                && expectedEdges >= DENSE_THRESHOLD * expectedVertices * expectedVertices) {
+            return new DenseGraph<>(expectedVertices);
+        }
+        return new GraphAdjacencyList<>(expectedVertices, expectedEdges);
+    }
+
+    /**
+     * @return an empty graph that keeps each vertex's edges as a
+     * bitset over vertex ids, for dense graphs
+     */
+    public static <V> DenseGraph<V> createDenseGraph() {
+        return new DenseGraph<>();
+    }
+
+    /**
+     * @param expectedVertices the number of vertices the graph is expected to hold
+     * @return an empty graph that keeps each vertex's edges as a
+     * bitset over vertex ids, sized for expectedVertices vertices
+     */
+    public static <V> DenseGraph<V> createDenseGraph(int expectedVertices) {
+        return new DenseGraph<>(expectedVertices);
+    }
+
+    /**
+     * @return an empty graph that also indexes the edges coming into
+     * each vertex, so inDegree and predecessors take constant time
+     */
+    public static <V> Graph<V> createIncomingIndexedGraph() {
+        GraphAdjacencyList<V> graph = new GraphAdjacencyList<>();
+        graph.setIncomingIndexed(true);
+        return graph;
+    }
+
+    /**
+     * @param log the log to append the graph's changes to
+     * @return an empty graph that appends every change made to it to 'log'
+     */
+    public static <V> Graph<V> createLoggedGraph(ChangeLog<V> log) {
+        GraphAdjacencyList<V> graph = new GraphAdjacencyList<>();
+        graph.setChangeLog(log);
+        return graph;
+    }
+
+    /**
+     * Builds a graph from a whole list of edges at once, using every
+     * core.  This is much faster than calling addEdge once per edge.
+     * Duplicate edges are dropped, and the endpoints of every edge
+     * become vertices.
+     *
+     * @param edges the edges of the graph, as (source, destination) pairs
+     * @return a graph holding exactly the given edges and their endpoints
+     */
+    public static <V> Graph<V> fromEdges(Stream<? extends Map.Entry<? extends V, ? extends V>> edges) {
+        return BulkLoader.load(edges);
+    }
+
+    /**
+     * Rebuilds a graph from the text written by Graph.writeTo or
+     * Graph.toString, one line at a time.
+     *
+     * @param in the text to read
+     * @param parser turns the text of a vertex back into a vertex
+     * @return a graph with the vertices and edges in the text
+     * @throws IOException if in throws IOException, or the text is not
+     * in the graph format
+     */
+    public static <V> Graph<V> fromText(Reader in, Function<String, ? extends V> parser) throws IOException {
+        return TextLoader.load(in, parser);
+    }
+
+    /**
+     * Rebuilds a graph with String vertices from the text written by
+     * Graph.writeTo or Graph.toString, one line at a time.
+     *
+     * @param in the text to read
+     * @return a graph with the vertices and edges in the text
+     * @throws IOException if in throws IOException, or the text is not
+     * in the graph format
+     */
+    public static Graph<String> fromText(Reader in) throws IOException {
+        return TextLoader.load(in, Function.identity());
+    }
+
+    /**
+     * @return an empty graph that interns each vertex into an int id
+     * and stores its edges as ints, for graphs with many String or
+     * other object vertices
+     */
+    public static <V> Graph<V> createInternedGraph() {
+        return new InternedGraph<>();
+    }
+
+    /**
+     * @param expectedVertices the number of vertices the graph is expected to hold
+     * @return an empty graph that interns each vertex into an int id
+     * and stores its edges as ints, sized for expectedVertices vertices
+     */
+    public static <V> Graph<V> createInternedGraph(int expectedVertices) {
+        return new InternedGraph<>(expectedVertices);
+    }
+
+    /**
+     * @return an empty graph that keeps its edges outside the Java
+     * heap, which must be closed to free them
+     */
+    public static <V> OffHeapGraph<V> createOffHeapGraph() {
+        return new OffHeapGraph<>();
+    }
+
+    /**
+     * @param expectedVertices the number of vertices the graph is expected to hold
+     * @return an empty graph that keeps its edges outside the Java
+     * heap, sized for expectedVertices vertices, which must be closed
+     * to free them
+     */
+    public static <V> OffHeapGraph<V> createOffHeapGraph(int expectedVertices) {
+        return new OffHeapGraph<>(expectedVertices);
+    }
+
+    /**
+     * @param directory where the graph's log and checkpoint are kept
+     * @param codec how to write and read each vertex
+     * @return the graph saved in 'directory', or an empty graph if
+     * there is none, which logs its changes there and must be closed
+     * @throws IOException if the directory can't be read or written
+     */
+    public static <V> DurableGraph<V> openDurableGraph(Path directory, VertexCodec<V> codec)
+            throws IOException {
+        return DurableGraph.open(directory, codec);
+    }
+
+    /**
+     * @return an empty graph whose edges carry double weights
+     */
+    public static <V> WeightedGraph<V> createWeightedGraph() {
+        return new WeightedGraphAdjacencyArray<>();
+    }
+
+    /**
+     * @param expectedVertices the number of vertices the graph is expected to hold
+     * @return an empty graph whose edges carry double weights, sized
+     * for expectedVertices vertices
+     */
+    public static <V> WeightedGraph<V> createWeightedGraph(int expectedVertices) {
+        return new WeightedGraphAdjacencyArray<>(expectedVertices);
+    }
+
+    /**
+     * @return an empty graph that several threads can add to at once
+     */
+    public static <V> Graph<V> createConcurrentGraph() {
+        return new ConcurrentGraph<>();
+    }
+
+    /**
+     * @param expectedVertices the number of vertices the graph is expected to hold
+     * @return an empty graph that several threads can add to at once,
+     * sized for expectedVertices vertices
+     */
+    public static <V> Graph<V> createConcurrentGraph(int expectedVertices) {
+        return new ConcurrentGraph<>(expectedVertices);
+    }
+
+    /**
+     * @param expectedVertices the number of vertices the graph is expected to hold
+     * @param incomingIndexed true to keep every vertex's incoming
+     * edges, so that removing a vertex only touches its own edges
+     * @return an empty graph that several threads can add to at once,
+     * sized for expectedVertices vertices
+     */
+    public static <V> Graph<V> createConcurrentGraph(int expectedVertices, boolean incomingIndexed) {
+        return new ConcurrentGraph<>(expectedVertices, incomingIndexed);
+    }
+
+    /**
+     * @param shards the number of shards to spread the vertices over
+     * @return an empty graph whose vertices are hash-partitioned
+     * across 'shards' in-process shards
+     */
+    public static <V> PartitionedGraph<V> createPartitionedGraph(int shards) {
+        return new PartitionedGraph<>(shards);
+    }
+
+    /**
+     * @return an empty graph that can hand out immutable snapshots of
+     * itself in constant time, for one writer and many readers
+     */
+    public static <V> PersistentGraph<V> createPersistentGraph() {
+        return new PersistentGraph<>();
+    }
+
+    /**
+     * @param graph the graph to watch
+     * @return a view of graph that counts and times every operation
+     * and reports them through metrics()
+     */
+    public static <V> InstrumentedGraph<V> instrument(Graph<V> graph) {
+        return new InstrumentedGraph<>(graph);
+    }
+
+    /**
+     * @param graph the graph to answer queries from
+     * @param capacity the most answers to keep at once
+     * @param eviction which answer to drop when the cache is full
+     * @return a view of graph that remembers k-hop neighborhoods and
+     * in-degrees until the edges they depend on change
+     */
+    public static <V> CachedGraph<V> cache(Graph<V> graph, int capacity, CachedGraph.Eviction eviction) {
+        return new CachedGraph<>(graph, capacity, eviction);
+    }
+
+    /**
+     * @param graph the graph to copy
+     * @return an immutable copy of graph stored in Compressed Sparse Row form
+     */
+    public static <V> Graph<V> freeze(Graph<V> graph) {
+        return new GraphCompressedSparseRow<>(graph);
+    }
+
+    /**
+     * @return an empty graph whose vertices are unboxed int ids
+     */
+    public static IntGraph createIntGraph() {
+        return new IntGraphAdjacencyArray();
+    }
+
+    /**
+     * @param expectedVertices the number of vertex ids the graph is expected to hold
+     * @return an empty graph whose vertices are unboxed int ids, sized for
+     * ids below expectedVertices
+     */
+    public static IntGraph createIntGraph(int expectedVertices) {
+        return new IntGraphAdjacencyArray(expectedVertices);
+    }
 }
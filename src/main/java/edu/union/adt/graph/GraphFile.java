@@ -0,0 +1,101 @@
+package edu.union.adt.graph;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Saves graphs to, and opens graphs from, a compact binary file.  The
+ * file holds the graph in Compressed Sparse Row form, followed by the
+ * vertices themselves:
+ *
+ * <PRE>
+ * int    MAGIC
+ * int    VERSION
+ * int    number of vertices n
+ * int    number of edges m
+ * long   position of the vertex dictionary
+ * int[]  offsets, n + 1 of them
+ * int[]  targets, m of them, sorted within each vertex
+ * ...    the n vertices in id order, written by a VertexCodec
+ * </PRE>
+ *
+ * All numbers are big-endian.  Opening a file maps the offsets and
+ * targets into memory instead of loading them, so only the vertex
+ * dictionary is read onto the heap.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+public class GraphFile {
+    static final int MAGIC = 0x47525048;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 24;
+
+    /**
+     * Saves a graph to a file, replacing the file if it exists.
+     *
+     * @param graph the graph to save
+     * @param file the file to save it to
+     * @param codec how to write each vertex
+     * @throws IOException if the file can't be written
+     */
+    public static <V> void write(Graph<V> graph, Path file, VertexCodec<V> codec) throws IOException {
+        GraphCompressedSparseRow<V> frozen = graph instanceof GraphCompressedSparseRow
+                ? (GraphCompressedSparseRow<V>) graph
+                : new GraphCompressedSparseRow<>(graph);
+        int[] offsets = frozen.offsets();
+        int[] targets = frozen.targets();
+        long dictionaryPosition = HEADER_BYTES + 4L * offsets.length + 4L * targets.length;
+
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(frozen.numVertices());
+            out.writeInt(frozen.numEdges());
+            out.writeLong(dictionaryPosition);
+            for (int offset : offsets) {
+                out.writeInt(offset);
+            }
+            for (int target : targets) {
+                out.writeInt(target);
+            }
+            for (int id = 0; id < frozen.numVertices(); id++) {
+                codec.write(out, frozen.vertexAt(id));
+            }
+        }
+    }
+
+    /**
+     * Opens a graph saved by write, without reading through its edges.
+     * The returned graph can't be changed, and should be closed to
+     * unmap the file when it is no longer needed.
+     *
+     * @param file the file to open
+     * @param codec how to read each vertex; must match the one the
+     * file was written with
+     * @return the graph in the file
+     * @throws IOException if the file can't be read, isn't a graph
+     * file, or has a damaged header
+     */
+    public static <V> MappedGraph<V> open(Path file, VertexCodec<V> codec) throws IOException {
+        return MappedGraph.open(file, codec, false);
+    }
+
+    /**
+     * Opens a graph saved by write, as open(file, codec) does, and if
+     * asked, first checks every offset and target, which reads the
+     * whole file.
+     *
+     * @param file the file to open
+     * @param codec how to read each vertex; must match the one the
+     * file was written with
+     * @param verify true to check all the edges
+     * @return the graph in the file
+     * @throws IOException if the file can't be read, isn't a graph
+     * file, or is damaged
+     */
+    public static <V> MappedGraph<V> open(Path file, VertexCodec<V> codec, boolean verify) throws IOException {
+        return MappedGraph.open(file, codec, verify);
+    }
+}
@@ -0,0 +1,127 @@
+package edu.union.adt.graph;
+import java.lang.StringBuilder;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * An immutable record of what an InstrumentedGraph has seen: how many
+ * times each operation was called and how long the calls took, how
+ * often hasEdge found an edge, and the shape of the graph when the
+ * record was made.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+public class GraphMetrics {
+    private final Map<InstrumentedGraph.Operation, Histogram> latencies;
+    private final long hasEdgeHits;
+    private final long hasEdgeMisses;
+    private final int vertices;
+    private final int edges;
+    private final Histogram degrees;
+    private final int longestHashChain;
+
+    GraphMetrics(Map<InstrumentedGraph.Operation, Histogram> latencies,
+                 long hasEdgeHits, long hasEdgeMisses, int vertices, int edges,
+                 Histogram degrees, int longestHashChain) {
+        this.latencies = Collections.unmodifiableMap(latencies);
+        this.hasEdgeHits = hasEdgeHits;
+        this.hasEdgeMisses = hasEdgeMisses;
+        this.vertices = vertices;
+        this.edges = edges;
+        this.degrees = degrees;
+        this.longestHashChain = longestHashChain;
+    }
+
+    /**
+     * @param operation an operation
+     * @return the number of times it was called while instrumentation was on
+     */
+    public long count(InstrumentedGraph.Operation operation) {
+        return latencies.get(operation).count();
+    }
+
+    /**
+     * @param operation an operation
+     * @return how long its calls took, in nanoseconds
+     */
+    public Histogram latency(InstrumentedGraph.Operation operation) {
+        return latencies.get(operation);
+    }
+
+    /**
+     * @return the number of hasEdge calls that found an edge
+     */
+    public long hasEdgeHits() {
+        return hasEdgeHits;
+    }
+
+    /**
+     * @return the number of hasEdge calls that found no edge
+     */
+    public long hasEdgeMisses() {
+        return hasEdgeMisses;
+    }
+
+    /**
+     * @return the number of vertices in the graph
+     */
+    public int numVertices() {
+        return vertices;
+    }
+
+    /**
+     * @return the number of edges in the graph
+     */
+    public int numEdges() {
+        return edges;
+    }
+
+    /**
+     * @return the distribution of the out-degrees of the vertices
+     */
+    public Histogram degreeDistribution() {
+        return degrees;
+    }
+
+    /**
+     * @return the largest out-degree of any vertex, 0 for an empty graph
+     */
+    public int maxDegree() {
+        return (int) degrees.max();
+    }
+
+    /**
+     * @return the mean out-degree, 0 for an empty graph
+     */
+    public double averageDegree() {
+        return vertices == 0 ? 0 : (double) edges / vertices;
+    }
+
+    /**
+     * @return the most vertices that land in one bucket of a HashMap
+     * sized for the graph.  A value much above 1 or 2 means the vertex
+     * type's hashCode spreads poorly.
+     */
+    public int longestHashChain() {
+        return longestHashChain;
+    }
+
+    /**
+     * @return a report with one line for the graph's shape and one line
+     * for each operation that was called
+     */
+    public String toString() {
+        StringBuilder toReturn = new StringBuilder();
+        toReturn.append(String.format("vertices=%d edges=%d maxDegree=%d averageDegree=%.2f "
+                                      + "longestHashChain=%d hasEdgeHits=%d hasEdgeMisses=%d",
+                                      vertices, edges, maxDegree(), averageDegree(),
+                                      longestHashChain, hasEdgeHits, hasEdgeMisses));
+        for (Map.Entry<InstrumentedGraph.Operation, Histogram> entry : latencies.entrySet()) {
+            if (entry.getValue().count() > 0) {
+                toReturn.append('\n').append(entry.getKey()).append(": ").append(entry.getValue());
+            }
+        }
+        return toReturn.toString();
+    }
+}
@@ -0,0 +1,219 @@
+package edu.union.adt.graph;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * An immutable, point-in-time view of a PersistentGraph.  Taking a
+ * snapshot copies nothing: the snapshot shares its vertex map and
+ * adjacent-vertex sets with the graph, and the graph's later changes
+ * build new maps instead of changing these.  Since a snapshot never
+ * changes, any number of threads can read it without locking.
+ * <p>
+ * addVertex, addEdge, removeVertex and removeEdge throw
+ * UnsupportedOperationException.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+public class GraphSnapshot<V> extends AbstractGraph<V> {
+    private static final GraphSnapshot<?> EMPTY =
+            new GraphSnapshot<>(PersistentHashMap.empty(), 0, 0);
+
+    private final PersistentHashMap<V, PersistentHashMap<V, Boolean>> vertexList;
+    private final int edges;
+    private final int fingerprint;
+
+    /**
+     * Create a snapshot.
+     *
+     * @param vertexList a map from each vertex to the set of its
+     * adjacent vertices
+     * @param edges the number of edges in the map
+     * @param fingerprint the hash code of the graph, as described by
+     * AbstractGraph.hashCode
+     */
+    GraphSnapshot(PersistentHashMap<V, PersistentHashMap<V, Boolean>> vertexList,
+                  int edges, int fingerprint) {
+        this.vertexList = vertexList;
+        this.edges = edges;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * @return the snapshot of an empty graph
+     */
+    @SuppressWarnings("unchecked")
+    static <V> GraphSnapshot<V> empty() {
+        return (GraphSnapshot<V>) EMPTY;
+    }
+
+    /**
+     * @return the map from each vertex to the set of its adjacent vertices
+     */
+    PersistentHashMap<V, PersistentHashMap<V, Boolean>> vertexList() {
+        return vertexList;
+    }
+
+    /**
+     * @return the number of vertices in the graph.
+     */
+    public int numVertices() {
+        return vertexList.size();
+    }
+
+    /**
+     * @return the number of edges in the graph.
+     */
+    public int numEdges() {
+        return edges;
+    }
+
+    /**
+     * Gets the number of vertices connected by edges from a given
+     * vertex.  If the given vertex is not in the graph, throws a
+     * RuntimeException.
+     *
+     * @param vertex the vertex whose degree we want.
+     * @return the degree of vertex 'vertex'
+     */
+    public int degree(V vertex) throws RuntimeException {
+        PersistentHashMap<V, Boolean> adjacent = vertexList.get(vertex);
+        if (adjacent == null) {
+            throw new RuntimeException("Vertex " + vertex + " is not in the graph");
+        }
+        return adjacent.size();
+    }
+
+    /**
+     * Always throws UnsupportedOperationException, because a snapshot
+     * cannot be changed.
+     *
+     * @param from the source vertex for the added edge
+     * @param to the destination vertex for the added edge
+     */
+    public void addEdge(V from, V to) {
+        throw new UnsupportedOperationException("GraphSnapshot is immutable");
+    }
+
+    /**
+     * Always throws UnsupportedOperationException, because a snapshot
+     * cannot be changed.
+     *
+     * @param vertex the vertex to add
+     */
+    public void addVertex(V vertex) {
+        throw new UnsupportedOperationException("GraphSnapshot is immutable");
+    }
+
+    /**
+     * Always throws UnsupportedOperationException, because a snapshot
+     * cannot be changed.
+     *
+     * @param from the source vertex of the edge to remove
+     * @param to the destination vertex of the edge to remove
+     */
+    public void removeEdge(V from, V to) {
+        throw new UnsupportedOperationException("GraphSnapshot is immutable");
+    }
+
+    /**
+     * Always throws UnsupportedOperationException, because a snapshot
+     * cannot be changed.
+     *
+     * @param vertex the vertex to remove
+     */
+    public void removeVertex(V vertex) {
+        throw new UnsupportedOperationException("GraphSnapshot is immutable");
+    }
+
+    /**
+     * @return an iterable collection for the set of vertices of
+     * the graph.
+     */
+    public Iterable<V> getVertices() {
+        return new Iterable<V>() {
+            public Iterator<V> iterator() {
+                return vertexList.keyIterator();
+            }
+        };
+    }
+
+    /**
+     * Gets the vertices adjacent to a given vertex.
+     *
+     * @param from the source vertex
+     * @return an iterable collection for the set of vertices that are
+     * the destinations of edges for which 'from' is the source
+     * vertex.  If 'from' is not a vertex in the graph, returns an
+     * empty iterator.
+     */
+    public Iterable<V> adjacentTo(V from) {
+        final PersistentHashMap<V, Boolean> adjacent = vertexList.get(from);
+        if (adjacent == null) {
+            return Collections.emptySet();
+        }
+        return new Iterable<V>() {
+            public Iterator<V> iterator() {
+                return adjacent.keyIterator();
+            }
+        };
+    }
+
+    /**
+     * Calls an action once for each vertex adjacent to a given vertex.
+     * If 'from' is not a vertex in the graph, does nothing.
+     *
+     * @param from the source vertex
+     * @param action the callback to run for each adjacent vertex
+     */
+    public void forEachNeighbor(V from, final Consumer<? super V> action) {
+        PersistentHashMap<V, Boolean> adjacent = vertexList.get(from);
+        if (adjacent != null) {
+            adjacent.forEach((V to, Boolean ignored) -> action.accept(to));
+        }
+    }
+
+    /**
+     * Tells whether a vertex is in the graph.
+     *
+     * @param vertex a vertex
+     * @return true iff 'vertex' is a vertex in the graph.
+     */
+    public boolean contains(V vertex) {
+        return vertexList.containsKey(vertex);
+    }
+
+    /**
+     * Tells whether an edge exists in the graph.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     *
+     * @return true iff there is an edge from the source vertex to the
+     * destination vertex in the graph.  If either of the given
+     * vertices are not vertices in the graph, then there is no edge
+     * between them.
+     */
+    public boolean hasEdge(V from, V to) {
+        PersistentHashMap<V, Boolean> adjacent = vertexList.get(from);
+        return adjacent != null && adjacent.containsKey(to);
+    }
+
+    /**
+     * Gives the hash code described by AbstractGraph.hashCode in
+     * constant time.
+     *
+     * @return the hash code of the graph
+     */
+    public int hashCode() {
+        return fingerprint;
+    }
+
+    /**
+     * @return true, because hashCode takes constant time
+     */
+    protected boolean hasConstantTimeHashCode() {
+        return true;
+    }
+}
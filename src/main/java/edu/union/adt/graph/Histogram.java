@@ -0,0 +1,148 @@
+package edu.union.adt.graph;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * An immutable histogram of non-negative long values, such as
+ * latencies in nanoseconds or vertex degrees.  Values below 64 are
+ * counted exactly; above that, each power of two is split into 32
+ * buckets, so a reported percentile is never more than about 3% above
+ * the true value, and the whole range of long fits in under 2000
+ * buckets.  This is the log-linear layout HdrHistogram uses.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+public class Histogram {
+    private static final int SUB_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int EXACT = 2 * SUB_BUCKETS;
+    private static final int BUCKETS = EXACT + (63 - SUB_BITS - 1) * SUB_BUCKETS;
+
+    private final long[] counts;
+    private final long count;
+    private final long max;
+    private final long total;
+
+    private Histogram(long[] counts, long max, long total) {
+        this.counts = counts;
+        long sum = 0;
+        for (long bucketCount : counts) {
+            sum += bucketCount;
+        }
+        this.count = sum;
+        this.max = max;
+        this.total = total;
+    }
+
+    /**
+     * @return the number of values recorded
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * @return the largest value recorded, 0 if there are none
+     */
+    public long max() {
+        return max;
+    }
+
+    /**
+     * @return the mean of the values recorded, 0 if there are none
+     */
+    public double mean() {
+        return count == 0 ? 0 : (double) total / count;
+    }
+
+    /**
+     * Gets the value that a given percentage of the recorded values
+     * are at or below.
+     *
+     * @param percentile a percentage, from 0 to 100
+     * @return the highest value in the bucket holding that percentile,
+     * but no more than max(); 0 if no values were recorded
+     */
+    public long valueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100: " + percentile);
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            seen += counts[bucket];
+            if (seen >= target) {
+                return Math.min(highestValueIn(bucket), max);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return the count, mean, median, 99th percentile and max
+     */
+    public String toString() {
+        return String.format("count=%d mean=%.1f p50=%d p99=%d max=%d",
+                             count, mean(), valueAtPercentile(50), valueAtPercentile(99), max);
+    }
+
+    /**
+     * @param value a non-negative value
+     * @return the bucket that counts 'value'
+     */
+    static int bucketOf(long value) {
+        if (value < EXACT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return EXACT + (shift - 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    /**
+     * @param bucket a bucket
+     * @return the largest value counted in 'bucket'
+     */
+    static long highestValueIn(int bucket) {
+        if (bucket < EXACT) {
+            return bucket;
+        }
+        int shift = (bucket - EXACT) / SUB_BUCKETS + 1;
+        long sub = (bucket - EXACT) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((sub + 1) << shift) - 1;
+    }
+
+    /**
+     * Counts values into buckets.  Any number of threads can record at
+     * once; recording is a few atomic adds and never allocates.
+     */
+    static class Recorder {
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final AtomicLong max = new AtomicLong();
+        private final AtomicLong total = new AtomicLong();
+
+        /**
+         * @param value the value to count; negative values count as 0
+         */
+        void record(long value) {
+            value = Math.max(0, value);
+            counts.incrementAndGet(bucketOf(value));
+            total.addAndGet(value);
+            long seen = max.get();
+            while (value > seen && !max.compareAndSet(seen, value)) {
+                seen = max.get();
+            }
+        }
+
+        /**
+         * @return the values counted so far
+         */
+        Histogram snapshot() {
+            long[] copy = new long[BUCKETS];
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                copy[bucket] = counts.get(bucket);
+            }
+            return new Histogram(copy, max.get(), total.get());
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package edu.union.adt.graph;
+
+/**
+ * A Graph whose vertices are numbered 0 to numVertices()-1 and whose
+ * edges are stored in one array in Compressed Sparse Row order: the
+ * edges from vertex i are edges offset(i) through offset(i+1)-1.
+ * Algorithms can use these ids to keep their own per-vertex state in
+ * arrays instead of hash maps.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+public interface IndexedGraph<V> extends Graph<V> {
+    public int idOf(V vertex);
+    public V vertexAt(int id);
+    public int offset(int id);
+    public int target(int edge);
+
+    /**
+     * @param graph any graph
+     * @return 'graph' itself if it is an IndexedGraph, or else an
+     * immutable Compressed Sparse Row copy of it
+     */
+    public static <V> IndexedGraph<V> of(Graph<V> graph) {
+        if (graph instanceof IndexedGraph) {
+            return (IndexedGraph<V>) graph;
+        }
+        return new GraphCompressedSparseRow<>(graph);
+    }
+}
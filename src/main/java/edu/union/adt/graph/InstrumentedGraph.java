@@ -0,0 +1,395 @@
+package edu.union.adt.graph;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * A Graph that passes every call on to another graph, counting and
+ * timing each operation.  metrics() hands back an immutable
+ * GraphMetrics with the counts, a latency histogram for each
+ * operation, hasEdge hits and misses, and the current shape of the
+ * graph.
+ * <p>
+ * Instrumentation can be turned off and on while the graph is in use.
+ * While it is off, each call costs one extra volatile read.  Recording
+ * uses only atomic adds, so the decorator is exactly as thread-safe as
+ * the graph it wraps.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+public class InstrumentedGraph<V> extends AbstractGraph<V> {
+
+    /**
+     * The operations that are counted and timed.
+     */
+    public enum Operation {
+        ADD_VERTEX, ADD_EDGE, REMOVE_VERTEX, REMOVE_EDGE,
+        CONTAINS, HAS_EDGE, DEGREE, IN_DEGREE,
+        ADJACENT_TO, FOR_EACH_NEIGHBOR, PREDECESSORS
+    }
+
+    private Graph<V> graph;
+    private volatile boolean enabled;
+    private Histogram.Recorder[] latencies;
+    private LongAdder hasEdgeHits;
+    private LongAdder hasEdgeMisses;
+
+    /**
+     * Create an instrumented view of a graph, with instrumentation on.
+     *
+     * @param graph the graph to pass calls on to
+     */
+    public InstrumentedGraph(Graph<V> graph) {
+        this.graph = graph;
+        this.enabled = true;
+        latencies = new Histogram.Recorder[Operation.values().length];
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new Histogram.Recorder();
+        }
+        hasEdgeHits = new LongAdder();
+        hasEdgeMisses = new LongAdder();
+    }
+
+    /**
+     * Turns counting and timing on or off.  What has been recorded so
+     * far is kept.
+     *
+     * @param enabled true to record operations, false to only pass them on
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return true iff operations are being recorded
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gathers what has been recorded so far, along with the degree
+     * distribution of the graph and the longest chain a HashMap of its
+     * vertices would have.  Those last two look at every vertex.
+     *
+     * @return an immutable record of the graph's operations and shape
+     */
+    public GraphMetrics metrics() {
+        Map<Operation, Histogram> snapshots = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            snapshots.put(operation, latencies[operation.ordinal()].snapshot());
+        }
+        Histogram.Recorder degrees = new Histogram.Recorder();
+        for (V vertex : graph.getVertices()) {
+            degrees.record(graph.degree(vertex));
+        }
+        return new GraphMetrics(snapshots, hasEdgeHits.sum(), hasEdgeMisses.sum(),
+                                graph.numVertices(), graph.numEdges(),
+                                degrees.snapshot(), longestHashChain());
+    }
+
+    /**
+     * @return the number of vertices in the graph.
+     */
+    public int numVertices() {
+        return graph.numVertices();
+    }
+
+    /**
+     * @return the number of edges in the graph.
+     */
+    public int numEdges() {
+        return graph.numEdges();
+    }
+
+    /**
+     * Gets the number of vertices connected by edges from a given
+     * vertex.  If the given vertex is not in the graph, throws a
+     * RuntimeException.
+     *
+     * @param vertex the vertex whose degree we want.
+     * @return the degree of vertex 'vertex'
+     */
+    public int degree(V vertex) throws RuntimeException {
+        if (!enabled) {
+            return graph.degree(vertex);
+        }
+        long start = System.nanoTime();
+        try {
+            return graph.degree(vertex);
+        } finally {
+            record(Operation.DEGREE, start);
+        }
+    }
+
+    /**
+     * Gets the number of edges that end at a given vertex.  If the
+     * given vertex is not in the graph, throws a RuntimeException.
+     *
+     * @param vertex the vertex whose in-degree we want.
+     * @return the number of vertices with an edge to 'vertex'
+     */
+    public int inDegree(V vertex) throws RuntimeException {
+        if (!enabled) {
+            return graph.inDegree(vertex);
+        }
+        long start = System.nanoTime();
+        try {
+            return graph.inDegree(vertex);
+        } finally {
+            record(Operation.IN_DEGREE, start);
+        }
+    }
+
+    /**
+     * Adds a directed edge between two vertices.  If there is already an edge
+     * between the given vertices, does nothing.  If either (or both)
+     * of the given vertices does not exist, it is added to the
+     * graph before the edge is created between them.
+     *
+     * @param from the source vertex for the added edge
+     * @param to the destination vertex for the added edge
+     */
+    public void addEdge(V from, V to) {
+        if (!enabled) {
+            graph.addEdge(from, to);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            graph.addEdge(from, to);
+        } finally {
+            record(Operation.ADD_EDGE, start);
+        }
+    }
+
+    /**
+     * Adds a vertex to the graph.  If the vertex already exists in
+     * the graph, does nothing.  If the vertex does not exist, it is
+     * added to the graph, with no edges connected to it.
+     *
+     * @param vertex the vertex to add
+     */
+    public void addVertex(V vertex) {
+        if (!enabled) {
+            graph.addVertex(vertex);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            graph.addVertex(vertex);
+        } finally {
+            record(Operation.ADD_VERTEX, start);
+        }
+    }
+
+    /**
+     * Removes the directed edge between two vertices.  If there is no
+     * such edge, does nothing.
+     *
+     * @param from the source vertex of the edge to remove
+     * @param to the destination vertex of the edge to remove
+     */
+    public void removeEdge(V from, V to) {
+        if (!enabled) {
+            graph.removeEdge(from, to);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            graph.removeEdge(from, to);
+        } finally {
+            record(Operation.REMOVE_EDGE, start);
+        }
+    }
+
+    /**
+     * Removes a vertex and every edge to or from it.  If the vertex is
+     * not in the graph, does nothing.
+     *
+     * @param vertex the vertex to remove
+     */
+    public void removeVertex(V vertex) {
+        if (!enabled) {
+            graph.removeVertex(vertex);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            graph.removeVertex(vertex);
+        } finally {
+            record(Operation.REMOVE_VERTEX, start);
+        }
+    }
+
+    /**
+     * @return an iterable collection for the set of vertices of
+     * the graph.
+     */
+    public Iterable<V> getVertices() {
+        return graph.getVertices();
+    }
+
+    /**
+     * Gets the vertices adjacent to a given vertex.  Only the call is
+     * timed, not iterating over the result.
+     *
+     * @param from the source vertex
+     * @return an iterable collection for the set of vertices that are
+     * the destinations of edges for which 'from' is the source
+     * vertex.  If 'from' is not a vertex in the graph, returns an
+     * empty iterator.
+     */
+    public Iterable<V> adjacentTo(V from) {
+        if (!enabled) {
+            return graph.adjacentTo(from);
+        }
+        long start = System.nanoTime();
+        try {
+            return graph.adjacentTo(from);
+        } finally {
+            record(Operation.ADJACENT_TO, start);
+        }
+    }
+
+    /**
+     * Calls an action once for each vertex adjacent to a given vertex.
+     * If 'from' is not a vertex in the graph, does nothing.  The time
+     * the action takes is included in the recorded latency.
+     *
+     * @param from the source vertex
+     * @param action the callback to run for each adjacent vertex
+     */
+    public void forEachNeighbor(V from, Consumer<? super V> action) {
+        if (!enabled) {
+            graph.forEachNeighbor(from, action);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            graph.forEachNeighbor(from, action);
+        } finally {
+            record(Operation.FOR_EACH_NEIGHBOR, start);
+        }
+    }
+
+    /**
+     * Gets the vertices with an edge to a given vertex.
+     *
+     * @param to the destination vertex
+     * @return the vertices x for which (x, 'to') is an edge.  If 'to'
+     * is not a vertex in the graph, returns an empty iterator.
+     */
+    public Iterable<V> predecessors(V to) {
+        if (!enabled) {
+            return graph.predecessors(to);
+        }
+        long start = System.nanoTime();
+        try {
+            return graph.predecessors(to);
+        } finally {
+            record(Operation.PREDECESSORS, start);
+        }
+    }
+
+    /**
+     * Tells whether a vertex is in the graph.
+     *
+     * @param vertex a vertex
+     * @return true iff 'vertex' is a vertex in the graph.
+     */
+    public boolean contains(V vertex) {
+        if (!enabled) {
+            return graph.contains(vertex);
+        }
+        long start = System.nanoTime();
+        try {
+            return graph.contains(vertex);
+        } finally {
+            record(Operation.CONTAINS, start);
+        }
+    }
+
+    /**
+     * Tells whether an edge exists in the graph, counting whether it did.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     *
+     * @return true iff there is an edge from the source vertex to the
+     * destination vertex in the graph.  If either of the given
+     * vertices are not vertices in the graph, then there is no edge
+     * between them.
+     */
+    public boolean hasEdge(V from, V to) {
+        if (!enabled) {
+            return graph.hasEdge(from, to);
+        }
+        long start = System.nanoTime();
+        boolean found = graph.hasEdge(from, to);
+        record(Operation.HAS_EDGE, start);
+        if (found) {
+            hasEdgeHits.increment();
+        }
+        else {
+            hasEdgeMisses.increment();
+        }
+        return found;
+    }
+
+    /**
+     * Writes the string representation of the wrapped graph.
+     *
+     * @param out where to write the representation
+     * @throws IOException if out throws IOException
+     */
+    public void writeTo(Appendable out) throws IOException {
+        graph.writeTo(out);
+    }
+
+    /**
+     * @return the hash code of the wrapped graph
+     */
+    public int hashCode() {
+        return graph.hashCode();
+    }
+
+    /**
+     * @return true iff the wrapped graph's hashCode takes constant time
+     */
+    protected boolean hasConstantTimeHashCode() {
+        return graph instanceof AbstractGraph
+                && ((AbstractGraph<V>) graph).hasConstantTimeHashCode();
+    }
+
+    /**
+     * records how long an operation took
+     *
+     * @param operation the operation
+     * @param start System.nanoTime() when it started
+     */
+    private void record(Operation operation, long start) {
+        latencies[operation.ordinal()].record(System.nanoTime() - start);
+    }
+
+    /**
+     * puts every vertex into the bucket a HashMap sized for the graph
+     * would, using HashMap's hash spreading, and finds the fullest one
+     *
+     * @return the number of vertices in the fullest bucket
+     */
+    private int longestHashChain() {
+        int wanted = (int) Math.min(1 << 30, (long) Math.ceil(graph.numVertices() / 0.75));
+        int[] chains = new int[Math.max(16, Integer.highestOneBit(Math.max(1, wanted - 1)) << 1)];
+        int longest = 0;
+        for (V vertex : graph.getVertices()) {
+            int hash = vertex == null ? 0 : vertex.hashCode();
+            int bucket = (hash ^ (hash >>> 16)) & (chains.length - 1);
+            longest = Math.max(longest, ++chains[bucket]);
+        }
+        return longest;
+    }
+}
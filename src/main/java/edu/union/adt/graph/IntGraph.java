@@ -0,0 +1,29 @@
+package edu.union.adt.graph;
+
+import java.io.IOException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+/**
+ * A version of Graph whose vertices are non-negative int ids, so that
+ * vertices never have to be boxed.  The edges are directed, and the
+ * methods behave like the Graph methods of the same names.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+public interface IntGraph {
+    public int numVertices();
+    public int numEdges();
+    public int degree(int vertex);
+    public void addEdge(int from, int to);
+    public void addVertex(int vertex);
+    public PrimitiveIterator.OfInt getVertices();
+    public PrimitiveIterator.OfInt adjacentTo(int from);
+    public void forEachNeighbor(int from, IntConsumer action);
+    public boolean contains(int vertex);
+    public boolean hasEdge(int from, int to);
+    public String toString();
+    public void writeTo(Appendable out) throws IOException;
+    public boolean equals(Object anotherObject);
+}
@@ -0,0 +1,389 @@
+package edu.union.adt.graph;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.lang.RuntimeException;
+import java.lang.StringBuilder;
+import java.util.function.IntConsumer;
+
+/**
+ * An implementation of the IntGraph interface that keeps each vertex's
+ * adjacent vertices in a growable int array.  Vertex ids index straight
+ * into the arrays, so nothing is boxed.  Once a vertex has
+ * INDEX_THRESHOLD edges its adjacent vertices are also put into an
+ * IntHashSet, so hasEdge and addEdge stay constant expected time for
+ * high-degree vertices.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+public class IntGraphAdjacencyArray implements IntGraph {
+
+    private static final int DEFAULT_CAPACITY = 10;
+    private static final int INITIAL_DEGREE_CAPACITY = 4;
+    private static final int INDEX_THRESHOLD = 16;
+    private static final int[] NO_EDGES = new int[0];
+
+    /**
+     * the largest array some JVMs will allocate, so vertex ids must be
+     * below it
+     */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private boolean[] present;
+    private int[][] adjacency;
+    private int[] degrees;
+    private IntHashSet[] indexes;
+    private int capacity;
+    private int vertices;
+    private int edges;
+
+    /**
+     * Create an empty graph.
+     */
+    public IntGraphAdjacencyArray() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create an empty graph with room for vertex ids below a given
+     * number before it has to grow.
+     *
+     * @param expectedVertices the number of vertex ids the graph is
+     * expected to hold
+     */
+    public IntGraphAdjacencyArray(int expectedVertices) {
+        if (expectedVertices < 0) {
+            throw new IllegalArgumentException("expected size must not be negative");
+        }
+        capacity = Math.max(expectedVertices, DEFAULT_CAPACITY);
+        present = new boolean[capacity];
+        adjacency = new int[capacity][];
+        degrees = new int[capacity];
+        indexes = new IntHashSet[capacity];
+        vertices = 0;
+        edges = 0;
+    }
+
+    /**
+     * @return the number of vertices in the graph.
+     */
+    public int numVertices() {
+        return vertices;
+    }
+
+    /**
+     * @return the number of edges in the graph.
+     */
+    public int numEdges() {
+        return edges;
+    }
+
+    /**
+     * Gets the number of vertices connected by edges from a given
+     * vertex.  If the given vertex is not in the graph, throws a
+     * RuntimeException.
+     *
+     * @param vertex the vertex whose degree we want.
+     * @return the degree of vertex 'vertex'
+     */
+    public int degree(int vertex) throws RuntimeException {
+        if (!contains(vertex)) {
+            throw new RuntimeException("Vertex " + vertex + " is not in the graph");
+        }
+        return degrees[vertex];
+    }
+
+    /**
+     * Adds a directed edge between two vertices.  If there is already an edge
+     * between the given vertices, does nothing.  If either (or both)
+     * of the given vertices does not exist, it is added to the
+     * graph before the edge is created between them.
+     *
+     * @param from the source vertex for the added edge
+     * @param to the destination vertex for the added edge
+     */
+    public void addEdge(int from, int to) {
+        addVertex(from);
+        addVertex(to);
+        if (hasEdgeFrom(from, to)) {
+            return;
+        }
+        int[] row = adjacency[from];
+        int degree = degrees[from];
+        if (row == NO_EDGES) {
+            row = new int[INITIAL_DEGREE_CAPACITY];
+        }
+        else if (degree == row.length) {
+            row = Arrays.copyOf(row, degree * 2);
+        }
+        row[degree] = to;
+        adjacency[from] = row;
+        degrees[from] = degree + 1;
+
+        if (indexes[from] != null) {
+            indexes[from].add(to);
+        }
+        else if (degree + 1 >= INDEX_THRESHOLD) {
+            IntHashSet index = new IntHashSet(degree + 1);
+            for (int i = 0; i <= degree; i++) {
+                index.add(row[i]);
+            }
+            indexes[from] = index;
+        }
+        edges++;
+    }
+
+    /**
+     * Adds a vertex to the graph.  If the vertex already exists in
+     * the graph, does nothing.  If the vertex does not exist, it is
+     * added to the graph, with no edges connected to it.
+     *
+     * @param vertex the vertex to add, which must not be negative and
+     * must be below Integer.MAX_VALUE - 8, the largest array size
+     */
+    public void addVertex(int vertex) {
+        if (vertex < 0) {
+            throw new IllegalArgumentException("Vertex ids must not be negative: " + vertex);
+        }
+        if (vertex >= MAX_CAPACITY) {
+            throw new IllegalArgumentException("Vertex ids must be below " + MAX_CAPACITY + ": " + vertex);
+        }
+        if (!contains(vertex)) {
+            ensureCapacity(vertex+1);
+            present[vertex] = true;
+            adjacency[vertex] = NO_EDGES;
+            vertices++;
+        }
+    }
+
+    /**
+     * @return an iterator over the vertices of the graph, in increasing order
+     */
+    public PrimitiveIterator.OfInt getVertices() {
+        return new PrimitiveIterator.OfInt() {
+            private int next = advance(0);
+
+            public boolean hasNext() {
+                return next < capacity;
+            }
+
+            public int nextInt() {
+                if (next >= capacity) {
+                    throw new NoSuchElementException();
+                }
+                int current = next;
+                next = advance(current + 1);
+                return current;
+            }
+
+            private int advance(int from) {
+                while (from < capacity && !present[from]) {
+                    from++;
+                }
+                return from;
+            }
+        };
+    }
+
+    /**
+     * Gets the vertices adjacent to a given vertex, in the order their
+     * edges were added.  The graph must not be changed while iterating.
+     *
+     * @param from the source vertex
+     * @return an iterator over the destinations of edges for which
+     * 'from' is the source vertex.  If 'from' is not a vertex in the
+     * graph, returns an empty iterator.
+     */
+    public PrimitiveIterator.OfInt adjacentTo(int from) {
+        final int[] row = contains(from) ? adjacency[from] : NO_EDGES;
+        final int end = contains(from) ? degrees[from] : 0;
+        return new PrimitiveIterator.OfInt() {
+            private int next = 0;
+
+            public boolean hasNext() {
+                return next < end;
+            }
+
+            public int nextInt() {
+                if (next >= end) {
+                    throw new NoSuchElementException();
+                }
+                return row[next++];
+            }
+        };
+    }
+
+    /**
+     * Calls an action once for each vertex adjacent to a given vertex,
+     * in the order their edges were added.  If 'from' is not a vertex
+     * in the graph, does nothing.
+     *
+     * @param from the source vertex
+     * @param action the callback to run for each adjacent vertex
+     */
+    public void forEachNeighbor(int from, IntConsumer action) {
+        if (contains(from)) {
+            int[] row = adjacency[from];
+            for (int i = 0; i < degrees[from]; i++) {
+                action.accept(row[i]);
+            }
+        }
+    }
+
+    /**
+     * Tells whether a vertex is in the graph.
+     *
+     * @param vertex a vertex
+     * @return true iff 'vertex' is a vertex in the graph.
+     */
+    public boolean contains(int vertex) {
+        return vertex >= 0 && vertex < capacity && present[vertex];
+    }
+
+    /**
+     * Tells whether an edge exists in the graph.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     *
+     * @return true iff there is an edge from the source vertex to the
+     * destination vertex in the graph.  If either of the given
+     * vertices are not vertices in the graph, then there is no edge
+     * between them.
+     */
+    public boolean hasEdge(int from, int to) {
+        return contains(from) && hasEdgeFrom(from, to);
+    }
+
+    /**
+     * Gives a string representation of the graph, in the same format
+     * as GraphAdjacencyList.toString.
+     *
+     * @return the string representation of the graph
+     */
+    public String toString() {
+        StringBuilder toReturn = new StringBuilder();
+        try {
+            writeTo(toReturn);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return toReturn.toString();
+    }
+
+    /**
+     * Writes the string representation described by toString, one
+     * vertex at a time, so that the whole string never has to be in
+     * memory at once.
+     *
+     * @param out where to write the representation
+     * @throws IOException if out throws IOException
+     */
+    public void writeTo(Appendable out) throws IOException {
+        boolean first = true;
+        for (int vertex = 0; vertex < capacity; vertex++) {
+            if (present[vertex]) {
+                if (!first) {
+                    out.append('\n');
+                }
+                out.append(Integer.toString(vertex)).append(':');
+                for (int i = 0; i < degrees[vertex]; i++) {
+                    out.append(i == 0 ? " " : ", ").append(Integer.toString(adjacency[vertex][i]));
+                }
+                first = false;
+            }
+        }
+    }
+
+    /**
+     * compares this IntGraph with an Object
+     * @return true if the object is an IntGraph with the same vertices
+     * and edges, false otherwise
+     */
+    public boolean equals(Object anotherObject) {
+        if (!(anotherObject instanceof IntGraph)) {
+            return false;
+        }
+        IntGraph anotherGraph = (IntGraph) anotherObject;
+        if (this.numVertices() != anotherGraph.numVertices()
+                || this.numEdges() != anotherGraph.numEdges()) {
+            return false;
+        }
+        for (int vertex = 0; vertex < capacity; vertex++) {
+            if (present[vertex]) {
+                if (!anotherGraph.contains(vertex)
+                        || anotherGraph.degree(vertex) != degrees[vertex]) {
+                    return false;
+                }
+                for (int i = 0; i < degrees[vertex]; i++) {
+                    if (!anotherGraph.hasEdge(vertex, adjacency[vertex][i])) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return a hash code that only depends on the vertices and edges
+     */
+    public int hashCode() {
+        int hash = vertices;
+        for (int vertex = 0; vertex < capacity; vertex++) {
+            for (int i = 0; i < degrees[vertex]; i++) {
+                hash += (vertex * 31 + adjacency[vertex][i]) * 0x9E3779B9;
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * makes sure the graph has room for vertex ids below newCapacity
+     * @param newCapacity the graph will have at least newCapacity
+     * capacity; at most Integer.MAX_VALUE - 8
+     */
+    public void ensureCapacity(int newCapacity) {
+        if (newCapacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be at most " + MAX_CAPACITY + ": " + newCapacity);
+        }
+        if (newCapacity > capacity) {
+            int capacityModifier = 2;
+            long grown = (long) capacity * capacityModifier;
+            capacity = (int) Math.min(MAX_CAPACITY, Math.max(grown, newCapacity));
+            present = Arrays.copyOf(present, capacity);
+            adjacency = Arrays.copyOf(adjacency, capacity);
+            degrees = Arrays.copyOf(degrees, capacity);
+            indexes = Arrays.copyOf(indexes, capacity);
+        }
+    }
+
+    /**
+     * @return the number of vertex ids this graph can hold before it
+     * has to grow
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * tells whether a vertex that is in the graph has an edge to another
+     *
+     * @param from a vertex in the graph
+     * @param to the destination vertex
+     * @return true if there is an edge from 'from' to 'to'
+     */
+    private boolean hasEdgeFrom(int from, int to) {
+        if (indexes[from] != null) {
+            return indexes[from].contains(to);
+        }
+        int[] row = adjacency[from];
+        for (int i = 0; i < degrees[from]; i++) {
+            if (row[i] == to) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,179 @@
+package edu.union.adt.graph;
+
+import java.util.Arrays;
+
+/**
+ * A set of non-negative ints stored in an open-addressing hash table,
+ * so that no Integer objects are created.  A set made with values
+ * also keeps an int value for each key, in a table running in
+ * parallel, so it can serve as a map from ints to ints.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+class IntHashSet {
+    private static final int EMPTY = -1;
+
+    private int[] table;
+    private int[] values;
+    private int size;
+
+    /**
+     * Create a set with room for a given number of ints before it grows
+     * @param expectedSize the number of ints the set is expected to hold
+     */
+    IntHashSet(int expectedSize) {
+        this(expectedSize, false);
+    }
+
+    /**
+     * Create a set with room for a given number of ints before it grows
+     * @param expectedSize the number of ints the set is expected to hold
+     * @param withValues true to keep a value for each int, with put and get
+     */
+    IntHashSet(int expectedSize, boolean withValues) {
+        int tableSize = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        table = new int[tableSize];
+        Arrays.fill(table, EMPTY);
+        values = withValues ? new int[tableSize] : null;
+        size = 0;
+    }
+
+    /**
+     * @return true if key is in the set, false otherwise
+     */
+    boolean contains(int key) {
+        return slotOf(key) >= 0;
+    }
+
+    /**
+     * @return the value of key in a set made with values, or -1 if key
+     * is not in the set
+     */
+    int get(int key) {
+        int i = slotOf(key);
+        return i < 0 ? -1 : values[i];
+    }
+
+    /**
+     * adds a non-negative key to the set
+     * @return true if the key was added, false if it was already there
+     */
+    boolean add(int key) {
+        int mask = table.length - 1;
+        int i = indexFor(key, mask);
+        while (table[i] != EMPTY) {
+            if (table[i] == key) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        table[i] = key;
+        size++;
+        if (size * 2 > table.length) {
+            grow();
+        }
+        return true;
+    }
+
+    /**
+     * adds a non-negative key to a set made with values, or changes
+     * its value if it is already there
+     */
+    void put(int key, int value) {
+        int mask = table.length - 1;
+        int i = indexFor(key, mask);
+        while (table[i] != EMPTY && table[i] != key) {
+            i = (i + 1) & mask;
+        }
+        values[i] = value;
+        if (table[i] == EMPTY) {
+            table[i] = key;
+            size++;
+            if (size * 2 > table.length) {
+                grow();
+            }
+        }
+    }
+
+    /**
+     * removes a key from the set, moving later keys of the same probe
+     * run back so that every key can still be found
+     * @return true if the key was removed, false if it wasn't there
+     */
+    boolean remove(int key) {
+        int i = slotOf(key);
+        if (i < 0) {
+            return false;
+        }
+        int mask = table.length - 1;
+        table[i] = EMPTY;
+        for (int j = (i + 1) & mask; table[j] != EMPTY; j = (j + 1) & mask) {
+            int home = indexFor(table[j], mask);
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                table[i] = table[j];
+                if (values != null) {
+                    values[i] = values[j];
+                }
+                table[j] = EMPTY;
+                i = j;
+            }
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * @return the number of ints in the set
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the slot of the table holding key, or -1 if it isn't there
+     */
+    private int slotOf(int key) {
+        int mask = table.length - 1;
+        for (int i = indexFor(key, mask); table[i] != EMPTY; i = (i + 1) & mask) {
+            if (table[i] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * doubles the size of the table and puts every key back into it
+     */
+    private void grow() {
+        int[] oldTable = table;
+        int[] oldValues = values;
+        table = new int[oldTable.length * 2];
+        Arrays.fill(table, EMPTY);
+        values = oldValues == null ? null : new int[table.length];
+        int mask = table.length - 1;
+        for (int j = 0; j < oldTable.length; j++) {
+            int key = oldTable[j];
+            if (key != EMPTY) {
+                int i = indexFor(key, mask);
+                while (table[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                table[i] = key;
+                if (values != null) {
+                    values[i] = oldValues[j];
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the table slot a key starts probing from, in any table
+     * of ints whose size is mask + 1, a power of two
+     */
+    static int indexFor(int key, int mask) {
+        int hash = key * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,205 @@
+package edu.union.adt.graph;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * An implementation of the Graph interface that interns every vertex
+ * into a dense int id through one VertexDictionary and keeps each
+ * vertex's adjacent vertices as a growable array of ids.  Each vertex
+ * is stored once, however many edges it has, and an edge costs 4
+ * bytes instead of a hash set entry.  Once a vertex has
+ * INDEX_THRESHOLD edges its adjacent ids are also put into an
+ * IntHashSet, so hasEdge and addEdge stay constant expected time for
+ * high-degree vertices.
+ * <p>
+ * Vertices are compared with equals, so a String vertex is found by
+ * any equal String, not only by the object it was added with.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+public class InternedGraph<V> extends AbstractDictionaryGraph<V> {
+
+    private static final int DEFAULT_CAPACITY = 10;
+    private static final int INITIAL_DEGREE_CAPACITY = 4;
+    private static final int INDEX_THRESHOLD = 16;
+    private static final int[] NO_EDGES = new int[0];
+
+    private int[][] adjacency;
+    private IntHashSet[] indexes;
+
+    /**
+     * Create an empty graph.
+     */
+    public InternedGraph() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create an empty graph with room for a given number of vertices
+     * before it has to grow.
+     *
+     * @param expectedVertices the number of vertices the graph is
+     * expected to hold
+     */
+    public InternedGraph(int expectedVertices) {
+        super(expectedVertices, DEFAULT_CAPACITY);
+        adjacency = new int[initialCapacity()][];
+        indexes = new IntHashSet[initialCapacity()];
+    }
+
+    /**
+     * Adds a directed edge between two vertices.  If there is already an edge
+     * between the given vertices, does nothing.  If either (or both)
+     * of the given vertices does not exist, it is added to the
+     * graph before the edge is created between them.
+     *
+     * @param from the source vertex for the added edge
+     * @param to the destination vertex for the added edge
+     */
+    public void addEdge(V from, V to) {
+        int fromId = intern(from);
+        int toId = intern(to);
+        if (hasEdgeFrom(fromId, toId)) {
+            return;
+        }
+        int[] row = adjacency[fromId];
+        int degree = degrees[fromId];
+        if (row == NO_EDGES) {
+            row = new int[INITIAL_DEGREE_CAPACITY];
+        }
+        else if (degree == row.length) {
+            row = Arrays.copyOf(row, degree * 2);
+        }
+        row[degree] = toId;
+        adjacency[fromId] = row;
+        degrees[fromId] = degree + 1;
+
+        if (indexes[fromId] != null) {
+            indexes[fromId].add(toId);
+        }
+        else if (degree + 1 >= INDEX_THRESHOLD) {
+            IntHashSet index = new IntHashSet(degree + 1);
+            for (int i = 0; i <= degree; i++) {
+                index.add(row[i]);
+            }
+            indexes[fromId] = index;
+        }
+        edges++;
+        fingerprint += edgeHash(from, to);
+    }
+
+    /**
+     * Gets the vertices adjacent to a given vertex, in the order their
+     * edges were added.
+     *
+     * @param from the source vertex
+     * @return an iterable collection for the set of vertices that are
+     * the destinations of edges for which 'from' is the source
+     * vertex.  If 'from' is not a vertex in the graph, returns an
+     * empty iterator.  The collection is a read-only view of the
+     * graph, not a copy, so the graph must not be changed while
+     * iterating over it.
+     */
+    public Iterable<V> adjacentTo(V from) {
+        final int fromId = dictionary.idOf(from);
+        if (fromId < 0) {
+            return Collections.emptySet();
+        }
+        return () -> new Iterator<V>() {
+            private final int[] row = adjacency[fromId];
+            private final int end = degrees[fromId];
+            private int next = 0;
+
+            public boolean hasNext() {
+                return next < end;
+            }
+
+            public V next() {
+                if (next >= end) {
+                    throw new NoSuchElementException();
+                }
+                return dictionary.vertexAt(row[next++]);
+            }
+        };
+    }
+
+    /**
+     * Calls an action once for each vertex adjacent to a given vertex,
+     * in the order their edges were added.  If 'from' is not a vertex
+     * in the graph, does nothing.
+     *
+     * @param from the source vertex
+     * @param action the callback to run for each adjacent vertex
+     */
+    public void forEachNeighbor(V from, Consumer<? super V> action) {
+        int fromId = dictionary.idOf(from);
+        if (fromId >= 0) {
+            int[] row = adjacency[fromId];
+            for (int i = 0; i < degrees[fromId]; i++) {
+                action.accept(dictionary.vertexAt(row[i]));
+            }
+        }
+    }
+
+    /**
+     * grows the rows and indexes to a new number of ids
+     */
+    void growTo(int capacity) {
+        adjacency = Arrays.copyOf(adjacency, capacity);
+        indexes = Arrays.copyOf(indexes, capacity);
+    }
+
+    /**
+     * gives a new vertex the shared empty row
+     */
+    void vertexAdded(int id) {
+        adjacency[id] = NO_EDGES;
+    }
+
+    /**
+     * drops the row and index of a vertex being removed
+     */
+    void clearVertex(int id) {
+        adjacency[id] = NO_EDGES;
+        indexes[id] = null;
+    }
+
+    /**
+     * tells whether a vertex has an edge to another, through its index
+     * if it has one
+     */
+    boolean hasEdgeFrom(int from, int to) {
+        if (indexes[from] != null) {
+            return indexes[from].contains(to);
+        }
+        int[] row = adjacency[from];
+        for (int i = 0; i < degrees[from]; i++) {
+            if (row[i] == to) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * removes the edge between two vertices in the graph, keeping the
+     * order of the other edges from 'from'
+     */
+    boolean removeEdgeFrom(int from, int to) {
+        if (indexes[from] != null && !indexes[from].remove(to)) {
+            return false;
+        }
+        int[] row = adjacency[from];
+        int degree = degrees[from];
+        for (int i = 0; i < degree; i++) {
+            if (row[i] == to) {
+                System.arraycopy(row, i + 1, row, i, degree - i - 1);
+                degrees[from] = degree - 1;
+                edges--;
+                return true;
+            }
+        }
+        return false;
+    }
+}
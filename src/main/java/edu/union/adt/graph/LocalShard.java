@@ -0,0 +1,209 @@
+package edu.union.adt.graph;
+import java.util.*;
+
+/**
+ * A Shard kept in this JVM, in its own GraphAdjacencyList with the
+ * incoming-edge index on.  Every method holds the shard's own lock,
+ * so a PartitionedGraph's shards can be worked on in parallel with
+ * each other.  Lists returned are copies, as they would be from a
+ * shard in another process.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+public class LocalShard<V> implements Shard<V> {
+
+    private final int index;
+    private final int shards;
+    private final GraphAdjacencyList<V> graph;
+    private int ghosts;
+
+    /**
+     * Create an empty shard.
+     *
+     * @param index which shard this is, from 0
+     * @param shards the number of shards in the PartitionedGraph
+     */
+    public LocalShard(int index, int shards) {
+        if (index < 0 || index >= shards) {
+            throw new IllegalArgumentException("shard " + index + " of " + shards);
+        }
+        this.index = index;
+        this.shards = shards;
+        graph = new GraphAdjacencyList<>();
+        graph.setIncomingIndexed(true);
+    }
+
+    /**
+     * @return true iff 'vertex' belongs to this shard
+     */
+    private boolean owns(V vertex) {
+        return PartitionedGraph.shardOf(vertex, shards) == index;
+    }
+
+    /**
+     * @return 1 if 'vertex' is a ghost in the graph, 0 if not
+     */
+    private int ghost(V vertex) {
+        return !owns(vertex) && graph.contains(vertex) ? 1 : 0;
+    }
+
+    /**
+     * Applies a batch of changes, in order.  A ghost is dropped once
+     * the last edge to it is removed.
+     *
+     * @param changes the changes to make
+     */
+    public synchronized void apply(List<GraphChange<V>> changes) {
+        for (GraphChange<V> change : changes) {
+            V from = change.from();
+            V to = change.to();
+            boolean edge = change.type() == GraphChange.Type.EDGE_ADDED
+                    || change.type() == GraphChange.Type.EDGE_REMOVED;
+            boolean twoVertices = edge && !Objects.equals(from, to);
+            // ghosts that may have lost their last edge
+            List<V> orphans = new ArrayList<>();
+            if (change.type() == GraphChange.Type.EDGE_REMOVED) {
+                orphans.add(to);
+            }
+            else if (change.type() == GraphChange.Type.VERTEX_REMOVED) {
+                orphans.addAll(toCollection(graph.adjacentTo(from)));
+            }
+
+            int before = ghost(from) + (twoVertices ? ghost(to) : 0);
+            change.applyTo(graph);
+            ghosts += ghost(from) + (twoVertices ? ghost(to) : 0) - before;
+            for (V orphan : orphans) {
+                if (ghost(orphan) == 1 && graph.inDegree(orphan) == 0) {
+                    graph.removeVertex(orphan);
+                    ghosts--;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of vertices the shard owns
+     */
+    public synchronized int numVertices() {
+        return graph.numVertices() - ghosts;
+    }
+
+    /**
+     * @return the number of edges from the vertices the shard owns
+     */
+    public synchronized int numEdges() {
+        return graph.numEdges();
+    }
+
+    /**
+     * @param vertex a vertex
+     * @return true iff the shard owns 'vertex' and it is in the graph
+     */
+    public synchronized boolean contains(V vertex) {
+        return owns(vertex) && graph.contains(vertex);
+    }
+
+    /**
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return true iff the shard has an edge from 'from' to 'to'
+     */
+    public synchronized boolean hasEdge(V from, V to) {
+        return graph.hasEdge(from, to);
+    }
+
+    /**
+     * @param vertex a vertex the shard owns
+     * @return the degree of 'vertex'
+     * @throws RuntimeException if the shard doesn't have 'vertex'
+     */
+    public synchronized int degree(V vertex) throws RuntimeException {
+        if (!contains(vertex)) {
+            throw new RuntimeException("Vertex " + vertex + " is not in the graph");
+        }
+        return graph.degree(vertex);
+    }
+
+    /**
+     * @param vertex a vertex in any shard
+     * @return the number of the shard's edges that end at 'vertex'
+     */
+    public synchronized int inDegree(V vertex) {
+        return graph.contains(vertex) ? graph.inDegree(vertex) : 0;
+    }
+
+    /**
+     * @return the vertices the shard owns
+     */
+    public synchronized List<V> vertices() {
+        List<V> vertices = new ArrayList<>(numVertices());
+        for (V vertex : graph.getVertices()) {
+            if (owns(vertex)) {
+                vertices.add(vertex);
+            }
+        }
+        return vertices;
+    }
+
+    /**
+     * @param from the source vertex
+     * @return the vertices adjacent to 'from', or an empty list if the
+     * shard doesn't have it
+     */
+    public synchronized List<V> adjacentTo(V from) {
+        return new ArrayList<>(toCollection(graph.adjacentTo(from)));
+    }
+
+    /**
+     * @param to a vertex in any shard
+     * @return the shard's vertices with an edge to 'to'
+     */
+    public synchronized List<V> predecessors(V to) {
+        return new ArrayList<>(toCollection(graph.predecessors(to)));
+    }
+
+    /**
+     * @param frontier vertices the shard owns
+     * @return the vertices adjacent to any of them, possibly more than
+     * once each
+     */
+    public synchronized List<V> expand(Collection<V> frontier) {
+        final List<V> next = new ArrayList<>();
+        for (V from : frontier) {
+            graph.forEachNeighbor(from, next::add);
+        }
+        return next;
+    }
+
+    /**
+     * Shares each vertex's rank evenly among the vertices adjacent to
+     * it.  Vertices with no edges share nothing.
+     *
+     * @param ranks the ranks of vertices the shard owns
+     * @return the total share each vertex receives, for the vertices
+     * that receive any
+     */
+    public synchronized Map<V, Double> spread(Map<V, Double> ranks) {
+        final Map<V, Double> shares = new HashMap<>();
+        for (Map.Entry<V, Double> entry : ranks.entrySet()) {
+            V from = entry.getKey();
+            if (graph.contains(from) && graph.degree(from) > 0) {
+                final double share = entry.getValue() / graph.degree(from);
+                graph.forEachNeighbor(from, to -> shares.merge(to, share, Double::sum));
+            }
+        }
+        return shares;
+    }
+
+    private static <V> Collection<V> toCollection(Iterable<V> iterable) {
+        if (iterable instanceof Collection) {
+            return (Collection<V>) iterable;
+        }
+        List<V> list = new ArrayList<>();
+        for (V vertex : iterable) {
+            list.add(vertex);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,187 @@
+package edu.union.adt.graph;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An immutable implementation of the Graph interface that reads its
+ * edges straight out of a memory-mapped GraphFile.  Opening a graph
+ * reads the header and the vertex dictionary onto the heap; the
+ * offsets and targets stay in the file and are paged in by the
+ * operating system as they are used, so they take no heap space.
+ * Opening only checks the header and the first and last offsets,
+ * which takes constant time.  Opening with verify also reads through
+ * all the offsets and targets once, touching every page of them, to
+ * check that they make sense, so that a damaged file is an
+ * IOException when it is opened; without it, a damaged file can give
+ * wrong answers or throw RuntimeExceptions later.
+ * <p>
+ * A single mapping can be at most 2GB, so the file may hold at most
+ * 2^29 edges.
+ * <p>
+ * close unmaps the file right away, where the JVM allows it, instead
+ * of waiting for the garbage collector.  After close, reading the
+ * edges throws IllegalStateException, and the graph must not be used
+ * by another thread while it is being closed.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+public class MappedGraph<V> extends AbstractCompressedSparseRow<V> implements AutoCloseable {
+
+    private ByteBuffer offsetsBuffer;
+    private ByteBuffer targetsBuffer;
+    private IntBuffer offsets;
+    private IntBuffer targets;
+
+    /**
+     * Maps the edges of a graph file whose header has been read, and
+     * reads its vertex dictionary.
+     *
+     * @param file the file to open, for error messages
+     * @param codec how to read each vertex
+     * @param channel the open file
+     * @param vertices the number of vertices, from the header
+     * @param edges the number of edges, from the header
+     * @param dictionaryPosition where the vertices start, from the header
+     * @param verify true to check every offset and target
+     * @throws IOException if the file can't be read or is damaged
+     */
+    private MappedGraph(Path file, VertexCodec<V> codec, FileChannel channel, int vertices, int edges,
+                        long dictionaryPosition, boolean verify) throws IOException {
+        super(vertices);
+        long offsetsPosition = GraphFile.HEADER_BYTES;
+        long targetsPosition = offsetsPosition + 4L * (vertices + 1);
+        try {
+            offsetsBuffer = channel.map(FileChannel.MapMode.READ_ONLY, offsetsPosition, 4L * (vertices + 1));
+            targetsBuffer = channel.map(FileChannel.MapMode.READ_ONLY, targetsPosition, 4L * edges);
+            offsets = offsetsBuffer.asIntBuffer();
+            targets = targetsBuffer.asIntBuffer();
+            if (offsets.get(0) != 0 || offsets.get(vertices) != edges) {
+                throw new IOException(file + " has offsets that don't cover the edges");
+            }
+            if (verify) {
+                verify(file, vertices, edges);
+            }
+
+            channel.position(dictionaryPosition);
+            DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(Channels.newInputStream(channel), 1 << 16));
+            for (int id = 0; id < vertices; id++) {
+                if (!addId(codec.read(in))) {
+                    throw new IOException(file + " has vertex " + id + " twice");
+                }
+            }
+        }
+        catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Open a graph saved by GraphFile.write.
+     *
+     * @param file the file to open
+     * @param codec how to read each vertex
+     * @param verify true to check every offset and target, which reads
+     * the whole file
+     * @return the graph in the file
+     * @throws IOException if the file can't be read, isn't a graph
+     * file, or is damaged
+     */
+    static <V> MappedGraph<V> open(Path file, VertexCodec<V> codec, boolean verify) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < GraphFile.HEADER_BYTES) {
+                throw new IOException(file + " is not a graph file");
+            }
+            ByteBuffer header = ByteBuffer.allocate(GraphFile.HEADER_BYTES);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading
+            }
+            header.flip();
+            if (header.getInt() != GraphFile.MAGIC || header.getInt() != GraphFile.VERSION) {
+                throw new IOException(file + " is not a graph file");
+            }
+            int vertices = header.getInt();
+            int edges = header.getInt();
+            long dictionaryPosition = header.getLong();
+            long targetsPosition = GraphFile.HEADER_BYTES + 4L * (vertices + 1);
+            if (vertices < 0 || edges < 0 || 4L * (vertices + 1) > Integer.MAX_VALUE
+                    || 4L * edges > Integer.MAX_VALUE
+                    || dictionaryPosition != targetsPosition + 4L * edges
+                    || dictionaryPosition > channel.size()) {
+                throw new IOException(file + " has a corrupt header");
+            }
+            return new MappedGraph<>(file, codec, channel, vertices, edges, dictionaryPosition, verify);
+        }
+    }
+
+    /**
+     * checks that the offsets never go down or past the number of
+     * edges, and that the targets of each vertex are ids of vertices
+     * in increasing order
+     */
+    private void verify(Path file, int vertices, int edges) throws IOException {
+        for (int id = 0; id < vertices; id++) {
+            int start = offsets.get(id);
+            int end = offsets.get(id+1);
+            if (end < start || end > edges) {
+                throw new IOException(file + " has a bad offset for vertex " + id);
+            }
+            int previous = -1;
+            for (int edge = start; edge < end; edge++) {
+                int target = targets.get(edge);
+                if (target <= previous || target >= vertices) {
+                    throw new IOException(file + " has a bad target for vertex " + id);
+                }
+                previous = target;
+            }
+        }
+    }
+
+    /**
+     * Unmaps the file.  Calling close again does nothing.
+     */
+    public void close() {
+        if (offsetsBuffer != null) {
+            OffHeapArena.release(offsetsBuffer);
+        }
+        if (targetsBuffer != null) {
+            OffHeapArena.release(targetsBuffer);
+        }
+        offsetsBuffer = null;
+        targetsBuffer = null;
+        offsets = null;
+        targets = null;
+    }
+
+    private void checkOpen() {
+        if (offsets == null) {
+            throw new IllegalStateException("The graph has been closed");
+        }
+    }
+
+    /**
+     * @param id a vertex id, from 0 to numVertices()
+     * @return the index of the first edge from vertex 'id'; the edges
+     * from it end just before offset(id+1)
+     */
+    public int offset(int id) {
+        checkOpen();
+        return offsets.get(id);
+    }
+
+    /**
+     * @param edge an edge index, from 0 to numEdges()-1
+     * @return the id of the destination of that edge
+     */
+    public int target(int edge) {
+        checkOpen();
+        return targets.get(edge);
+    }
+}
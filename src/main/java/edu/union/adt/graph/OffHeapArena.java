@@ -0,0 +1,259 @@
+package edu.union.adt.graph;
+
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * Hands out blocks of ints that live outside the Java heap, in direct
+ * ByteBuffers.  A block holds a power of two ints, and its size class
+ * is that power.  Blocks are carved out of chunks that double in size
+ * up to MAX_CHUNK_INTS, so a small graph never reserves much memory.
+ * Freed blocks go on a free list for their size class and are handed
+ * out again before new space is carved.
+ * <p>
+ * A block is named by a long address: the chunk number in the high
+ * 32 bits and the index of its first int in the low 32 bits.  A
+ * block holds at most 2^28 ints, the largest power of two that fits
+ * in one direct buffer.  close frees every chunk at once, without
+ * waiting for the garbage collector; after that, using any address
+ * throws IllegalStateException.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+class OffHeapArena implements AutoCloseable {
+    static final long NONE = -1;
+    static final int MAX_SIZE_CLASS = 28;
+
+    private static final int FIRST_CHUNK_INTS = 1 << 14;
+    private static final int MAX_CHUNK_INTS = 1 << 28;
+
+    private ByteBuffer[] buffers;
+    private IntBuffer[] chunks;
+    private int chunkCount;
+    private int used;
+    private long[][] freeLists;
+    private int[] freeCounts;
+    private long reserved;
+
+    /**
+     * Create an arena that has not reserved any memory yet.
+     */
+    OffHeapArena() {
+        buffers = new ByteBuffer[4];
+        chunks = new IntBuffer[4];
+        chunkCount = 0;
+        used = 0;
+        freeLists = new long[MAX_SIZE_CLASS + 1][];
+        freeCounts = new int[MAX_SIZE_CLASS + 1];
+        reserved = 0;
+    }
+
+    /**
+     * @param ints a number of ints, at least 1
+     * @return the smallest size class whose blocks hold that many ints
+     */
+    static int sizeClassFor(int ints) {
+        int sizeClass = 32 - Integer.numberOfLeadingZeros(Math.max(1, ints) - 1);
+        if (sizeClass > MAX_SIZE_CLASS) {
+            throw new IllegalArgumentException("Blocks can hold at most 2^" + MAX_SIZE_CLASS + " ints");
+        }
+        return sizeClass;
+    }
+
+    /**
+     * @param sizeClass a size class
+     * @return the address of a block of 2^sizeClass ints, whose
+     * contents are whatever was last written there
+     */
+    long allocate(int sizeClass) {
+        checkOpen();
+        if (freeCounts[sizeClass] > 0) {
+            return freeLists[sizeClass][--freeCounts[sizeClass]];
+        }
+        int ints = 1 << sizeClass;
+        if (chunkCount == 0 || chunks[chunkCount-1].capacity() - used < ints) {
+            addChunk(ints);
+        }
+        long address = ((long) (chunkCount - 1) << 32) | used;
+        used += ints;
+        return address;
+    }
+
+    /**
+     * gives a block back, so that allocate can hand it out again
+     * @param address the address allocate returned
+     * @param sizeClass the size class it was allocated with
+     */
+    void free(long address, int sizeClass) {
+        checkOpen();
+        long[] freeList = freeLists[sizeClass];
+        if (freeList == null) {
+            freeList = new long[4];
+        }
+        else if (freeCounts[sizeClass] == freeList.length) {
+            freeList = Arrays.copyOf(freeList, freeList.length * 2);
+        }
+        freeList[freeCounts[sizeClass]++] = address;
+        freeLists[sizeClass] = freeList;
+    }
+
+    /**
+     * @param address the address of a block
+     * @param i an index into the block
+     * @return the int at index i of the block
+     */
+    int get(long address, int i) {
+        return chunk(address).get((int) address + i);
+    }
+
+    /**
+     * @param address the address of a block
+     * @param i an index into the block
+     * @param value the int to store at index i of the block
+     */
+    void set(long address, int i, int value) {
+        chunk(address).put((int) address + i, value);
+    }
+
+    /**
+     * sets the first length ints of a block to one value
+     * @param address the address of a block
+     * @param length the number of ints to set
+     * @param value the value to set them to
+     */
+    void fill(long address, int length, int value) {
+        IntBuffer chunk = chunk(address);
+        int start = (int) address;
+        for (int i = 0; i < length; i++) {
+            chunk.put(start + i, value);
+        }
+    }
+
+    /**
+     * copies ints between blocks, or within one block.  The ranges may
+     * overlap.
+     * @param from the address of the block to copy from
+     * @param fromIndex the index of the first int to copy
+     * @param to the address of the block to copy to
+     * @param toIndex the index to copy the first int to
+     * @param length the number of ints to copy
+     */
+    void copy(long from, int fromIndex, long to, int toIndex, int length) {
+        IntBuffer source = chunk(from);
+        IntBuffer destination = chunk(to);
+        int start = (int) from + fromIndex;
+        int end = (int) to + toIndex;
+        if (source == destination && end > start) {
+            for (int i = length - 1; i >= 0; i--) {
+                destination.put(end + i, source.get(start + i));
+            }
+        }
+        else {
+            for (int i = 0; i < length; i++) {
+                destination.put(end + i, source.get(start + i));
+            }
+        }
+    }
+
+    /**
+     * @return the number of bytes of off-heap memory reserved
+     */
+    long reservedBytes() {
+        return reserved;
+    }
+
+    /**
+     * frees all of the arena's memory right away.  Calling close again
+     * does nothing.
+     */
+    public void close() {
+        if (chunks == null) {
+            return;
+        }
+        for (int i = 0; i < chunkCount; i++) {
+            release(buffers[i]);
+        }
+        buffers = null;
+        chunks = null;
+        freeLists = null;
+        reserved = 0;
+    }
+
+    /**
+     * @return true once close has been called
+     */
+    boolean isClosed() {
+        return chunks == null;
+    }
+
+    /**
+     * reserves a new chunk big enough for a block of a given size
+     * @param ints the number of ints the new chunk must hold
+     */
+    private void addChunk(int ints) {
+        if (chunkCount > 0) {
+            int leftover = chunks[chunkCount-1].capacity() - used;
+            for (int sizeClass = MAX_SIZE_CLASS; sizeClass >= 0; sizeClass--) {
+                while (leftover >= 1 << sizeClass) {
+                    free(((long) (chunkCount - 1) << 32) | used, sizeClass);
+                    used += 1 << sizeClass;
+                    leftover -= 1 << sizeClass;
+                }
+            }
+        }
+        int size = chunkCount == 0
+                ? FIRST_CHUNK_INTS
+                : Math.min(MAX_CHUNK_INTS, chunks[chunkCount-1].capacity() * 2);
+        size = Math.max(size, ints);
+        if (chunkCount == chunks.length) {
+            buffers = Arrays.copyOf(buffers, chunkCount * 2);
+            chunks = Arrays.copyOf(chunks, chunkCount * 2);
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(4 * size).order(ByteOrder.nativeOrder());
+        buffers[chunkCount] = buffer;
+        chunks[chunkCount] = buffer.asIntBuffer();
+        chunkCount++;
+        used = 0;
+        reserved += 4L * size;
+    }
+
+    /**
+     * @param address the address of a block
+     * @return the chunk the block is in
+     */
+    private IntBuffer chunk(long address) {
+        checkOpen();
+        return chunks[(int) (address >>> 32)];
+    }
+
+    /**
+     * throws IllegalStateException if the arena has been closed
+     */
+    private void checkOpen() {
+        if (chunks == null) {
+            throw new IllegalStateException("The graph has been closed");
+        }
+    }
+
+    /**
+     * frees the memory of a direct buffer now, if the JVM lets us, or
+     * else leaves it for the garbage collector
+     * @param buffer a direct buffer that will never be used again
+     */
+    static void release(ByteBuffer buffer) {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            java.lang.reflect.Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            invokeCleaner.invoke(field.get(null), buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // before Java 9 there is no invokeCleaner; the buffer is
+            // freed when it is garbage collected
+        }
+    }
+}
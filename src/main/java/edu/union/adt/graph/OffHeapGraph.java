@@ -0,0 +1,361 @@
+package edu.union.adt.graph;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * An implementation of the Graph interface that keeps its edges
+ * outside the Java heap, so that graphs with billions of edges neither
+ * need a huge heap nor make the garbage collector scan them.  Each
+ * vertex is interned into an int id by a VertexDictionary on the heap,
+ * and the ids of its adjacent vertices are kept, in the order their
+ * edges were added, in a block of an OffHeapArena.  A block doubles
+ * when it fills up.  Once a vertex has INDEX_THRESHOLD edges its
+ * adjacent ids are also put into an off-heap open-addressing hash
+ * table, so hasEdge and addEdge stay constant expected time for
+ * high-degree vertices.  Only a few ints of bookkeeping per vertex
+ * stay on the heap.
+ * <p>
+ * A block holds at most 2^28 ints, so a vertex can have at most
+ * MAX_DEGREE edges: once its hash table has reached 2^28 slots it
+ * stops growing, and MAX_DEGREE keeps that table at most three
+ * quarters full.  Adding an edge past the limit throws
+ * IllegalArgumentException and leaves the graph unchanged.
+ * <p>
+ * The off-heap memory is freed by close, not by the garbage
+ * collector, so a graph should be closed when it is no longer needed,
+ * for example with try-with-resources.  After close, every method but
+ * close throws IllegalStateException.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+public class OffHeapGraph<V> extends AbstractDictionaryGraph<V> implements AutoCloseable {
+
+    private static final int DEFAULT_CAPACITY = 10;
+    private static final int INITIAL_DEGREE_CAPACITY = 4;
+    private static final int INDEX_THRESHOLD = 16;
+    private static final int EMPTY = -1;
+    private static final long NONE = OffHeapArena.NONE;
+    private static final int MAX_INDEX_CLASS = OffHeapArena.MAX_SIZE_CLASS;
+
+    /**
+     * The most edges one vertex can have, three quarters of the
+     * largest hash table a vertex's edges can be indexed by.
+     */
+    public static final int MAX_DEGREE = 3 << (MAX_INDEX_CLASS - 2);
+
+    private OffHeapArena arena;
+    private long[] rows;
+    private byte[] rowClasses;
+    private long[] indexes;
+    private byte[] indexClasses;
+
+    /**
+     * Create an empty graph.
+     */
+    public OffHeapGraph() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create an empty graph with room for a given number of vertices
+     * before its on-heap bookkeeping has to grow.
+     *
+     * @param expectedVertices the number of vertices the graph is
+     * expected to hold
+     */
+    public OffHeapGraph(int expectedVertices) {
+        super(expectedVertices, DEFAULT_CAPACITY);
+        int capacity = initialCapacity();
+        arena = new OffHeapArena();
+        rows = new long[capacity];
+        rowClasses = new byte[capacity];
+        indexes = new long[capacity];
+        indexClasses = new byte[capacity];
+    }
+
+    /**
+     * Frees the graph's off-heap memory right away.  Calling close
+     * again does nothing.
+     */
+    public void close() {
+        arena.close();
+    }
+
+    /**
+     * @return the number of bytes of off-heap memory the graph has reserved
+     */
+    public long offHeapBytes() {
+        checkOpen();
+        return arena.reservedBytes();
+    }
+
+    /**
+     * Adds a directed edge between two vertices.  If there is already an edge
+     * between the given vertices, does nothing.  If either (or both)
+     * of the given vertices does not exist, it is added to the
+     * graph before the edge is created between them.  If 'from'
+     * already has MAX_DEGREE edges, throws IllegalArgumentException
+     * without changing the graph.
+     *
+     * @param from the source vertex for the added edge
+     * @param to the destination vertex for the added edge
+     */
+    public void addEdge(V from, V to) {
+        checkOpen();
+        int known = dictionary.idOf(from);
+        if (known >= 0 && degrees[known] >= MAX_DEGREE) {
+            int knownTo = dictionary.idOf(to);
+            if (knownTo >= 0 && hasEdgeFrom(known, knownTo)) {
+                return;
+            }
+            throw new IllegalArgumentException("Vertex " + from + " already has the most edges a vertex can have: "
+                                               + MAX_DEGREE);
+        }
+        int fromId = intern(from);
+        int toId = intern(to);
+        if (hasEdgeFrom(fromId, toId)) {
+            return;
+        }
+        int degree = degrees[fromId];
+        if (rows[fromId] == NONE) {
+            rowClasses[fromId] = (byte) OffHeapArena.sizeClassFor(INITIAL_DEGREE_CAPACITY);
+            rows[fromId] = arena.allocate(rowClasses[fromId]);
+        }
+        else if (degree == 1 << rowClasses[fromId]) {
+            long row = arena.allocate(rowClasses[fromId] + 1);
+            arena.copy(rows[fromId], 0, row, 0, degree);
+            arena.free(rows[fromId], rowClasses[fromId]);
+            rows[fromId] = row;
+            rowClasses[fromId]++;
+        }
+        // the index is brought up to date before the row, so that if
+        // a new one can't be allocated the old row and index still agree
+        if (indexes[fromId] != NONE && ((degree + 1) * 2 <= 1 << indexClasses[fromId]
+                                        || indexClasses[fromId] == MAX_INDEX_CLASS)) {
+            indexAdd(indexes[fromId], indexClasses[fromId], toId);
+        }
+        else if (degree + 1 >= INDEX_THRESHOLD) {
+            buildIndex(fromId, toId);
+        }
+        arena.set(rows[fromId], degree, toId);
+        degrees[fromId] = degree + 1;
+        edges++;
+        fingerprint += edgeHash(from, to);
+    }
+
+    /**
+     * Gets the vertices adjacent to a given vertex, in the order their
+     * edges were added.
+     *
+     * @param from the source vertex
+     * @return an iterable collection for the set of vertices that are
+     * the destinations of edges for which 'from' is the source
+     * vertex.  If 'from' is not a vertex in the graph, returns an
+     * empty iterator.  The collection is a read-only view of the
+     * graph, not a copy, so the graph must not be changed while
+     * iterating over it.
+     */
+    public Iterable<V> adjacentTo(V from) {
+        checkOpen();
+        final int fromId = dictionary.idOf(from);
+        if (fromId < 0) {
+            return Collections.emptySet();
+        }
+        return () -> new Iterator<V>() {
+            private final long row = rows[fromId];
+            private final int end = degrees[fromId];
+            private int next = 0;
+
+            public boolean hasNext() {
+                return next < end;
+            }
+
+            public V next() {
+                if (next >= end) {
+                    throw new NoSuchElementException();
+                }
+                return dictionary.vertexAt(arena.get(row, next++));
+            }
+        };
+    }
+
+    /**
+     * Calls an action once for each vertex adjacent to a given vertex,
+     * in the order their edges were added.  If 'from' is not a vertex
+     * in the graph, does nothing.
+     *
+     * @param from the source vertex
+     * @param action the callback to run for each adjacent vertex
+     */
+    public void forEachNeighbor(V from, Consumer<? super V> action) {
+        checkOpen();
+        int fromId = dictionary.idOf(from);
+        if (fromId >= 0) {
+            long row = rows[fromId];
+            for (int i = 0; i < degrees[fromId]; i++) {
+                action.accept(dictionary.vertexAt(arena.get(row, i)));
+            }
+        }
+    }
+
+    /**
+     * throws IllegalStateException if the graph has been closed
+     */
+    void checkOpen() {
+        if (arena.isClosed()) {
+            throw new IllegalStateException("The graph has been closed");
+        }
+    }
+
+    /**
+     * grows the on-heap bookkeeping to a new number of ids
+     */
+    void growTo(int capacity) {
+        rows = Arrays.copyOf(rows, capacity);
+        rowClasses = Arrays.copyOf(rowClasses, capacity);
+        indexes = Arrays.copyOf(indexes, capacity);
+        indexClasses = Arrays.copyOf(indexClasses, capacity);
+    }
+
+    /**
+     * marks a new vertex as having no blocks yet
+     */
+    void vertexAdded(int id) {
+        rows[id] = NONE;
+        indexes[id] = NONE;
+    }
+
+    /**
+     * gives the blocks of a vertex being removed back to the arena
+     */
+    void clearVertex(int id) {
+        if (rows[id] != NONE) {
+            arena.free(rows[id], rowClasses[id]);
+        }
+        if (indexes[id] != NONE) {
+            arena.free(indexes[id], indexClasses[id]);
+        }
+        rows[id] = NONE;
+        indexes[id] = NONE;
+    }
+
+    /**
+     * tells whether a vertex has an edge to another, through its
+     * off-heap index if it has one
+     */
+    boolean hasEdgeFrom(int from, int to) {
+        if (indexes[from] != NONE) {
+            long index = indexes[from];
+            int mask = (1 << indexClasses[from]) - 1;
+            for (int i = IntHashSet.indexFor(to, mask); ; i = (i + 1) & mask) {
+                int id = arena.get(index, i);
+                if (id == to) {
+                    return true;
+                }
+                if (id == EMPTY) {
+                    return false;
+                }
+            }
+        }
+        long row = rows[from];
+        for (int i = 0; i < degrees[from]; i++) {
+            if (arena.get(row, i) == to) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * removes the edge between two vertices in the graph, keeping the
+     * order of the other edges from 'from'
+     */
+    boolean removeEdgeFrom(int from, int to) {
+        if (!hasEdgeFrom(from, to)) {
+            return false;
+        }
+        if (indexes[from] != NONE) {
+            indexRemove(indexes[from], indexClasses[from], to);
+        }
+        long row = rows[from];
+        int degree = degrees[from];
+        for (int i = 0; i < degree; i++) {
+            if (arena.get(row, i) == to) {
+                arena.copy(row, i + 1, row, i, degree - i - 1);
+                break;
+            }
+        }
+        degrees[from] = degree - 1;
+        edges--;
+        return true;
+    }
+
+    /**
+     * replaces the hash index of a vertex with one with four slots
+     * for each id in its row and an id about to be added, or with the
+     * largest index there is, holding all those ids.  The old index is
+     * only freed once the new one is allocated.
+     *
+     * @param id the id of a vertex in the graph
+     * @param to the id of the vertex its next edge goes to
+     */
+    private void buildIndex(int id, int to) {
+        int degree = degrees[id] + 1;
+        int sizeClass = degree > 1 << (MAX_INDEX_CLASS - 2)
+                ? MAX_INDEX_CLASS : OffHeapArena.sizeClassFor(degree * 4);
+        long index = arena.allocate(sizeClass);
+        arena.fill(index, 1 << sizeClass, EMPTY);
+        for (int i = 0; i < degrees[id]; i++) {
+            indexAdd(index, sizeClass, arena.get(rows[id], i));
+        }
+        indexAdd(index, sizeClass, to);
+        if (indexes[id] != NONE) {
+            arena.free(indexes[id], indexClasses[id]);
+        }
+        indexes[id] = index;
+        indexClasses[id] = (byte) sizeClass;
+    }
+
+    /**
+     * puts an id that isn't there yet into a hash index with room for it
+     *
+     * @param index the address of the index
+     * @param sizeClass the size class of the index
+     * @param to the id to add
+     */
+    private void indexAdd(long index, int sizeClass, int to) {
+        int mask = (1 << sizeClass) - 1;
+        int i = IntHashSet.indexFor(to, mask);
+        while (arena.get(index, i) != EMPTY) {
+            i = (i + 1) & mask;
+        }
+        arena.set(index, i, to);
+    }
+
+    /**
+     * takes an id that is there out of a hash index, moving later ids
+     * of the same probe run back so that every id can still be found
+     *
+     * @param index the address of the index
+     * @param sizeClass the size class of the index
+     * @param to the id to remove
+     */
+    private void indexRemove(long index, int sizeClass, int to) {
+        int mask = (1 << sizeClass) - 1;
+        int i = IntHashSet.indexFor(to, mask);
+        while (arena.get(index, i) != to) {
+            i = (i + 1) & mask;
+        }
+        arena.set(index, i, EMPTY);
+        for (int j = (i + 1) & mask; arena.get(index, j) != EMPTY; j = (j + 1) & mask) {
+            int id = arena.get(index, j);
+            int home = IntHashSet.indexFor(id, mask);
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                arena.set(index, i, id);
+                arena.set(index, j, EMPTY);
+                i = j;
+            }
+        }
+    }
+}
@@ -0,0 +1,617 @@
+package edu.union.adt.graph;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import edu.union.adt.graph.algorithms.PageRank;
+
+/**
+ * A graph whose vertices are hash-partitioned across a number of
+ * shards, each holding its own part of the graph behind the Shard
+ * interface, so that the graph can be bigger than one map, and one
+ * lock, and in time one JVM.  A vertex belongs to shard shardOf(v),
+ * which holds every edge from it.
+ * <p>
+ * Changes are not sent to the shards one at a time.  Each shard has a
+ * batch of changes waiting for it, which is sent as one apply call
+ * when it reaches BATCH_SIZE changes or before the graph is read, so
+ * adding an edge whose ends are in different shards costs two entries
+ * in two batches instead of two calls.  Removing a vertex has to reach
+ * every shard, to drop the edges to it.
+ * <p>
+ * A full batch is sent without waiting for it: it is queued behind
+ * the shard's earlier batches and applied on the fork-join pool, so
+ * the caller keeps adding changes while every shard applies its
+ * batches in parallel, each in the order they were made.  At most
+ * MAX_IN_FLIGHT batches are queued for a shard; past that, sending
+ * waits for the oldest.  flush, and so every read, waits until every
+ * queued batch is applied.  If applying a batch throws, the batches
+ * queued behind it on that shard are dropped and the exception is
+ * thrown by the next flush or read.
+ * <p>
+ * The queries that need every shard are run as one task per shard on
+ * the pool.  distancesFrom and pageRank run partition-parallel: each
+ * level of the search, and each iteration of PageRank, is one task per
+ * shard working on the vertices that shard owns, with the results
+ * routed to their owners between steps.
+ * <p>
+ * Reads see every change made before them.  Like GraphAdjacencyList,
+ * the graph itself must not be changed by two threads at once.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+public class PartitionedGraph<V> extends AbstractGraph<V> {
+
+    public static final int BATCH_SIZE = 1024;
+    public static final int MAX_IN_FLIGHT = 4;
+
+    private final List<Shard<V>> shards;
+    private final List<List<GraphChange<V>>> batches;
+    private final List<Deque<CompletableFuture<Void>>> inFlight;
+    private final ForkJoinPool pool;
+    private int waiting;
+    private boolean sent;
+
+    /**
+     * Create an empty graph with a number of LocalShards, running on
+     * the common fork-join pool.
+     *
+     * @param shards the number of shards, at least 1
+     */
+    public PartitionedGraph(int shards) {
+        this(localShards(shards), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a graph over existing shards.  Shard i must own exactly
+     * the vertices v with shardOf(v, shards.size()) == i.
+     *
+     * @param shards the shards, at least 1
+     * @param pool the pool to run each shard's tasks on
+     */
+    public PartitionedGraph(List<? extends Shard<V>> shards, ForkJoinPool pool) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("a partitioned graph needs at least 1 shard");
+        }
+        this.shards = new ArrayList<>(shards);
+        this.pool = pool;
+        batches = new ArrayList<>();
+        inFlight = new ArrayList<>();
+        for (int i = 0; i < shards.size(); i++) {
+            batches.add(new ArrayList<>());
+            inFlight.add(new ArrayDeque<>());
+        }
+    }
+
+    private static <V> List<Shard<V>> localShards(int shards) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("a partitioned graph needs at least 1 shard");
+        }
+        List<Shard<V>> local = new ArrayList<>();
+        for (int i = 0; i < shards; i++) {
+            local.add(new LocalShard<>(i, shards));
+        }
+        return local;
+    }
+
+    /**
+     * Gives the shard a vertex belongs to.  The hash is spread so that
+     * vertices whose hash codes differ only in their high bits still
+     * land in different shards.
+     *
+     * @param vertex a vertex
+     * @param shards the number of shards
+     * @return the index of the shard that owns 'vertex'
+     */
+    public static int shardOf(Object vertex, int shards) {
+        int h = Objects.hashCode(vertex) * 0x9E3779B9;
+        return Math.floorMod(h ^ (h >>> 16), shards);
+    }
+
+    /**
+     * @return the number of shards
+     */
+    public int numShards() {
+        return shards.size();
+    }
+
+    private int shardOf(V vertex) {
+        return shardOf(vertex, shards.size());
+    }
+
+    /**
+     * adds a change to a shard's batch, sending the batch if it is full
+     */
+    private void send(int shard, GraphChange.Type type, V from, V to) {
+        List<GraphChange<V>> batch = batches.get(shard);
+        batch.add(new GraphChange<>(0, type, from, to));
+        waiting++;
+        if (batch.size() >= BATCH_SIZE) {
+            sendBatch(shard);
+        }
+    }
+
+    /**
+     * queues a shard's waiting batch behind the ones already sent to
+     * it, without waiting for it to be applied
+     */
+    private void sendBatch(int shard) {
+        final Shard<V> target = shards.get(shard);
+        final List<GraphChange<V>> batch = batches.get(shard);
+        batches.set(shard, new ArrayList<>());
+        waiting -= batch.size();
+
+        // a failure is passed down the queue, so only the last batch
+        // is needed to report it
+        Deque<CompletableFuture<Void>> queue = inFlight.get(shard);
+        while (queue.size() > 1 && queue.peekFirst().isDone()) {
+            queue.removeFirst();
+        }
+        if (queue.size() >= MAX_IN_FLIGHT) {
+            try {
+                queue.removeFirst().join();
+            }
+            catch (CompletionException e) {
+                // thrown by the next flush
+            }
+        }
+        CompletableFuture<Void> previous = queue.isEmpty()
+                ? CompletableFuture.completedFuture(null) : queue.peekLast();
+        queue.addLast(previous.thenRunAsync(() -> target.apply(batch), pool));
+        sent = true;
+    }
+
+    /**
+     * Sends every shard its waiting batch, in parallel, and waits
+     * until the shards have applied every batch sent to them, so that
+     * they hold every change made so far.  Every read does this first.
+     */
+    public void flush() {
+        if (waiting == 0 && !sent) {
+            return;
+        }
+        for (int i = 0; i < shards.size(); i++) {
+            if (!batches.get(i).isEmpty()) {
+                sendBatch(i);
+            }
+        }
+        sent = false;
+        RuntimeException failure = null;
+        for (Deque<CompletableFuture<Void>> queue : inFlight) {
+            try {
+                if (!queue.isEmpty()) {
+                    await(queue.peekLast());
+                }
+            }
+            catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+            queue.clear();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * waits for a batch to be applied, throwing what applying it, or
+     * a batch before it, threw
+     */
+    private static void await(CompletableFuture<Void> batch) {
+        try {
+            batch.join();
+        }
+        catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * runs one task per shard on the pool and waits for them all
+     *
+     * @return the tasks' results, in shard order
+     */
+    private <T> List<T> onEveryShard(final Function<Integer, T> task) {
+        if (shards.size() == 1) {
+            return Collections.singletonList(task.apply(0));
+        }
+        List<Callable<T>> tasks = new ArrayList<>();
+        for (int i = 0; i < shards.size(); i++) {
+            final int shard = i;
+            tasks.add(() -> task.apply(shard));
+        }
+        List<T> results = new ArrayList<>();
+        try {
+            for (Future<T> future : pool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+        return results;
+    }
+
+    /**
+     * @return the number of vertices in the graph.
+     */
+    public int numVertices() {
+        flush();
+        int vertices = 0;
+        for (int count : onEveryShard(i -> shards.get(i).numVertices())) {
+            vertices += count;
+        }
+        return vertices;
+    }
+
+    /**
+     * @return the number of edges in the graph.
+     */
+    public int numEdges() {
+        flush();
+        int edges = 0;
+        for (int count : onEveryShard(i -> shards.get(i).numEdges())) {
+            edges += count;
+        }
+        return edges;
+    }
+
+    /**
+     * Gets the number of vertices connected by edges from a given
+     * vertex.  If the given vertex is not in the graph, throws a
+     * RuntimeException.
+     *
+     * @param vertex the vertex whose degree we want.
+     * @return the degree of vertex 'vertex'
+     */
+    public int degree(V vertex) throws RuntimeException {
+        flush();
+        return shards.get(shardOf(vertex)).degree(vertex);
+    }
+
+    /**
+     * Gets the number of edges that end at a given vertex, by asking
+     * every shard.  If the given vertex is not in the graph, throws a
+     * RuntimeException.
+     *
+     * @param vertex the vertex whose in-degree we want.
+     * @return the number of vertices with an edge to 'vertex'
+     */
+    public int inDegree(final V vertex) throws RuntimeException {
+        if (!contains(vertex)) {
+            throw new RuntimeException("Vertex " + vertex + " is not in the graph");
+        }
+        int inDegree = 0;
+        for (int count : onEveryShard(i -> shards.get(i).inDegree(vertex))) {
+            inDegree += count;
+        }
+        return inDegree;
+    }
+
+    /**
+     * Adds a directed edge between two vertices.  If there is already
+     * an edge between the given vertices, does nothing.  If either (or
+     * both) of the given vertices does not exist, it is added to the
+     * graph before the edge is created between them.
+     *
+     * @param from the source vertex for the added edge
+     * @param to the destination vertex for the added edge
+     */
+    public void addEdge(V from, V to) {
+        int fromShard = shardOf(from);
+        int toShard = shardOf(to);
+        if (toShard != fromShard) {
+            send(toShard, GraphChange.Type.VERTEX_ADDED, to, null);
+        }
+        send(fromShard, GraphChange.Type.EDGE_ADDED, from, to);
+    }
+
+    /**
+     * Adds a vertex to the graph.  If the vertex already exists in
+     * the graph, does nothing.
+     *
+     * @param vertex the vertex to add
+     */
+    public void addVertex(V vertex) {
+        send(shardOf(vertex), GraphChange.Type.VERTEX_ADDED, vertex, null);
+    }
+
+    /**
+     * Removes the directed edge between two vertices.  If there is no
+     * such edge, does nothing.  The vertices themselves stay in the
+     * graph.
+     *
+     * @param from the source vertex of the edge to remove
+     * @param to the destination vertex of the edge to remove
+     */
+    public void removeEdge(V from, V to) {
+        send(shardOf(from), GraphChange.Type.EDGE_REMOVED, from, to);
+    }
+
+    /**
+     * Removes a vertex and every edge to or from it, telling every
+     * shard.  If the vertex is not in the graph, does nothing.
+     *
+     * @param vertex the vertex to remove
+     */
+    public void removeVertex(V vertex) {
+        for (int i = 0; i < shards.size(); i++) {
+            send(i, GraphChange.Type.VERTEX_REMOVED, vertex, null);
+        }
+    }
+
+    /**
+     * @return the vertices of the graph, shard by shard
+     */
+    public Iterable<V> getVertices() {
+        flush();
+        List<V> vertices = new ArrayList<>();
+        for (List<V> owned : onEveryShard(i -> shards.get(i).vertices())) {
+            vertices.addAll(owned);
+        }
+        return vertices;
+    }
+
+    /**
+     * Gets the vertices adjacent to a given vertex.
+     *
+     * @param from the source vertex
+     * @return a copy of the set of vertices that are the destinations
+     * of edges for which 'from' is the source vertex.  If 'from' is
+     * not a vertex in the graph, returns an empty list.
+     */
+    public Iterable<V> adjacentTo(V from) {
+        flush();
+        return shards.get(shardOf(from)).adjacentTo(from);
+    }
+
+    /**
+     * Calls an action once for each vertex adjacent to a given vertex.
+     * If 'from' is not a vertex in the graph, does nothing.
+     *
+     * @param from the source vertex
+     * @param action the callback to run for each adjacent vertex
+     */
+    public void forEachNeighbor(V from, Consumer<? super V> action) {
+        adjacentTo(from).forEach(action);
+    }
+
+    /**
+     * Gets the vertices with an edge to a given vertex, by asking
+     * every shard.
+     *
+     * @param to the destination vertex
+     * @return the vertices x for which (x, 'to') is an edge.  If 'to'
+     * is not a vertex in the graph, returns an empty list.
+     */
+    public Iterable<V> predecessors(final V to) {
+        flush();
+        List<V> predecessors = new ArrayList<>();
+        for (List<V> part : onEveryShard(i -> shards.get(i).predecessors(to))) {
+            predecessors.addAll(part);
+        }
+        return predecessors;
+    }
+
+    /**
+     * Tells whether a vertex is in the graph.
+     *
+     * @param vertex a vertex
+     * @return true iff 'vertex' is a vertex in the graph.
+     */
+    public boolean contains(V vertex) {
+        flush();
+        return shards.get(shardOf(vertex)).contains(vertex);
+    }
+
+    /**
+     * Tells whether an edge exists in the graph.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     *
+     * @return true iff there is an edge from the source vertex to the
+     * destination vertex in the graph.  If either of the given
+     * vertices are not vertices in the graph, then there is no edge
+     * between them.
+     */
+    public boolean hasEdge(V from, V to) {
+        flush();
+        return shards.get(shardOf(from)).hasEdge(from, to);
+    }
+
+    /**
+     * splits shares of rank into one map per shard that owns their
+     * vertices
+     */
+    private List<Map<V, Double>> byShard(Map<V, Double> shares) {
+        List<Map<V, Double>> parts = new ArrayList<>();
+        for (int i = 0; i < shards.size(); i++) {
+            parts.add(new HashMap<>());
+        }
+        for (Map.Entry<V, Double> share : shares.entrySet()) {
+            parts.get(shardOf(share.getKey())).put(share.getKey(), share.getValue());
+        }
+        return parts;
+    }
+
+    /**
+     * The rank one shard sends in one PageRank iteration: one map of
+     * shares for each shard, and the rank its vertices kept because
+     * they have no edges.
+     */
+    private static class Shares<V> {
+        final List<Map<V, Double>> byShard;
+        double kept;
+
+        Shares(List<Map<V, Double>> byShard) {
+            this.byShard = byShard;
+        }
+    }
+
+    /**
+     * splits vertices into one list per shard that owns them
+     */
+    private List<List<V>> byShard(Iterable<V> vertices) {
+        List<List<V>> parts = new ArrayList<>();
+        for (int i = 0; i < shards.size(); i++) {
+            parts.add(new ArrayList<>());
+        }
+        for (V vertex : vertices) {
+            parts.get(shardOf(vertex)).add(vertex);
+        }
+        return parts;
+    }
+
+    /**
+     * Gets the hop distance from a vertex to every vertex reachable
+     * from it, by a level-synchronous breadth-first search in which
+     * each shard expands its part of the frontier.
+     *
+     * @param source the vertex to start from
+     * @return a map from each reachable vertex to the fewest edges on a
+     * path to it from 'source' (0 for 'source' itself).  If 'source'
+     * is not in the graph, returns an empty map.
+     */
+    public Map<V, Integer> distancesFrom(V source) {
+        Map<V, Integer> distances = new HashMap<>();
+        if (!contains(source)) {
+            return distances;
+        }
+        distances.put(source, 0);
+        List<V> frontier = Collections.singletonList(source);
+        for (int level = 1; !frontier.isEmpty(); level++) {
+            final List<List<V>> parts = byShard(frontier);
+            List<V> next = new ArrayList<>();
+            for (List<V> reached : onEveryShard(i -> parts.get(i).isEmpty()
+                    ? Collections.<V>emptyList() : shards.get(i).expand(parts.get(i)))) {
+                for (V vertex : reached) {
+                    if (!distances.containsKey(vertex)) {
+                        distances.put(vertex, level);
+                        next.add(vertex);
+                    }
+                }
+            }
+            frontier = next;
+        }
+        return distances;
+    }
+
+    /**
+     * @return each vertex's PageRank, with the defaults PageRank.of uses
+     */
+    public Map<V, Double> pageRank() {
+        return pageRank(PageRank.DEFAULT_DAMPING, PageRank.DEFAULT_MAX_ITERATIONS,
+                        PageRank.DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * Computes PageRank by power iteration, as PageRank.of does, with
+     * each shard spreading the rank of the vertices it owns along
+     * their edges and splitting the shares by the shard that owns
+     * their destinations.  Each shard's next task then adds up the
+     * shares sent to it, so no step runs on one thread over every
+     * vertex.
+     *
+     * @param damping the chance of following an edge instead of
+     * jumping to a random vertex, between 0 and 1
+     * @param maxIterations the most iterations to run
+     * @param tolerance stop once the ranks change by less than this in
+     * total (L1 distance) in one iteration
+     * @return each vertex's PageRank
+     */
+    public Map<V, Double> pageRank(double damping, int maxIterations, double tolerance) {
+        if (damping < 0 || damping > 1) {
+            throw new IllegalArgumentException("damping must be between 0 and 1: " + damping);
+        }
+        flush();
+        final List<Map<V, Double>> ranks = new ArrayList<>();
+        int count = 0;
+        for (List<V> owned : onEveryShard(i -> shards.get(i).vertices())) {
+            Map<V, Double> part = new HashMap<>();
+            for (V vertex : owned) {
+                part.put(vertex, 0.0);
+            }
+            ranks.add(part);
+            count += owned.size();
+        }
+        if (count == 0) {
+            return new HashMap<>();
+        }
+        final int vertices = count;
+        for (Map<V, Double> part : ranks) {
+            part.replaceAll((vertex, rank) -> 1.0 / vertices);
+        }
+
+        for (int iteration = 0; iteration < maxIterations; iteration++) {
+            // each shard splits its shares by the shard they go to
+            final List<Shares<V>> sent = onEveryShard(i -> {
+                Shares<V> shares = new Shares<>(byShard(shards.get(i).spread(ranks.get(i))));
+                for (double rank : ranks.get(i).values()) {
+                    shares.kept += rank;
+                }
+                for (Map<V, Double> part : shares.byShard) {
+                    for (double share : part.values()) {
+                        shares.kept -= share;
+                    }
+                }
+                return shares;
+            });
+            // every vertex with edges gives all of its rank away, so
+            // the rank not given away was held by vertices with none
+            double dangling = 0;
+            for (Shares<V> shares : sent) {
+                dangling += shares.kept;
+            }
+            final double base = (1 - damping) / vertices
+                    + damping * Math.max(0, dangling) / vertices;
+            double change = 0;
+            for (double partChange : onEveryShard(i -> {
+                // each shard adds up the shares sent to it
+                Map<V, Double> received = new HashMap<>();
+                for (Shares<V> shares : sent) {
+                    for (Map.Entry<V, Double> share : shares.byShard.get(i).entrySet()) {
+                        received.merge(share.getKey(), share.getValue(), Double::sum);
+                    }
+                }
+                double sum = 0;
+                for (Map.Entry<V, Double> entry : ranks.get(i).entrySet()) {
+                    double updated = base + damping * received.getOrDefault(entry.getKey(), 0.0);
+                    sum += Math.abs(updated - entry.getValue());
+                    entry.setValue(updated);
+                }
+                return sum;
+            })) {
+                change += partChange;
+            }
+            if (change < tolerance) {
+                break;
+            }
+        }
+
+        Map<V, Double> result = new HashMap<>();
+        for (Map<V, Double> part : ranks) {
+            result.putAll(part);
+        }
+        return result;
+    }
+}
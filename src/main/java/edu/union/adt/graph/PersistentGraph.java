@@ -0,0 +1,242 @@
+package edu.union.adt.graph;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * An implementation of the Graph interface that can hand out immutable
+ * snapshots of itself in constant time.  The vertices and each
+ * vertex's adjacent vertices are kept in persistent hash maps, which
+ * are never changed: adding or removing an edge builds a new map that
+ * shares everything but one path with the old one, so it costs a few
+ * small array copies rather than a copy of the graph.
+ * <p>
+ * One thread at a time may change the graph.  Any number of other
+ * threads may call snapshot, or any other read method, at the same time
+ * without locking; each call sees the graph as it was after some
+ * complete change.  Each call to a read method on the graph itself
+ * may see a different version, so readers that make more than one call
+ * should take a snapshot and read that.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+public class PersistentGraph<V> extends AbstractGraph<V> {
+    private volatile GraphSnapshot<V> current;
+
+    /**
+     * Create an empty graph.
+     */
+    public PersistentGraph() {
+        current = GraphSnapshot.empty();
+    }
+
+    /**
+     * Gives an immutable view of the graph as it is now, in constant
+     * time.  Later changes to the graph don't show up in the snapshot.
+     *
+     * @return a snapshot of the graph
+     */
+    public GraphSnapshot<V> snapshot() {
+        return current;
+    }
+
+    /**
+     * @return the number of vertices in the graph.
+     */
+    public int numVertices() {
+        return current.numVertices();
+    }
+
+    /**
+     * @return the number of edges in the graph.
+     */
+    public int numEdges() {
+        return current.numEdges();
+    }
+
+    /**
+     * Gets the number of vertices connected by edges from a given
+     * vertex.  If the given vertex is not in the graph, throws a
+     * RuntimeException.
+     *
+     * @param vertex the vertex whose degree we want.
+     * @return the degree of vertex 'vertex'
+     */
+    public int degree(V vertex) throws RuntimeException {
+        return current.degree(vertex);
+    }
+
+    /**
+     * Adds a directed edge between two vertices.  If there is already an edge
+     * between the given vertices, does nothing.  If either (or both)
+     * of the given vertices does not exist, it is added to the
+     * graph before the edge is created between them.
+     *
+     * @param from the source vertex for the added edge
+     * @param to the destination vertex for the added edge
+     */
+    public void addEdge(V from, V to) {
+        GraphSnapshot<V> old = current;
+        PersistentHashMap<V, PersistentHashMap<V, Boolean>> vertexList = old.vertexList();
+        int fingerprint = old.hashCode();
+        PersistentHashMap<V, Boolean> adjacent = vertexList.get(from);
+        if (adjacent != null && adjacent.containsKey(to)) {
+            return;
+        }
+        if (!vertexList.containsKey(to)) {
+            vertexList = vertexList.plus(to, PersistentHashMap.<V, Boolean>empty());
+            fingerprint += vertexHash(to);
+        }
+        adjacent = vertexList.get(from);
+        if (adjacent == null) {
+            adjacent = PersistentHashMap.empty();
+            fingerprint += vertexHash(from);
+        }
+        vertexList = vertexList.plus(from, adjacent.plus(to, Boolean.TRUE));
+        current = new GraphSnapshot<>(vertexList, old.numEdges() + 1,
+                                      fingerprint + edgeHash(from, to));
+    }
+
+    /**
+     * Adds a vertex to the graph.  If the vertex already exists in
+     * the graph, does nothing.  If the vertex does not exist, it is
+     * added to the graph, with no edges connected to it.
+     *
+     * @param vertex the vertex to add
+     */
+    public void addVertex(V vertex) {
+        GraphSnapshot<V> old = current;
+        if (!old.contains(vertex)) {
+            current = new GraphSnapshot<>(
+                    old.vertexList().plus(vertex, PersistentHashMap.<V, Boolean>empty()),
+                    old.numEdges(), old.hashCode() + vertexHash(vertex));
+        }
+    }
+
+    /**
+     * Removes the directed edge between two vertices.  If there is no
+     * such edge, does nothing.
+     *
+     * @param from the source vertex of the edge to remove
+     * @param to the destination vertex of the edge to remove
+     */
+    public void removeEdge(V from, V to) {
+        GraphSnapshot<V> old = current;
+        PersistentHashMap<V, Boolean> adjacent = old.vertexList().get(from);
+        if (adjacent != null && adjacent.containsKey(to)) {
+            current = new GraphSnapshot<>(old.vertexList().plus(from, adjacent.minus(to)),
+                                          old.numEdges() - 1,
+                                          old.hashCode() - edgeHash(from, to));
+        }
+    }
+
+    /**
+     * Removes a vertex and every edge to or from it.  If the vertex is
+     * not in the graph, does nothing.  The graph keeps no index of
+     * incoming edges, so this looks at every vertex.
+     *
+     * @param vertex the vertex to remove
+     */
+    public void removeVertex(final V vertex) {
+        GraphSnapshot<V> old = current;
+        PersistentHashMap<V, PersistentHashMap<V, Boolean>> vertexList = old.vertexList();
+        PersistentHashMap<V, Boolean> adjacent = vertexList.get(vertex);
+        if (adjacent == null) {
+            return;
+        }
+        int edges = old.numEdges() - adjacent.size();
+        int fingerprint = old.hashCode() - vertexHash(vertex);
+        for (V to : old.adjacentTo(vertex)) {
+            fingerprint -= edgeHash(vertex, to);
+        }
+        vertexList = vertexList.minus(vertex);
+
+        final List<V> predecessors = new ArrayList<>();
+        vertexList.forEach((V from, PersistentHashMap<V, Boolean> edgesFrom) -> {
+            if (edgesFrom.containsKey(vertex)) {
+                predecessors.add(from);
+            }
+        });
+        for (V from : predecessors) {
+            vertexList = vertexList.plus(from, vertexList.get(from).minus(vertex));
+            edges--;
+            fingerprint -= edgeHash(from, vertex);
+        }
+        current = new GraphSnapshot<>(vertexList, edges, fingerprint);
+    }
+
+    /**
+     * @return an iterable collection for the set of vertices of the
+     * graph, as it was when this was called.
+     */
+    public Iterable<V> getVertices() {
+        return current.getVertices();
+    }
+
+    /**
+     * Gets the vertices adjacent to a given vertex.
+     *
+     * @param from the source vertex
+     * @return an iterable collection for the set of vertices that are
+     * the destinations of edges for which 'from' is the source
+     * vertex, as it was when this was called.  If 'from' is not a
+     * vertex in the graph, returns an empty iterator.
+     */
+    public Iterable<V> adjacentTo(V from) {
+        return current.adjacentTo(from);
+    }
+
+    /**
+     * Calls an action once for each vertex adjacent to a given vertex.
+     * If 'from' is not a vertex in the graph, does nothing.
+     *
+     * @param from the source vertex
+     * @param action the callback to run for each adjacent vertex
+     */
+    public void forEachNeighbor(V from, Consumer<? super V> action) {
+        current.forEachNeighbor(from, action);
+    }
+
+    /**
+     * Tells whether a vertex is in the graph.
+     *
+     * @param vertex a vertex
+     * @return true iff 'vertex' is a vertex in the graph.
+     */
+    public boolean contains(V vertex) {
+        return current.contains(vertex);
+    }
+
+    /**
+     * Tells whether an edge exists in the graph.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     *
+     * @return true iff there is an edge from the source vertex to the
+     * destination vertex in the graph.  If either of the given
+     * vertices are not vertices in the graph, then there is no edge
+     * between them.
+     */
+    public boolean hasEdge(V from, V to) {
+        return current.hasEdge(from, to);
+    }
+
+    /**
+     * Gives the hash code described by AbstractGraph.hashCode in
+     * constant time.
+     *
+     * @return the hash code of the graph
+     */
+    public int hashCode() {
+        return current.hashCode();
+    }
+
+    /**
+     * @return true, because hashCode takes constant time
+     */
+    protected boolean hasConstantTimeHashCode() {
+        return true;
+    }
+}
@@ -0,0 +1,398 @@
+package edu.union.adt.graph;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable hash map whose updates return a new map that shares all
+ * but one path of its structure with the old one.  It is a hash array
+ * mapped trie: each level uses 5 bits of a key's hash to pick one of up
+ * to 32 slots, and a bitmap records which slots are used, so a node
+ * only has as many slots as it has entries.  Looking up, adding or
+ * removing a key copies at most one node per level, and there are at
+ * most 7 levels.
+ * <p>
+ * Keys and values may be null.  Since the map never changes, any
+ * number of threads can read it without locking.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+class PersistentHashMap<K, V> {
+    private static final int BITS = 5;
+    private static final int MAX_DEPTH = 10;
+    private static final Object CHILD = new Object();
+    private static final Object NOT_FOUND = new Object();
+    private static final PersistentHashMap<?, ?> EMPTY =
+            new PersistentHashMap<>(new BitmapNode(0, new Object[0]), 0);
+
+    private final Node root;
+    private final int size;
+
+    private PersistentHashMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * @return the map with no entries
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    /**
+     * @return the number of keys in the map
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @param key a key
+     * @return the value for 'key', or null if it is not in the map
+     */
+    @SuppressWarnings("unchecked")
+    V get(Object key) {
+        Object value = root.find(hash(key), 0, key);
+        return value == NOT_FOUND ? null : (V) value;
+    }
+
+    /**
+     * @param key a key
+     * @return true iff 'key' is in the map
+     */
+    boolean containsKey(Object key) {
+        return root.find(hash(key), 0, key) != NOT_FOUND;
+    }
+
+    /**
+     * @param key the key to add or replace
+     * @param value its new value
+     * @return a map with the same entries as this one except that 'key'
+     * maps to 'value'.  If it already did, returns this map.
+     */
+    PersistentHashMap<K, V> plus(K key, V value) {
+        SizeChange change = new SizeChange();
+        Node newRoot = root.put(hash(key), 0, key, value, change);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentHashMap<>(newRoot, size + change.delta);
+    }
+
+    /**
+     * @param key the key to remove
+     * @return a map with the same entries as this one except 'key'.  If
+     * 'key' is not in this map, returns this map.
+     */
+    PersistentHashMap<K, V> minus(Object key) {
+        Node newRoot = root.remove(hash(key), 0, key);
+        if (newRoot == root) {
+            return this;
+        }
+        if (newRoot == null) {
+            return empty();
+        }
+        return new PersistentHashMap<>(newRoot, size - 1);
+    }
+
+    /**
+     * Calls an action once for each entry in the map.
+     *
+     * @param action the callback to run for each key and its value
+     */
+    @SuppressWarnings("unchecked")
+    void forEach(BiConsumer<? super K, ? super V> action) {
+        EntryIterator entries = new EntryIterator(root);
+        while (entries.hasNext()) {
+            Object[] array = entries.next();
+            int position = entries.lastPosition;
+            action.accept((K) array[position], (V) array[position + 1]);
+        }
+    }
+
+    /**
+     * @return an iterator over the keys of the map
+     */
+    Iterator<K> keyIterator() {
+        final EntryIterator entries = new EntryIterator(root);
+        return new Iterator<K>() {
+            public boolean hasNext() {
+                return entries.hasNext();
+            }
+
+            @SuppressWarnings("unchecked")
+            public K next() {
+                Object[] array = entries.next();
+                return (K) array[entries.lastPosition];
+            }
+        };
+    }
+
+    /**
+     * spreads the bits of a key's hash code, so that keys with similar
+     * hash codes don't all end up under the same slots
+     */
+    private static int hash(Object key) {
+        int hash = Objects.hashCode(key);
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * how many entries an update added, 0 or 1
+     */
+    private static class SizeChange {
+        int delta;
+    }
+
+    /**
+     * A trie node.  Its array holds key/value pairs; a pair whose key
+     * is CHILD holds a node one level down in place of the value.
+     */
+    private abstract static class Node {
+        final Object[] array;
+
+        Node(Object[] array) {
+            this.array = array;
+        }
+
+        abstract Object find(int hash, int shift, Object key);
+
+        abstract Node put(int hash, int shift, Object key, Object value, SizeChange change);
+
+        abstract Node remove(int hash, int shift, Object key);
+    }
+
+    /**
+     * A node with one pair for each bit set in its bitmap, in bit order.
+     */
+    private static class BitmapNode extends Node {
+        private final int bitmap;
+
+        BitmapNode(int bitmap, Object[] array) {
+            super(array);
+            this.bitmap = bitmap;
+        }
+
+        Object find(int hash, int shift, Object key) {
+            int bit = bitFor(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return NOT_FOUND;
+            }
+            int index = indexOf(bit);
+            Object found = array[index];
+            if (found == CHILD) {
+                return ((Node) array[index + 1]).find(hash, shift + BITS, key);
+            }
+            return Objects.equals(key, found) ? array[index + 1] : NOT_FOUND;
+        }
+
+        Node put(int hash, int shift, Object key, Object value, SizeChange change) {
+            int bit = bitFor(hash, shift);
+            int index = indexOf(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] newArray = new Object[array.length + 2];
+                System.arraycopy(array, 0, newArray, 0, index);
+                newArray[index] = key;
+                newArray[index + 1] = value;
+                System.arraycopy(array, index, newArray, index + 2, array.length - index);
+                change.delta = 1;
+                return new BitmapNode(bitmap | bit, newArray);
+            }
+            Object found = array[index];
+            Object foundValue = array[index + 1];
+            if (found == CHILD) {
+                Node child = (Node) foundValue;
+                Node newChild = child.put(hash, shift + BITS, key, value, change);
+                return newChild == child ? this : with(index, CHILD, newChild);
+            }
+            if (Objects.equals(key, found)) {
+                return foundValue == value ? this : with(index, found, value);
+            }
+            change.delta = 1;
+            Node child = pair(shift + BITS, found, foundValue, hash, key, value);
+            return with(index, CHILD, child);
+        }
+
+        Node remove(int hash, int shift, Object key) {
+            int bit = bitFor(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int index = indexOf(bit);
+            Object found = array[index];
+            if (found == CHILD) {
+                Node child = (Node) array[index + 1];
+                Node newChild = child.remove(hash, shift + BITS, key);
+                if (newChild == child) {
+                    return this;
+                }
+                if (newChild != null) {
+                    return with(index, CHILD, newChild);
+                }
+            }
+            else if (!Objects.equals(key, found)) {
+                return this;
+            }
+            if (bitmap == bit) {
+                return null;
+            }
+            Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, index);
+            System.arraycopy(array, index + 2, newArray, index, array.length - index - 2);
+            return new BitmapNode(bitmap & ~bit, newArray);
+        }
+
+        /**
+         * @return a copy of this node with the pair at 'index' replaced
+         */
+        private Node with(int index, Object key, Object value) {
+            Object[] newArray = array.clone();
+            newArray[index] = key;
+            newArray[index + 1] = value;
+            return new BitmapNode(bitmap, newArray);
+        }
+
+        private int indexOf(int bit) {
+            return 2 * Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        private static int bitFor(int hash, int shift) {
+            return 1 << ((hash >>> shift) & 31);
+        }
+    }
+
+    /**
+     * A node for keys whose hashes are all the same, searched linearly.
+     */
+    private static class CollisionNode extends Node {
+        private final int hash;
+
+        CollisionNode(int hash, Object[] array) {
+            super(array);
+            this.hash = hash;
+        }
+
+        Object find(int hash, int shift, Object key) {
+            int index = indexOf(key);
+            return index < 0 ? NOT_FOUND : array[index + 1];
+        }
+
+        Node put(int hash, int shift, Object key, Object value, SizeChange change) {
+            if (hash != this.hash) {
+                Node parent = new BitmapNode(BitmapNode.bitFor(this.hash, shift),
+                                             new Object[] {CHILD, this});
+                return parent.put(hash, shift, key, value, change);
+            }
+            int index = indexOf(key);
+            if (index >= 0) {
+                if (array[index + 1] == value) {
+                    return this;
+                }
+                Object[] newArray = array.clone();
+                newArray[index + 1] = value;
+                return new CollisionNode(hash, newArray);
+            }
+            Object[] newArray = new Object[array.length + 2];
+            System.arraycopy(array, 0, newArray, 0, array.length);
+            newArray[array.length] = key;
+            newArray[array.length + 1] = value;
+            change.delta = 1;
+            return new CollisionNode(hash, newArray);
+        }
+
+        Node remove(int hash, int shift, Object key) {
+            int index = indexOf(key);
+            if (index < 0) {
+                return this;
+            }
+            if (array.length == 2) {
+                return null;
+            }
+            Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, index);
+            System.arraycopy(array, index + 2, newArray, index, array.length - index - 2);
+            return new CollisionNode(hash, newArray);
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (Objects.equals(key, array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * makes a node one level down holding two entries whose hashes
+     * agree on every level above it
+     */
+    private static Node pair(int shift, Object key1, Object value1,
+                             int hash2, Object key2, Object value2) {
+        int hash1 = hash(key1);
+        if (hash1 == hash2) {
+            return new CollisionNode(hash1, new Object[] {key1, value1, key2, value2});
+        }
+        SizeChange ignored = new SizeChange();
+        return new BitmapNode(0, new Object[0])
+                .put(hash1, shift, key1, value1, ignored)
+                .put(hash2, shift, key2, value2, ignored);
+    }
+
+    /**
+     * Walks the trie depth first, keeping the path in arrays instead of
+     * on the call stack.  next returns the array holding the entry, and
+     * lastPosition is the index of the entry's key in it.
+     */
+    private static class EntryIterator implements Iterator<Object[]> {
+        private final Object[][] arrays = new Object[MAX_DEPTH][];
+        private final int[] positions = new int[MAX_DEPTH];
+        private int depth;
+        private boolean ready;
+        int lastPosition;
+
+        EntryIterator(Node root) {
+            arrays[0] = root.array;
+            depth = 0;
+        }
+
+        public boolean hasNext() {
+            if (ready) {
+                return true;
+            }
+            while (depth >= 0) {
+                Object[] array = arrays[depth];
+                int position = positions[depth];
+                if (position >= array.length) {
+                    depth--;
+                    continue;
+                }
+                if (array[position] == CHILD) {
+                    positions[depth] = position + 2;
+                    depth++;
+                    arrays[depth] = ((Node) array[position + 1]).array;
+                    positions[depth] = 0;
+                    continue;
+                }
+                ready = true;
+                return true;
+            }
+            return false;
+        }
+
+        public Object[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ready = false;
+            lastPosition = positions[depth];
+            positions[depth] = lastPosition + 2;
+            return arrays[depth];
+        }
+    }
+}
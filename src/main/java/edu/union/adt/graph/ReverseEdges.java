@@ -0,0 +1,66 @@
+package edu.union.adt.graph;
+
+/**
+ * The edges of an IndexedGraph turned around, in Compressed Sparse Row
+ * form: the vertices with edges to vertex i are source(offset(i))
+ * through source(offset(i+1)-1), in increasing id order.  Algorithms
+ * that pull values along incoming edges build one of these once and
+ * reuse it.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+public class ReverseEdges {
+    private int[] offsets;
+    private int[] sources;
+
+    /**
+     * Build the reverse edges of a graph in O(V+E) time.
+     *
+     * @param graph the graph to turn around
+     */
+    public ReverseEdges(IndexedGraph<?> graph) {
+        int vertices = graph.numVertices();
+        offsets = new int[vertices + 1];
+        for (int edge = 0; edge < graph.numEdges(); edge++) {
+            offsets[graph.target(edge) + 1]++;
+        }
+        for (int id = 0; id < vertices; id++) {
+            offsets[id + 1] += offsets[id];
+        }
+        sources = new int[graph.numEdges()];
+        int[] next = new int[vertices];
+        System.arraycopy(offsets, 0, next, 0, vertices);
+        for (int from = 0; from < vertices; from++) {
+            int end = graph.offset(from + 1);
+            for (int edge = graph.offset(from); edge < end; edge++) {
+                sources[next[graph.target(edge)]++] = from;
+            }
+        }
+    }
+
+    /**
+     * @param id a vertex id, from 0 to numVertices()
+     * @return the index of the first incoming edge of vertex 'id'; its
+     * incoming edges end just before offset(id+1)
+     */
+    public int offset(int id) {
+        return offsets[id];
+    }
+
+    /**
+     * @param edge an incoming edge index
+     * @return the id of the source of that edge
+     */
+    public int source(int edge) {
+        return sources[edge];
+    }
+
+    /**
+     * @param id a vertex id
+     * @return the number of edges into vertex 'id'
+     */
+    public int inDegree(int id) {
+        return offsets[id + 1] - offsets[id];
+    }
+}
@@ -0,0 +1,38 @@
+package edu.union.adt.graph;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One part of a PartitionedGraph.  A shard owns the vertices that
+ * PartitionedGraph.shardOf assigns to it, and holds every edge from
+ * them.  The destination of an edge may belong to another shard; the
+ * shard keeps it only as a ghost, so that it can remove the edge when
+ * that vertex is removed, and ghosts are not counted or listed as the
+ * shard's vertices.
+ * <p>
+ * This is the boundary between a PartitionedGraph and its shards.
+ * Every call takes and returns plain values and collections, and
+ * changes come in batches, so a shard could be in another process,
+ * reached over a network.  LocalShard keeps the shard in this JVM.
+ * Each shard must be safe to call from any thread, though not
+ * necessarily from two at once.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+public interface Shard<V> {
+    public void apply(List<GraphChange<V>> changes);
+    public int numVertices();
+    public int numEdges();
+    public boolean contains(V vertex);
+    public boolean hasEdge(V from, V to);
+    public int degree(V vertex);
+    public int inDegree(V vertex);
+    public List<V> vertices();
+    public List<V> adjacentTo(V from);
+    public List<V> predecessors(V to);
+    public List<V> expand(Collection<V> frontier);
+    public Map<V, Double> spread(Map<V, Double> ranks);
+}
@@ -0,0 +1,59 @@
+package edu.union.adt.graph;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.function.Function;
+
+/**
+ * Rebuilds a graph from the text format written by Graph.writeTo and
+ * Graph.toString, reading one line at a time so that only the current
+ * line is ever in memory.  Each line is a vertex, then ":", then
+ * optionally " " and the adjacent vertices separated by ", ".  Blank
+ * lines are skipped.  Vertices must not themselves contain ": ",
+ * ", " or line breaks, since the format can't tell those apart from
+ * the separators.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+class TextLoader {
+
+    /**
+     * @param in the text to read
+     * @param parser turns the text of a vertex back into a vertex
+     * @return a graph with the vertices and edges in the text
+     * @throws IOException if in throws IOException, or a line has no ':'
+     */
+    static <V> Graph<V> load(Reader in, Function<String, ? extends V> parser) throws IOException {
+        Graph<V> graph = new GraphAdjacencyList<>();
+        BufferedReader lines = in instanceof BufferedReader
+                ? (BufferedReader) in
+                : new BufferedReader(in, 1 << 16);
+        int lineNumber = 0;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (line.isEmpty()) {
+                continue;
+            }
+            int colon = line.indexOf(": ");
+            if (colon < 0) {
+                if (!line.endsWith(":")) {
+                    throw new IOException("Line " + lineNumber + " has no ':': " + line);
+                }
+                graph.addVertex(parser.apply(line.substring(0, line.length() - 1)));
+                continue;
+            }
+            V from = parser.apply(line.substring(0, colon));
+            graph.addVertex(from);
+            int start = colon + 2;
+            while (start <= line.length()) {
+                int comma = line.indexOf(", ", start);
+                int end = comma < 0 ? line.length() : comma;
+                graph.addEdge(from, parser.apply(line.substring(start, end)));
+                start = end + 2;
+            }
+        }
+        return graph;
+    }
+}
@@ -1,12 +1,18 @@
 package edu.union.adt.graph;
-import java.util.LinkedList;
-import java.util.Stack;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
 import java.lang.StringBuilder;
-import java.util.Iterator;
+import java.util.function.Consumer;
 
 /**
  * A vertex on a graph. It contains any edges that
  * have this vertex as a source, and can get the degree of this vertex.
+ * Edges are kept in an insertion-ordered hash set, so checking for or
+ * adding an edge takes constant expected time.
  *
  * @author Grant Bouvin
  * @version 4/6/2024
@@ -14,37 +20,63 @@ import java.util.Iterator;
 public class Vertex<V> {
     private V source;
     private int degree;
-    private LinkedList<V> edges;
+    private LinkedHashSet<V> edges;
+    private Set<V> edgesView;
+    private LinkedHashSet<V> incoming;
 
     /**
      * Create a vertex
      * @param from the origin of the vertex
      */
     public Vertex(V from) {
+        this(from, 0);
+    }
+
+    /**
+     * Create a vertex with room for a given number of edges
+     * @param from the origin of the vertex
+     * @param expectedDegree the number of edges this vertex is expected to have
+     */
+    public Vertex(V from, int expectedDegree) {
         source = from;
         degree = 0;
-        edges = new LinkedList<>();
+        edges = new LinkedHashSet<>(Math.max(16, (int) (expectedDegree / 0.75f) + 1));
+        edgesView = Collections.unmodifiableSet(edges);
     }
 
     /**
      * @return a string representation of this object
      */
     public String toString() {
-        StringBuilder toReturn = new StringBuilder(source+":");
-        if (degree>0) {
-            toReturn.append(" ");
-            for (V vertex : edges) {
-                toReturn.append(vertex);
-                toReturn.append(", ");
-            }
-            toReturn.delete(toReturn.length()-2, toReturn.length());
+        StringBuilder toReturn = new StringBuilder();
+        try {
+            appendTo(toReturn);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
         return toReturn.toString();
     }
 
+    /**
+     * writes the string representation of this object, the source
+     * followed by ": " and the edges separated by ", ", without
+     * building it in memory first.
+     * @param out where to write the representation
+     * @throws IOException if out throws IOException
+     */
+    public void appendTo(Appendable out) throws IOException {
+        out.append(String.valueOf(source)).append(':');
+        String separator = " ";
+        for (V vertex : edges) {
+            out.append(separator).append(String.valueOf(vertex));
+            separator = ", ";
+        }
+    }
+
     /**
      * @return true if this vertex is equal to anotherObject, false otherwise
-     * (they are equal if they are both instances of the Vertex class and have the same source)
+     * (they are equal if they are both instances of the Vertex class
+     * with equal sources and the same edges)
      */
     public boolean equals(Object anotherObject) {
         if (!(anotherObject instanceof Vertex)) {
@@ -52,7 +84,7 @@ public class Vertex<V> {
         }
         else {
             Vertex<?> anotherVertex = (Vertex<?>) anotherObject;
-            if (this.getSource() != anotherVertex.getSource()) {
+            if (!Objects.equals(this.getSource(), anotherVertex.getSource())) {
                 return false;
             } else if (this.getDegree() != anotherVertex.getDegree()) {
                 return false;
@@ -72,23 +104,92 @@ public class Vertex<V> {
         }
     }
 
+    /**
+     * @return a hash code that only depends on the source, so it is
+     * consistent with equals
+     */
+    public int hashCode() {
+        return Objects.hashCode(source);
+    }
+
     /**
      * adds an edge to this vertex from itself to vertex to,
      * does nothing if there is already an edge there.
      * @param to the end vertex of the edge to be added
      */
     public void addEdge(V to) {
-        if (!this.hasEdge(to)) {
-            edges.add(to);
+        if (edges.add(to)) {
             degree++;
         }
     }
 
     /**
-     * @return true if given source is the same as my source, false otherwise
+     * removes the edge from this vertex to vertex to,
+     * does nothing if there is no edge there.
+     * @param to the end vertex of the edge to be removed
+     */
+    public void removeEdge(V to) {
+        if (edges.remove(to)) {
+            degree--;
+        }
+    }
+
+    /**
+     * starts keeping track of the vertices with edges to this vertex.
+     * Until this is called, no memory is spent on them.
+     */
+    public void trackIncoming() {
+        if (incoming == null) {
+            incoming = new LinkedHashSet<>();
+        }
+    }
+
+    /**
+     * stops keeping track of the vertices with edges to this vertex,
+     * freeing the memory they used.
+     */
+    public void untrackIncoming() {
+        incoming = null;
+    }
+
+    /**
+     * records that there is an edge from vertex from to this vertex.
+     * Does nothing unless trackIncoming has been called.
+     * @param from the source of the incoming edge
+     */
+    public void addIncoming(V from) {
+        if (incoming != null) {
+            incoming.add(from);
+        }
+    }
+
+    /**
+     * records that there is no longer an edge from vertex from to this
+     * vertex.  Does nothing unless trackIncoming has been called.
+     * @param from the source of the removed edge
+     */
+    public void removeIncoming(V from) {
+        if (incoming != null) {
+            incoming.remove(from);
+        }
+    }
+
+    /**
+     * @return a read-only live view of the vertices with edges to this
+     * vertex, or null if trackIncoming has not been called
+     */
+    public Set<V> getIncoming() {
+        if (incoming == null) {
+            return null;
+        }
+        return Collections.unmodifiableSet(incoming);
+    }
+
+    /**
+     * @return true if given source is equal to my source, false otherwise
      */
     public boolean fromSource(V source) {
-        return source == getSource();
+        return Objects.equals(source, getSource());
     }
 
 
@@ -123,12 +224,22 @@ public class Vertex<V> {
     }
 
     /**
-     * @return
+     * @return a read-only live view of the destinations of the edges
+     * from this vertex, in the order they were added.  The view is not
+     * a copy, so it reflects edges added after it was returned.
      */
     public Iterable<V> getEdges() {
-        Stack myStack = new Stack<V>();
-        myStack.addAll(edges);
-        return myStack;
+        return edgesView;
+    }
 
+    /**
+     * calls action once for the destination of each edge from this vertex,
+     * in the order the edges were added.
+     * @param action the callback to run for each adjacent vertex
+     */
+    public void forEachEdge(Consumer<? super V> action) {
+        for (V edge : edges) {
+            action.accept(edge);
+        }
     }
 }
\ No newline at end of file
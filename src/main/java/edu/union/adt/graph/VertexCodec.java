@@ -0,0 +1,43 @@
+package edu.union.adt.graph;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Turns vertices into bytes and back, so that a graph's vertices can
+ * be saved in a graph file.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+public interface VertexCodec<V> {
+    public void write(DataOutput out, V vertex) throws IOException;
+    public V read(DataInput in) throws IOException;
+
+    /**
+     * Saves String vertices in modified UTF-8, as DataOutput.writeUTF does.
+     */
+    public static final VertexCodec<String> STRINGS = new VertexCodec<String>() {
+        public void write(DataOutput out, String vertex) throws IOException {
+            out.writeUTF(vertex);
+        }
+
+        public String read(DataInput in) throws IOException {
+            return in.readUTF();
+        }
+    };
+
+    /**
+     * Saves Integer vertices as 4-byte ints.
+     */
+    public static final VertexCodec<Integer> INTEGERS = new VertexCodec<Integer>() {
+        public void write(DataOutput out, Integer vertex) throws IOException {
+            out.writeInt(vertex);
+        }
+
+        public Integer read(DataInput in) throws IOException {
+            return in.readInt();
+        }
+    };
+}
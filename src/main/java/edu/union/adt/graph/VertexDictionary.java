@@ -0,0 +1,199 @@
+package edu.union.adt.graph;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Gives each distinct vertex a small int id, so that a graph can store
+ * its edges as ints.  Vertices are compared with equals, never with
+ * ==, so two equal Strings always get the same id.  The ids are kept
+ * in an open-addressing hash table of ints, and each vertex is stored
+ * once, in an array indexed by its id.  Ids freed by remove are handed
+ * out again before new ones, so the ids stay dense.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+class VertexDictionary<V> {
+    private static final int EMPTY = -1;
+
+    private int[] table;
+    private Object[] vertices;
+    private int[] hashes;
+    private boolean[] present;
+    private int[] freeIds;
+    private int freeCount;
+    private int limit;
+    private int size;
+
+    /**
+     * Create a dictionary with room for a given number of vertices
+     * before it grows
+     * @param expectedSize the number of vertices it is expected to hold
+     */
+    VertexDictionary(int expectedSize) {
+        int capacity = Math.max(4, expectedSize);
+        table = new int[Integer.highestOneBit(capacity * 2 - 1) << 1];
+        Arrays.fill(table, EMPTY);
+        vertices = new Object[capacity];
+        hashes = new int[capacity];
+        present = new boolean[capacity];
+        freeIds = new int[0];
+        freeCount = 0;
+        limit = 0;
+        size = 0;
+    }
+
+    /**
+     * @param vertex a vertex
+     * @return the id of a vertex equal to 'vertex', or -1 if there is none
+     */
+    int idOf(Object vertex) {
+        int hash = hash(vertex);
+        int mask = table.length - 1;
+        for (int i = hash & mask; table[i] != EMPTY; i = (i + 1) & mask) {
+            int id = table[i];
+            if (hashes[id] == hash && Objects.equals(vertices[id], vertex)) {
+                return id;
+            }
+        }
+        return EMPTY;
+    }
+
+    /**
+     * gets the id of a vertex, giving it a new id if it doesn't have one
+     * @param vertex a vertex
+     * @return the id of 'vertex'
+     */
+    int intern(V vertex) {
+        int hash = hash(vertex);
+        int mask = table.length - 1;
+        int i = hash & mask;
+        while (table[i] != EMPTY) {
+            int id = table[i];
+            if (hashes[id] == hash && Objects.equals(vertices[id], vertex)) {
+                return id;
+            }
+            i = (i + 1) & mask;
+        }
+        int id = freeCount > 0 ? freeIds[--freeCount] : limit++;
+        if (id == vertices.length) {
+            int capacity = (int) Math.min(Integer.MAX_VALUE, 2L * vertices.length);
+            vertices = Arrays.copyOf(vertices, capacity);
+            hashes = Arrays.copyOf(hashes, capacity);
+            present = Arrays.copyOf(present, capacity);
+        }
+        vertices[id] = vertex;
+        hashes[id] = hash;
+        present[id] = true;
+        table[i] = id;
+        size++;
+        if (size * 2 > table.length) {
+            grow();
+        }
+        return id;
+    }
+
+    /**
+     * takes a vertex out of the dictionary, freeing its id
+     * @param vertex a vertex
+     * @return the id 'vertex' had, or -1 if it wasn't in the dictionary
+     */
+    int remove(Object vertex) {
+        int hash = hash(vertex);
+        int mask = table.length - 1;
+        int i = hash & mask;
+        while (table[i] != EMPTY) {
+            int id = table[i];
+            if (hashes[id] == hash && Objects.equals(vertices[id], vertex)) {
+                closeGap(i);
+                vertices[id] = null;
+                present[id] = false;
+                if (freeCount == freeIds.length) {
+                    freeIds = Arrays.copyOf(freeIds, Math.max(4, freeCount * 2));
+                }
+                freeIds[freeCount++] = id;
+                size--;
+                return id;
+            }
+            i = (i + 1) & mask;
+        }
+        return EMPTY;
+    }
+
+    /**
+     * @param id an id below limit()
+     * @return true if 'id' belongs to a vertex, false if it is free
+     */
+    boolean isUsed(int id) {
+        return present[id];
+    }
+
+    /**
+     * @param id an id in use
+     * @return the vertex with id 'id'
+     */
+    @SuppressWarnings("unchecked")
+    V vertexAt(int id) {
+        return (V) vertices[id];
+    }
+
+    /**
+     * @return one more than the largest id ever handed out
+     */
+    int limit() {
+        return limit;
+    }
+
+    /**
+     * @return the number of vertices in the dictionary
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * empties slot i of the table, moving later entries of the same
+     * probe run back so that every entry can still be found
+     * @param i the slot to empty
+     */
+    private void closeGap(int i) {
+        int mask = table.length - 1;
+        table[i] = EMPTY;
+        for (int j = (i + 1) & mask; table[j] != EMPTY; j = (j + 1) & mask) {
+            int home = hashes[table[j]] & mask;
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                table[i] = table[j];
+                table[j] = EMPTY;
+                i = j;
+            }
+        }
+    }
+
+    /**
+     * doubles the size of the table and puts every id back into it
+     */
+    private void grow() {
+        table = new int[table.length * 2];
+        Arrays.fill(table, EMPTY);
+        int mask = table.length - 1;
+        for (int id = 0; id < limit; id++) {
+            if (present[id]) {
+                int i = hashes[id] & mask;
+                while (table[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                table[i] = id;
+            }
+        }
+    }
+
+    /**
+     * @return the hash code of a vertex, with its bits spread so that
+     * the low bits can index the table
+     */
+    private static int hash(Object vertex) {
+        int hash = Objects.hashCode(vertex) * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,32 @@
+package edu.union.adt.graph;
+
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * A Graph whose edges each carry a double weight.  Edges added with
+ * the two-argument addEdge get DEFAULT_WEIGHT.  Equality and hash
+ * codes are the same as for any Graph, so they ignore the weights.
+ * <p>
+ * Every vertex also has an int id below idLimit(), and the edges from
+ * it are kept in two arrays running in parallel: targetsOf(id)[i] is
+ * the id of the destination of its i-th edge and weightsOf(id)[i] is
+ * that edge's weight, for i below degreeOf(id).  Algorithms can read
+ * these arrays directly instead of calling weight once per edge; they
+ * must not change them.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+public interface WeightedGraph<V> extends Graph<V> {
+    public static final double DEFAULT_WEIGHT = 1.0;
+
+    public void addEdge(V from, V to, double weight);
+    public double weight(V from, V to);
+    public void forEachWeightedNeighbor(V from, ObjDoubleConsumer<? super V> action);
+    public int idOf(V vertex);
+    public V vertexAt(int id);
+    public int idLimit();
+    public int degreeOf(int id);
+    public int[] targetsOf(int id);
+    public double[] weightsOf(int id);
+}
@@ -0,0 +1,362 @@
+package edu.union.adt.graph;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * An implementation of the WeightedGraph interface that interns every
+ * vertex into an int id through a VertexDictionary, like InternedGraph,
+ * and keeps each vertex's edges in an int array of destination ids
+ * with a double array of weights running in parallel.  The weight of
+ * an edge is read from the same position as its destination, so
+ * following an edge needs no extra lookup.  Once a vertex has
+ * INDEX_THRESHOLD edges, an IntHashSet from destination id to position
+ * is kept as well, so hasEdge, weight and addEdge stay constant
+ * expected time for high-degree vertices.  Removing an edge moves the
+ * later edges back one place, and only their positions are changed in
+ * the index.
+ * <p>
+ * Weights are not part of equals or hashCode, which the graph keeps
+ * up to date in constant time as edges are added and removed.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+public class WeightedGraphAdjacencyArray<V> extends AbstractDictionaryGraph<V> implements WeightedGraph<V> {
+
+    private static final int DEFAULT_CAPACITY = 10;
+    private static final int INITIAL_DEGREE_CAPACITY = 4;
+    private static final int INDEX_THRESHOLD = 16;
+    private static final int[] NO_TARGETS = new int[0];
+    private static final double[] NO_WEIGHTS = new double[0];
+
+    private int[][] targets;
+    private double[][] weights;
+    private IntHashSet[] positions;
+
+    /**
+     * Create an empty graph.
+     */
+    public WeightedGraphAdjacencyArray() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create an empty graph with room for a given number of vertices
+     * before it has to grow.
+     *
+     * @param expectedVertices the number of vertices the graph is
+     * expected to hold
+     */
+    public WeightedGraphAdjacencyArray(int expectedVertices) {
+        super(expectedVertices, DEFAULT_CAPACITY);
+        targets = new int[initialCapacity()][];
+        weights = new double[initialCapacity()][];
+        positions = new IntHashSet[initialCapacity()];
+    }
+
+    /**
+     * Adds a directed edge of weight DEFAULT_WEIGHT between two
+     * vertices.  If there is already an edge between the given
+     * vertices, does nothing, keeping its weight.  If either (or both)
+     * of the given vertices does not exist, it is added to the graph
+     * before the edge is created between them.
+     *
+     * @param from the source vertex for the added edge
+     * @param to the destination vertex for the added edge
+     */
+    public void addEdge(V from, V to) {
+        int fromId = intern(from);
+        int toId = intern(to);
+        if (positionOf(fromId, toId) < 0) {
+            append(fromId, toId, DEFAULT_WEIGHT);
+            fingerprint += edgeHash(from, to);
+        }
+    }
+
+    /**
+     * Adds a directed edge with a given weight between two vertices.
+     * If there is already an edge between the given vertices, its
+     * weight is changed to 'weight'.  If either (or both) of the given
+     * vertices does not exist, it is added to the graph before the
+     * edge is created between them.
+     *
+     * @param from the source vertex for the added edge
+     * @param to the destination vertex for the added edge
+     * @param weight the weight of the edge, which must not be NaN
+     */
+    public void addEdge(V from, V to, double weight) {
+        if (Double.isNaN(weight)) {
+            throw new IllegalArgumentException("Edge weights must not be NaN");
+        }
+        int fromId = intern(from);
+        int toId = intern(to);
+        int position = positionOf(fromId, toId);
+        if (position >= 0) {
+            weights[fromId][position] = weight;
+        }
+        else {
+            append(fromId, toId, weight);
+            fingerprint += edgeHash(from, to);
+        }
+    }
+
+    /**
+     * Gets the weight of the edge between two vertices.  If there is
+     * no such edge, throws a RuntimeException.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return the weight of the edge from 'from' to 'to'
+     */
+    public double weight(V from, V to) throws RuntimeException {
+        int fromId = dictionary.idOf(from);
+        int toId = dictionary.idOf(to);
+        int position = fromId < 0 || toId < 0 ? -1 : positionOf(fromId, toId);
+        if (position < 0) {
+            throw new RuntimeException("There is no edge from " + from + " to " + to);
+        }
+        return weights[fromId][position];
+    }
+
+    /**
+     * Gets the vertices adjacent to a given vertex, in the order their
+     * edges were added.
+     *
+     * @param from the source vertex
+     * @return an iterable collection for the set of vertices that are
+     * the destinations of edges for which 'from' is the source
+     * vertex.  If 'from' is not a vertex in the graph, returns an
+     * empty iterator.  The collection is a read-only view of the
+     * graph, not a copy, so the graph must not be changed while
+     * iterating over it.
+     */
+    public Iterable<V> adjacentTo(V from) {
+        final int fromId = dictionary.idOf(from);
+        if (fromId < 0) {
+            return Collections.emptySet();
+        }
+        return () -> new Iterator<V>() {
+            private final int[] row = targets[fromId];
+            private final int end = degrees[fromId];
+            private int next = 0;
+
+            public boolean hasNext() {
+                return next < end;
+            }
+
+            public V next() {
+                if (next >= end) {
+                    throw new NoSuchElementException();
+                }
+                return dictionary.vertexAt(row[next++]);
+            }
+        };
+    }
+
+    /**
+     * Calls an action once for each vertex adjacent to a given vertex,
+     * in the order their edges were added.  If 'from' is not a vertex
+     * in the graph, does nothing.
+     *
+     * @param from the source vertex
+     * @param action the callback to run for each adjacent vertex
+     */
+    public void forEachNeighbor(V from, Consumer<? super V> action) {
+        int fromId = dictionary.idOf(from);
+        if (fromId >= 0) {
+            int[] row = targets[fromId];
+            for (int i = 0; i < degrees[fromId]; i++) {
+                action.accept(dictionary.vertexAt(row[i]));
+            }
+        }
+    }
+
+    /**
+     * Calls an action once for each edge from a given vertex, with the
+     * edge's destination and weight, in the order the edges were
+     * added.  If 'from' is not a vertex in the graph, does nothing.
+     *
+     * @param from the source vertex
+     * @param action the callback to run for each edge
+     */
+    public void forEachWeightedNeighbor(V from, ObjDoubleConsumer<? super V> action) {
+        int fromId = dictionary.idOf(from);
+        if (fromId >= 0) {
+            int[] row = targets[fromId];
+            double[] rowWeights = weights[fromId];
+            for (int i = 0; i < degrees[fromId]; i++) {
+                action.accept(dictionary.vertexAt(row[i]), rowWeights[i]);
+            }
+        }
+    }
+
+    /**
+     * @param vertex a vertex
+     * @return the id of 'vertex', or -1 if it is not in the graph
+     */
+    public int idOf(V vertex) {
+        return dictionary.idOf(vertex);
+    }
+
+    /**
+     * @param id the id of a vertex in the graph
+     * @return the vertex with that id
+     */
+    public V vertexAt(int id) {
+        return dictionary.vertexAt(id);
+    }
+
+    /**
+     * @return a number greater than every vertex id.  Ids freed by
+     * removeVertex are below it too, and have no edges.
+     */
+    public int idLimit() {
+        return dictionary.limit();
+    }
+
+    /**
+     * @param id a vertex id below idLimit()
+     * @return the number of edges from that vertex
+     */
+    public int degreeOf(int id) {
+        return degrees[id];
+    }
+
+    /**
+     * @param id a vertex id below idLimit()
+     * @return the array holding the ids of the destinations of the
+     * edges from that vertex in its first degreeOf(id) places.  The
+     * array belongs to the graph and must not be changed.
+     */
+    public int[] targetsOf(int id) {
+        return targets[id] == null ? NO_TARGETS : targets[id];
+    }
+
+    /**
+     * @param id a vertex id below idLimit()
+     * @return the array holding the weights of the edges from that
+     * vertex in its first degreeOf(id) places, in the same order as
+     * targetsOf(id).  The array belongs to the graph and must not be
+     * changed.
+     */
+    public double[] weightsOf(int id) {
+        return weights[id] == null ? NO_WEIGHTS : weights[id];
+    }
+
+    /**
+     * grows the arrays of targets, weights and indexes to a new number
+     * of ids
+     */
+    void growTo(int capacity) {
+        targets = Arrays.copyOf(targets, capacity);
+        weights = Arrays.copyOf(weights, capacity);
+        positions = Arrays.copyOf(positions, capacity);
+    }
+
+    /**
+     * gives a new vertex the shared empty arrays
+     */
+    void vertexAdded(int id) {
+        targets[id] = NO_TARGETS;
+        weights[id] = NO_WEIGHTS;
+    }
+
+    /**
+     * drops the arrays and index of a vertex being removed
+     */
+    void clearVertex(int id) {
+        targets[id] = NO_TARGETS;
+        weights[id] = NO_WEIGHTS;
+        positions[id] = null;
+    }
+
+    /**
+     * tells whether a vertex has an edge to another, by finding its
+     * position
+     */
+    boolean hasEdgeFrom(int from, int to) {
+        return positionOf(from, to) >= 0;
+    }
+
+    /**
+     * adds an edge that isn't in the graph to the end of a vertex's arrays
+     *
+     * @param from the id of the source vertex
+     * @param to the id of the destination vertex
+     * @param weight the weight of the edge
+     */
+    private void append(int from, int to, double weight) {
+        int degree = degrees[from];
+        if (targets[from] == NO_TARGETS) {
+            targets[from] = new int[INITIAL_DEGREE_CAPACITY];
+            weights[from] = new double[INITIAL_DEGREE_CAPACITY];
+        }
+        else if (degree == targets[from].length) {
+            targets[from] = Arrays.copyOf(targets[from], degree * 2);
+            weights[from] = Arrays.copyOf(weights[from], degree * 2);
+        }
+        targets[from][degree] = to;
+        weights[from][degree] = weight;
+        degrees[from] = degree + 1;
+
+        if (positions[from] != null) {
+            positions[from].put(to, degree);
+        }
+        else if (degree + 1 >= INDEX_THRESHOLD) {
+            IntHashSet index = new IntHashSet(degree + 1, true);
+            for (int i = 0; i <= degree; i++) {
+                index.put(targets[from][i], i);
+            }
+            positions[from] = index;
+        }
+        edges++;
+    }
+
+    /**
+     * finds where an edge is in a vertex's arrays
+     *
+     * @param from the id of a vertex in the graph
+     * @param to the id of the destination vertex
+     * @return the position of the edge from 'from' to 'to', or -1 if
+     * there is no such edge
+     */
+    private int positionOf(int from, int to) {
+        if (positions[from] != null) {
+            return positions[from].get(to);
+        }
+        int[] row = targets[from];
+        for (int i = 0; i < degrees[from]; i++) {
+            if (row[i] == to) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * removes the edge between two vertices in the graph, keeping the
+     * order of the other edges from 'from'.  The edges after it move
+     * back one place, so their positions in the index go down by one.
+     */
+    boolean removeEdgeFrom(int from, int to) {
+        int position = positionOf(from, to);
+        if (position < 0) {
+            return false;
+        }
+        int degree = degrees[from];
+        int[] row = targets[from];
+        System.arraycopy(row, position + 1, row, position, degree - position - 1);
+        System.arraycopy(weights[from], position + 1, weights[from], position, degree - position - 1);
+        degrees[from] = degree - 1;
+        edges--;
+        IntHashSet index = positions[from];
+        if (index != null) {
+            index.remove(to);
+            for (int i = position; i < degree - 1; i++) {
+                index.put(row[i], i);
+            }
+        }
+        return true;
+    }
+}
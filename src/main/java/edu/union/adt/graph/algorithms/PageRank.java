@@ -0,0 +1,119 @@
+package edu.union.adt.graph.algorithms;
+import java.util.*;
+import java.util.stream.IntStream;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.IndexedGraph;
+import edu.union.adt.graph.ReverseEdges;
+
+/**
+ * Computes PageRank by power iteration.  Each iteration pulls rank
+ * along every vertex's incoming edges, so each vertex's new rank is
+ * written by exactly one task and the vertices can be updated in
+ * parallel with no locking.  Ranks are kept in double arrays indexed
+ * by vertex id.  Rank held by vertices with no out-edges is spread
+ * evenly over every vertex, so the ranks always add up to 1.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+public class PageRank {
+    public static final double DEFAULT_DAMPING = 0.85;
+    public static final int DEFAULT_MAX_ITERATIONS = 100;
+    public static final double DEFAULT_TOLERANCE = 1e-10;
+
+    private PageRank() {
+    }
+
+    /**
+     * @param graph the graph to rank
+     * @return each vertex's PageRank, with damping 0.85, iterating
+     * until the ranks change by less than 1e-10 or 100 iterations
+     */
+    public static <V> Map<V, Double> of(Graph<V> graph) {
+        return of(graph, DEFAULT_DAMPING, DEFAULT_MAX_ITERATIONS, DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * @param graph the graph to rank
+     * @param damping the chance of following an edge instead of
+     * jumping to a random vertex, between 0 and 1
+     * @param maxIterations the most iterations to run
+     * @param tolerance stop once the ranks change by less than this in
+     * total (L1 distance) in one iteration
+     * @return each vertex's PageRank
+     */
+    public static <V> Map<V, Double> of(Graph<V> graph, double damping, int maxIterations,
+                                        double tolerance) {
+        IndexedGraph<V> indexed = IndexedGraph.of(graph);
+        double[] ranks = ranksById(indexed, damping, maxIterations, tolerance);
+        Map<V, Double> result = new HashMap<>();
+        for (int id = 0; id < ranks.length; id++) {
+            result.put(indexed.vertexAt(id), ranks[id]);
+        }
+        return result;
+    }
+
+    /**
+     * @param graph the graph to rank
+     * @param damping the chance of following an edge instead of
+     * jumping to a random vertex, between 0 and 1
+     * @param maxIterations the most iterations to run
+     * @param tolerance stop once the ranks change by less than this in
+     * total (L1 distance) in one iteration
+     * @return an array, indexed by vertex id, of each vertex's PageRank
+     */
+    public static double[] ranksById(final IndexedGraph<?> graph, final double damping,
+                                     int maxIterations, double tolerance) {
+        if (damping < 0 || damping > 1) {
+            throw new IllegalArgumentException("damping must be between 0 and 1: " + damping);
+        }
+        final int vertices = graph.numVertices();
+        if (vertices == 0) {
+            return new double[0];
+        }
+        final ReverseEdges reverse = new ReverseEdges(graph);
+        final int[] outDegree = new int[vertices];
+        for (int id = 0; id < vertices; id++) {
+            outDegree[id] = graph.offset(id + 1) - graph.offset(id);
+        }
+
+        double[] ranks = new double[vertices];
+        Arrays.fill(ranks, 1.0 / vertices);
+        double[] next = new double[vertices];
+        // rank / out-degree of each vertex, so the inner loop only adds
+        final double[] share = new double[vertices];
+
+        for (int iteration = 0; iteration < maxIterations; iteration++) {
+            final double[] current = ranks;
+            final double[] updated = next;
+            double dangling = IntStream.range(0, vertices).parallel()
+                    .mapToDouble(id -> {
+                        if (outDegree[id] == 0) {
+                            return current[id];
+                        }
+                        share[id] = current[id] / outDegree[id];
+                        return 0;
+                    })
+                    .sum();
+            final double base = (1 - damping) / vertices + damping * dangling / vertices;
+            double change = IntStream.range(0, vertices).parallel()
+                    .mapToDouble(id -> {
+                        double sum = 0;
+                        int end = reverse.offset(id + 1);
+                        for (int edge = reverse.offset(id); edge < end; edge++) {
+                            sum += share[reverse.source(edge)];
+                        }
+                        updated[id] = base + damping * sum;
+                        return Math.abs(updated[id] - current[id]);
+                    })
+                    .sum();
+            next = ranks;
+            ranks = updated;
+            if (change < tolerance) {
+                break;
+            }
+        }
+        return ranks;
+    }
+}
@@ -0,0 +1,346 @@
+package edu.union.adt.graph.algorithms;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+import edu.union.adt.graph.WeightedGraph;
+
+/**
+ * Single-source shortest paths on a WeightedGraph, by Dijkstra's
+ * algorithm with a binary heap, or by parallel delta-stepping.  Both
+ * work on vertex ids and read each vertex's targetsOf and weightsOf
+ * arrays directly, and both throw IllegalArgumentException if they
+ * reach an edge with a negative weight.
+ * <p>
+ * Delta-stepping keeps tentative distances in buckets of width delta.
+ * It settles the lowest bucket by relaxing the light edges (weight at
+ * most delta) of all of its vertices in parallel until the bucket
+ * stops changing, then relaxes their heavy edges once.  Distances are
+ * lowered with compare-and-set, so relaxations need no locks.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+public class ShortestPaths {
+
+    /**
+     * a growable array of ints
+     */
+    private static final class IntList {
+        private int[] ids = new int[4];
+        private int size;
+
+        private void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+
+    private ShortestPaths() {
+    }
+
+    /**
+     * @param graph the graph to search
+     * @param source the vertex to start from
+     * @return a map from each vertex reachable from 'source' to the
+     * least total weight of a path to it (0 for 'source' itself).  If
+     * 'source' is not in the graph, returns an empty map.
+     */
+    public static <V> Map<V, Double> dijkstra(WeightedGraph<V> graph, V source) {
+        int sourceId = graph.idOf(source);
+        if (sourceId < 0) {
+            return new HashMap<>();
+        }
+        return toMap(graph, dijkstraById(graph, sourceId));
+    }
+
+    /**
+     * @param graph the graph to search
+     * @param sourceId the id of the vertex to start from
+     * @return an array, indexed by vertex id, of the least total
+     * weight of a path from the source to each vertex, or
+     * Double.POSITIVE_INFINITY for vertices it can't reach
+     */
+    public static double[] dijkstraById(WeightedGraph<?> graph, int sourceId) {
+        int limit = graph.idLimit();
+        double[] distances = new double[limit];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        // heap[0..size) holds vertex ids ordered by distance, and
+        // place[id] is where id is in heap, -1 if it has never been
+        // in it, -2 once it is settled
+        int[] heap = new int[limit];
+        int[] place = new int[limit];
+        Arrays.fill(place, -1);
+        int size = 0;
+
+        distances[sourceId] = 0;
+        heap[size] = sourceId;
+        place[sourceId] = size++;
+        while (size > 0) {
+            int from = heap[0];
+            place[from] = -2;
+            size--;
+            if (size > 0) {
+                heap[0] = heap[size];
+                place[heap[0]] = 0;
+                siftDown(heap, place, distances, size, 0);
+            }
+            int[] targets = graph.targetsOf(from);
+            double[] weights = graph.weightsOf(from);
+            for (int i = 0; i < graph.degreeOf(from); i++) {
+                checkWeight(weights[i]);
+                int to = targets[i];
+                double distance = distances[from] + weights[i];
+                if (place[to] != -2 && distance < distances[to]) {
+                    distances[to] = distance;
+                    if (place[to] == -1) {
+                        heap[size] = to;
+                        place[to] = size++;
+                    }
+                    siftUp(heap, place, distances, place[to]);
+                }
+            }
+        }
+        return distances;
+    }
+
+    /**
+     * Runs delta-stepping with delta set to the largest edge weight
+     * divided by the average degree, a common default.
+     *
+     * @param graph the graph to search
+     * @param source the vertex to start from
+     * @return a map from each vertex reachable from 'source' to the
+     * least total weight of a path to it (0 for 'source' itself).  If
+     * 'source' is not in the graph, returns an empty map.
+     */
+    public static <V> Map<V, Double> deltaStepping(WeightedGraph<V> graph, V source) {
+        double heaviest = 0;
+        for (int id = 0; id < graph.idLimit(); id++) {
+            double[] weights = graph.weightsOf(id);
+            for (int i = 0; i < graph.degreeOf(id); i++) {
+                heaviest = Math.max(heaviest, weights[i]);
+            }
+        }
+        double averageDegree = graph.numVertices() == 0 ? 1
+                : Math.max(1, (double) graph.numEdges() / graph.numVertices());
+        double delta = heaviest > 0 ? heaviest / averageDegree : 1;
+        return deltaStepping(graph, source, delta);
+    }
+
+    /**
+     * @param graph the graph to search
+     * @param source the vertex to start from
+     * @param delta the width of a bucket, greater than 0
+     * @return a map from each vertex reachable from 'source' to the
+     * least total weight of a path to it (0 for 'source' itself).  If
+     * 'source' is not in the graph, returns an empty map.
+     */
+    public static <V> Map<V, Double> deltaStepping(WeightedGraph<V> graph, V source, double delta) {
+        int sourceId = graph.idOf(source);
+        if (sourceId < 0) {
+            return new HashMap<>();
+        }
+        return toMap(graph, deltaSteppingById(graph, sourceId, delta));
+    }
+
+    /**
+     * @param graph the graph to search
+     * @param sourceId the id of the vertex to start from
+     * @param delta the width of a bucket, greater than 0
+     * @return an array, indexed by vertex id, of the least total
+     * weight of a path from the source to each vertex, or
+     * Double.POSITIVE_INFINITY for vertices it can't reach
+     */
+    public static double[] deltaSteppingById(final WeightedGraph<?> graph, int sourceId,
+                                             final double delta) {
+        if (!(delta > 0)) {
+            throw new IllegalArgumentException("delta must be greater than 0: " + delta);
+        }
+        int limit = graph.idLimit();
+        final AtomicLongArray distances = new AtomicLongArray(limit);
+        for (int id = 0; id < limit; id++) {
+            distances.set(id, Double.doubleToLongBits(Double.POSITIVE_INFINITY));
+        }
+        distances.set(sourceId, Double.doubleToLongBits(0));
+        // the round in which each id was last added to a list, so that
+        // lists hold each id once
+        int[] seen = new int[limit];
+        int round = 0;
+        TreeMap<Long, IntList> buckets = new TreeMap<>();
+        addTo(buckets, 0, sourceId);
+
+        while (!buckets.isEmpty()) {
+            Map.Entry<Long, IntList> lowest = buckets.pollFirstEntry();
+            long bucket = lowest.getKey();
+            round++;
+            int[] frontier = filter(lowest.getValue(), distances, delta, bucket, seen, round);
+            List<int[]> settled = new ArrayList<>();
+            while (frontier.length > 0) {
+                settled.add(frontier);
+                int[] changed = relax(graph, distances, frontier, delta, true);
+                round++;
+                IntList again = new IntList();
+                for (int id : changed) {
+                    if (seen[id] != round) {
+                        seen[id] = round;
+                        long target = bucketOf(distances, id, delta);
+                        if (target == bucket) {
+                            again.add(id);
+                        }
+                        else {
+                            addTo(buckets, target, id);
+                        }
+                    }
+                }
+                frontier = again.toArray();
+            }
+            int[] heavySources = settled.stream().flatMapToInt(IntStream::of).distinct().toArray();
+            for (int id : relax(graph, distances, heavySources, delta, false)) {
+                addTo(buckets, bucketOf(distances, id, delta), id);
+            }
+        }
+
+        double[] result = new double[limit];
+        for (int id = 0; id < limit; id++) {
+            result[id] = Double.longBitsToDouble(distances.get(id));
+        }
+        return result;
+    }
+
+    /**
+     * relaxes the light or heavy edges from a set of vertices in parallel
+     *
+     * @return the ids whose distance went down, possibly more than once each
+     */
+    private static int[] relax(final WeightedGraph<?> graph, final AtomicLongArray distances,
+                               int[] sources, final double delta, final boolean light) {
+        return IntStream.of(sources).parallel().flatMap(from -> {
+            int[] targets = graph.targetsOf(from);
+            double[] weights = graph.weightsOf(from);
+            double base = Double.longBitsToDouble(distances.get(from));
+            IntStream.Builder lowered = IntStream.builder();
+            for (int i = 0; i < graph.degreeOf(from); i++) {
+                checkWeight(weights[i]);
+                if ((weights[i] <= delta) == light && lower(distances, targets[i], base + weights[i])) {
+                    lowered.add(targets[i]);
+                }
+            }
+            return lowered.build();
+        }).toArray();
+    }
+
+    /**
+     * lowers a tentative distance with compare-and-set
+     *
+     * @return true if 'distance' was lower than the old distance
+     */
+    private static boolean lower(AtomicLongArray distances, int id, double distance) {
+        while (true) {
+            long old = distances.get(id);
+            if (Double.longBitsToDouble(old) <= distance) {
+                return false;
+            }
+            if (distances.compareAndSet(id, old, Double.doubleToLongBits(distance))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * keeps the ids in a bucket that still belong there, once each
+     */
+    private static int[] filter(IntList ids, AtomicLongArray distances, double delta, long bucket,
+                                int[] seen, int round) {
+        IntList kept = new IntList();
+        for (int i = 0; i < ids.size; i++) {
+            int id = ids.ids[i];
+            if (seen[id] != round && bucketOf(distances, id, delta) == bucket) {
+                seen[id] = round;
+                kept.add(id);
+            }
+        }
+        return kept.toArray();
+    }
+
+    /**
+     * @return the bucket a vertex's tentative distance falls in
+     */
+    private static long bucketOf(AtomicLongArray distances, int id, double delta) {
+        return (long) (Double.longBitsToDouble(distances.get(id)) / delta);
+    }
+
+    /**
+     * adds an id to a bucket, making the bucket if it doesn't exist
+     */
+    private static void addTo(TreeMap<Long, IntList> buckets, long bucket, int id) {
+        buckets.computeIfAbsent(bucket, key -> new IntList()).add(id);
+    }
+
+    /**
+     * throws IllegalArgumentException for a negative weight
+     */
+    private static void checkWeight(double weight) {
+        if (weight < 0) {
+            throw new IllegalArgumentException("Shortest paths need non-negative weights: " + weight);
+        }
+    }
+
+    /**
+     * turns an array of distances by id into a map of reachable vertices
+     */
+    private static <V> Map<V, Double> toMap(WeightedGraph<V> graph, double[] distances) {
+        Map<V, Double> result = new HashMap<>();
+        for (int id = 0; id < distances.length; id++) {
+            if (distances[id] != Double.POSITIVE_INFINITY) {
+                result.put(graph.vertexAt(id), distances[id]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * moves the id at heap[i] up until its parent's distance is no greater
+     */
+    private static void siftUp(int[] heap, int[] place, double[] distances, int i) {
+        int id = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (distances[heap[parent]] <= distances[id]) {
+                break;
+            }
+            heap[i] = heap[parent];
+            place[heap[i]] = i;
+            i = parent;
+        }
+        heap[i] = id;
+        place[id] = i;
+    }
+
+    /**
+     * moves the id at heap[i] down until neither child's distance is less
+     */
+    private static void siftDown(int[] heap, int[] place, double[] distances, int size, int i) {
+        int id = heap[i];
+        while (2 * i + 1 < size) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && distances[heap[child + 1]] < distances[heap[child]]) {
+                child++;
+            }
+            if (distances[heap[child]] >= distances[id]) {
+                break;
+            }
+            heap[i] = heap[child];
+            place[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = id;
+        place[id] = i;
+    }
+}
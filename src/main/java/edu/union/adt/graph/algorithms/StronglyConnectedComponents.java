@@ -0,0 +1,115 @@
+package edu.union.adt.graph.algorithms;
+import java.util.*;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.IndexedGraph;
+
+/**
+ * Finds the strongly connected components of a graph with Tarjan's
+ * algorithm.  The depth-first search keeps its own stack of
+ * (vertex, next edge) pairs in int arrays instead of recursing, so
+ * it works on graphs with paths of any length.  Runs in O(V+E) time
+ * on the graph's int ids; graphs that aren't already an IndexedGraph
+ * are frozen first.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+public class StronglyConnectedComponents {
+
+    private StronglyConnectedComponents() {
+    }
+
+    /**
+     * @param graph the graph to split into components
+     * @return the strongly connected components of the graph, in
+     * reverse topological order: no component has an edge to a
+     * component listed after it
+     */
+    public static <V> List<List<V>> of(Graph<V> graph) {
+        IndexedGraph<V> indexed = IndexedGraph.of(graph);
+        int[] component = componentIds(indexed);
+        int count = 0;
+        for (int id : component) {
+            count = Math.max(count, id + 1);
+        }
+        List<List<V>> components = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            components.add(new ArrayList<>());
+        }
+        for (int id = 0; id < component.length; id++) {
+            components.get(component[id]).add(indexed.vertexAt(id));
+        }
+        return components;
+    }
+
+    /**
+     * @param graph the graph to split into components
+     * @return an array, indexed by vertex id, of the component each
+     * vertex is in.  Components are numbered from 0 in reverse
+     * topological order.
+     */
+    public static int[] componentIds(IndexedGraph<?> graph) {
+        int vertices = graph.numVertices();
+        int[] index = new int[vertices];
+        int[] lowLink = new int[vertices];
+        int[] component = new int[vertices];
+        boolean[] onStack = new boolean[vertices];
+        int[] stack = new int[vertices];
+        int[] callVertex = new int[vertices];
+        int[] callEdge = new int[vertices];
+        Arrays.fill(index, -1);
+        int nextIndex = 0;
+        int nextComponent = 0;
+        int stackSize = 0;
+
+        for (int root = 0; root < vertices; root++) {
+            if (index[root] >= 0) {
+                continue;
+            }
+            int depth = 0;
+            callVertex[0] = root;
+            callEdge[0] = graph.offset(root);
+            index[root] = lowLink[root] = nextIndex++;
+            stack[stackSize++] = root;
+            onStack[root] = true;
+
+            while (depth >= 0) {
+                int vertex = callVertex[depth];
+                if (callEdge[depth] < graph.offset(vertex + 1)) {
+                    int to = graph.target(callEdge[depth]++);
+                    if (index[to] < 0) {
+                        index[to] = lowLink[to] = nextIndex++;
+                        stack[stackSize++] = to;
+                        onStack[to] = true;
+                        depth++;
+                        callVertex[depth] = to;
+                        callEdge[depth] = graph.offset(to);
+                    }
+                    else if (onStack[to]) {
+                        lowLink[vertex] = Math.min(lowLink[vertex], index[to]);
+                    }
+                    continue;
+                }
+
+                // every edge of vertex is done: it is a root if nothing
+                // below it reached higher up the stack
+                if (lowLink[vertex] == index[vertex]) {
+                    int member;
+                    do {
+                        member = stack[--stackSize];
+                        onStack[member] = false;
+                        component[member] = nextComponent;
+                    } while (member != vertex);
+                    nextComponent++;
+                }
+                depth--;
+                if (depth >= 0) {
+                    int parent = callVertex[depth];
+                    lowLink[parent] = Math.min(lowLink[parent], lowLink[vertex]);
+                }
+            }
+        }
+        return component;
+    }
+}
@@ -0,0 +1,73 @@
+package edu.union.adt.graph.algorithms;
+import java.util.*;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.IndexedGraph;
+
+/**
+ * Orders the vertices of a directed acyclic graph so that every edge
+ * goes from an earlier vertex to a later one, using Kahn's algorithm:
+ * repeatedly take a vertex with no remaining incoming edges.  Runs in
+ * O(V+E) time with no recursion.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+public class TopologicalSort {
+
+    private TopologicalSort() {
+    }
+
+    /**
+     * @param graph a graph with no cycles
+     * @return the vertices of the graph, ordered so that for every
+     * edge (x, y), x comes before y
+     * @throws IllegalArgumentException if the graph has a cycle
+     */
+    public static <V> List<V> of(Graph<V> graph) {
+        IndexedGraph<V> indexed = IndexedGraph.of(graph);
+        int[] order = orderIds(indexed);
+        List<V> result = new ArrayList<>(order.length);
+        for (int id : order) {
+            result.add(indexed.vertexAt(id));
+        }
+        return result;
+    }
+
+    /**
+     * @param graph a graph with no cycles
+     * @return the vertex ids of the graph, ordered so that for every
+     * edge (x, y), x comes before y
+     * @throws IllegalArgumentException if the graph has a cycle
+     */
+    public static int[] orderIds(IndexedGraph<?> graph) {
+        int vertices = graph.numVertices();
+        int[] remaining = new int[vertices];
+        int edges = graph.offset(vertices);
+        for (int edge = graph.offset(0); edge < edges; edge++) {
+            remaining[graph.target(edge)]++;
+        }
+        int[] order = new int[vertices];
+        int size = 0;
+        for (int id = 0; id < vertices; id++) {
+            if (remaining[id] == 0) {
+                order[size++] = id;
+            }
+        }
+        // order doubles as the queue: entries before 'next' are done
+        for (int next = 0; next < size; next++) {
+            int from = order[next];
+            int end = graph.offset(from + 1);
+            for (int edge = graph.offset(from); edge < end; edge++) {
+                int to = graph.target(edge);
+                if (--remaining[to] == 0) {
+                    order[size++] = to;
+                }
+            }
+        }
+        if (size < vertices) {
+            throw new IllegalArgumentException("The graph has a cycle, so it has no topological order");
+        }
+        return order;
+    }
+}
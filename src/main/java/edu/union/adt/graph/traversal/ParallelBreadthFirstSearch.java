@@ -0,0 +1,325 @@
+package edu.union.adt.graph.traversal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.IndexedGraph;
+import edu.union.adt.graph.ReverseEdges;
+
+/**
+ * Level-synchronous parallel breadth-first search.  Each level's
+ * frontier is split into fork-join tasks, and the next frontier is
+ * collected from all of them before the next level starts.
+ * <p>
+ * For an IndexedGraph, the search works on int vertex ids and arrays,
+ * and is direction-optimizing: while the frontier is small it expands
+ * the frontier's out-edges (top-down), and once the frontier's edges
+ * outnumber the unexplored vertices' edges by more than ALPHA it
+ * switches to having every unreached vertex look for a parent in the
+ * frontier (bottom-up), switching back when the frontier shrinks below
+ * numVertices()/BETA.  Bottom-up steps read the graph's reverse edges,
+ * which are built the first time they are needed and then kept.
+ * <p>
+ * For any other Graph, the search is top-down only, with a
+ * ConcurrentHashMap of distances.  In both cases the graph must not
+ * change while a search is running.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+public class ParallelBreadthFirstSearch<V> {
+    private static final int ALPHA = 14;
+    private static final int BETA = 24;
+    private static final int GRAIN = 1024;
+
+    private Graph<V> graph;
+    private ForkJoinPool pool;
+    private ReverseEdges reverse;
+
+    /**
+     * Create a search over a graph that runs on the common fork-join pool.
+     *
+     * @param graph the graph to search
+     */
+    public ParallelBreadthFirstSearch(Graph<V> graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a search over a graph that runs on a given fork-join pool.
+     *
+     * @param graph the graph to search
+     * @param pool the pool to run the search's tasks on
+     */
+    public ParallelBreadthFirstSearch(Graph<V> graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+    }
+
+    /**
+     * Gets the hop distance from a vertex to every vertex reachable from it.
+     *
+     * @param source the vertex to start from
+     * @return a map from each reachable vertex to the fewest edges on a
+     * path to it from 'source' (0 for 'source' itself).  If 'source'
+     * is not in the graph, returns an empty map.
+     */
+    public Map<V, Integer> distancesFrom(V source) {
+        if (graph instanceof IndexedGraph) {
+            IndexedGraph<V> indexed = (IndexedGraph<V>) graph;
+            int sourceId = indexed.idOf(source);
+            if (sourceId < 0) {
+                return new HashMap<>();
+            }
+            int[] distances = distancesFromId(sourceId);
+            Map<V, Integer> result = new HashMap<>();
+            for (int id = 0; id < distances.length; id++) {
+                if (distances[id] >= 0) {
+                    result.put(indexed.vertexAt(id), distances[id]);
+                }
+            }
+            return result;
+        }
+        return genericDistancesFrom(source);
+    }
+
+    /**
+     * Gets the hop distance from a vertex to every vertex, by id.
+     * Only works on an IndexedGraph.
+     *
+     * @param sourceId the id of the vertex to start from
+     * @return an array, indexed by vertex id, of the fewest edges on a
+     * path from 'sourceId' to each vertex, or -1 for vertices that
+     * can't be reached
+     * @throws UnsupportedOperationException if the graph is not an IndexedGraph
+     */
+    public int[] distancesFromId(int sourceId) {
+        if (!(graph instanceof IndexedGraph)) {
+            throw new UnsupportedOperationException("Searching by id needs an IndexedGraph");
+        }
+        IndexedGraph<V> indexed = (IndexedGraph<V>) graph;
+        int vertices = indexed.numVertices();
+        if (sourceId < 0 || sourceId >= vertices) {
+            throw new IndexOutOfBoundsException("No vertex with id " + sourceId);
+        }
+        AtomicIntegerArray distances = new AtomicIntegerArray(vertices);
+        for (int id = 0; id < vertices; id++) {
+            distances.set(id, -1);
+        }
+        distances.set(sourceId, 0);
+
+        int[] frontier = {sourceId};
+        long unexploredEdges = indexed.numEdges() - outDegree(indexed, sourceId);
+        boolean bottomUp = false;
+        for (int level = 0; frontier.length > 0; level++) {
+            long frontierEdges = 0;
+            for (int id : frontier) {
+                frontierEdges += outDegree(indexed, id);
+            }
+            if (!bottomUp && frontierEdges > unexploredEdges / ALPHA) {
+                bottomUp = true;
+            }
+            else if (bottomUp && frontier.length < vertices / BETA) {
+                bottomUp = false;
+            }
+            frontier = bottomUp
+                    ? bottomUpStep(indexed, distances, level)
+                    : topDownStep(indexed, distances, frontier, level);
+            for (int id : frontier) {
+                unexploredEdges -= outDegree(indexed, id);
+            }
+        }
+
+        int[] result = new int[vertices];
+        for (int id = 0; id < vertices; id++) {
+            result[id] = distances.get(id);
+        }
+        return result;
+    }
+
+    /**
+     * expands every edge out of the frontier, claiming each unreached
+     * destination with a compare-and-set so it joins the next frontier once
+     *
+     * @return the next frontier
+     */
+    private int[] topDownStep(final IndexedGraph<V> indexed, final AtomicIntegerArray distances,
+                              final int[] frontier, int level) {
+        final int nextLevel = level + 1;
+        return collect(frontier.length, (int i, IntList next) -> {
+            int from = frontier[i];
+            int end = indexed.offset(from + 1);
+            for (int edge = indexed.offset(from); edge < end; edge++) {
+                int to = indexed.target(edge);
+                if (distances.get(to) < 0 && distances.compareAndSet(to, -1, nextLevel)) {
+                    next.add(to);
+                }
+            }
+        });
+    }
+
+    /**
+     * has every unreached vertex look through its incoming edges for a
+     * vertex in the frontier.  Each vertex is only written by its own
+     * task, so no compare-and-set is needed.
+     *
+     * @return the next frontier
+     */
+    private int[] bottomUpStep(final IndexedGraph<V> indexed, final AtomicIntegerArray distances,
+                               final int level) {
+        buildReverseEdges(indexed);
+        final int nextLevel = level + 1;
+        return collect(indexed.numVertices(), (int to, IntList next) -> {
+            if (distances.get(to) < 0) {
+                int end = reverse.offset(to + 1);
+                for (int edge = reverse.offset(to); edge < end; edge++) {
+                    if (distances.get(reverse.source(edge)) == level) {
+                        distances.set(to, nextLevel);
+                        next.add(to);
+                        return;
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * builds the reverse edges of the graph, if they haven't been
+     * built already
+     */
+    private synchronized void buildReverseEdges(IndexedGraph<V> indexed) {
+        if (reverse == null) {
+            reverse = new ReverseEdges(indexed);
+        }
+    }
+
+    /**
+     * level-synchronous top-down search over any Graph
+     */
+    private Map<V, Integer> genericDistancesFrom(V source) {
+        final ConcurrentHashMap<V, Integer> distances = new ConcurrentHashMap<>();
+        if (!graph.contains(source)) {
+            return distances;
+        }
+        distances.put(source, 0);
+        List<V> frontier = Collections.singletonList(source);
+        for (int level = 1; !frontier.isEmpty(); level++) {
+            final List<V> current = frontier;
+            final Integer nextLevel = level;
+            final ConcurrentLinkedQueue<List<V>> pieces = new ConcurrentLinkedQueue<>();
+            pool.invoke(new RangeTask(0, current.size(), (int start, int end) -> {
+                List<V> piece = new ArrayList<>();
+                for (int i = start; i < end; i++) {
+                    for (V to : graph.adjacentTo(current.get(i))) {
+                        if (!distances.containsKey(to) && distances.putIfAbsent(to, nextLevel) == null) {
+                            piece.add(to);
+                        }
+                    }
+                }
+                pieces.add(piece);
+            }));
+            List<V> next = new ArrayList<>();
+            for (List<V> piece : pieces) {
+                next.addAll(piece);
+            }
+            frontier = next;
+        }
+        return distances;
+    }
+
+    /**
+     * runs body on every index in [0, size) in parallel, and gathers
+     * the ints each call adds into one array
+     */
+    private int[] collect(int size, final IndexBody body) {
+        final ConcurrentLinkedQueue<IntList> pieces = new ConcurrentLinkedQueue<>();
+        final AtomicLong total = new AtomicLong();
+        pool.invoke(new RangeTask(0, size, (int start, int end) -> {
+            IntList piece = new IntList();
+            for (int i = start; i < end; i++) {
+                body.run(i, piece);
+            }
+            if (piece.size > 0) {
+                pieces.add(piece);
+                total.addAndGet(piece.size);
+            }
+        }));
+        int[] result = new int[(int) total.get()];
+        int next = 0;
+        for (IntList piece : pieces) {
+            System.arraycopy(piece.values, 0, result, next, piece.size);
+            next += piece.size;
+        }
+        return result;
+    }
+
+    /**
+     * @return the number of edges from vertex 'id'
+     */
+    private static int outDegree(IndexedGraph<?> indexed, int id) {
+        return indexed.offset(id + 1) - indexed.offset(id);
+    }
+
+    /**
+     * what a parallel loop does with one index
+     */
+    private interface IndexBody {
+        void run(int index, IntList output);
+    }
+
+    /**
+     * what a parallel loop does with one range of indexes
+     */
+    private interface RangeBody {
+        void run(int start, int end);
+    }
+
+    /**
+     * splits [start, end) in half until the pieces are at most GRAIN
+     * long, then runs the body on each piece
+     */
+    private static class RangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int start;
+        private final int end;
+        private final RangeBody body;
+
+        RangeTask(int start, int end, RangeBody body) {
+            this.start = start;
+            this.end = end;
+            this.body = body;
+        }
+
+        protected void compute() {
+            if (end - start <= GRAIN) {
+                body.run(start, end);
+            }
+            else {
+                int middle = (start + end) >>> 1;
+                invokeAll(new RangeTask(start, middle, body), new RangeTask(middle, end, body));
+            }
+        }
+    }
+
+    /**
+     * a growable array of ints, one per task, so tasks never share
+     * an output buffer
+     */
+    private static class IntList {
+        private int[] values = new int[16];
+        private int size = 0;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package edu.union.adt.graph.traversal;
+import java.util.*;
+
+import edu.union.adt.graph.Graph;
+
+/**
+ * Single-threaded traversals that work on any Graph.  None of them
+ * recurse, so they can't overflow the stack on long paths, and they
+ * read neighbors through adjacentTo without copying them.  For large
+ * graphs, ParallelBreadthFirstSearch computes hop distances using
+ * every core.
+ *
+ * @author Grant Bouvin
+ * @version 4/11/2024
+ */
+public class Traversal {
+
+    private Traversal() {
+    }
+
+    /**
+     * Lists the vertices reachable from a vertex in breadth-first order.
+     *
+     * @param graph the graph to search
+     * @param source the vertex to start from
+     * @return the reachable vertices, closest first, starting with
+     * 'source'.  If 'source' is not in the graph, returns an empty list.
+     */
+    public static <V> List<V> breadthFirst(Graph<V> graph, V source) {
+        List<V> order = new ArrayList<>();
+        if (!graph.contains(source)) {
+            return order;
+        }
+        Set<V> visited = new HashSet<>();
+        visited.add(source);
+        order.add(source);
+        for (int next = 0; next < order.size(); next++) {
+            for (V to : graph.adjacentTo(order.get(next))) {
+                if (visited.add(to)) {
+                    order.add(to);
+                }
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Lists the vertices reachable from a vertex in depth-first
+     * preorder, visiting each vertex's neighbors in adjacentTo order.
+     * This is the same order a recursive depth-first search gives, but
+     * uses an explicit stack instead of the call stack.
+     *
+     * @param graph the graph to search
+     * @param source the vertex to start from
+     * @return the reachable vertices in the order they were first
+     * reached, starting with 'source'.  If 'source' is not in the
+     * graph, returns an empty list.
+     */
+    public static <V> List<V> depthFirst(Graph<V> graph, V source) {
+        List<V> order = new ArrayList<>();
+        if (!graph.contains(source)) {
+            return order;
+        }
+        Set<V> visited = new HashSet<>();
+        Deque<Iterator<V>> stack = new ArrayDeque<>();
+        visited.add(source);
+        order.add(source);
+        stack.push(graph.adjacentTo(source).iterator());
+        while (!stack.isEmpty()) {
+            Iterator<V> adjacent = stack.peek();
+            if (!adjacent.hasNext()) {
+                stack.pop();
+                continue;
+            }
+            V to = adjacent.next();
+            if (visited.add(to)) {
+                order.add(to);
+                stack.push(graph.adjacentTo(to).iterator());
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Tells whether there is a path from one vertex to another.  Every
+     * vertex is reachable from itself.
+     *
+     * @param graph the graph to search
+     * @param from the start of the path
+     * @param to the end of the path
+     * @return true iff both vertices are in the graph and there is a
+     * path from 'from' to 'to'
+     */
+    public static <V> boolean isReachable(Graph<V> graph, V from, V to) {
+        return hops(graph, from, to) >= 0;
+    }
+
+    /**
+     * Gets the length of the shortest path from one vertex to another,
+     * stopping as soon as it is found.
+     *
+     * @param graph the graph to search
+     * @param from the start of the path
+     * @param to the end of the path
+     * @return the fewest edges on a path from 'from' to 'to', 0 if they
+     * are the same vertex, or -1 if there is no such path or either
+     * vertex is not in the graph
+     */
+    public static <V> int hops(Graph<V> graph, V from, V to) {
+        if (!graph.contains(from) || !graph.contains(to)) {
+            return -1;
+        }
+        if (Objects.equals(from, to)) {
+            return 0;
+        }
+        Set<V> visited = new HashSet<>();
+        List<V> frontier = new ArrayList<>();
+        visited.add(from);
+        frontier.add(from);
+        for (int level = 1; !frontier.isEmpty(); level++) {
+            List<V> next = new ArrayList<>();
+            for (V vertex : frontier) {
+                for (V adjacent : graph.adjacentTo(vertex)) {
+                    if (Objects.equals(adjacent, to)) {
+                        return level;
+                    }
+                    if (visited.add(adjacent)) {
+                        next.add(adjacent);
+                    }
+                }
+            }
+            frontier = next;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,188 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+import edu.union.adt.graph.algorithms.*;
+
+@RunWith(JUnit4.class)
+public class AlgorithmsTests
+{
+    private Graph<String> g;
+
+    @Before
+    public void setUp()
+    {
+        // the graph from SimpleGraphTests.string, plus a cycle C -> D -> C
+        g = GraphFactory.<String>createGraph();
+        g.addEdge("A", "A");
+        g.addEdge("A", "B");
+        g.addEdge("C", "A");
+        g.addEdge("C", "B");
+        g.addEdge("C", "D");
+        g.addEdge("D", "C");
+    }
+
+    @After
+    public void tearDown()
+    {
+        g = null;
+    }
+
+    @Test
+    public void stronglyConnectedComponents()
+    {
+        List<List<String>> components = StronglyConnectedComponents.of(g);
+
+        Set<Set<String>> found = new HashSet<>();
+        for (List<String> component : components) {
+            found.add(new HashSet<>(component));
+        }
+        Set<Set<String>> expected = new HashSet<>();
+        expected.add(new HashSet<>(Arrays.asList("A")));
+        expected.add(new HashSet<>(Arrays.asList("B")));
+        expected.add(new HashSet<>(Arrays.asList("C", "D")));
+        assertEquals(expected, found);
+
+        List<String> order = new ArrayList<>();
+        for (List<String> component : components) {
+            order.add(component.get(0));
+        }
+        assertTrue("Components come in reverse topological order",
+                   order.indexOf("B") < order.indexOf("A"));
+    }
+
+    @Test
+    public void deepComponents()
+    {
+        // one long cycle: a recursive Tarjan would overflow the stack
+        Graph<Integer> cycle = GraphFactory.<Integer>createGraph();
+        for (int i = 0; i < 200000; i++) {
+            cycle.addEdge(i, (i + 1) % 200000);
+        }
+
+        List<List<Integer>> components = StronglyConnectedComponents.of(cycle);
+        assertEquals(1, components.size());
+        assertEquals(200000, components.get(0).size());
+    }
+
+    @Test
+    public void topologicalSort()
+    {
+        Graph<String> dag = GraphFactory.<String>createGraph();
+        dag.addEdge("shirt", "tie");
+        dag.addEdge("tie", "jacket");
+        dag.addEdge("pants", "shoes");
+        dag.addEdge("pants", "belt");
+        dag.addEdge("belt", "jacket");
+        dag.addEdge("shirt", "belt");
+        dag.addVertex("watch");
+
+        List<String> order = TopologicalSort.of(dag);
+        assertEquals(dag.numVertices(), order.size());
+        for (String from : dag.getVertices()) {
+            for (String to : dag.adjacentTo(from)) {
+                assertTrue(from + " comes before " + to,
+                           order.indexOf(from) < order.indexOf(to));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void topologicalSortOfCycle()
+    {
+        TopologicalSort.of(g);
+    }
+
+    @Test
+    public void pageRank()
+    {
+        Map<String, Double> ranks = PageRank.of(g);
+
+        double total = 0;
+        for (double rank : ranks.values()) {
+            total += rank;
+        }
+        assertEquals("Ranks add up to 1", 1.0, total, 1e-9);
+        assertTrue("B is pointed to by A and C, so it outranks D",
+                   ranks.get("B") > ranks.get("D"));
+    }
+
+    @Test
+    public void pageRankOfCycle()
+    {
+        Graph<Integer> cycle = GraphFactory.<Integer>createGraph();
+        for (int i = 0; i < 4; i++) {
+            cycle.addEdge(i, (i + 1) % 4);
+        }
+
+        Map<Integer, Double> ranks = PageRank.of(cycle);
+        for (int i = 0; i < 4; i++) {
+            assertEquals("Every vertex of a cycle has the same rank",
+                         0.25, ranks.get(i), 1e-9);
+        }
+    }
+
+    @Test
+    public void shortestPaths()
+    {
+        WeightedGraph<String> roads = GraphFactory.createWeightedGraph();
+        roads.addEdge("A", "B", 4);
+        roads.addEdge("A", "C", 1);
+        roads.addEdge("C", "B", 2);
+        roads.addEdge("B", "D", 5);
+        roads.addEdge("C", "D", 8);
+        roads.addEdge("E", "A", 1);
+
+        Map<String, Double> expected = new HashMap<>();
+        expected.put("A", 0.0);
+        expected.put("B", 3.0);
+        expected.put("C", 1.0);
+        expected.put("D", 8.0);
+        assertEquals(expected, ShortestPaths.dijkstra(roads, "A"));
+        assertEquals(expected, ShortestPaths.deltaStepping(roads, "A"));
+        assertEquals(expected, ShortestPaths.deltaStepping(roads, "A", 0.5));
+        assertEquals(expected, ShortestPaths.deltaStepping(roads, "A", 100));
+        assertTrue(ShortestPaths.dijkstra(roads, "Missing").isEmpty());
+    }
+
+    @Test
+    public void shortestPathsAgree()
+    {
+        WeightedGraph<Integer> random = GraphFactory.createWeightedGraph();
+        Random weights = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            random.addEdge(weights.nextInt(2000), weights.nextInt(2000), weights.nextDouble() * 10);
+        }
+        Map<Integer, Double> dijkstra = ShortestPaths.dijkstra(random, 0);
+        Map<Integer, Double> deltaStepping = ShortestPaths.deltaStepping(random, 0);
+        assertEquals(dijkstra.keySet(), deltaStepping.keySet());
+        for (int vertex : dijkstra.keySet()) {
+            assertEquals(dijkstra.get(vertex), deltaStepping.get(vertex), 1e-9);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeWeights()
+    {
+        WeightedGraph<String> negative = GraphFactory.createWeightedGraph();
+        negative.addEdge("A", "B", -1);
+        ShortestPaths.dijkstra(negative, "A");
+    }
+}
@@ -0,0 +1,166 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+import edu.union.adt.graph.CachedGraph.Eviction;
+
+@RunWith(JUnit4.class)
+public class CachedGraphTests
+{
+    private CachedGraph<String> g;
+
+    @Before
+    public void setUp()
+    {
+        g = GraphFactory.cache(GraphFactory.<String>createGraph(), 100, Eviction.LRU);
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.addEdge("C", "D");
+        g.addEdge("B", "A");
+        g.addEdge("X", "Y");
+    }
+
+    @After
+    public void tearDown()
+    {
+        g = null;
+    }
+
+    private static Set<String> setOf(String... vertices)
+    {
+        return new HashSet<>(Arrays.asList(vertices));
+    }
+
+    @Test
+    public void neighborhoods()
+    {
+        assertEquals(setOf("B"), g.neighborhood("A", 1));
+        assertEquals("The start vertex is left out", setOf("B", "C"), g.neighborhood("A", 2));
+        assertEquals(setOf("B", "C", "D"), g.neighborhood("A", 5));
+        assertEquals(setOf(), g.neighborhood("D", 3));
+        assertEquals(setOf(), g.neighborhood("Missing", 1));
+        assertEquals(0, g.hits());
+        assertEquals(4, g.misses());
+
+        assertEquals(setOf("B", "C"), g.neighborhood("A", 2));
+        assertEquals(1, g.hits());
+        assertEquals(0.2, g.hitRate(), 1e-9);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroHops()
+    {
+        g.neighborhood("A", 0);
+    }
+
+    @Test
+    public void onlyAffectedAnswersAreDropped()
+    {
+        g.neighborhood("A", 2);
+        g.neighborhood("A", 3);
+        g.neighborhood("X", 2);
+        g.inDegree("D");
+        g.inDegree("A");
+
+        g.addEdge("C", "E");
+        assertEquals("A's 3-hop neighborhood read C's edges", 1, g.invalidations());
+        assertEquals(setOf("B", "C", "D", "E"), g.neighborhood("A", 3));
+        assertEquals(setOf("B", "C"), g.neighborhood("A", 2));
+        assertEquals(setOf("Y"), g.neighborhood("X", 2));
+        assertEquals(1, g.inDegree("D"));
+        assertEquals(3, g.hits());
+
+        g.addEdge("C", "E");
+        g.addVertex("F");
+        assertEquals("Nothing changed, so nothing is dropped", 1, g.invalidations());
+
+        g.addEdge("Y", "A");
+        assertEquals(setOf("Y", "A", "B"), g.neighborhood("X", 3));
+        assertEquals(2, g.inDegree("A"));
+
+        g.removeEdge("A", "B");
+        assertEquals(setOf(), g.neighborhood("A", 2));
+    }
+
+    @Test
+    public void removeVertex()
+    {
+        g.neighborhood("A", 2);
+        g.neighborhood("X", 1);
+        g.inDegree("C");
+        g.inDegree("D");
+        g.removeVertex("C");
+
+        assertEquals(setOf("B"), g.neighborhood("A", 2));
+        assertEquals(0, g.inDegree("D"));
+        assertEquals(setOf("Y"), g.neighborhood("X", 1));
+        assertEquals(1, g.hits());
+    }
+
+    @Test
+    public void lruEviction()
+    {
+        CachedGraph<String> small = GraphFactory.cache(GraphFactory.<String>createGraph(), 2, Eviction.LRU);
+        small.addEdge("A", "B");
+        small.addEdge("B", "C");
+        small.neighborhood("A", 1);
+        small.neighborhood("B", 1);
+        small.neighborhood("A", 1);
+        small.neighborhood("C", 1);
+        assertEquals(1, small.evictions());
+        assertEquals(2, small.cachedAnswers());
+
+        small.neighborhood("A", 1);
+        assertEquals("A was used more recently than B", 2, small.hits());
+        small.neighborhood("B", 1);
+        assertEquals(2, small.hits());
+    }
+
+    @Test
+    public void lfuEviction()
+    {
+        CachedGraph<String> small = GraphFactory.cache(GraphFactory.<String>createGraph(), 2, Eviction.LFU);
+        small.addEdge("A", "B");
+        small.addEdge("B", "C");
+        small.neighborhood("A", 1);
+        small.neighborhood("A", 1);
+        small.neighborhood("A", 1);
+        small.neighborhood("B", 1);
+        small.neighborhood("C", 1);
+        assertEquals(1, small.evictions());
+
+        small.neighborhood("A", 1);
+        assertEquals("A was used most often, so B was evicted", 3, small.hits());
+        small.neighborhood("B", 1);
+        assertEquals(3, small.hits());
+    }
+
+    @Test
+    public void behavesLikeWrappedGraph()
+    {
+        Graph<String> plain = GraphFactory.createGraph();
+        for (String vertex : g.getVertices()) {
+            for (String to : g.adjacentTo(vertex)) {
+                plain.addEdge(vertex, to);
+            }
+        }
+        assertEquals(plain, g);
+        assertEquals(g, plain);
+        assertEquals(plain.hashCode(), g.hashCode());
+        assertTrue(g.hasEdge("X", "Y"));
+        assertFalse(g.hasEdge("Y", "X"));
+    }
+}
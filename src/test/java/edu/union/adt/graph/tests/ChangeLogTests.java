@@ -0,0 +1,217 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+
+@RunWith(JUnit4.class)
+public class ChangeLogTests extends GraphContractTests
+{
+    private ChangeLog<String> log;
+    private Graph<String> g;
+
+    @Before
+    public void setUp()
+    {
+        log = new ChangeLog<>(16);
+        g = GraphFactory.createLoggedGraph(log);
+    }
+
+    @After
+    public void tearDown()
+    {
+        log = null;
+        g = null;
+    }
+
+    protected Graph<String> createGraph()
+    {
+        return GraphFactory.createLoggedGraph(new ChangeLog<String>(16));
+    }
+
+    private static List<String> drain(ChangeLog<String>.Cursor cursor)
+    {
+        final List<String> changes = new ArrayList<>();
+        cursor.drain(change -> changes.add(change.toString()));
+        return changes;
+    }
+
+    @Test
+    public void logsChanges()
+    {
+        ChangeLog<String>.Cursor cursor = log.cursor();
+        g.addEdge("A", "B");
+        g.addEdge("A", "B");
+        g.addVertex("A");
+        g.removeEdge("A", "B");
+        g.removeEdge("A", "B");
+        g.addEdge("B", "A");
+        g.removeVertex("A");
+        g.removeVertex("Missing");
+
+        assertEquals("[0 VERTEX_ADDED A, 1 VERTEX_ADDED B, 2 EDGE_ADDED A -> B, "
+                     + "3 EDGE_REMOVED A -> B, 4 EDGE_ADDED B -> A, 5 VERTEX_REMOVED A]",
+                     drain(cursor).toString());
+        assertEquals(6, cursor.position());
+        assertEquals(6, log.head());
+        assertEquals("[]", drain(cursor).toString());
+    }
+
+    @Test
+    public void cursorsAreIndependent()
+    {
+        g.addVertex("A");
+        ChangeLog<String>.Cursor late = log.cursor();
+        ChangeLog<String>.Cursor early = log.cursorFrom(0);
+        g.addVertex("B");
+
+        assertEquals("[0 VERTEX_ADDED A, 1 VERTEX_ADDED B]", drain(early).toString());
+        assertEquals("[1 VERTEX_ADDED B]", drain(late).toString());
+    }
+
+    @Test
+    public void batches()
+    {
+        ChangeLog<String>.Cursor cursor = log.cursor();
+        for (int i = 0; i < 10; i++) {
+            g.addVertex("v" + i);
+        }
+        final List<GraphChange<String>> batch = new ArrayList<>();
+        assertEquals(4, cursor.drain(batch::add, 4));
+        assertEquals(4, cursor.drain(batch::add, 4));
+        assertEquals(2, cursor.drain(batch::add, 4));
+        assertEquals(10, batch.size());
+        assertEquals("v9", batch.get(9).from());
+    }
+
+    @Test
+    public void replicaStaysEqual()
+    {
+        Graph<String> replica = GraphFactory.<String>createGraph();
+        ChangeLog<String>.Cursor cursor = log.cursor();
+        for (int i = 0; i < 500; i++) {
+            String from = "v" + (i * 7919) % 40;
+            String to = "v" + (i * 104729) % 40;
+            if (i % 5 == 0) {
+                g.removeEdge(to, from);
+            }
+            else if (i % 37 == 0) {
+                g.removeVertex(from);
+            }
+            else {
+                g.addEdge(from, to);
+            }
+            cursor.drain(change -> change.applyTo(replica), 8);
+        }
+        cursor.drain(change -> change.applyTo(replica));
+
+        assertFalse(cursor.isBehind());
+        assertEquals(g, replica);
+        assertEquals(g.toString(), replica.toString());
+    }
+
+    @Test
+    public void fallingBehind()
+    {
+        ChangeLog<String>.Cursor cursor = log.cursor();
+        for (int i = 0; i < 16; i++) {
+            g.addVertex("v" + i);
+        }
+        assertFalse("A full log still has every change", cursor.isBehind());
+        g.addVertex("v16");
+        assertTrue(cursor.isBehind());
+        assertEquals(1, log.oldest());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void drainingBehind()
+    {
+        ChangeLog<String>.Cursor cursor = log.cursor();
+        for (int i = 0; i < 17; i++) {
+            g.addVertex("v" + i);
+        }
+        drain(cursor);
+    }
+
+    @Test
+    public void concurrentWriters() throws InterruptedException
+    {
+        final ChangeLog<Integer> shared = new ChangeLog<>(1 << 16);
+        ChangeLog<Integer>.Cursor cursor = shared.cursor();
+        Thread[] writers = new Thread[4];
+        for (int t = 0; t < writers.length; t++) {
+            final int base = t * 1000;
+            writers[t] = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    shared.append(GraphChange.Type.VERTEX_ADDED, base + i, null);
+                }
+            });
+            writers[t].start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        final boolean[] seen = new boolean[4000];
+        assertEquals(4000, cursor.drain(change -> seen[change.from()] = true));
+        for (int i = 0; i < seen.length; i++) {
+            assertTrue("Change for " + i, seen[i]);
+        }
+    }
+
+    @Test
+    public void concurrentWritersLapTinyLog() throws InterruptedException
+    {
+        // with two slots the writers keep lapping each other, so a
+        // writer that stalls before publishing finds a newer change
+        // in its slot, which it must not replace
+        for (int round = 0; round < 20; round++) {
+            final ChangeLog<Integer> shared = new ChangeLog<>(2);
+            Thread[] writers = new Thread[8];
+            for (int t = 0; t < writers.length; t++) {
+                writers[t] = new Thread(() -> {
+                    for (int i = 0; i < 20000; i++) {
+                        shared.append(GraphChange.Type.VERTEX_ADDED, i, null);
+                    }
+                });
+                writers[t].start();
+            }
+            for (Thread writer : writers) {
+                writer.join();
+            }
+
+            ChangeLog<Integer>.Cursor cursor = shared.cursorFrom(shared.oldest());
+            assertFalse("The newest changes are all in the log", cursor.isBehind());
+            assertEquals("The newest changes are all in the log",
+                         shared.capacity(), cursor.drain(change -> { }));
+            assertEquals(shared.head(), cursor.position());
+        }
+    }
+
+    @Test
+    public void capacityRoundsUp()
+    {
+        assertEquals(16, new ChangeLog<String>(9).capacity());
+        assertEquals(1, new ChangeLog<String>(1).capacity());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cursorBeforeOldest()
+    {
+        for (int i = 0; i < 20; i++) {
+            g.addVertex("v" + i);
+        }
+        log.cursorFrom(0);
+    }
+}
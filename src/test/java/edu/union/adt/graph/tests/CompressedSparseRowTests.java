@@ -0,0 +1,144 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+
+@RunWith(JUnit4.class)
+public class CompressedSparseRowTests
+{
+    private Graph<String> g;
+
+    @Before
+    public void setUp()
+    {
+        g = GraphFactory.<String>createGraph();
+        g.addVertex("A");
+        g.addVertex("B");
+        g.addVertex("C");
+        g.addVertex("D");
+
+        g.addEdge("A", "A");
+        g.addEdge("A", "C");
+        g.addEdge("A", "B");
+        g.addEdge("C", "A");
+        g.addEdge("C", "B");
+    }
+
+    @After
+    public void tearDown()
+    {
+        g = null;
+    }
+
+    @Test
+    public void emptyGraph()
+    {
+        Graph<String> frozen = GraphFactory.freeze(GraphFactory.<String>createGraph());
+
+        assertEquals("Freezing an empty graph has no vertices", 0, frozen.numVertices());
+        assertEquals("Freezing an empty graph has no edges", 0, frozen.numEdges());
+        assertEquals("An empty graph prints as nothing", "", frozen.toString());
+        assertFalse("An empty graph has nothing adjacent",
+                    frozen.adjacentTo("A").iterator().hasNext());
+    }
+
+    @Test
+    public void sameCounts()
+    {
+        Graph<String> frozen = GraphFactory.freeze(g);
+
+        assertEquals("Freezing keeps every vertex", 4, frozen.numVertices());
+        assertEquals("Freezing keeps every edge", 5, frozen.numEdges());
+        assertEquals("Freezing keeps degrees", 3, frozen.degree("A"));
+        assertEquals("Freezing keeps degrees", 0, frozen.degree("D"));
+    }
+
+    @Test
+    public void sameEdges()
+    {
+        Graph<String> frozen = GraphFactory.freeze(g);
+
+        for (String from : g.getVertices()) {
+            assertTrue("Frozen graph contains " + from, frozen.contains(from));
+            for (String to : g.getVertices()) {
+                assertEquals("Frozen graph agrees on " + from + "->" + to,
+                             g.hasEdge(from, to), frozen.hasEdge(from, to));
+            }
+        }
+        assertFalse("Missing vertices have no edges", frozen.hasEdge("A", "Z"));
+        assertFalse("Missing vertices are not contained", frozen.contains("Z"));
+    }
+
+    @Test
+    public void adjacent()
+    {
+        Graph<String> frozen = GraphFactory.freeze(g);
+
+        List<String> viaIterable = new ArrayList<>();
+        for (String to : frozen.adjacentTo("A")) {
+            viaIterable.add(to);
+        }
+        List<String> viaCallback = new ArrayList<>();
+        frozen.forEachNeighbor("A", viaCallback::add);
+
+        assertEquals("Neighbors are the same as the source graph's",
+                     new HashSet<>(Arrays.asList("A", "B", "C")), new HashSet<>(viaIterable));
+        assertEquals("adjacentTo and forEachNeighbor agree", viaIterable, viaCallback);
+    }
+
+    @Test
+    public void equalsSource()
+    {
+        Graph<String> frozen = GraphFactory.freeze(g);
+
+        assertEquals("A frozen graph equals its source", g, frozen);
+        assertEquals("A source graph equals its frozen copy", frozen, g);
+    }
+
+    @Test
+    public void string()
+    {
+        Graph<String> frozen = GraphFactory.freeze(g);
+
+        assertEquals("Frozen graph prints the same lines as its source",
+                     lineSet(g.toString()), lineSet(frozen.toString()));
+    }
+
+    private HashSet<String> lineSet(String graphString)
+    {
+        HashSet<String> lines = new HashSet<>();
+        for (String line : graphString.split("\n")) {
+            String[] parts = line.split(": ?", 2);
+            List<String> adjacent = new ArrayList<>(Arrays.asList(parts[1].split(", ")));
+            adjacent.sort(null);
+            lines.add(parts[0] + ":" + adjacent);
+        }
+        return lines;
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void cannotAddEdge()
+    {
+        GraphFactory.freeze(g).addEdge("D", "A");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void cannotAddVertex()
+    {
+        GraphFactory.freeze(g).addVertex("E");
+    }
+}
@@ -0,0 +1,210 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+
+@RunWith(JUnit4.class)
+public class ConcurrentGraphTests
+{
+    private static final int THREADS = 8;
+    private static final int VERTICES = 200;
+
+    private Graph<Integer> g;
+
+    @Before
+    public void setUp()
+    {
+        g = GraphFactory.<Integer>createConcurrentGraph();
+    }
+
+    @After
+    public void tearDown()
+    {
+        g = null;
+    }
+
+    @Test
+    public void singleThreaded()
+    {
+        g.addEdge(1, 2);
+        g.addEdge(1, 2);
+        g.addVertex(3);
+
+        assertEquals("Adding an edge creates both endpoints", 3, g.numVertices());
+        assertEquals("Adding an edge twice counts it once", 1, g.numEdges());
+        assertTrue(g.hasEdge(1, 2));
+        assertFalse(g.hasEdge(2, 1));
+        assertEquals(1, g.degree(1));
+        assertFalse("A missing vertex has nothing adjacent",
+                    g.adjacentTo(4).iterator().hasNext());
+    }
+
+    @Test
+    public void concurrentWritersKeepExactCounts() throws Exception
+    {
+        // every thread adds every edge of the same complete graph, in a
+        // different order, so each edge is raced for by all the threads
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Throwable> failures = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final int offset = t * 17;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < VERTICES; i++) {
+                        int from = (i + offset) % VERTICES;
+                        for (int to = 0; to < VERTICES; to++) {
+                            g.addEdge(from, to);
+                        }
+                    }
+                } catch (Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue("No writer failed: " + failures, failures.isEmpty());
+        assertEquals("Every vertex is counted exactly once",
+                     VERTICES, g.numVertices());
+        assertEquals("Every edge is counted exactly once",
+                     VERTICES * VERTICES, g.numEdges());
+        for (int v = 0; v < VERTICES; v++) {
+            assertEquals("Every vertex has all its edges", VERTICES, g.degree(v));
+        }
+    }
+
+    @Test
+    public void removeEdgesAndVertices()
+    {
+        for (int i = 0; i < 10; i++) {
+            g.addEdge(i, (i + 1) % 10);
+            g.addEdge(i, 5);
+        }
+        g.removeEdge(0, 1);
+        g.removeEdge(0, 1);
+        assertEquals("An edge is only removed once", 18, g.numEdges());
+
+        g.removeVertex(5);
+        assertFalse(g.contains(5));
+        assertEquals(9, g.numVertices());
+        assertEquals("Every edge to or from the vertex is gone", 7, g.numEdges());
+        for (int v : g.getVertices()) {
+            assertFalse(g.hasEdge(v, 5));
+        }
+    }
+
+    @Test
+    public void removalsRaceWithWriters() throws Exception
+    {
+        raceRemovalsWithWriters();
+    }
+
+    @Test
+    public void indexedRemovalsRaceWithWriters() throws Exception
+    {
+        g = GraphFactory.<Integer>createConcurrentGraph(16, true);
+        raceRemovalsWithWriters();
+    }
+
+    @Test
+    public void indexedRemoveEdgesAndVertices()
+    {
+        g = GraphFactory.<Integer>createConcurrentGraph(16, true);
+        removeEdgesAndVertices();
+        assertEquals(1, g.inDegree(7));
+        assertEquals("Edges from a removed vertex are gone", 0, g.inDegree(6));
+        assertEquals(0, g.inDegree(1));
+    }
+
+    private void raceRemovalsWithWriters() throws Exception
+    {
+        // writers add and remove edges between a few vertices while
+        // another thread keeps removing those same vertices
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Throwable> failures = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t <= THREADS; t++) {
+            final int offset = t;
+            final boolean remover = t == THREADS;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < 200000; i++) {
+                        if (remover) {
+                            g.removeVertex(i % 16);
+                        } else if (i % 5 == 0) {
+                            g.removeEdge((i + offset) % 16, (i * 3 + offset) % 16);
+                        } else {
+                            g.addEdge((i + offset) % 16, (i * 7 + offset) % 16);
+                        }
+                    }
+                } catch (Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue("No thread failed: " + failures, failures.isEmpty());
+        Graph<Integer> copy = GraphFactory.<Integer>createGraph();
+        int degrees = 0;
+        for (int v : g.getVertices()) {
+            copy.addVertex(v);
+            degrees += g.degree(v);
+            for (int to : g.adjacentTo(v)) {
+                assertTrue("Every edge ends at a vertex in the graph", g.contains(to));
+                copy.addEdge(v, to);
+            }
+        }
+        assertEquals("The edge count matches the edges", degrees, g.numEdges());
+        assertEquals(copy.numVertices(), g.numVertices());
+        assertEquals("The hash code matches the edges", copy.hashCode(), g.hashCode());
+        for (int v : g.getVertices()) {
+            assertEquals(copy.inDegree(v), g.inDegree(v));
+        }
+    }
+
+    @Test
+    public void equalsSequentialGraph()
+    {
+        Graph<Integer> sequential = GraphFactory.<Integer>createGraph();
+        for (int i = 0; i < 10; i++) {
+            g.addEdge(i, (i * 3) % 10);
+            sequential.addEdge(i, (i * 3) % 10);
+        }
+
+        assertEquals("A concurrent graph equals a sequential one with the same edges",
+                     sequential, g);
+        assertEquals("A sequential graph equals a concurrent one with the same edges",
+                     g, sequential);
+    }
+}
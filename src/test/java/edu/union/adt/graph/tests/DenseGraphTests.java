@@ -0,0 +1,143 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+
+@RunWith(JUnit4.class)
+public class DenseGraphTests extends GraphContractTests
+{
+    private DenseGraph<String> g;
+
+    @Before
+    public void setUp()
+    {
+        g = GraphFactory.<String>createDenseGraph();
+    }
+
+    @After
+    public void tearDown()
+    {
+        g = null;
+    }
+
+    protected Graph<String> createGraph()
+    {
+        return GraphFactory.createDenseGraph();
+    }
+
+    private static Set<String> toSet(Iterable<String> vertices)
+    {
+        Set<String> set = new HashSet<>();
+        for (String vertex : vertices) {
+            set.add(vertex);
+        }
+        return set;
+    }
+
+    @Test
+    public void neighborsInIdOrder()
+    {
+        g.addVertex("A");
+        g.addVertex("B");
+        g.addVertex("C");
+        g.addEdge("A", "C");
+        g.addEdge("A", "B");
+        g.addEdge("A", "A");
+        assertEquals("A: A, B, C\nB:\nC:", g.toString());
+
+        final List<String> neighbors = new ArrayList<>();
+        g.forEachNeighbor("A", neighbors::add);
+        assertEquals("[A, B, C]", neighbors.toString());
+    }
+
+    @Test
+    public void setOperations()
+    {
+        g.addEdge("A", "X");
+        g.addEdge("A", "Y");
+        g.addEdge("A", "Z");
+        g.addEdge("B", "Y");
+        g.addEdge("B", "Z");
+        g.addEdge("B", "W");
+
+        assertEquals(setOf("Y", "Z"), toSet(g.commonNeighbors("A", "B")));
+        assertEquals(2, g.countCommonNeighbors("A", "B"));
+        assertEquals(setOf("X", "Y", "Z", "W"), toSet(g.neighborUnion("A", "B")));
+        assertEquals(4, g.neighborUnion("A", "B").size());
+        assertTrue(g.commonNeighbors("A", "Missing").isEmpty());
+        assertEquals(0, g.countCommonNeighbors("Missing", "B"));
+        assertEquals(setOf("X", "Y", "Z"), toSet(g.neighborUnion("A", "Missing")));
+    }
+
+    private static Set<String> setOf(String... vertices)
+    {
+        return new HashSet<>(Arrays.asList(vertices));
+    }
+
+    @Test
+    public void triangles()
+    {
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.addEdge("A", "C");
+        assertEquals(1, g.countTriangles());
+
+        g.addEdge("A", "A");
+        g.addEdge("B", "B");
+        g.addEdge("B", "A");
+        assertEquals("Self-loops don't make triangles", 2, g.countTriangles());
+
+        DenseGraph<Integer> clique = GraphFactory.createDenseGraph();
+        for (int u = 0; u < 10; u++) {
+            for (int v = 0; v < 10; v++) {
+                if (u != v) {
+                    clique.addEdge(u, v);
+                }
+            }
+        }
+        assertEquals("Each undirected triangle counts 6 times", 6 * 120, clique.countTriangles());
+    }
+
+    @Test
+    public void growsAndReusesIds()
+    {
+        for (int i = 0; i < 1000; i++) {
+            g.addEdge("v" + i, "v" + (i + 1) % 1000);
+        }
+        assertEquals(1000, g.numEdges());
+        assertTrue(g.hasEdge("v0", "v1"));
+        assertTrue(g.hasEdge("v999", "v0"));
+
+        g.removeVertex("v500");
+        g.addEdge("fresh", "v2");
+        assertEquals(1000, g.numVertices());
+        assertEquals(0, g.inDegree("fresh"));
+        assertFalse("The new vertex doesn't inherit the old one's edges", g.hasEdge("v499", "fresh"));
+        assertEquals(2, g.inDegree("v2"));
+    }
+
+    @Test
+    public void factoryPicksDenseGraph()
+    {
+        assertTrue(GraphFactory.createGraph(20000, 10000000) instanceof DenseGraph);
+        assertFalse(GraphFactory.createGraph(20000, 100000) instanceof DenseGraph);
+        assertFalse("Too many vertices for bitsets",
+                    GraphFactory.createGraph(1000000, Integer.MAX_VALUE) instanceof DenseGraph);
+        assertFalse(GraphFactory.createGraph(0, 0) instanceof DenseGraph);
+    }
+}
@@ -0,0 +1,254 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+import edu.union.adt.graph.DurableGraph.Sync;
+
+@RunWith(JUnit4.class)
+public class DurableGraphTests extends GraphContractTests
+{
+    private Path root;
+    private Path directory;
+    private int crashes;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        root = Files.createTempDirectory("durable");
+        directory = root.resolve("graph");
+    }
+
+    @After
+    public void tearDown() throws IOException
+    {
+        try (Stream<Path> files = Files.walk(root)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+        root = null;
+        directory = null;
+    }
+
+    private DurableGraph<String> open(Sync sync, int checkpointInterval) throws IOException
+    {
+        return DurableGraph.open(directory, VertexCodec.STRINGS, sync, checkpointInterval);
+    }
+
+    protected Graph<String> createGraph() throws IOException
+    {
+        return DurableGraph.open(root.resolve("contract"), VertexCodec.STRINGS);
+    }
+
+    protected void release(Graph<String> graph)
+    {
+        ((DurableGraph<String>) graph).close();
+    }
+
+    /**
+     * copies the files of the open graph, as a crash right now would
+     * leave them, and opens the copy
+     */
+    private DurableGraph<String> crashAndOpen(Sync sync) throws IOException
+    {
+        Path copy = root.resolve("crash-" + crashes++);
+        Files.createDirectory(copy);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.bin")) {
+            for (Path file : files) {
+                Files.copy(file, copy.resolve(file.getFileName()), StandardCopyOption.COPY_ATTRIBUTES);
+            }
+        }
+        return DurableGraph.open(copy, VertexCodec.STRINGS, sync, 0);
+    }
+
+    private static List<String> toList(Iterable<String> vertices)
+    {
+        List<String> list = new ArrayList<>();
+        for (String vertex : vertices) {
+            list.add(vertex);
+        }
+        return list;
+    }
+
+    private long count(String glob) throws IOException
+    {
+        long count = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, glob)) {
+            for (Path file : files) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Test
+    public void recoversFromLog() throws IOException
+    {
+        Graph<String> expected = GraphFactory.<String>createGraph();
+        fill(expected);
+        try (DurableGraph<String> g = open(Sync.EVERY_GROUP, 0)) {
+            fill(g);
+            assertEquals(expected, g);
+        }
+
+        try (DurableGraph<String> g = open(Sync.EVERY_GROUP, 0)) {
+            assertEquals(expected, g);
+            assertEquals(expected.toString(), g.toString());
+            assertTrue(g.contains("lonely"));
+        }
+    }
+
+    @Test
+    public void recoversFromCheckpointAndLog() throws IOException
+    {
+        try (DurableGraph<String> g = open(Sync.EVERY_GROUP, 0)) {
+            g.addEdge("A", "B");
+            g.addEdge("B", "C");
+            g.checkpoint();
+            g.removeEdge("A", "B");
+            g.addEdge("C", "A");
+        }
+        assertEquals(1, count("checkpoint.bin"));
+        assertEquals("The log before the checkpoint is deleted", 1, count("log-*.bin"));
+
+        try (DurableGraph<String> g = open(Sync.EVERY_GROUP, 0)) {
+            assertFalse(g.hasEdge("A", "B"));
+            assertTrue(g.hasEdge("B", "C"));
+            assertTrue(g.hasEdge("C", "A"));
+            assertEquals(2, g.numEdges());
+            assertEquals(3, g.numVertices());
+        }
+    }
+
+    @Test
+    public void periodicCheckpoints() throws IOException
+    {
+        Graph<String> expected = GraphFactory.<String>createGraph();
+        fill(expected);
+        try (DurableGraph<String> g = open(Sync.NEVER, 25)) {
+            fill(g);
+        }
+        assertEquals(1, count("checkpoint.bin"));
+        assertEquals(1, count("log-*.bin"));
+
+        try (DurableGraph<String> g = open(Sync.NEVER, 25)) {
+            assertEquals(expected, g);
+            for (String vertex : expected.getVertices()) {
+                assertEquals("A checkpoint keeps the order of the edges",
+                             toList(expected.adjacentTo(vertex)), toList(g.adjacentTo(vertex)));
+            }
+        }
+    }
+
+    @Test
+    public void unsyncedGroupIsLost() throws IOException
+    {
+        try (DurableGraph<String> g = open(Sync.EVERY_GROUP, 0)) {
+            g.addEdge("A", "B");
+            try (DurableGraph<String> crashed = crashAndOpen(Sync.EVERY_GROUP)) {
+                assertEquals("A group that was never written is lost", 0, crashed.numVertices());
+            }
+
+            g.sync();
+            g.addEdge("B", "C");
+            try (DurableGraph<String> crashed = crashAndOpen(Sync.EVERY_GROUP)) {
+                assertTrue(crashed.hasEdge("A", "B"));
+                assertFalse(crashed.hasEdge("B", "C"));
+            }
+        }
+    }
+
+    @Test
+    public void oldGroupIsWritten() throws Exception
+    {
+        try (DurableGraph<String> g = open(Sync.NEVER, 0)) {
+            g.addEdge("A", "B");
+            Thread.sleep(50);
+            g.addEdge("B", "C");
+            try (DurableGraph<String> crashed = crashAndOpen(Sync.NEVER)) {
+                assertTrue("A group is written once it gets old", crashed.hasEdge("A", "B"));
+                assertTrue(crashed.hasEdge("B", "C"));
+            }
+        }
+    }
+
+    @Test
+    public void everyChangeLosesNothing() throws IOException
+    {
+        try (DurableGraph<String> g = open(Sync.EVERY_CHANGE, 0)) {
+            g.addEdge("A", "B");
+            g.addEdge("B", "C");
+            try (DurableGraph<String> crashed = crashAndOpen(Sync.EVERY_CHANGE)) {
+                assertTrue(crashed.hasEdge("A", "B"));
+                assertTrue(crashed.hasEdge("B", "C"));
+            }
+        }
+    }
+
+    @Test
+    public void openTwice() throws IOException
+    {
+        try (DurableGraph<String> g = open(Sync.EVERY_GROUP, 0)) {
+            g.addEdge("A", "B");
+            try {
+                open(Sync.EVERY_GROUP, 0);
+                fail("A directory can only be opened once at a time");
+            }
+            catch (IOException e) {
+                // expected
+            }
+        }
+        try (DurableGraph<String> g = open(Sync.EVERY_GROUP, 0)) {
+            assertTrue("Closing unlocks the directory", g.hasEdge("A", "B"));
+        }
+    }
+
+    @Test
+    public void tornFrameIsCutOff() throws IOException
+    {
+        try (DurableGraph<String> g = open(Sync.EVERY_CHANGE, 0)) {
+            g.addEdge("A", "B");
+            g.addEdge("B", "C");
+        }
+        Path log = directory.resolve("log-0.bin");
+        long size = Files.size(log);
+        Files.write(log, new byte[] {0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        try (DurableGraph<String> g = open(Sync.EVERY_CHANGE, 0)) {
+            assertEquals(2, g.numEdges());
+            assertEquals("The half-written frame is cut off", size, Files.size(log));
+            g.addEdge("C", "A");
+        }
+        try (DurableGraph<String> g = open(Sync.EVERY_CHANGE, 0)) {
+            assertEquals(3, g.numEdges());
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void closedGraph() throws IOException
+    {
+        DurableGraph<String> g = open(Sync.EVERY_GROUP, 0);
+        g.close();
+        g.close();
+        g.addEdge("A", "B");
+    }
+}
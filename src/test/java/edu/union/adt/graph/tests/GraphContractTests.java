@@ -0,0 +1,211 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+
+/**
+ * Checks what every changeable Graph implementation must do: count,
+ * find, add and remove vertices and edges, equal other graphs with
+ * the same edges, and agree with GraphAdjacencyList after the same
+ * mix of added and removed vertices and edges.  Each implementation's
+ * tests extend this class and say how to make an empty graph of that
+ * implementation.
+ */
+@RunWith(JUnit4.class)
+public abstract class GraphContractTests
+{
+    /**
+     * @return a new, empty graph of the implementation under test
+     */
+    protected abstract Graph<String> createGraph() throws Exception;
+
+    /**
+     * Frees a graph made by createGraph.  Does nothing unless the
+     * implementation needs closing.
+     *
+     * @param graph the graph to free
+     */
+    protected void release(Graph<String> graph) throws Exception
+    {
+    }
+
+    /**
+     * Makes the same changes to any graph: adds edges, removes some
+     * vertices and edges, adds some of the removed vertices back, and
+     * adds a vertex with no edges.
+     *
+     * @param graph the graph to change
+     */
+    protected static void fill(Graph<String> graph)
+    {
+        for (int i = 0; i < 2000; i++) {
+            graph.addEdge("v" + (i * 7919) % 300, "v" + (i * 104729) % 300);
+        }
+        for (int i = 0; i < 300; i += 7) {
+            graph.removeVertex("v" + i);
+            graph.removeEdge("v" + (i + 1), "v" + (i + 2));
+        }
+        for (int i = 0; i < 300; i += 14) {
+            graph.addEdge("v" + i, "v" + (i + 1));
+        }
+        graph.addVertex("lonely");
+    }
+
+    @Test
+    public void sameAsAdjacencyList() throws Exception
+    {
+        Graph<String> expected = GraphFactory.<String>createGraph();
+        fill(expected);
+        Graph<String> g = createGraph();
+        try {
+            fill(g);
+
+            assertEquals(expected.numVertices(), g.numVertices());
+            assertEquals(expected.numEdges(), g.numEdges());
+            assertEquals(expected.hashCode(), g.hashCode());
+            assertEquals(expected, g);
+            assertEquals(g, expected);
+            for (String vertex : expected.getVertices()) {
+                assertEquals(vertex, expected.contains(vertex), g.contains(vertex));
+                assertEquals(vertex, expected.degree(vertex), g.degree(vertex));
+                assertEquals(vertex, expected.inDegree(vertex), g.inDegree(vertex));
+                assertEquals(vertex, toSet(expected.adjacentTo(vertex)), toSet(g.adjacentTo(vertex)));
+                assertEquals(vertex, toSet(expected.predecessors(vertex)), toSet(g.predecessors(vertex)));
+            }
+        }
+        finally {
+            release(g);
+        }
+    }
+
+    @Test
+    public void addEdgesAndVertices() throws Exception
+    {
+        Graph<String> g = createGraph();
+        try {
+            assertEquals("New graph has no vertices", 0, g.numVertices());
+            g.addEdge("Foo", "Bar");
+            g.addEdge("Foo", "Cat");
+            g.addEdge("Foo", "Bar");
+            g.addEdge("Cat", "Cat");
+            g.addVertex("Dog");
+            g.addVertex("Dog");
+
+            assertEquals("Adding an edge adds its ends once", 4, g.numVertices());
+            assertEquals("Adding an edge twice counts it once", 3, g.numEdges());
+            assertTrue(g.hasEdge("Foo", "Bar"));
+            assertFalse("Edges are directed", g.hasEdge("Bar", "Foo"));
+            assertTrue("A self loop is an edge", g.hasEdge("Cat", "Cat"));
+            assertTrue("Vertices are compared with equals", g.contains(new String("Dog")));
+            assertEquals(2, g.degree("Foo"));
+            assertEquals(0, g.degree("Dog"));
+            assertEquals(2, g.inDegree("Cat") + g.inDegree("Dog") + g.inDegree("Foo"));
+        }
+        finally {
+            release(g);
+        }
+    }
+
+    @Test
+    public void missingVertex() throws Exception
+    {
+        Graph<String> g = createGraph();
+        try {
+            g.addEdge("Foo", "Bar");
+
+            assertFalse(g.contains("Emu"));
+            assertFalse(g.hasEdge("Foo", "Emu"));
+            assertFalse(g.hasEdge("Emu", "Foo"));
+            assertFalse("A missing vertex has nothing adjacent",
+                        g.adjacentTo("Emu").iterator().hasNext());
+            try {
+                g.degree("Emu");
+                fail("The degree of a missing vertex throws RuntimeException");
+            }
+            catch (RuntimeException e) {
+                // expected
+            }
+        }
+        finally {
+            release(g);
+        }
+    }
+
+    @Test
+    public void removeEdgesAndVertices() throws Exception
+    {
+        Graph<String> g = createGraph();
+        try {
+            g.addEdge("Foo", "Bar");
+            g.addEdge("Bar", "Cat");
+            g.addEdge("Cat", "Foo");
+            g.addEdge("Cat", "Cat");
+            g.removeEdge("Foo", "Bar");
+            g.removeEdge("Foo", "Bar");
+            g.removeEdge("Foo", "Emu");
+
+            assertEquals("An edge is only removed once", 3, g.numEdges());
+            assertFalse(g.hasEdge("Foo", "Bar"));
+            assertEquals("Removing an edge leaves its ends", 3, g.numVertices());
+
+            g.removeVertex("Cat");
+            g.removeVertex("Emu");
+            assertFalse(g.contains("Cat"));
+            assertEquals(2, g.numVertices());
+            assertEquals("Every edge to or from a removed vertex is gone", 0, g.numEdges());
+            assertEquals(0, g.degree("Bar"));
+
+            g.addEdge("Foo", "Cat");
+            assertEquals("A removed vertex can be added again", 3, g.numVertices());
+            assertEquals(1, g.inDegree("Cat"));
+        }
+        finally {
+            release(g);
+        }
+    }
+
+    @Test
+    public void equalsAdjacencyListWithSameEdges() throws Exception
+    {
+        Graph<String> expected = GraphFactory.<String>createGraph();
+        Graph<String> g = createGraph();
+        try {
+            for (Graph<String> graph : Arrays.asList(expected, g)) {
+                graph.addEdge("Foo", "Bar");
+                graph.addEdge("Bar", "Foo");
+                graph.addVertex("Dog");
+            }
+            assertEquals(expected, g);
+            assertEquals(g, expected);
+            assertEquals(expected.hashCode(), g.hashCode());
+
+            g.addEdge("Dog", "Foo");
+            assertFalse("Graphs with different edges are not equal", expected.equals(g));
+            assertFalse("Graphs with different edges are not equal", g.equals(expected));
+        }
+        finally {
+            release(g);
+        }
+    }
+
+    private static Set<String> toSet(Iterable<String> vertices)
+    {
+        Set<String> set = new HashSet<>();
+        for (String vertex : vertices) {
+            set.add(vertex);
+        }
+        return set;
+    }
+}
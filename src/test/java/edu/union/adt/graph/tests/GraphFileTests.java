@@ -0,0 +1,210 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+
+@RunWith(JUnit4.class)
+public class GraphFileTests
+{
+    private Graph<String> g;
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        g = GraphFactory.<String>createGraph();
+        file = Files.createTempFile("graph", ".bin");
+    }
+
+    @After
+    public void tearDown() throws IOException
+    {
+        g = null;
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void emptyRoundTrip() throws IOException
+    {
+        GraphFile.write(g, file, VertexCodec.STRINGS);
+        try (MappedGraph<String> opened = GraphFile.open(file, VertexCodec.STRINGS)) {
+            assertEquals("An empty graph opens as an empty graph", g, opened);
+            assertEquals(0, opened.numVertices());
+            assertEquals(0, opened.numEdges());
+        }
+    }
+
+    private void fill()
+    {
+        g.addEdge("Foo", "Bar");
+        g.addEdge("Foo", "Cat");
+        g.addEdge("Cat", "Bar");
+        g.addEdge("Bar", "Foo");
+        g.addEdge("Cat", "Cat");
+        g.addVertex("Dog");
+    }
+
+    @Test
+    public void roundTrip() throws IOException
+    {
+        fill();
+
+        GraphFile.write(g, file, VertexCodec.STRINGS);
+        try (MappedGraph<String> opened = GraphFile.open(file, VertexCodec.STRINGS)) {
+            assertEquals("A saved graph opens as an equal graph", g, opened);
+            assertEquals("An opened graph equals the graph it was saved from", opened, g);
+            for (String from : g.getVertices()) {
+                assertEquals("Degree of " + from + " survives saving",
+                             g.degree(from), opened.degree(from));
+                for (String to : g.getVertices()) {
+                    assertEquals("Edge " + from + "->" + to + " survives saving",
+                                 g.hasEdge(from, to), opened.hasEdge(from, to));
+                }
+            }
+            assertFalse("Missing vertices stay missing", opened.contains("Emu"));
+        }
+    }
+
+    @Test
+    public void integerRoundTrip() throws IOException
+    {
+        Graph<Integer> ints = GraphFactory.<Integer>createGraph();
+        for (int i = 0; i < 1000; i++) {
+            ints.addEdge(i, (i * 31) % 1000);
+            ints.addEdge(i, (i * 17) % 1000);
+        }
+
+        GraphFile.write(ints, file, VertexCodec.INTEGERS);
+        try (MappedGraph<Integer> opened = GraphFile.open(file, VertexCodec.INTEGERS)) {
+            assertEquals(ints, opened);
+            assertEquals(ints.numEdges(), opened.numEdges());
+            for (int i = 0; i < 1000; i++) {
+                assertTrue(opened.hasEdge(i, (i * 31) % 1000));
+                assertTrue(opened.hasEdge(i, (i * 17) % 1000));
+            }
+        }
+    }
+
+    @Test
+    public void notAGraphFile() throws IOException
+    {
+        Files.write(file, new byte[64]);
+        try {
+            GraphFile.open(file, VertexCodec.STRINGS);
+            fail("Opening a file that isn't a graph file throws IOException");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    /**
+     * overwrites one int of the file
+     */
+    private void corrupt(long position, int value) throws IOException
+    {
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer.wrap(bytes).putInt((int) position, value);
+        Files.write(file, bytes);
+    }
+
+    private void assertDamaged(String message)
+    {
+        try {
+            GraphFile.open(file, VertexCodec.STRINGS, true).close();
+            fail(message);
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void targetOutOfRange() throws IOException
+    {
+        fill();
+        GraphFile.write(g, file, VertexCodec.STRINGS);
+        long targets = 24 + 4L * (g.numVertices() + 1);
+        corrupt(targets, g.numVertices());
+
+        assertDamaged("A target that isn't a vertex id throws IOException");
+    }
+
+    @Test
+    public void offsetsGoDown() throws IOException
+    {
+        fill();
+        GraphFile.write(g, file, VertexCodec.STRINGS);
+        corrupt(24 + 4, g.numEdges());
+
+        assertDamaged("Offsets that go down throw IOException");
+    }
+
+    @Test
+    public void offsetsPastTheEdges() throws IOException
+    {
+        fill();
+        GraphFile.write(g, file, VertexCodec.STRINGS);
+        corrupt(24 + 4, g.numEdges() + 1);
+
+        assertDamaged("An offset past the last edge throws IOException");
+    }
+
+    @Test
+    public void lastOffsetIsCheckedWithoutVerify() throws IOException
+    {
+        fill();
+        GraphFile.write(g, file, VertexCodec.STRINGS);
+        corrupt(24 + 4L * g.numVertices(), g.numEdges() - 1);
+        try {
+            GraphFile.open(file, VertexCodec.STRINGS).close();
+            fail("A last offset that isn't the edge count throws IOException");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void verifyAcceptsGoodFile() throws IOException
+    {
+        fill();
+        GraphFile.write(g, file, VertexCodec.STRINGS);
+        try (MappedGraph<String> opened = GraphFile.open(file, VertexCodec.STRINGS, true)) {
+            assertEquals(g, opened);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void closedGraph() throws IOException
+    {
+        fill();
+        GraphFile.write(g, file, VertexCodec.STRINGS);
+        MappedGraph<String> opened = GraphFile.open(file, VertexCodec.STRINGS);
+        opened.close();
+        opened.close();
+
+        opened.hasEdge("Foo", "Bar");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void cannotAddEdge() throws IOException
+    {
+        GraphFile.write(g, file, VertexCodec.STRINGS);
+        try (MappedGraph<String> opened = GraphFile.open(file, VertexCodec.STRINGS)) {
+            opened.addEdge("Foo", "Bar");
+        }
+    }
+}
@@ -8,7 +8,23 @@ import org.junit.runners.Suite;
 ({
     SimpleGraphTests.class,
     GraphTestsUsingEquals.class,
-    myGraphTests.class
+    myGraphTests.class,
+    CompressedSparseRowTests.class,
+    IntGraphTests.class,
+    ConcurrentGraphTests.class,
+    GraphFileTests.class,
+    TraversalTests.class,
+    AlgorithmsTests.class,
+    PersistentGraphTests.class,
+    InstrumentedGraphTests.class,
+    InternedGraphTests.class,
+    OffHeapGraphTests.class,
+    CachedGraphTests.class,
+    WeightedGraphTests.class,
+    ChangeLogTests.class,
+    DurableGraphTests.class,
+    PartitionedGraphTests.class,
+    DenseGraphTests.class
 })
 public class GraphTestSuite
 { // no implementation needed; above annotations do the work.
@@ -14,6 +14,9 @@ import org.junit.runners.JUnit4;
 
 import edu.union.adt.graph.Graph;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @RunWith(JUnit4.class)
 public class GraphTestsUsingEquals
 {
@@ -84,5 +87,60 @@ public class GraphTestsUsingEquals
                      + "even if the element types differ",
                      g, objectGraph);
     }
-}
 
+    @Test
+    public void differentEdges()
+    {
+        g.addEdge("Foo", "Bar");
+        g.addVertex("Cat");
+        g2.addEdge("Foo", "Cat");
+        g2.addVertex("Bar");
+
+        assertFalse("Graphs with the same vertices and edge count but "
+                    + "different edges are not equal", g.equals(g2));
+        assertFalse("Different graphs have different hash codes",
+                    g.hashCode() == g2.hashCode());
+    }
+
+    @Test
+    public void hashCodeIgnoresOrder()
+    {
+        g.addEdge("Foo", "Bar");
+        g.addEdge("Bar", "Cat");
+        g.addVertex("Dog");
+        g2.addVertex("Dog");
+        g2.addEdge("Bar", "Cat");
+        g2.addEdge("Foo", "Bar");
+
+        assertEquals(g, g2);
+        assertEquals("Equal graphs have equal hash codes",
+                     g.hashCode(), g2.hashCode());
+
+        g2.addEdge("Dog", "Foo");
+        g2.removeEdge("Dog", "Foo");
+        assertEquals("Removing an edge undoes adding it",
+                     g.hashCode(), g2.hashCode());
+    }
+
+    @Test
+    public void hashCodeAcrossImplementations()
+    {
+        Graph<String> concurrent = GraphFactory.<String>createConcurrentGraph();
+        g.addEdge("Foo", "Bar");
+        g.addEdge("Bar", "Foo");
+        g.addEdge("Cat", "Cat");
+        concurrent.addEdge("Cat", "Cat");
+        concurrent.addEdge("Bar", "Foo");
+        concurrent.addEdge("Foo", "Bar");
+        Graph<String> frozen = GraphFactory.freeze(g);
+
+        assertEquals(g.hashCode(), concurrent.hashCode());
+        assertEquals(g.hashCode(), frozen.hashCode());
+        assertEquals(concurrent, frozen);
+        assertEquals(frozen, g);
+
+        Map<Graph<String>, String> names = new HashMap<>();
+        names.put(g, "cycle");
+        assertEquals("Graphs work as map keys", "cycle", names.get(frozen));
+    }
+}
@@ -0,0 +1,145 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+import edu.union.adt.graph.InstrumentedGraph.Operation;
+
+@RunWith(JUnit4.class)
+public class InstrumentedGraphTests
+{
+    private InstrumentedGraph<Integer> g;
+
+    @Before
+    public void setUp()
+    {
+        g = GraphFactory.instrument(GraphFactory.<Integer>createGraph());
+    }
+
+    @After
+    public void tearDown()
+    {
+        g = null;
+    }
+
+    @Test
+    public void countsOperations()
+    {
+        for (int i = 0; i < 10; i++) {
+            g.addEdge(0, i);
+        }
+        g.addVertex(20);
+        g.hasEdge(0, 3);
+        g.hasEdge(0, 4);
+        g.hasEdge(3, 0);
+        g.removeEdge(0, 9);
+        g.degree(0);
+
+        GraphMetrics metrics = g.metrics();
+        assertEquals(10, metrics.count(Operation.ADD_EDGE));
+        assertEquals(1, metrics.count(Operation.ADD_VERTEX));
+        assertEquals(3, metrics.count(Operation.HAS_EDGE));
+        assertEquals(1, metrics.count(Operation.REMOVE_EDGE));
+        assertEquals(1, metrics.count(Operation.DEGREE));
+        assertEquals(0, metrics.count(Operation.REMOVE_VERTEX));
+        assertEquals(2, metrics.hasEdgeHits());
+        assertEquals(1, metrics.hasEdgeMisses());
+        assertTrue(metrics.latency(Operation.ADD_EDGE).max() > 0);
+    }
+
+    @Test
+    public void graphShape()
+    {
+        for (int i = 1; i <= 8; i++) {
+            g.addEdge(0, i);
+            g.addEdge(i, 0);
+        }
+        g.addVertex(9);
+
+        GraphMetrics metrics = g.metrics();
+        assertEquals(10, metrics.numVertices());
+        assertEquals(16, metrics.numEdges());
+        assertEquals(8, metrics.maxDegree());
+        assertEquals(1.6, metrics.averageDegree(), 1e-9);
+        assertEquals("Small Integers never share a bucket", 1, metrics.longestHashChain());
+        assertEquals(10, metrics.degreeDistribution().count());
+        assertEquals(1, metrics.degreeDistribution().valueAtPercentile(50));
+    }
+
+    @Test
+    public void badHashCodesShowUp()
+    {
+        InstrumentedGraph<Object> colliding = GraphFactory.instrument(GraphFactory.createGraph());
+        for (int i = 0; i < 20; i++) {
+            colliding.addVertex(new Object() {
+                public int hashCode() {
+                    return 7;
+                }
+
+                public boolean equals(Object other) {
+                    return other == this;
+                }
+            });
+        }
+        assertEquals(20, colliding.metrics().longestHashChain());
+    }
+
+    @Test
+    public void disabled()
+    {
+        g.setEnabled(false);
+        g.addEdge(1, 2);
+        assertTrue(g.hasEdge(1, 2));
+        assertFalse(g.isEnabled());
+        assertEquals("Nothing is recorded while disabled",
+                     0, g.metrics().count(Operation.ADD_EDGE));
+        assertEquals(0, g.metrics().hasEdgeHits());
+
+        g.setEnabled(true);
+        g.addEdge(2, 3);
+        assertEquals(1, g.metrics().count(Operation.ADD_EDGE));
+    }
+
+    @Test
+    public void behavesLikeWrappedGraph()
+    {
+        Graph<Integer> plain = GraphFactory.createGraph();
+        for (int i = 0; i < 5; i++) {
+            g.addEdge(i, (i + 2) % 5);
+            plain.addEdge(i, (i + 2) % 5);
+        }
+        assertEquals(plain, g);
+        assertEquals(g, plain);
+        assertEquals(plain.hashCode(), g.hashCode());
+        assertEquals(plain.toString(), g.toString());
+        assertEquals(1, g.inDegree(2));
+    }
+
+    @Test
+    public void histogramPercentiles()
+    {
+        InstrumentedGraph<Integer> star = GraphFactory.instrument(GraphFactory.<Integer>createGraph());
+        for (int i = 0; i < 100; i++) {
+            star.addVertex(i);
+            for (int j = 0; j < i; j++) {
+                star.addEdge(i, j);
+            }
+        }
+        Histogram degrees = star.metrics().degreeDistribution();
+        assertEquals(99, degrees.max());
+        assertEquals(49.5, degrees.mean(), 1e-9);
+        assertEquals(49, degrees.valueAtPercentile(50));
+        assertEquals("Values above 64 land in buckets two wide",
+                     89, degrees.valueAtPercentile(90));
+        assertEquals(99, degrees.valueAtPercentile(100));
+        assertEquals(0, degrees.valueAtPercentile(0));
+    }
+}
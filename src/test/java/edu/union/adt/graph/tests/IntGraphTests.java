@@ -0,0 +1,175 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PrimitiveIterator;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+
+@RunWith(JUnit4.class)
+public class IntGraphTests
+{
+    private IntGraph g;
+
+    @Before
+    public void setUp()
+    {
+        g = GraphFactory.createIntGraph();
+    }
+
+    @After
+    public void tearDown()
+    {
+        g = null;
+    }
+
+    @Test
+    public void construct()
+    {
+        assertEquals("New graph has no vertices", 0, g.numVertices());
+        assertEquals("New graph has no edges", 0, g.numEdges());
+        assertEquals("New graph prints as nothing", "", g.toString());
+    }
+
+    @Test
+    public void addVertex()
+    {
+        g.addVertex(42);
+
+        assertTrue("Adding a vertex causes the vertex to be in the graph",
+                   g.contains(42));
+        assertFalse("Adding a vertex doesn't add the ids below it",
+                    g.contains(41));
+        assertEquals("Adding a vertex increases vertex count",
+                     1, g.numVertices());
+
+        g.addVertex(42);
+        assertEquals("Adding an existing vertex does nothing",
+                     1, g.numVertices());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeVertex()
+    {
+        g.addVertex(-1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void vertexTooLarge()
+    {
+        g.addVertex(Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void addEdge()
+    {
+        g.addEdge(1, 2);
+        g.addEdge(1, 2);
+
+        assertTrue("Adding an edge causes it to exist in the graph",
+                   g.hasEdge(1, 2));
+        assertFalse("Adding edge 1 -> 2 does not add 2 -> 1",
+                    g.hasEdge(2, 1));
+        assertEquals("Adding an edge creates both endpoints", 2, g.numVertices());
+        assertEquals("Adding an edge twice only counts it once", 1, g.numEdges());
+        assertEquals("Adding an edge increases the degree of the source",
+                     1, g.degree(1));
+        assertEquals("Adding an edge does not increase the degree of the destination",
+                     0, g.degree(2));
+    }
+
+    @Test
+    public void highDegree()
+    {
+        for (int i = 0; i < 1000; i++) {
+            g.addEdge(0, i);
+            g.addEdge(0, i);
+        }
+
+        assertEquals("Duplicate edges are ignored past the index threshold",
+                     1000, g.degree(0));
+        assertEquals(1000, g.numEdges());
+        assertTrue(g.hasEdge(0, 999));
+        assertFalse(g.hasEdge(0, 1000));
+    }
+
+    @Test
+    public void adjacent()
+    {
+        g.addEdge(3, 1);
+        g.addEdge(3, 2);
+        g.addEdge(1, 3);
+
+        List<Integer> viaIterator = new ArrayList<>();
+        PrimitiveIterator.OfInt adjacent = g.adjacentTo(3);
+        while (adjacent.hasNext()) {
+            viaIterator.add(adjacent.nextInt());
+        }
+        List<Integer> viaCallback = new ArrayList<>();
+        g.forEachNeighbor(3, viaCallback::add);
+
+        assertEquals("adjacentTo lists neighbors in insertion order",
+                     Arrays.asList(1, 2), viaIterator);
+        assertEquals("forEachNeighbor agrees with adjacentTo",
+                     viaIterator, viaCallback);
+        assertFalse("A missing vertex has nothing adjacent",
+                    g.adjacentTo(7).hasNext());
+    }
+
+    @Test
+    public void vertices()
+    {
+        g.addVertex(5);
+        g.addVertex(0);
+        g.addVertex(30);
+
+        List<Integer> seen = new ArrayList<>();
+        g.getVertices().forEachRemaining((int vertex) -> seen.add(vertex));
+        assertEquals("Vertices are listed in increasing order",
+                     Arrays.asList(0, 5, 30), seen);
+    }
+
+    @Test
+    public void string()
+    {
+        g.addVertex(0);
+        g.addVertex(1);
+        g.addVertex(2);
+
+        g.addEdge(0, 0);
+        g.addEdge(0, 1);
+        g.addEdge(2, 0);
+        g.addEdge(2, 1);
+
+        assertEquals("0: 0, 1\n1:\n2: 0, 1", g.toString());
+    }
+
+    @Test
+    public void equality()
+    {
+        IntGraph g2 = GraphFactory.createIntGraph(100);
+        g.addEdge(1, 2);
+        g.addEdge(2, 3);
+        g2.addEdge(2, 3);
+        g2.addEdge(1, 2);
+
+        assertEquals("Graphs with the same edges are equal", g, g2);
+        assertEquals("Equal graphs have equal hash codes", g.hashCode(), g2.hashCode());
+
+        g.addEdge(3, 1);
+        g2.addEdge(3, 2);
+        assertNotEquals("Graphs with different edges are not equal", g, g2);
+    }
+}
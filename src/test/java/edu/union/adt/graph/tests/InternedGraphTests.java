@@ -0,0 +1,133 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+
+@RunWith(JUnit4.class)
+public class InternedGraphTests extends GraphContractTests
+{
+    private Graph<String> g;
+
+    @Before
+    public void setUp()
+    {
+        g = GraphFactory.<String>createInternedGraph();
+    }
+
+    @After
+    public void tearDown()
+    {
+        g = null;
+    }
+
+    protected Graph<String> createGraph()
+    {
+        return GraphFactory.createInternedGraph();
+    }
+
+    @Test
+    public void equalStringsAreOneVertex()
+    {
+        g.addEdge(new String("A"), new String("B"));
+        g.addEdge(new String("A"), new String("B"));
+        g.addVertex(new String("B"));
+
+        assertEquals(2, g.numVertices());
+        assertEquals(1, g.numEdges());
+        assertTrue("Equal but not identical strings find the edge",
+                   g.hasEdge(new String("A"), new String("B")));
+        assertTrue(g.contains(new String("A")));
+        assertEquals(1, g.degree(new String("A")));
+        assertEquals("A: B\nB:", g.toString());
+    }
+
+    @Test
+    public void highDegreeVertex()
+    {
+        for (int i = 0; i < 100; i++) {
+            g.addEdge("hub", "s" + i);
+        }
+        for (int i = 0; i < 100; i += 2) {
+            g.removeEdge("hub", "s" + i);
+        }
+        assertEquals(50, g.degree("hub"));
+        for (int i = 0; i < 100; i++) {
+            assertEquals("Edge to s" + i, i % 2 == 1, g.hasEdge("hub", "s" + i));
+        }
+        List<String> adjacent = new ArrayList<>();
+        for (String to : g.adjacentTo("hub")) {
+            adjacent.add(to);
+        }
+        assertEquals("Removing edges keeps the order of the rest", "s1", adjacent.get(0));
+        assertEquals("s99", adjacent.get(49));
+    }
+
+    @Test
+    public void idsAreReused()
+    {
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.addEdge("C", "C");
+        g.removeVertex("B");
+        g.addEdge("D", "A");
+
+        assertEquals(3, g.numVertices());
+        assertEquals(2, g.numEdges());
+        assertFalse(g.contains("B"));
+        assertEquals(0, g.degree("A"));
+        assertEquals("D takes the place B had", "A:\nD: A\nC: C", g.toString());
+
+        Graph<String> expected = GraphFactory.<String>createGraph();
+        expected.addEdge("C", "C");
+        expected.addEdge("D", "A");
+        assertEquals(expected, g);
+        assertEquals(expected.hashCode(), g.hashCode());
+    }
+
+    @Test
+    public void collidingVertices()
+    {
+        Graph<Object> colliding = GraphFactory.createInternedGraph();
+        List<Object> vertices = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            final int id = i;
+            vertices.add(new Object() {
+                public int hashCode() {
+                    return id % 3;
+                }
+
+                public String toString() {
+                    return "o" + id;
+                }
+            });
+        }
+        for (int i = 0; i < 50; i++) {
+            colliding.addEdge(vertices.get(i), vertices.get((i + 1) % 50));
+        }
+        for (int i = 0; i < 50; i += 5) {
+            colliding.removeVertex(vertices.get(i));
+        }
+        colliding.addVertex(null);
+
+        assertEquals(41, colliding.numVertices());
+        assertEquals(30, colliding.numEdges());
+        assertTrue(colliding.contains(null));
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i % 5 != 0, colliding.contains(vertices.get(i)));
+        }
+        assertTrue(colliding.hasEdge(vertices.get(1), vertices.get(2)));
+        assertFalse(colliding.hasEdge(vertices.get(4), vertices.get(5)));
+    }
+}
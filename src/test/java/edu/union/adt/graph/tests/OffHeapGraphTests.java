@@ -0,0 +1,119 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+
+@RunWith(JUnit4.class)
+public class OffHeapGraphTests extends GraphContractTests
+{
+    private OffHeapGraph<String> g;
+
+    @Before
+    public void setUp()
+    {
+        g = GraphFactory.<String>createOffHeapGraph();
+    }
+
+    @After
+    public void tearDown()
+    {
+        g.close();
+        g = null;
+    }
+
+    protected Graph<String> createGraph()
+    {
+        return GraphFactory.createOffHeapGraph();
+    }
+
+    protected void release(Graph<String> graph)
+    {
+        ((OffHeapGraph<String>) graph).close();
+    }
+
+    @Test
+    public void basics()
+    {
+        assertEquals("New graph has no vertices", 0, g.numVertices());
+        g.addEdge("Foo", "Bar");
+        g.addEdge("Foo", "Cat");
+        g.addEdge("Cat", "Bar");
+        g.addEdge("Foo", "Bar");
+        g.addVertex("Dog");
+
+        assertEquals(4, g.numVertices());
+        assertEquals(3, g.numEdges());
+        assertTrue(g.hasEdge("Foo", "Bar"));
+        assertFalse(g.hasEdge("Bar", "Foo"));
+        assertTrue(g.contains(new String("Dog")));
+        assertEquals(2, g.degree("Foo"));
+        assertEquals(0, g.degree("Bar"));
+        assertEquals("Foo: Bar, Cat\nBar:\nCat: Bar\nDog:", g.toString());
+        assertTrue(g.offHeapBytes() > 0);
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void degreeOfMissingVertex()
+    {
+        g.degree("Foo");
+    }
+
+    @Test
+    public void highDegreeVertex()
+    {
+        for (int i = 0; i < 1000; i++) {
+            g.addEdge("hub", "s" + i);
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            g.removeEdge("hub", "s" + i);
+        }
+        assertEquals(500, g.degree("hub"));
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("Edge to s" + i, i % 2 == 1, g.hasEdge("hub", "s" + i));
+        }
+        List<String> adjacent = new ArrayList<>();
+        g.forEachNeighbor("hub", adjacent::add);
+        assertEquals("Removing edges keeps the order of the rest", "s1", adjacent.get(0));
+        assertEquals("s999", adjacent.get(499));
+    }
+
+    @Test
+    public void blocksAreReused()
+    {
+        for (int i = 0; i < 2000; i++) {
+            g.addEdge("a" + i % 100, "b" + i);
+        }
+        long reserved = g.offHeapBytes();
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 100; i++) {
+                g.removeVertex("a" + i);
+            }
+            for (int i = 0; i < 2000; i++) {
+                g.addEdge("a" + i % 100, "b" + i);
+            }
+        }
+        assertEquals("Freed blocks are handed out again", reserved, g.offHeapBytes());
+        assertEquals(2000, g.numEdges());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void closed()
+    {
+        g.addEdge("Foo", "Bar");
+        g.close();
+        g.close();
+        g.hasEdge("Foo", "Bar");
+    }
+}
@@ -0,0 +1,176 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+import edu.union.adt.graph.algorithms.PageRank;
+import edu.union.adt.graph.traversal.ParallelBreadthFirstSearch;
+
+@RunWith(JUnit4.class)
+public class PartitionedGraphTests extends GraphContractTests
+{
+    private PartitionedGraph<String> g;
+
+    @Before
+    public void setUp()
+    {
+        g = GraphFactory.createPartitionedGraph(4);
+    }
+
+    @After
+    public void tearDown()
+    {
+        g = null;
+    }
+
+    protected Graph<String> createGraph()
+    {
+        return GraphFactory.createPartitionedGraph(4);
+    }
+
+    @Test
+    public void crossShardEdges()
+    {
+        g.addEdge("A", "B");
+        g.addEdge("C", "B");
+        assertEquals(3, g.numVertices());
+        assertEquals(2, g.inDegree("B"));
+
+        g.removeEdge("A", "B");
+        g.removeEdge("C", "B");
+        assertEquals("Removing edges keeps their vertices", 3, g.numVertices());
+        assertEquals(0, g.numEdges());
+
+        g.addEdge("A", "B");
+        g.removeVertex("B");
+        assertEquals(2, g.numVertices());
+        assertFalse(g.hasEdge("A", "B"));
+        assertEquals(0, g.degree("A"));
+    }
+
+    @Test
+    public void batchesAreSent()
+    {
+        PartitionedGraph<Integer> ints = GraphFactory.createPartitionedGraph(3);
+        for (int i = 0; i < 5 * PartitionedGraph.BATCH_SIZE; i++) {
+            ints.addEdge(i, i + 1);
+        }
+        assertEquals(5 * PartitionedGraph.BATCH_SIZE, ints.numEdges());
+        assertEquals(5 * PartitionedGraph.BATCH_SIZE + 1, ints.numVertices());
+        assertTrue(ints.hasEdge(100, 101));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void inDegreeOfMissingVertex()
+    {
+        g.addEdge("A", "B");
+        g.inDegree("Missing");
+    }
+
+    @Test
+    public void distances()
+    {
+        Graph<String> expected = GraphFactory.<String>createGraph();
+        fill(expected);
+        fill(g);
+        Map<String, Integer> distances = new ParallelBreadthFirstSearch<>(expected).distancesFrom("v1");
+        assertEquals(distances, g.distancesFrom("v1"));
+        assertTrue(g.distancesFrom("Missing").isEmpty());
+    }
+
+    @Test
+    public void pageRank()
+    {
+        Graph<String> expected = GraphFactory.<String>createGraph();
+        fill(expected);
+        fill(g);
+        Map<String, Double> ranks = PageRank.of(expected);
+        Map<String, Double> partitioned = g.pageRank();
+        assertEquals(ranks.keySet(), partitioned.keySet());
+        for (String vertex : ranks.keySet()) {
+            assertEquals(vertex, ranks.get(vertex), partitioned.get(vertex), 1e-8);
+        }
+    }
+
+    @Test
+    public void customShards()
+    {
+        List<Shard<String>> shards = Arrays.asList(new LocalShard<String>(0, 2),
+                                                   new LocalShard<String>(1, 2));
+        PartitionedGraph<String> custom = new PartitionedGraph<>(shards, new ForkJoinPool(2));
+        custom.addEdge("A", "B");
+        custom.addEdge("B", "C");
+        assertEquals(2, custom.numShards());
+        assertEquals("Changes wait in batches", 0, shards.get(0).numEdges() + shards.get(1).numEdges());
+        custom.flush();
+        int owned = 0;
+        for (Shard<String> shard : shards) {
+            owned += shard.numVertices();
+        }
+        assertEquals(3, owned);
+        assertEquals("A: B\nB: C\nC:", sorted(custom));
+    }
+
+    @Test
+    public void sentBatchesKeepTheirOrder()
+    {
+        PartitionedGraph<Integer> ints = GraphFactory.createPartitionedGraph(2);
+        for (int round = 0; round < 3; round++) {
+            for (int i = 1; i <= 3 * PartitionedGraph.BATCH_SIZE; i++) {
+                ints.addEdge(0, i);
+            }
+            for (int i = 1; i <= 3 * PartitionedGraph.BATCH_SIZE; i += 2) {
+                ints.removeEdge(0, i);
+            }
+        }
+        assertEquals(3 * PartitionedGraph.BATCH_SIZE / 2, ints.degree(0));
+        assertTrue(ints.hasEdge(0, 2));
+        assertFalse(ints.hasEdge(0, 1));
+    }
+
+    @Test
+    public void failedBatchIsThrownByFlush()
+    {
+        final RuntimeException failure = new IllegalStateException("shard is down");
+        List<Shard<Integer>> shards = Arrays.asList(new LocalShard<Integer>(0, 2),
+                                                    new LocalShard<Integer>(1, 2) {
+            public void apply(List<GraphChange<Integer>> changes) {
+                throw failure;
+            }
+        });
+        PartitionedGraph<Integer> failing = new PartitionedGraph<>(shards, new ForkJoinPool(2));
+        for (int i = 0; i < 10 * PartitionedGraph.BATCH_SIZE; i++) {
+            failing.addVertex(i);
+        }
+        try {
+            failing.flush();
+            fail("The shard's failure is thrown by flush");
+        } catch (IllegalStateException e) {
+            assertEquals(failure, e);
+        }
+        failing.flush();
+        assertTrue("The other shard applied its batches", shards.get(0).numVertices() > 0);
+        assertEquals(shards.get(0).numVertices(), failing.numVertices());
+    }
+
+    private static String sorted(Graph<String> graph)
+    {
+        String[] lines = graph.toString().split("\n");
+        Arrays.sort(lines);
+        return String.join("\n", lines);
+    }
+}
@@ -0,0 +1,159 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+
+@RunWith(JUnit4.class)
+public class PersistentGraphTests extends GraphContractTests
+{
+    private PersistentGraph<Integer> g;
+
+    @Before
+    public void setUp()
+    {
+        g = GraphFactory.<Integer>createPersistentGraph();
+    }
+
+    @After
+    public void tearDown()
+    {
+        g = null;
+    }
+
+    protected Graph<String> createGraph()
+    {
+        return GraphFactory.createPersistentGraph();
+    }
+
+    @Test
+    public void snapshotsDontChange()
+    {
+        g.addEdge(1, 2);
+        g.addEdge(2, 3);
+        GraphSnapshot<Integer> before = g.snapshot();
+        String printed = before.toString();
+
+        g.addEdge(3, 1);
+        g.removeEdge(1, 2);
+        g.removeVertex(2);
+        g.addVertex(4);
+
+        assertEquals("A snapshot keeps its vertices", 3, before.numVertices());
+        assertEquals("A snapshot keeps its edges", 2, before.numEdges());
+        assertTrue(before.hasEdge(1, 2));
+        assertFalse(before.hasEdge(3, 1));
+        assertFalse(before.contains(4));
+        assertEquals(printed, before.toString());
+
+        assertEquals(3, g.numVertices());
+        assertEquals(1, g.numEdges());
+        assertTrue(g.hasEdge(3, 1));
+        assertFalse(g.contains(2));
+    }
+
+    @Test
+    public void snapshotOfUnchangedGraphIsEqual()
+    {
+        g.addEdge(1, 2);
+        GraphSnapshot<Integer> first = g.snapshot();
+        g.addEdge(1, 2);
+        g.removeEdge(2, 1);
+
+        assertTrue("Changes that do nothing keep the same snapshot",
+                   first == g.snapshot());
+        g.addEdge(2, 1);
+        g.removeEdge(2, 1);
+        assertEquals(first, g.snapshot());
+        assertEquals(first.hashCode(), g.snapshot().hashCode());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void snapshotIsImmutable()
+    {
+        g.snapshot().addEdge(1, 2);
+    }
+
+    @Test
+    public void collidingVertices()
+    {
+        Graph<Object> colliding = GraphFactory.createPersistentGraph();
+        List<Object> vertices = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            final int id = i;
+            vertices.add(new Object() {
+                public int hashCode() {
+                    return id % 3;
+                }
+
+                public String toString() {
+                    return "v" + id;
+                }
+            });
+        }
+        for (int i = 0; i < vertices.size(); i++) {
+            colliding.addEdge(vertices.get(i), vertices.get((i + 1) % vertices.size()));
+        }
+        colliding.addVertex(null);
+        colliding.addEdge(null, vertices.get(0));
+        for (int i = 0; i < vertices.size(); i += 2) {
+            colliding.removeVertex(vertices.get(i));
+        }
+
+        assertEquals(21, colliding.numVertices());
+        assertEquals("Every edge touched a removed vertex", 0, colliding.numEdges());
+        assertTrue(colliding.contains(null));
+        for (int i = 1; i < vertices.size(); i += 2) {
+            assertTrue(colliding.contains(vertices.get(i)));
+            assertEquals(0, colliding.degree(vertices.get(i)));
+        }
+        int seen = 0;
+        for (Object vertex : colliding.getVertices()) {
+            seen++;
+        }
+        assertEquals(21, seen);
+    }
+
+    @Test
+    public void readersDuringWrites() throws InterruptedException
+    {
+        final AtomicBoolean consistent = new AtomicBoolean(true);
+        final AtomicBoolean done = new AtomicBoolean(false);
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                GraphSnapshot<Integer> snapshot = g.snapshot();
+                int edges = 0;
+                for (int vertex : snapshot.getVertices()) {
+                    edges += snapshot.degree(vertex);
+                }
+                if (edges != snapshot.numEdges()) {
+                    consistent.set(false);
+                }
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 5000; i++) {
+            g.addEdge(i % 300, (i * 31) % 300);
+            if (i % 10 == 0) {
+                g.removeVertex((i * 7) % 300);
+            }
+        }
+        done.set(true);
+        reader.join();
+
+        assertTrue("Every snapshot has as many edges as its degrees add up to",
+                   consistent.get());
+    }
+}
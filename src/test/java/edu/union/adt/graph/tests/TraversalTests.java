@@ -0,0 +1,118 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+import edu.union.adt.graph.traversal.*;
+
+@RunWith(JUnit4.class)
+public class TraversalTests
+{
+    private Graph<String> g;
+
+    @Before
+    public void setUp()
+    {
+        // A -> B -> D, A -> C -> D -> E, F on its own
+        g = GraphFactory.<String>createGraph();
+        g.addEdge("A", "B");
+        g.addEdge("A", "C");
+        g.addEdge("B", "D");
+        g.addEdge("C", "D");
+        g.addEdge("D", "E");
+        g.addVertex("F");
+    }
+
+    @After
+    public void tearDown()
+    {
+        g = null;
+    }
+
+    @Test
+    public void breadthFirst()
+    {
+        assertEquals(Arrays.asList("A", "B", "C", "D", "E"),
+                     Traversal.breadthFirst(g, "A"));
+        assertEquals("A vertex not in the graph reaches nothing",
+                     0, Traversal.breadthFirst(g, "Z").size());
+    }
+
+    @Test
+    public void depthFirst()
+    {
+        assertEquals(Arrays.asList("A", "B", "D", "E", "C"),
+                     Traversal.depthFirst(g, "A"));
+    }
+
+    @Test
+    public void reachability()
+    {
+        assertTrue(Traversal.isReachable(g, "A", "E"));
+        assertTrue("Every vertex reaches itself", Traversal.isReachable(g, "F", "F"));
+        assertFalse("Edges are directed", Traversal.isReachable(g, "E", "A"));
+        assertFalse(Traversal.isReachable(g, "A", "F"));
+        assertEquals(3, Traversal.hops(g, "A", "E"));
+        assertEquals(0, Traversal.hops(g, "A", "A"));
+        assertEquals(-1, Traversal.hops(g, "A", "Z"));
+    }
+
+    @Test
+    public void deepPathDoesNotOverflow()
+    {
+        Graph<Integer> path = GraphFactory.<Integer>createGraph();
+        for (int i = 0; i < 200000; i++) {
+            path.addEdge(i, i + 1);
+        }
+
+        assertEquals(200001, Traversal.depthFirst(path, 0).size());
+        assertEquals(200000, Traversal.hops(path, 0, 200000));
+    }
+
+    @Test
+    public void parallelMatchesSequential()
+    {
+        Map<String, Integer> distances = new ParallelBreadthFirstSearch<>(g).distancesFrom("A");
+        Map<String, Integer> frozenDistances =
+            new ParallelBreadthFirstSearch<>(GraphFactory.freeze(g)).distancesFrom("A");
+
+        assertEquals(5, distances.size());
+        assertEquals(Integer.valueOf(3), distances.get("E"));
+        assertEquals("The array fast path agrees with the generic search",
+                     distances, frozenDistances);
+    }
+
+    @Test
+    public void parallelOnRandomGraph()
+    {
+        // dense enough that the search switches to bottom-up steps
+        Graph<Integer> random = GraphFactory.<Integer>createGraph();
+        Random generator = new Random(42);
+        for (int i = 0; i < 60000; i++) {
+            random.addEdge(generator.nextInt(5000), generator.nextInt(5000));
+        }
+        Graph<Integer> frozen = GraphFactory.freeze(random);
+
+        Map<Integer, Integer> generic = new ParallelBreadthFirstSearch<>(random).distancesFrom(0);
+        Map<Integer, Integer> indexed = new ParallelBreadthFirstSearch<>(frozen).distancesFrom(0);
+
+        assertEquals(generic, indexed);
+        for (int vertex : new int[] {1, 17, 4999}) {
+            int expected = Traversal.hops(random, 0, vertex);
+            Integer actual = indexed.get(vertex);
+            assertEquals("Distance to " + vertex, expected, actual == null ? -1 : actual);
+        }
+    }
+}
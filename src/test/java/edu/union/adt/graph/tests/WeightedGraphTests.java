@@ -0,0 +1,143 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+
+@RunWith(JUnit4.class)
+public class WeightedGraphTests extends GraphContractTests
+{
+    private WeightedGraph<String> g;
+
+    @Before
+    public void setUp()
+    {
+        g = GraphFactory.<String>createWeightedGraph();
+    }
+
+    @After
+    public void tearDown()
+    {
+        g = null;
+    }
+
+    protected Graph<String> createGraph()
+    {
+        return GraphFactory.createWeightedGraph();
+    }
+
+    @Test
+    public void weights()
+    {
+        g.addEdge("A", "B", 2.5);
+        g.addEdge("A", "C");
+        g.addEdge("B", "C", -1);
+
+        assertEquals(2.5, g.weight("A", "B"), 0);
+        assertEquals("Edges added without a weight get the default",
+                     WeightedGraph.DEFAULT_WEIGHT, g.weight("A", "C"), 0);
+        assertEquals(-1, g.weight("B", "C"), 0);
+
+        g.addEdge("A", "B", 7);
+        g.addEdge("A", "C");
+        assertEquals("Adding an edge again with a weight changes it", 7, g.weight("A", "B"), 0);
+        assertEquals("Adding an edge again without a weight keeps it",
+                     WeightedGraph.DEFAULT_WEIGHT, g.weight("A", "C"), 0);
+        assertEquals(3, g.numEdges());
+        assertEquals("A: B, C\nB: C\nC:", g.toString());
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void weightOfMissingEdge()
+    {
+        g.addEdge("A", "B", 1);
+        g.weight("B", "A");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nanWeight()
+    {
+        g.addEdge("A", "B", Double.NaN);
+    }
+
+    @Test
+    public void forEachWeightedNeighbor()
+    {
+        g.addEdge("A", "B", 1);
+        g.addEdge("A", "C", 2);
+        g.addEdge("A", "D", 3);
+        g.removeEdge("A", "B");
+
+        final List<String> neighbors = new ArrayList<>();
+        final List<Double> weights = new ArrayList<>();
+        g.forEachWeightedNeighbor("A", (to, weight) -> {
+            neighbors.add(to);
+            weights.add(weight);
+        });
+        assertEquals("[C, D]", neighbors.toString());
+        assertEquals("Weights stay with their edges when one is removed", "[2.0, 3.0]", weights.toString());
+    }
+
+    @Test
+    public void parallelArrays()
+    {
+        g.addEdge("A", "B", 1);
+        g.addEdge("A", "C", 2);
+        int id = g.idOf("A");
+        assertEquals(2, g.degreeOf(id));
+        assertEquals("B", g.vertexAt(g.targetsOf(id)[0]));
+        assertEquals("C", g.vertexAt(g.targetsOf(id)[1]));
+        assertEquals(2, g.weightsOf(id)[1], 0);
+        assertEquals(0, g.degreeOf(g.idOf("C")));
+        assertEquals(-1, g.idOf("Missing"));
+    }
+
+    @Test
+    public void highDegreeVertex()
+    {
+        for (int i = 0; i < 100; i++) {
+            g.addEdge("hub", "s" + i, i);
+        }
+        for (int i = 0; i < 100; i += 3) {
+            g.removeEdge("hub", "s" + i);
+        }
+        for (int i = 0; i < 100; i++) {
+            assertEquals("Edge to s" + i, i % 3 != 0, g.hasEdge("hub", "s" + i));
+            if (i % 3 != 0) {
+                assertEquals(i, g.weight("hub", "s" + i), 0);
+            }
+        }
+
+        for (int i = 0; i < 100; i += 2) {
+            g.addEdge("hub", "s" + i, -i);
+        }
+        assertEquals(100 - 17, g.degree("hub"));
+        for (int i = 0; i < 100; i++) {
+            assertEquals("Edge to s" + i, i % 2 == 0 || i % 3 != 0, g.hasEdge("hub", "s" + i));
+            if (g.hasEdge("hub", "s" + i)) {
+                assertEquals(i % 2 == 0 ? -i : i, g.weight("hub", "s" + i), 0);
+            }
+        }
+    }
+
+    @Test
+    public void weightsAreNotPartOfEquality()
+    {
+        Graph<String> expected = GraphFactory.<String>createGraph();
+        expected.addEdge("A", "B");
+        g.addEdge("A", "B", 3);
+
+        assertEquals(expected, g);
+        assertEquals(g, expected);
+        assertEquals(expected.hashCode(), g.hashCode());
+    }
+}
@@ -1,11 +1,29 @@
 package edu.union.adt.graph.tests;
 
 import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphAdjacencyList;
 import edu.union.adt.graph.GraphFactory;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.AbstractMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
 public class myGraphTests {
     private Graph<String> g;
     private Graph<String> g2;
@@ -34,4 +52,272 @@ public class myGraphTests {
     public void testNumEdges() {
 
     }
+
+    @Test
+    public void testAdjacentToMissingVertex() {
+        assertFalse("A vertex that isn't in the graph has nothing adjacent to it",
+                g.adjacentTo("Foo").iterator().hasNext());
+    }
+
+    @Test
+    public void testAdjacentToIsLive() {
+        g.addEdge("Foo", "Bar");
+        Iterable<String> adjacent = g.adjacentTo("Foo");
+        g.addEdge("Foo", "Cat");
+
+        List<String> seen = new ArrayList<>();
+        for (String vertex : adjacent) {
+            seen.add(vertex);
+        }
+        assertEquals("adjacentTo reflects edges added after it was called",
+                Arrays.asList("Bar", "Cat"), seen);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testAdjacentToIsReadOnly() {
+        g.addEdge("Foo", "Bar");
+        Iterator<String> adjacent = g.adjacentTo("Foo").iterator();
+        adjacent.next();
+        adjacent.remove();
+    }
+
+    @Test
+    public void testForEachNeighbor() {
+        g.addEdge("Foo", "Bar");
+        g.addEdge("Foo", "Cat");
+        g.addEdge("Bar", "Foo");
+
+        List<String> seen = new ArrayList<>();
+        g.forEachNeighbor("Foo", seen::add);
+        assertEquals("forEachNeighbor visits every neighbor in insertion order",
+                Arrays.asList("Bar", "Cat"), seen);
+
+        seen.clear();
+        g.forEachNeighbor("Dog", seen::add);
+        assertEquals("forEachNeighbor does nothing for a missing vertex",
+                0, seen.size());
+    }
+
+    @Test
+    public void testCapacityGrows() {
+        GraphAdjacencyList<Integer> graph = new GraphAdjacencyList<>();
+        for (int i = 0; i < 1000; i++) {
+            graph.addVertex(i);
+        }
+        assertEquals("Every added vertex is counted", 1000, graph.numVertices());
+        assertTrue("Capacity covers every vertex", graph.getCapacity() >= 1000);
+        assertTrue("Capacity grows geometrically, not without bound",
+                graph.getCapacity() < 2000);
+    }
+
+    @Test
+    public void testExpectedSizeConstructor() {
+        GraphAdjacencyList<Integer> graph = new GraphAdjacencyList<>(500, 2000);
+        assertEquals("Capacity starts at the expected vertex count", 500, graph.getCapacity());
+        for (int i = 0; i < 500; i++) {
+            graph.addEdge(i, (i + 1) % 500);
+        }
+        assertEquals("Capacity doesn't grow while under the expected count",
+                500, graph.getCapacity());
+        assertEquals(500, graph.numEdges());
+    }
+
+    @Test
+    public void testFromEdges() {
+        Graph<String> loaded = GraphFactory.fromEdges(Stream.of(
+                edge("Foo", "Bar"), edge("Foo", "Cat"), edge("Foo", "Bar"), edge("Cat", "Dog")));
+        g.addEdge("Foo", "Bar");
+        g.addEdge("Foo", "Cat");
+        g.addEdge("Cat", "Dog");
+
+        assertEquals("Bulk loading makes every endpoint a vertex", 4, loaded.numVertices());
+        assertEquals("Bulk loading drops duplicate edges", 3, loaded.numEdges());
+        assertTrue(loaded.hasEdge("Cat", "Dog"));
+        assertEquals("Bulk loading gives the same graph as addEdge", g, loaded);
+
+        List<String> adjacent = new ArrayList<>();
+        loaded.forEachNeighbor("Foo", adjacent::add);
+        assertEquals("Bulk loading keeps the order edges were given in",
+                Arrays.asList("Bar", "Cat"), adjacent);
+    }
+
+    @Test
+    public void testFromEdgesParallel() {
+        List<Map.Entry<Integer, Integer>> edges = IntStream.range(0, 100000)
+                .mapToObj(i -> edge(i % 1000, (i * 7) % 1000))
+                .collect(Collectors.toList());
+        Graph<Integer> sequential = GraphFactory.createGraph();
+        for (Map.Entry<Integer, Integer> edge : edges) {
+            sequential.addEdge(edge.getKey(), edge.getValue());
+        }
+        Graph<Integer> loaded = GraphFactory.fromEdges(edges.parallelStream());
+
+        assertEquals(sequential.numVertices(), loaded.numVertices());
+        assertEquals(sequential.numEdges(), loaded.numEdges());
+        for (int vertex = 0; vertex < 1000; vertex++) {
+            assertEquals(sequential.degree(vertex), loaded.degree(vertex));
+        }
+    }
+
+    @Test
+    public void testWriteTo() throws IOException {
+        g.addEdge("Foo", "Bar");
+        g.addEdge("Foo", "Cat");
+        g.addVertex("Dog");
+
+        StringWriter out = new StringWriter();
+        g.writeTo(out);
+        assertEquals("writeTo writes exactly what toString returns", g.toString(), out.toString());
+    }
+
+    @Test
+    public void testFromText() throws IOException {
+        g.addEdge("Foo", "Bar");
+        g.addEdge("Foo", "Cat");
+        g.addEdge("Cat", "Cat");
+        g.addVertex("Dog");
+
+        StringWriter out = new StringWriter();
+        g.writeTo(out);
+        Graph<String> read = GraphFactory.fromText(new StringReader(out.toString()));
+
+        assertEquals("Reading the text back gives the same graph", g, read);
+        assertEquals(g.numEdges(), read.numEdges());
+        assertEquals("Reading the text back gives the same text", g.toString(), read.toString());
+
+        Graph<Integer> ints = GraphFactory.fromText(new StringReader("1: 2, 3\n2:\n3: 1"), Integer::valueOf);
+        assertTrue(ints.hasEdge(3, 1));
+        assertEquals(3, ints.numEdges());
+    }
+
+    @Test(expected = IOException.class)
+    public void testFromTextRejectsGarbage() throws IOException {
+        GraphFactory.fromText(new StringReader("Foo Bar"));
+    }
+
+    @Test
+    public void testPredecessors() {
+        Graph<String> indexed = GraphFactory.createIncomingIndexedGraph();
+        for (Graph<String> graph : Arrays.asList(g, indexed)) {
+            graph.addEdge("Foo", "Bar");
+            graph.addEdge("Cat", "Bar");
+            graph.addEdge("Cat", "Bar");
+            graph.addEdge("Bar", "Foo");
+            graph.addVertex("Dog");
+        }
+
+        for (Graph<String> graph : Arrays.asList(g, indexed)) {
+            assertEquals("Duplicate edges only count once", 2, graph.inDegree("Bar"));
+            assertEquals(1, graph.inDegree("Foo"));
+            assertEquals(0, graph.inDegree("Dog"));
+
+            List<String> predecessors = new ArrayList<>();
+            for (String from : graph.predecessors("Bar")) {
+                predecessors.add(from);
+            }
+            predecessors.sort(null);
+            assertEquals(Arrays.asList("Cat", "Foo"), predecessors);
+            assertFalse("A missing vertex has no predecessors",
+                    graph.predecessors("Emu").iterator().hasNext());
+        }
+    }
+
+    @Test
+    public void testTurningOnIncomingIndex() {
+        GraphAdjacencyList<String> graph = new GraphAdjacencyList<>();
+        graph.addEdge("Foo", "Bar");
+        graph.addEdge("Cat", "Bar");
+        graph.setIncomingIndexed(true);
+        graph.addEdge("Dog", "Bar");
+
+        assertTrue(graph.isIncomingIndexed());
+        assertEquals("Turning the index on indexes edges already there",
+                3, graph.inDegree("Bar"));
+
+        graph.setIncomingIndexed(false);
+        graph.addEdge("Emu", "Bar");
+        assertEquals("The in-degree is still right with the index off",
+                4, graph.inDegree("Bar"));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testInDegreeOfMissingVertex() {
+        GraphFactory.<String>createIncomingIndexedGraph().inDegree("Foo");
+    }
+
+    @Test
+    public void testRemoveEdge() {
+        g.addEdge("Foo", "Bar");
+        g.addEdge("Foo", "Cat");
+        g.removeEdge("Foo", "Bar");
+
+        assertFalse(g.hasEdge("Foo", "Bar"));
+        assertTrue("Removing an edge leaves its vertices", g.contains("Bar"));
+        assertEquals(1, g.numEdges());
+        assertEquals(1, g.degree("Foo"));
+        assertEquals(0, g.inDegree("Bar"));
+
+        g.removeEdge("Foo", "Bar");
+        g.removeEdge("Emu", "Foo");
+        assertEquals("Removing a missing edge does nothing", 1, g.numEdges());
+        assertEquals(3, g.numVertices());
+    }
+
+    @Test
+    public void testRemoveVertex() {
+        g.addEdge("Foo", "Bar");
+        g.addEdge("Cat", "Bar");
+        g.addEdge("Bar", "Dog");
+        g.addEdge("Bar", "Bar");
+        g.addEdge("Dog", "Foo");
+        g.removeVertex("Bar");
+
+        assertFalse(g.contains("Bar"));
+        assertEquals(3, g.numVertices());
+        assertEquals("Edges to, from and around the vertex are gone",
+                1, g.numEdges());
+        assertEquals(0, g.degree("Foo"));
+        assertEquals(0, g.degree("Cat"));
+        assertEquals(0, g.inDegree("Dog"));
+        assertEquals(1, g.inDegree("Foo"));
+
+        g2.addVertex("Foo");
+        g2.addVertex("Cat");
+        g2.addEdge("Dog", "Foo");
+        assertEquals(g2, g);
+
+        g.removeVertex("Bar");
+        assertEquals("Removing a missing vertex does nothing", 3, g.numVertices());
+
+        g.addEdge("Foo", "Bar");
+        assertEquals("A removed vertex can be added again", 1, g.inDegree("Bar"));
+    }
+
+    @Test
+    public void testRemoveVertexLeavesIndexOff() {
+        GraphAdjacencyList<String> graph = new GraphAdjacencyList<>();
+        graph.addEdge("Foo", "Bar");
+        graph.addEdge("Bar", "Cat");
+        graph.removeVertex("Bar");
+
+        assertFalse("Removing a vertex doesn't turn the index on",
+                graph.isIncomingIndexed());
+        assertEquals(0, graph.numEdges());
+        assertEquals(0, graph.degree("Foo"));
+        assertEquals(0, graph.inDegree("Cat"));
+
+        graph.addEdge("Foo", "Cat");
+        graph.addEdge("Cat", "Cat");
+        graph.setIncomingIndexed(true);
+        graph.setIncomingIndexed(false);
+        assertEquals("Incoming edges are still kept after a removal",
+                2, graph.inDegree("Cat"));
+        graph.removeVertex("Cat");
+        assertEquals(0, graph.numEdges());
+        assertEquals(0, graph.degree("Foo"));
+    }
+
+    private static <V> Map.Entry<V, V> edge(V from, V to) {
+        return new AbstractMap.SimpleImmutableEntry<>(from, to);
+    }
 }